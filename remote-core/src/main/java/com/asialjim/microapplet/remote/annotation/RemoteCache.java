@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.annotation;
+
+import com.asialjim.microapplet.remote.cache.RemoteCacheKey;
+import com.asialjim.microapplet.remote.cache.RemoteLocalCache;
+import com.asialjim.microapplet.remote.context.*;
+import com.asialjim.microapplet.remote.lifecycle.callback.Before;
+import com.asialjim.microapplet.remote.lifecycle.callback.OnSuccess;
+import org.apache.commons.lang3.ArrayUtils;
+
+import java.lang.annotation.*;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地响应缓存，适用于变化不频繁的参考数据
+ * <p>
+ * 按调用参数缓存解析后的成功结果，命中未过期的条目时在 before 阶段直接返回，不再发送请求；
+ * 缓存值由多个调用方共享，调用方不应修改返回结果。
+ * 各方法的命中统计见 {@link RemoteLocalCache#caches()}
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@RemoteLifeCycle(RemoteCache.RemoteCacheLifeCycle.class)
+public @interface RemoteCache {
+
+    GenericKey<RemoteLocalCache<RemoteCacheKey, Object>> CACHE_KEY = GenericKey.keyOf("remote-cache");
+    GenericKey<int[]> CACHE_ARGS_KEY = GenericKey.keyOf("remote-cache-args");
+    GenericKey<RemoteCacheKey> CACHE_ENTRY_KEY = GenericKey.keyOf("remote-cache-entry");
+
+    /**
+     * 存活时间，单位：毫秒；小于等于 0 时不过期
+     */
+    long ttl() default 60000;
+
+    /**
+     * 刷新时间，单位：毫秒；条目写入超过该时间后，由一次调用重新请求并更新缓存，
+     * 期间其余调用继续获得旧值；小于等于 0 或不小于存活时间时不刷新
+     */
+    long refresh() default 0;
+
+    /**
+     * 最大条目数
+     */
+    int maxEntries() default 1024;
+
+    /**
+     * 参与缓存键的参数下标；为空时使用除回调接口外的全部参数
+     */
+    int[] key() default {};
+
+    final class RemoteCacheLifeCycle implements RemoteLifeCycle.LifeCycleHandler<RemoteCache>, Before, OnSuccess {
+        @Override
+        public int order() {
+            // 先于服务器解析等 before 处理器执行
+            return Integer.MIN_VALUE + 1;
+        }
+
+        @Override
+        public void doInit(RemoteMethodConfig methodConfig, RemoteMethodParameter methodParameter, RemoteCache annotation) {
+            if (Objects.nonNull(methodConfig.config(CACHE_KEY)))
+                return;
+
+            String name = methodConfig.getMethod().toGenericString();
+            methodConfig.config(CACHE_KEY, RemoteLocalCache.of(name, annotation.maxEntries(), annotation.ttl(), annotation.refresh(), TimeUnit.MILLISECONDS));
+            if (ArrayUtils.isNotEmpty(annotation.key()))
+                methodConfig.config(CACHE_ARGS_KEY, annotation.key().clone());
+        }
+
+        @Override
+        public void before(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+            // 重试时不再查询缓存
+            if (req.retryTimes() > 1)
+                return;
+
+            RemoteLocalCache<RemoteCacheKey, Object> cache = methodConfig.config(CACHE_KEY);
+            RemoteCacheKey key = RemoteCacheKey.of(args, indexes(methodConfig, args));
+            Object value = cache.get(key);
+            if (Objects.nonNull(value)) {
+                res.setData(value);
+                req.complete();
+                return;
+            }
+            req.put(CACHE_ENTRY_KEY, key);
+        }
+
+        @Override
+        public void onSuccess(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+            RemoteCacheKey key = req.get(CACHE_ENTRY_KEY);
+            if (Objects.isNull(key) || Objects.isNull(data))
+                return;
+
+            RemoteLocalCache<RemoteCacheKey, Object> cache = methodConfig.config(CACHE_KEY);
+            cache.put(key, data);
+        }
+
+        private static int[] indexes(RemoteMethodConfig methodConfig, Object[] args) {
+            int[] indexes = methodConfig.config(CACHE_ARGS_KEY);
+            if (Objects.nonNull(indexes))
+                return indexes;
+
+            // 回调接口参数不参与缓存键
+            int[] callBacks = methodConfig.getRemoteHandlerContext().callBackIndexes();
+            int[] all = new int[args.length];
+            int count = 0;
+            for (int i = 0; i < args.length; i++) {
+                if (!ArrayUtils.contains(callBacks, i))
+                    all[count++] = i;
+            }
+            return count == all.length ? all : ArrayUtils.subarray(all, 0, count);
+        }
+    }
+}
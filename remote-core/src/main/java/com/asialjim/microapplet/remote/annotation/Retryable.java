@@ -13,14 +13,26 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.asialjim.microapplet.remote.annotation;
 
 import com.asialjim.microapplet.remote.context.*;
 import com.asialjim.microapplet.remote.lifecycle.callback.Before;
+import com.asialjim.microapplet.remote.retry.RemoteRetryPolicy;
+import org.apache.commons.lang3.StringUtils;
 
 import java.lang.annotation.*;
+import java.util.Objects;
 
+/**
+ * 重试策略
+ * <p>
+ * 标注在方法上的策略优先于标注在类型上的策略；
+ * 重试前按退避策略等待（由定时器完成，不占用线程休眠），并受所在端点的重试预算限制
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
 @Documented
 @Target({ElementType.TYPE, ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
@@ -28,6 +40,84 @@ import java.lang.annotation.*;
 public @interface Retryable {
 
     GenericKey<Boolean> RETRY_ABLE_KEY = GenericKey.keyOf("retry-able");
+    GenericKey<RemoteRetryPolicy> RETRY_POLICY_KEY = GenericKey.keyOf("retry-policy");
+
+    /**
+     * 重试预算所属端点：网络层在初始化时配置默认端点，并在每次执行的 before 阶段按请求解析实际端点；未配置时按接口统计
+     */
+    GenericKey<String> RETRY_ENDPOINT_KEY = GenericKey.keyOf("retry-endpoint");
+
+    /**
+     * 最大执行次数，包含首次执行
+     */
+    int maxAttempts() default 3;
+
+    /**
+     * 退避策略
+     */
+    Backoff backoff() default Backoff.EXPONENTIAL;
+
+    /**
+     * 首次重试前的等待时间，单位：毫秒
+     */
+    long delay() default 100;
+
+    /**
+     * 最大等待时间，单位：毫秒；服务端要求的 Retry-After 超过该值时不再重试
+     */
+    long maxDelay() default 10000;
+
+    /**
+     * 指数退避倍数
+     */
+    double multiplier() default 2.0;
+
+    /**
+     * 响应状态码命中时重试
+     */
+    int[] status() default {};
+
+    /**
+     * 异常（含其子类）命中时重试
+     */
+    Class<? extends Throwable>[] include() default {};
+
+    /**
+     * 是否遵循响应头 Retry-After
+     */
+    boolean retryAfter() default true;
+
+    /**
+     * 重试预算：重试请求数占正常请求数的最大比例
+     */
+    double budgetRatio() default 0.1;
+
+    /**
+     * 重试预算：每秒保底允许的重试次数
+     */
+    int budgetMinPerSecond() default 10;
+
+    enum Backoff {
+        /**
+         * 不等待，立即重试
+         */
+        NONE,
+
+        /**
+         * 固定间隔
+         */
+        FIXED,
+
+        /**
+         * 指数退避
+         */
+        EXPONENTIAL,
+
+        /**
+         * 去相关抖动：在 [delay, 上次等待时间 * 3] 之间随机取值
+         */
+        DECORRELATED_JITTER
+    }
 
     final class RetryableLifeCycle implements RemoteLifeCycle.LifeCycleHandler<Retryable>, Before {
         @Override
@@ -37,12 +127,18 @@ public @interface Retryable {
 
         @Override
         public void doInit(RemoteMethodConfig methodConfig, RemoteMethodParameter methodParameter, Retryable annotation) {
-            // do nothing here
+            // 方法与类型上的注解都会触发初始化，且方法注解先执行：已有配置时不再被类型注解覆盖
+            if (Objects.isNull(methodConfig.config(RETRY_POLICY_KEY)))
+                methodConfig.config(RETRY_POLICY_KEY, RemoteRetryPolicy.of(annotation));
         }
 
         @Override
         public void before(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
             req.put(RETRY_ABLE_KEY, Boolean.TRUE);
+
+            // 每次调用（而非每次重试）向端点的重试预算存入额度；按请求解析端点时由网络层在解析后存入
+            if (req.retryTimes() <= 1 && StringUtils.isBlank(methodConfig.config(RETRY_ENDPOINT_KEY)))
+                RemoteRetryPolicy.of(methodConfig).budget(methodConfig).deposit();
         }
     }
-}
\ No newline at end of file
+}
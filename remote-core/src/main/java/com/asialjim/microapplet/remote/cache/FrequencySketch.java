@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.cache;
+
+/**
+ * 访问频率估计（Count-Min Sketch），每个计数器 4 位，计数总量达到采样上限后全部减半以淘汰历史热度
+ * <p>
+ * 非线程安全，由 {@link RemoteLocalCache} 在淘汰锁内访问
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(int maximum) {
+        int capacity = Math.max(16, maximum);
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+        this.table = new long[length];
+        this.mask = length - 1;
+        this.sampleSize = 10 * capacity;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = 15;
+        for (int i = 0; i < 4; i++) {
+            long count = (this.table[indexOf(hash, i)] >>> offsetOf(hash, i)) & 0xfL;
+            frequency = Math.min(frequency, (int) count);
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int offset = offsetOf(hash, i);
+            if (((this.table[index] >>> offset) & 0xfL) < 15) {
+                this.table[index] += 1L << offset;
+                added = true;
+            }
+        }
+
+        if (added && ++this.size >= this.sampleSize)
+            reset();
+    }
+
+    private void reset() {
+        for (int i = 0; i < this.table.length; i++)
+            this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+        this.size >>>= 1;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & this.mask;
+    }
+
+    private static int offsetOf(int hash, int i) {
+        // 每个 long 容纳 16 个计数器
+        return ((hash >>> (i << 3)) & 0xf) << 2;
+    }
+
+    private static int spread(int x) {
+        x ^= x >>> 17;
+        x *= 0xed5ad4bb;
+        x ^= x >>> 11;
+        x *= 0xac4c1b51;
+        x ^= x >>> 15;
+        return x;
+    }
+}
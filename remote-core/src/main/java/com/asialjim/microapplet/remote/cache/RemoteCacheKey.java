@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.cache;
+
+import java.util.Arrays;
+
+/**
+ * 本地缓存键：参与缓存的调用参数，按内容（含数组元素）比较
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteCacheKey {
+    private final Object[] args;
+    private final int hash;
+
+    private RemoteCacheKey(Object[] args) {
+        this.args = args;
+        this.hash = Arrays.deepHashCode(args);
+    }
+
+    /**
+     * @param args    调用参数
+     * @param indexes 参与缓存的参数下标
+     */
+    public static RemoteCacheKey of(Object[] args, int[] indexes) {
+        Object[] key = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++)
+            key[i] = indexes[i] < args.length ? args[indexes[i]] : null;
+        return new RemoteCacheKey(key);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RemoteCacheKey)) return false;
+        RemoteCacheKey that = (RemoteCacheKey) o;
+        return this.hash == that.hash && Arrays.deepEquals(this.args, that.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(this.args);
+    }
+}
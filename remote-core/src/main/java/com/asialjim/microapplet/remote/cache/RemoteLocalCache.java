@@ -0,0 +1,372 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 有界本地缓存，W-TinyLFU 淘汰策略
+ * <p>
+ * 新条目先进入窗口区（容量的 1%），被窗口淘汰后作为候选进入主区的试用段；
+ * 主区满时比较候选与试用段最久未访问条目的访问频率，频率更高者留下；
+ * 试用段中再次被访问的条目晋升至保护段（主区的 80%）。
+ * <p>
+ * 读取不加锁，访问顺序的调整在淘汰锁空闲时进行，竞争激烈时允许丢失；写入在淘汰锁内完成。
+ * 条目写入超过存活时间后失效；超过刷新时间后由首个读取者重新加载（读取返回 null），
+ * 重新加载完成前其余读取者继续获得旧值
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteLocalCache<K, V> {
+    private static final ConcurrentMap<String, RemoteLocalCache<?, ?>> CACHES = new ConcurrentHashMap<>();
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int REMOVED = -1;
+
+    private final String name;
+    private final int maximum;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final long ttl;
+    private final long refresh;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final Node<K, V> window = Node.sentinel();
+    private final Node<K, V> probation = Node.sentinel();
+    private final Node<K, V> protect = Node.sentinel();
+    private int windowSize;
+    private int protectedSize;
+    private int size;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    private RemoteLocalCache(String name, int maximum, long ttl, long refresh, TimeUnit unit) {
+        this.name = name;
+        this.maximum = Math.max(1, maximum);
+        this.windowMaximum = Math.max(1, this.maximum / 100);
+        this.protectedMaximum = (int) ((this.maximum - this.windowMaximum) * 0.8);
+        this.ttl = ttl > 0 ? unit.toNanos(ttl) : Long.MAX_VALUE;
+        this.refresh = refresh > 0 && unit.toNanos(refresh) < this.ttl ? unit.toNanos(refresh) : 0;
+        this.sketch = new FrequencySketch(this.maximum);
+    }
+
+    /**
+     * 获取（不存在则创建）指定名称的缓存，同名缓存共享存储与统计
+     *
+     * @param name    缓存名称
+     * @param maximum 最大条目数
+     * @param ttl     存活时间，小于等于 0 时不过期
+     * @param refresh 刷新时间，小于等于 0 或不小于存活时间时不刷新
+     */
+    public static <K, V> RemoteLocalCache<K, V> of(String name, int maximum, long ttl, long refresh, TimeUnit unit) {
+        //noinspection unchecked
+        return (RemoteLocalCache<K, V>) CACHES.computeIfAbsent(name, k -> new RemoteLocalCache<>(k, maximum, ttl, refresh, unit));
+    }
+
+    /**
+     * 全部缓存，按名称索引，用于查看命中统计
+     */
+    public static Map<String, RemoteLocalCache<?, ?>> caches() {
+        return Collections.unmodifiableMap(CACHES);
+    }
+
+    /**
+     * 读取缓存
+     *
+     * @return 缓存值；不存在、已过期，或当前读取者需要重新加载时返回 null
+     */
+    public V get(K key) {
+        Node<K, V> node = this.data.get(key);
+        if (Objects.isNull(node)) {
+            this.misses.increment();
+            return null;
+        }
+
+        long now = System.nanoTime();
+        if (now - node.writeTime >= this.ttl) {
+            this.misses.increment();
+            expire(node);
+            return null;
+        }
+
+        if (this.refresh > 0 && node.claimRefresh(now, this.refresh)) {
+            this.refreshes.increment();
+            this.misses.increment();
+            return null;
+        }
+
+        this.hits.increment();
+        afterRead(node);
+        return node.value;
+    }
+
+    public void put(K key, V value) {
+        if (Objects.isNull(key) || Objects.isNull(value))
+            return;
+
+        long now = System.nanoTime();
+        this.evictionLock.lock();
+        try {
+            Node<K, V> node = this.data.get(key);
+            if (Objects.nonNull(node)) {
+                node.value = value;
+                node.refreshAt = now + this.refresh;
+                node.writeTime = now;
+                this.sketch.increment(key);
+                onAccess(node);
+                return;
+            }
+
+            node = new Node<>(key, value, now, now + this.refresh);
+            this.data.put(key, node);
+            this.sketch.increment(key);
+            node.queue = WINDOW;
+            linkLast(this.window, node);
+            this.windowSize++;
+            this.size++;
+            evict();
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        Node<K, V> node = this.data.get(key);
+        if (Objects.nonNull(node))
+            expire(node);
+    }
+
+    public void invalidateAll() {
+        this.evictionLock.lock();
+        try {
+            for (Node<K, V> node : this.data.values())
+                remove(node);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    public int size() {
+        return this.data.size();
+    }
+
+    public long hitCount() {
+        return this.hits.sum();
+    }
+
+    public long missCount() {
+        return this.misses.sum();
+    }
+
+    public long evictionCount() {
+        return this.evictions.sum();
+    }
+
+    public long refreshCount() {
+        return this.refreshes.sum();
+    }
+
+    public double hitRate() {
+        long hit = hitCount();
+        long total = hit + missCount();
+        return total == 0 ? 1.0 : (double) hit / total;
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteLocalCache{" +
+                "name='" + this.name + '\'' +
+                ", size=" + size() +
+                ", maximum=" + this.maximum +
+                ", hits=" + hitCount() +
+                ", misses=" + missCount() +
+                ", evictions=" + evictionCount() +
+                ", refreshes=" + refreshCount() +
+                '}';
+    }
+
+    private void afterRead(Node<K, V> node) {
+        // 锁被占用时放弃本次访问记录，不阻塞读取
+        if (!this.evictionLock.tryLock())
+            return;
+
+        try {
+            if (node.queue == REMOVED)
+                return;
+            this.sketch.increment(node.key);
+            onAccess(node);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private void expire(Node<K, V> node) {
+        this.evictionLock.lock();
+        try {
+            remove(node);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                unlink(node);
+                linkLast(this.window, node);
+                break;
+            case PROBATION:
+                unlink(node);
+                node.queue = PROTECTED;
+                linkLast(this.protect, node);
+                this.protectedSize++;
+                // 保护段超出容量时，最久未访问的条目降级至试用段
+                while (this.protectedSize > this.protectedMaximum) {
+                    Node<K, V> demoted = this.protect.next;
+                    unlink(demoted);
+                    demoted.queue = PROBATION;
+                    linkLast(this.probation, demoted);
+                    this.protectedSize--;
+                }
+                break;
+            case PROTECTED:
+                unlink(node);
+                linkLast(this.protect, node);
+                break;
+            default:
+        }
+    }
+
+    private void evict() {
+        // 窗口区淘汰的条目作为候选进入试用段
+        while (this.windowSize > this.windowMaximum) {
+            Node<K, V> candidate = this.window.next;
+            unlink(candidate);
+            this.windowSize--;
+            candidate.queue = PROBATION;
+            linkLast(this.probation, candidate);
+        }
+
+        while (this.size > this.maximum) {
+            Node<K, V> victim = this.probation.next;
+            Node<K, V> candidate = this.probation.prev;
+            if (victim == this.probation) {
+                victim = this.protect.next != this.protect ? this.protect.next : this.window.next;
+                evict(victim);
+                continue;
+            }
+
+            if (victim == candidate) {
+                evict(victim);
+                continue;
+            }
+
+            // 候选频率更高时淘汰最久未访问的条目，否则拒绝候选
+            evict(this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key) ? victim : candidate);
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        remove(node);
+        this.evictions.increment();
+    }
+
+    private void remove(Node<K, V> node) {
+        if (node.queue == REMOVED)
+            return;
+
+        unlink(node);
+        if (node.queue == WINDOW)
+            this.windowSize--;
+        else if (node.queue == PROTECTED)
+            this.protectedSize--;
+        node.queue = REMOVED;
+        this.size--;
+        this.data.remove(node.key, node);
+    }
+
+    private static <K, V> void linkLast(Node<K, V> head, Node<K, V> node) {
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private static <K, V> void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<K, V> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicLongFieldUpdater<Node> REFRESH_AT_UPDATER = AtomicLongFieldUpdater.newUpdater(Node.class, "refreshAt");
+
+        private final K key;
+        private volatile V value;
+        private volatile long writeTime;
+        private volatile long refreshAt;
+
+        // 以下字段仅在淘汰锁内访问
+        private int queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, long writeTime, long refreshAt) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+            this.refreshAt = refreshAt;
+        }
+
+        private static <K, V> Node<K, V> sentinel() {
+            Node<K, V> sentinel = new Node<>(null, null, 0, 0);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        /**
+         * 刷新时间已到时，仅允许一个读取者重新加载；重新加载失败时，下一个刷新周期再次尝试
+         */
+        private boolean claimRefresh(long now, long refresh) {
+            long at = this.refreshAt;
+            //noinspection unchecked
+            return now - at >= 0 && REFRESH_AT_UPDATER.compareAndSet(this, at, now + refresh);
+        }
+    }
+}
@@ -15,32 +15,76 @@
  */
 package com.asialjim.microapplet.remote.context;
 
-import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
-@AllArgsConstructor
+/**
+ * 泛型键
+ * <p>
+ * 通过 {@link #keyOf(String)} 获取的键全局唯一，并分配一个稠密的整数槽位；
+ * {@link RemoteGenericMap} 按槽位直接读写数组，无需计算哈希
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
 @SuppressWarnings("unused")
 public class GenericKey<Value> {
+    private static final Map<String, GenericKey<?>> INTERNED = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> SLOTS = new ConcurrentHashMap<>();
+    private static final AtomicInteger SLOT_SEQUENCE = new AtomicInteger();
+
     private final String key;
+    private final int slot;
+
+    public GenericKey(String key) {
+        this.key = key;
+        // 同名键共享同一槽位
+        this.slot = SLOTS.computeIfAbsent(key, k -> SLOT_SEQUENCE.getAndIncrement());
+    }
 
     public static<Value> GenericKey<Value> keyOf(String key){
         if (StringUtils.isBlank(key))
             throw new IllegalArgumentException("Key cannot be blank");
-        return new GenericKey<>(key);
+
+        GenericKey<?> interned = INTERNED.get(key);
+        if (Objects.isNull(interned))
+            interned = INTERNED.computeIfAbsent(key, GenericKey::new);
+
+        //noinspection unchecked
+        return (GenericKey<Value>) interned;
     }
 
     public String key(){
         return key;
     }
 
+    /**
+     * 键槽位
+     */
+    public int slot() {
+        return slot;
+    }
+
+    /**
+     * 已分配的槽位数量
+     */
+    public static int slots() {
+        return SLOT_SEQUENCE.get();
+    }
+
     @Override
     public boolean equals(Object o) {
+        if (this == o)
+            return true;
         if (Objects.isNull(o) || !(o instanceof GenericKey))
             return false;
 
-        return StringUtils.equals(this.key, ((GenericKey<?>)o).key);
+        return this.slot == ((GenericKey<?>) o).slot;
     }
 
     @Override
@@ -52,4 +96,4 @@ public class GenericKey<Value> {
     public int hashCode() {
         return key.hashCode();
     }
-}
\ No newline at end of file
+}
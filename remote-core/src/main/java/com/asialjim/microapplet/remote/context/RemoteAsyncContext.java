@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.context;
+
+import com.asialjim.microapplet.remote.thread.NamedThreadFactory;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+
+/**
+ * 异步调用上下文
+ * <p>
+ * 网络层在发起请求前通过 {@link #responseFuture(RemoteReqContext)} 登记响应信号，
+ * 收到响应（或请求失败）后通过 {@link #complete(RemoteReqContext)} 完成该信号；
+ * 同步调用在 after 阶段等待信号，异步调用则将 after 及其后续阶段挂载在信号之上执行
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteAsyncContext {
+    public static final GenericKey<CompletableFuture<Void>> RESPONSE_FUTURE_KEY = GenericKey.keyOf("REMOTE_RESPONSE_FUTURE");
+    private static final ThreadFactory REMOTE_ASYNC_TIMER_FACTORY = new NamedThreadFactory("RATM");
+    private static volatile ScheduledExecutorService timer;
+
+    private RemoteAsyncContext() {
+    }
+
+    /**
+     * 获取（不存在则登记）本次请求的响应信号
+     */
+    public static CompletableFuture<Void> responseFuture(RemoteReqContext req) {
+        CompletableFuture<Void> future = req.get(RESPONSE_FUTURE_KEY);
+        if (Objects.nonNull(future) && !future.isDone())
+            return future;
+
+        future = new CompletableFuture<>();
+        req.put(RESPONSE_FUTURE_KEY, future);
+        return future;
+    }
+
+    /**
+     * 完成本次请求的响应信号
+     */
+    public static void complete(RemoteReqContext req) {
+        CompletableFuture<Void> future = req.get(RESPONSE_FUTURE_KEY);
+        if (Objects.nonNull(future))
+            future.complete(null);
+    }
+
+    /**
+     * 在指定时间后执行超时动作，信号完成后超时任务自动取消
+     */
+    public static void timeout(CompletableFuture<?> future, long timeout, Runnable onTimeout) {
+        if (Objects.isNull(future) || future.isDone())
+            return;
+
+        ScheduledFuture<?> task = timer().schedule(onTimeout, timeout, TimeUnit.MILLISECONDS);
+        future.whenComplete((v, e) -> task.cancel(false));
+    }
+
+    /**
+     * 在指定时间后完成的信号，用于重试退避等待
+     */
+    public static CompletableFuture<Void> delay(long millis) {
+        if (millis <= 0)
+            return CompletableFuture.completedFuture(null);
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        ScheduledFuture<?> task = timer().schedule(() -> future.complete(null), millis, TimeUnit.MILLISECONDS);
+        future.whenComplete((v, e) -> task.cancel(false));
+        return future;
+    }
+
+    /**
+     * 按固定间隔周期执行任务；任务在共享定时线程上执行，须快速返回，耗时操作应提交到其他线程
+     */
+    public static ScheduledFuture<?> schedule(Runnable task, long period) {
+        return timer().scheduleWithFixedDelay(task, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledExecutorService timer() {
+        if (Objects.nonNull(timer))
+            return timer;
+
+        synchronized (RemoteAsyncContext.class) {
+            if (Objects.nonNull(timer))
+                return timer;
+
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = REMOTE_ASYNC_TIMER_FACTORY.newThread(r);
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            timer = executor;
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+/**
+ * 请求、响应上下文池
+ * <p>
+ * 每个线程持有一个有界的空闲上下文栈，获取与释放均无锁；异步调用在网络线程上释放的上下文
+ * 会留在该线程的池中，超出上限的直接丢弃。
+ * <p>
+ * 通过 {@code -Dremote.context.leak-detection=true} 开启泄漏检测：释放的上下文不再回收，
+ * 释放后的任何读写都会打印当前调用栈及释放位置
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteContextPool {
+    private static final Logger log = LoggerFactory.getLogger(RemoteContextPool.class);
+    public static final boolean LEAK_DETECTION = Boolean.getBoolean("remote.context.leak-detection");
+    private static final int MAX_IDLE = Integer.getInteger("remote.context.pool-size", 32);
+    private static final ThreadLocal<ArrayDeque<RemoteReqContext>> REQ_POOL = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<ArrayDeque<RemoteResContext>> RES_POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private RemoteContextPool() {
+    }
+
+    public static RemoteReqContext req() {
+        RemoteReqContext req = REQ_POOL.get().pollLast();
+        if (Objects.isNull(req))
+            return new RemoteReqContext();
+        req.acquire();
+        return req;
+    }
+
+    public static RemoteResContext res() {
+        RemoteResContext res = RES_POOL.get().pollLast();
+        if (Objects.isNull(res))
+            return new RemoteResContext();
+        res.acquire();
+        return res;
+    }
+
+    /**
+     * 释放一次调用的上下文，调用方在此之后不得再访问它们
+     */
+    public static void release(RemoteReqContext req, RemoteResContext res) {
+        Throwable releasedAt = LEAK_DETECTION ? new Throwable("上下文释放位置") : null;
+        // 网络层可能仍会回写的上下文不再回收
+        boolean recycle = !LEAK_DETECTION && !req.abandoned();
+
+        req.release(releasedAt);
+        res.release(releasedAt);
+        if (!recycle || MAX_IDLE <= 0)
+            return;
+
+        ArrayDeque<RemoteReqContext> reqPool = REQ_POOL.get();
+        if (reqPool.size() < MAX_IDLE)
+            reqPool.addLast(req);
+
+        ArrayDeque<RemoteResContext> resPool = RES_POOL.get();
+        if (resPool.size() < MAX_IDLE)
+            resPool.addLast(res);
+    }
+
+    static void leak(Object context, Throwable releasedAt) {
+        if (!LEAK_DETECTION)
+            return;
+        IllegalStateException usage = new IllegalStateException(context.getClass().getSimpleName() + " 在释放后仍被使用");
+        if (Objects.nonNull(releasedAt))
+            usage.addSuppressed(releasedAt);
+        log.warn("Remote 上下文泄漏：{}", usage.getMessage(), usage);
+    }
+}
@@ -17,42 +17,72 @@ package com.asialjim.microapplet.remote.context;
 
 import java.util.*;
 
-public class RemoteGenericMap implements Map<GenericKey<?>,Object> {
-    private final Map<GenericKey<?>, Object> map;
+/**
+ * 以 {@link GenericKey#slot()} 为下标的数组映射
+ * <p>
+ * 读写均为数组访问，容量按需扩展；{@link Map} 接口作为视图保留。
+ * 值为 null 等同于移除该键
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public class RemoteGenericMap extends AbstractMap<GenericKey<?>, Object> implements Map<GenericKey<?>, Object> {
+    private static final Object[] EMPTY_VALUES = {};
+    private static final GenericKey<?>[] EMPTY_KEYS = {};
+
+    private GenericKey<?>[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    private int size;
+    private transient Set<Entry<GenericKey<?>, Object>> entrySet;
 
     public RemoteGenericMap() {
-        this.map = new HashMap<>();
     }
 
     @SuppressWarnings("unused")
     public RemoteGenericMap(Map<GenericKey<?>, Object> map) {
-        this.map = Optional.ofNullable(map).orElseGet(HashMap::new);
+        if (Objects.nonNull(map))
+            putAll(map);
     }
 
     public <Value> Value valueOf(GenericKey<Value> key){
+        if (Objects.isNull(key))
+            return null;
+
         //noinspection unchecked
-        return (Value) map.get(key);
+        return (Value) value(key.slot());
     }
 
     public <Value> void valueOf(GenericKey<Value> key, Value value){
-        map.put(key,value);
+        put(key, value);
     }
 
     public <Value> Value valueOf(String key){
-        GenericKey<Value> genericKey = GenericKey.keyOf(key);
-
-        //noinspection unchecked
-        return (Value) map.get(genericKey);
+        return valueOf(GenericKey.<Value>keyOf(key));
     }
 
     public <Value> void valueOf(String key, Value value){
-        GenericKey<Value> genericKey = GenericKey.keyOf(key);
-        map.put(genericKey,value);
+        put(GenericKey.keyOf(key), value);
+    }
+
+    private Object value(int slot) {
+        Object[] values = this.values;
+        return slot < values.length ? values[slot] : null;
+    }
+
+    private void ensureCapacity(int slot) {
+        if (slot < this.values.length)
+            return;
+
+        // 一次扩展到当前已分配的全部槽位，避免逐个扩容
+        int capacity = Math.max(slot + 1, GenericKey.slots());
+        this.values = Arrays.copyOf(this.values, capacity);
+        this.keys = Arrays.copyOf(this.keys, capacity);
     }
 
     @Override
     public int size() {
-        return map.size();
+        return size;
     }
 
     @Override
@@ -63,69 +93,187 @@ public class RemoteGenericMap implements Map<GenericKey<?>,Object> {
     @Override
     public boolean containsKey(Object key) {
         if (key instanceof GenericKey<?>)
-            return map.containsKey(key);
+            return Objects.nonNull(value(((GenericKey<?>) key).slot()));
         return false;
     }
 
     @Override
     public boolean containsValue(Object value) {
-        return map.containsValue(value);
+        if (Objects.isNull(value))
+            return false;
+        for (Object item : this.values) {
+            if (value.equals(item))
+                return true;
+        }
+        return false;
     }
 
     @Override
     public Object get(Object key) {
         if (key instanceof GenericKey<?>)
-            return map.get(key);
+            return value(((GenericKey<?>) key).slot());
         return null;
     }
 
     @Override
     public Object put(GenericKey<?> key, Object value) {
-        return map.put(key,value);
+        if (Objects.isNull(key))
+            throw new IllegalArgumentException("Key cannot be null");
+        if (Objects.isNull(value))
+            return remove(key);
+
+        int slot = key.slot();
+        ensureCapacity(slot);
+        Object previous = this.values[slot];
+        if (Objects.isNull(previous))
+            size++;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        return previous;
     }
 
     @Override
     public Object remove(Object key) {
-        if (key instanceof GenericKey<?>)
-            return map.remove(key);
-        return null;
-    }
+        if (!(key instanceof GenericKey<?>))
+            return null;
 
-    @Override
-    public void putAll(@SuppressWarnings("NullableProblems") Map<? extends GenericKey<?>, ?> m) {
-        map.putAll(m);
-    }
+        int slot = ((GenericKey<?>) key).slot();
+        Object previous = value(slot);
+        if (Objects.isNull(previous))
+            return null;
 
-    @Override
-    public void clear() {
-        map.clear();
+        this.keys[slot] = null;
+        this.values[slot] = null;
+        size--;
+        return previous;
     }
 
     @Override
-    @SuppressWarnings("NullableProblems")
-    public Set<GenericKey<?>> keySet() {
-        return map.keySet();
+    public void putAll(@SuppressWarnings("NullableProblems") Map<? extends GenericKey<?>, ?> m) {
+        m.forEach(this::put);
     }
 
     @Override
-    @SuppressWarnings("NullableProblems")
-    public Collection<Object> values() {
-        return map.values();
+    public void clear() {
+        if (size == 0)
+            return;
+        Arrays.fill(this.keys, null);
+        Arrays.fill(this.values, null);
+        size = 0;
     }
 
     @Override
     @SuppressWarnings("NullableProblems")
     public Set<Entry<GenericKey<?>, Object>> entrySet() {
-        return map.entrySet();
+        Set<Entry<GenericKey<?>, Object>> es = this.entrySet;
+        if (Objects.isNull(es))
+            this.entrySet = es = new EntrySet();
+        return es;
     }
 
     @Override
     public String toString() {
         StringJoiner sj = new StringJoiner(";");
 
-        map.forEach((key,value) -> sj.add(key.key() + "=" + value));
+        forEach((key,value) -> sj.add(key.key() + "=" + value));
         return "GenericMap{" +
                 "map=" + sj +
                 '}';
     }
-}
\ No newline at end of file
+
+    private final class EntrySet extends AbstractSet<Entry<GenericKey<?>, Object>> {
+        @Override
+        @SuppressWarnings("NullableProblems")
+        public Iterator<Entry<GenericKey<?>, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            RemoteGenericMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<GenericKey<?>, Object>> {
+        private int next = advance(0);
+        private int last = -1;
+
+        private int advance(int from) {
+            Object[] values = RemoteGenericMap.this.values;
+            int index = from;
+            while (index < values.length && Objects.isNull(values[index]))
+                index++;
+            return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < values.length;
+        }
+
+        @Override
+        public Entry<GenericKey<?>, Object> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            last = next;
+            next = advance(next + 1);
+            return new SlotEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0)
+                throw new IllegalStateException();
+            RemoteGenericMap.this.remove(keys[last]);
+            last = -1;
+        }
+    }
+
+    private final class SlotEntry implements Entry<GenericKey<?>, Object> {
+        private final int slot;
+        private final GenericKey<?> key;
+
+        private SlotEntry(int slot) {
+            this.slot = slot;
+            this.key = keys[slot];
+        }
+
+        @Override
+        public GenericKey<?> getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value(slot);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry))
+                return false;
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key.key() + "=" + getValue();
+        }
+    }
+}
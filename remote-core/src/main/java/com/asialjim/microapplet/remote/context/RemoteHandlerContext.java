@@ -15,243 +15,244 @@
  */
 package com.asialjim.microapplet.remote.context;
 
+import com.asialjim.microapplet.remote.jfr.RemoteFlightRecorder;
+import com.asialjim.microapplet.remote.lifecycle.CallBack;
 import com.asialjim.microapplet.remote.lifecycle.LifeCycle;
 import com.asialjim.microapplet.remote.lifecycle.callback.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Comparator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Objects;
-
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 方法生命周期处理器上下文
+ * <p>
+ * 初始化阶段通过 {@link #addLifeCycle(LifeCycle)}、{@link #addCallBackIndex(Integer, Class)} 收集处理器与回调参数，
+ * 由 {@link #compile()} 编译为不可变的执行管道：每个阶段一条按 order 排好序的处理器数组，
+ * 以及一组可能实现该阶段接口的回调参数下标；调用期间只做数组遍历，没有处理器的阶段直接跳过
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
 public class RemoteHandlerContext {
     private static final Logger log = LoggerFactory.getLogger(RemoteHandlerContext.class);
-    private transient final List<Before> beforeHandlers = new LinkedList<>();
-    private transient final List<Invoke> invokeHandlers = new LinkedList<>();
-    private transient final List<After> afterHandlers = new LinkedList<>();
-    private transient final List<SuccessWhen> successWhenHandlers = new LinkedList<>();
-    private transient final List<OnSuccess> onSuccessHandlers = new LinkedList<>();
-    private transient final List<OnFail> onFailHandlers = new LinkedList<>();
-    private transient final List<RetryWhen> retryWhenHandlers = new LinkedList<>();
-    private transient final List<OnRetry> onRetryHandlers = new LinkedList<>();
-    private transient final List<OnError> onErrorHandlers = new LinkedList<>();
-    private transient final List<On> onHandlers = new LinkedList<>();
-    private transient final List<Finally> finallyHandlers = new LinkedList<>();
-    private transient final List<Integer> callbackIndex = new LinkedList<>();
+    private transient final List<LifeCycle> lifeCycles = new ArrayList<>();
+    private transient final List<Integer> callbackIndex = new ArrayList<>();
+    private transient final List<Class<?>> callbackTypes = new ArrayList<>();
+    private transient volatile Pipeline pipeline;
 
     public void addCallBackIndex(Integer index) {
+        addCallBackIndex(index, CallBack.class);
+    }
+
+    public synchronized void addCallBackIndex(Integer index, Class<?> type) {
         if (Objects.isNull(index) || index < 0)
             return;
         this.callbackIndex.add(index);
+        this.callbackTypes.add(Objects.isNull(type) ? CallBack.class : type);
+        this.pipeline = null;
     }
 
-    public void addLifeCycle(LifeCycle lifeCycle) {
+    public synchronized void addLifeCycle(LifeCycle lifeCycle) {
         if (Objects.isNull(lifeCycle))
             return;
 
         if (log.isDebugEnabled())
             log.debug("RemoteHandlerContext add LifeCycle: {} in...", lifeCycle.getClass().getSimpleName());
 
-        if (lifeCycle instanceof Before) {
-            this.beforeHandlers.add((Before) lifeCycle);
-            this.beforeHandlers.sort(Comparator.comparingInt(LifeCycle::order));
-        }
-
-        if (lifeCycle instanceof Invoke) {
-            this.invokeHandlers.add((Invoke) lifeCycle);
-            this.invokeHandlers.sort(Comparator.comparingInt(LifeCycle::order));
-        }
-
-        if (lifeCycle instanceof After) {
-            this.afterHandlers.add((After) lifeCycle);
-            this.afterHandlers.sort(Comparator.comparingInt(LifeCycle::order));
-        }
-
-        if (lifeCycle instanceof SuccessWhen) {
-            this.successWhenHandlers.add((SuccessWhen) lifeCycle);
-            this.successWhenHandlers.sort(Comparator.comparingInt(LifeCycle::order));
-        }
-
-        if (lifeCycle instanceof OnSuccess) {
-            this.onSuccessHandlers.add((OnSuccess) lifeCycle);
-            this.onSuccessHandlers.sort(Comparator.comparingInt(LifeCycle::order));
-        }
-
-        if (lifeCycle instanceof OnFail) {
-            this.onFailHandlers.add((OnFail) lifeCycle);
-            this.onFailHandlers.sort(Comparator.comparingInt(LifeCycle::order));
-        }
-
-        if (lifeCycle instanceof RetryWhen) {
-            this.retryWhenHandlers.add((RetryWhen) lifeCycle);
-            this.retryWhenHandlers.sort(Comparator.comparingInt(LifeCycle::order));
-        }
+        this.lifeCycles.add(lifeCycle);
+        this.pipeline = null;
+    }
 
-        if (lifeCycle instanceof OnRetry) {
-            this.onRetryHandlers.add((OnRetry) lifeCycle);
-            this.onRetryHandlers.sort(Comparator.comparingInt(LifeCycle::order));
-        }
+    /**
+     * 编译执行管道，在 {@link RemoteMethodConfig#init()} 末尾调用；
+     * 此后再添加处理器会使管道失效，并在下次调用时重新编译
+     */
+    public synchronized RemoteHandlerContext compile() {
+        this.pipeline = new Pipeline(this.lifeCycles, this.callbackIndex, this.callbackTypes);
+        return this;
+    }
 
-        if (lifeCycle instanceof OnError) {
-            this.onErrorHandlers.add((OnError) lifeCycle);
-            this.onErrorHandlers.sort(Comparator.comparingInt(LifeCycle::order));
-        }
+    private Pipeline pipeline() {
+        Pipeline current = this.pipeline;
+        if (Objects.nonNull(current))
+            return current;
 
-        if (lifeCycle instanceof On) {
-            this.onHandlers.add((On) lifeCycle);
-            this.onHandlers.sort(Comparator.comparingInt(LifeCycle::order));
+        synchronized (this) {
+            if (Objects.isNull(this.pipeline))
+                compile();
+            return this.pipeline;
         }
+    }
 
-        if (lifeCycle instanceof Finally) {
-            this.finallyHandlers.add((Finally) lifeCycle);
-            this.finallyHandlers.sort(Comparator.comparingInt(LifeCycle::order));
-        }
+    /**
+     * 当前方法是否存在可能触发重试的 retryWhen 处理器或回调
+     */
+    public boolean retryWhenPresent() {
+        return pipeline().retryWhenPresent;
     }
 
     public void before(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+        Object event = RemoteFlightRecorder.beginPhase();
+        try {
+            doBefore(data, methodConfig, req, res, args);
+        } finally {
+            RemoteFlightRecorder.endPhase(event, methodConfig, "before", req);
+        }
+    }
 
-        for (Before handler : beforeHandlers) {
-            if (Objects.isNull(handler))
-                continue;
+    private void doBefore(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+        Pipeline p = pipeline();
+        Before[] handlers = p.before;
+        for (Before handler : handlers) {
             handler.before(data, methodConfig, req, res, args);
+            // 已直接给出结果，其后的处理器不再执行
+            if (req.completed())
+                return;
         }
 
-        for (Integer index : callbackIndex) {
-            if (index < 0)
-                continue;
-
+        int[] indexes = p.beforeIndex;
+        for (int index : indexes) {
             Object arg = args[index];
-            if (Objects.isNull(arg))
-                continue;
-
             if (arg instanceof Before)
                 ((Before) arg).before(data, methodConfig, req, res, args);
         }
     }
 
-
     public void invoke(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+        Object event = RemoteFlightRecorder.beginPhase();
+        try {
+            doInvoke(data, methodConfig, req, res, args);
+        } finally {
+            RemoteFlightRecorder.endPhase(event, methodConfig, "invoke", req);
+        }
+    }
 
-        for (Invoke handler : invokeHandlers) {
-            if (Objects.isNull(handler))
-                continue;
+    private void doInvoke(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+        Pipeline p = pipeline();
+        Invoke[] handlers = p.invoke;
+        for (Invoke handler : handlers)
             handler.invoke(data, methodConfig, req, res, args);
-        }
 
-        for (Integer index : callbackIndex) {
+        int[] indexes = p.invokeIndex;
+        for (int index : indexes) {
             Object arg = args[index];
-            if (Objects.isNull(arg)) continue;
-
             if (arg instanceof Invoke)
                 ((Invoke) arg).invoke(data, methodConfig, req, res, args);
         }
     }
 
     public void after(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
-        for (After handler : afterHandlers) {
-            if (Objects.isNull(handler)) continue;
-            handler.after(data, methodConfig, req, res, args);
+        Object event = RemoteFlightRecorder.beginPhase();
+        try {
+            doAfter(data, methodConfig, req, res, args);
+        } finally {
+            RemoteFlightRecorder.endPhase(event, methodConfig, "after", req);
         }
+    }
 
-        for (Integer index : callbackIndex) {
-            Object arg = args[index];
-            if (Objects.isNull(arg)) continue;
+    private void doAfter(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+        Pipeline p = pipeline();
+        After[] handlers = p.after;
+        for (After handler : handlers)
+            handler.after(data, methodConfig, req, res, args);
 
-            if (arg instanceof After) {
+        int[] indexes = p.afterIndex;
+        for (int index : indexes) {
+            Object arg = args[index];
+            if (arg instanceof After)
                 ((After) arg).after(data, methodConfig, req, res, args);
-            }
         }
     }
 
     public void onSuccess(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
-
-        for (OnSuccess handler : onSuccessHandlers) {
-            if (Objects.isNull(handler))
-                continue;
+        Pipeline p = pipeline();
+        OnSuccess[] handlers = p.onSuccess;
+        for (OnSuccess handler : handlers)
             handler.onSuccess(data, methodConfig, req, res, args);
-        }
 
         // 回调接口参数
-        for (Integer index : this.callbackIndex) {
+        int[] indexes = p.onSuccessIndex;
+        for (int index : indexes) {
             Object callBack = args[index];
-            if (Objects.isNull(callBack)) continue;
-
             if (callBack instanceof OnSuccess)
                 ((OnSuccess) callBack).onSuccess(data, methodConfig, req, res, args);
         }
     }
 
     public void onFail(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
-        for (OnFail handler : onFailHandlers) {
-            if (Objects.isNull(handler))
-                continue;
+        Pipeline p = pipeline();
+        OnFail[] handlers = p.onFail;
+        for (OnFail handler : handlers)
             handler.onFail(data, methodConfig, req, res, args);
-        }
 
-        for (Integer index : this.callbackIndex) {
+        int[] indexes = p.onFailIndex;
+        for (int index : indexes) {
             Object callBack = args[index];
-            if (Objects.isNull(callBack))
-                continue;
-
-            if (callBack instanceof OnFail) {
+            if (callBack instanceof OnFail)
                 ((OnFail) callBack).onFail(data, methodConfig, req, res, args);
-            }
         }
     }
 
     public void onRetry(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+        Object event = RemoteFlightRecorder.beginPhase();
+        try {
+            doOnRetry(data, methodConfig, req, res, args);
+        } finally {
+            RemoteFlightRecorder.endPhase(event, methodConfig, "retry", req);
+        }
+    }
 
-        for (OnRetry handler : onRetryHandlers) {
-            if (Objects.isNull(handler))
-                continue;
+    private void doOnRetry(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+        Pipeline p = pipeline();
+        OnRetry[] handlers = p.onRetry;
+        for (OnRetry handler : handlers)
             handler.onRetry(data, methodConfig, req, res, args);
-        }
 
         // 回调接口参数
-        for (Integer index : this.callbackIndex) {
+        int[] indexes = p.onRetryIndex;
+        for (int index : indexes) {
             Object callBack = args[index];
-            if (Objects.isNull(callBack))
-                continue;
-
-            if (callBack instanceof OnRetry) {
+            if (callBack instanceof OnRetry)
                 ((OnRetry) callBack).onRetry(data, methodConfig, req, res, args);
-            }
         }
     }
 
     public void on(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
-
-        for (On handler : onHandlers) {
-            if (Objects.isNull(handler))
-                continue;
+        Pipeline p = pipeline();
+        On[] handlers = p.on;
+        for (On handler : handlers)
             handler.on(data, methodConfig, req, res, args);
-        }
 
-        for (Integer index : this.callbackIndex) {
+        int[] indexes = p.onIndex;
+        for (int index : indexes) {
             Object callBack = args[index];
-            if (Objects.isNull(callBack))
-                continue;
-            if (callBack instanceof On) {
+            if (callBack instanceof On)
                 ((On) callBack).on(data, methodConfig, req, res, args);
-            }
         }
     }
 
     public boolean retryWhen(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+        Pipeline p = pipeline();
+        if (!p.retryWhenPresent)
+            return false;
 
         boolean retry = false;
-        for (RetryWhen handler : retryWhenHandlers) {
-            if (Objects.isNull(handler)) continue;
+        RetryWhen[] handlers = p.retryWhen;
+        for (RetryWhen handler : handlers) {
             if (handler.retryWhen(data, methodConfig, req, res, args)) {
                 retry = true;
                 break;
             }
         }
 
-        for (Integer index : this.callbackIndex) {
+        int[] indexes = p.retryWhenIndex;
+        for (int index : indexes) {
             Object callBack = args[index];
-            if (Objects.isNull(callBack)) continue;
             if (!(callBack instanceof RetryWhen)) continue;
             if (((RetryWhen) callBack).retryWhen(data, methodConfig, req, res, args))
                 return true;
@@ -261,17 +262,17 @@ public class RemoteHandlerContext {
     }
 
     public boolean successWhen(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
-
-        for (SuccessWhen handler : successWhenHandlers) {
-            if (Objects.isNull(handler)) continue;
-            if (!handler.success(data, methodConfig, req, res, args)) {
+        Pipeline p = pipeline();
+        SuccessWhen[] handlers = p.successWhen;
+        for (SuccessWhen handler : handlers) {
+            if (!handler.success(data, methodConfig, req, res, args))
                 return false;
-            }
         }
 
-        for (Integer index : this.callbackIndex) {
+        int[] indexes = p.successWhenIndex;
+        for (int index : indexes) {
             Object callBack = args[index];
-            if (Objects.isNull(callBack) || !(callBack instanceof SuccessWhen))
+            if (!(callBack instanceof SuccessWhen))
                 continue;
 
             if (!((SuccessWhen) callBack).success(data, methodConfig, req, res, args))
@@ -282,44 +283,39 @@ public class RemoteHandlerContext {
     }
 
     public boolean onError(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Throwable ex, Object[] args) {
-        for (OnError handler : onErrorHandlers) {
-            if (Objects.isNull(handler)) continue;
+        Pipeline p = pipeline();
+        OnError[] handlers = p.onError;
+        for (OnError handler : handlers) {
             if (handler.onError(data, methodConfig, req, res, ex, args))
                 return true;
         }
 
-        for (Integer index : this.callbackIndex) {
-            if (index < 0) continue;
-
+        int[] indexes = p.onErrorIndex;
+        for (int index : indexes) {
             Object callBack = args[index];
-            if (Objects.isNull(callBack)) continue;
-
-            if (callBack instanceof OnError) {
-                if (((OnError) callBack).onError(data, methodConfig, req, res, ex, args))
-                    return true;
-            }
+            if (callBack instanceof OnError && ((OnError) callBack).onError(data, methodConfig, req, res, ex, args))
+                return true;
         }
 
         return false;
     }
 
     public void finalFunction(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
-        for (Finally handler : finallyHandlers) {
-            if (Objects.isNull(handler))
-                continue;
+        // 响应尚未正常返回（超时、取消等）时，网络层可能稍后仍会回写，上下文不再回收
+        CompletableFuture<Void> response = req.get(RemoteAsyncContext.RESPONSE_FUTURE_KEY);
+        if (Objects.nonNull(response) && (!response.isDone() || response.isCompletedExceptionally()))
+            req.abandon();
+
+        Pipeline p = pipeline();
+        Finally[] handlers = p.finallyFun;
+        for (Finally handler : handlers)
             handler.finallyFun(data, methodConfig, req, res, args);
-        }
 
-        for (Integer index : this.callbackIndex) {
-            if (index < 0)
-                continue;
+        int[] indexes = p.finallyIndex;
+        for (int index : indexes) {
             Object callBack = args[index];
-            if (Objects.isNull(callBack))
-                continue;
-
-            if (callBack instanceof Finally) {
+            if (callBack instanceof Finally)
                 ((Finally) callBack).finallyFun(data, methodConfig, req, res, args);
-            }
         }
         req.clean();
     }
@@ -335,6 +331,110 @@ public class RemoteHandlerContext {
     }
 
     public List<Integer> callBackIndex() {
-        return this.callbackIndex;
+        return pipeline().callbackIndexList;
+    }
+
+    /**
+     * 全部回调参数下标
+     */
+    public int[] callBackIndexes() {
+        return pipeline().callbackIndex;
+    }
+
+    /**
+     * 编译后的执行管道，构建完成后不再修改
+     */
+    private static final class Pipeline {
+        private final Before[] before;
+        private final Invoke[] invoke;
+        private final After[] after;
+        private final SuccessWhen[] successWhen;
+        private final OnSuccess[] onSuccess;
+        private final OnFail[] onFail;
+        private final RetryWhen[] retryWhen;
+        private final OnRetry[] onRetry;
+        private final OnError[] onError;
+        private final On[] on;
+        private final Finally[] finallyFun;
+
+        private final int[] callbackIndex;
+        private final List<Integer> callbackIndexList;
+        private final int[] beforeIndex;
+        private final int[] invokeIndex;
+        private final int[] afterIndex;
+        private final int[] successWhenIndex;
+        private final int[] onSuccessIndex;
+        private final int[] onFailIndex;
+        private final int[] retryWhenIndex;
+        private final int[] onRetryIndex;
+        private final int[] onErrorIndex;
+        private final int[] onIndex;
+        private final int[] finallyIndex;
+
+        private final boolean retryWhenPresent;
+
+        private Pipeline(List<LifeCycle> lifeCycles, List<Integer> indexes, List<Class<?>> types) {
+            // 稳定排序：order 相同的处理器保持注册顺序
+            List<LifeCycle> sorted = new ArrayList<>(lifeCycles);
+            sorted.sort(Comparator.comparingInt(LifeCycle::order));
+
+            this.before = chain(sorted, Before.class);
+            this.invoke = chain(sorted, Invoke.class);
+            this.after = chain(sorted, After.class);
+            this.successWhen = chain(sorted, SuccessWhen.class);
+            this.onSuccess = chain(sorted, OnSuccess.class);
+            this.onFail = chain(sorted, OnFail.class);
+            this.retryWhen = chain(sorted, RetryWhen.class);
+            this.onRetry = chain(sorted, OnRetry.class);
+            this.onError = chain(sorted, OnError.class);
+            this.on = chain(sorted, On.class);
+            this.finallyFun = chain(sorted, Finally.class);
+
+            this.callbackIndex = indexes.stream().mapToInt(Integer::intValue).toArray();
+            this.callbackIndexList = Collections.unmodifiableList(new ArrayList<>(indexes));
+            this.beforeIndex = indexes(indexes, types, Before.class);
+            this.invokeIndex = indexes(indexes, types, Invoke.class);
+            this.afterIndex = indexes(indexes, types, After.class);
+            this.successWhenIndex = indexes(indexes, types, SuccessWhen.class);
+            this.onSuccessIndex = indexes(indexes, types, OnSuccess.class);
+            this.onFailIndex = indexes(indexes, types, OnFail.class);
+            this.retryWhenIndex = indexes(indexes, types, RetryWhen.class);
+            this.onRetryIndex = indexes(indexes, types, OnRetry.class);
+            this.onErrorIndex = indexes(indexes, types, OnError.class);
+            this.onIndex = indexes(indexes, types, On.class);
+            this.finallyIndex = indexes(indexes, types, Finally.class);
+
+            this.retryWhenPresent = this.retryWhen.length > 0 || this.retryWhenIndex.length > 0;
+        }
+
+        private static <T> T[] chain(List<LifeCycle> lifeCycles, Class<T> phase) {
+            List<T> handlers = new ArrayList<>();
+            for (LifeCycle lifeCycle : lifeCycles) {
+                if (phase.isInstance(lifeCycle))
+                    handlers.add(phase.cast(lifeCycle));
+            }
+
+            //noinspection unchecked
+            return handlers.toArray((T[]) Array.newInstance(phase, handlers.size()));
+        }
+
+        private static int[] indexes(List<Integer> indexes, List<Class<?>> types, Class<?> phase) {
+            int[] result = new int[indexes.size()];
+            int size = 0;
+            for (int i = 0; i < indexes.size(); i++) {
+                if (mayImplement(types.get(i), phase))
+                    result[size++] = indexes.get(i);
+            }
+            return Arrays.copyOf(result, size);
+        }
+
+        /**
+         * 声明类型为 final 且未实现该阶段接口的参数，其实参不可能实现该阶段接口
+         */
+        private static boolean mayImplement(Class<?> type, Class<?> phase) {
+            if (phase.isAssignableFrom(type))
+                return true;
+            return !Modifier.isFinal(type.getModifiers());
+        }
     }
 }
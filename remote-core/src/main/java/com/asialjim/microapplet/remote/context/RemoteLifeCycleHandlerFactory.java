@@ -38,6 +38,7 @@ public class RemoteLifeCycleHandlerFactory {
     public static final RemoteLifeCycleHandlerFactory FACTORY = new RemoteLifeCycleHandlerFactory();
 
     private static final Map<Class<? extends RemoteLifeCycle.LifeCycleHandler<?>>, RemoteLifeCycle.LifeCycleHandler<?>> INSTANCE_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Class<? extends RemoteLifeCycle.LifeCycleHandler<?>>, Class<? extends RemoteLifeCycle.LifeCycleHandler<?>>> IMPLEMENTATION_CACHE = new ConcurrentHashMap<>();
     private static final List<LifeCycle> LIFE_CYCLES = new Vector<>();
     private static String remotePrimaries = StringUtils.EMPTY;
     private static List<String> remotePrimarieList = null;
@@ -92,58 +93,66 @@ public class RemoteLifeCycleHandlerFactory {
         if (Objects.nonNull(handler))
             return handler;
 
-        String name = clazz.getName();
-        synchronized (INSTANCE_CACHE) {
-            handler = INSTANCE_CACHE.get(clazz);
-            if (Objects.nonNull(handler))
-                return handler;
-
-            // 接口
-            if (Modifier.isInterface(clazz.getModifiers()))
-                throw new IllegalStateException("不能为接口：" + name + "构建实例");
-
-            // 非抽象类
-            if (!Modifier.isAbstract(clazz.getModifiers()))
-                return constructInstance(clazz, name);
-
-            // 抽象类
-            // 获取抽象类子类
-            Set<Class<?>> subClasses = RemoteClassLoader.subClasses(clazz);
-            if (CollectionUtils.isEmpty(subClasses))
-                throw new IllegalStateException(clazz.getName() + " 为抽象类，但未提供子类");
-
-            // 仅有一个选择
-            if (CollectionUtils.size(subClasses) == 1) {
-                //noinspection unchecked,OptionalGetWithoutIsPresent
-                clazz = (Class<? extends RemoteLifeCycle.LifeCycleHandler<?>>) subClasses.stream().findFirst().get();
-                return constructInstance(clazz, name);
-            }
+        // 抽象类的实现选择只计算一次，此后查找均为无锁读取
+        Class<? extends RemoteLifeCycle.LifeCycleHandler<?>> implementation = IMPLEMENTATION_CACHE.get(clazz);
+        if (Objects.isNull(implementation)) {
+            implementation = implementation(clazz);
+            Class<? extends RemoteLifeCycle.LifeCycleHandler<?>> exists = IMPLEMENTATION_CACHE.putIfAbsent(clazz, implementation);
+            if (Objects.nonNull(exists))
+                implementation = exists;
+        }
 
-            // 暂未选到可用子类
-            // 设置优先级
-            if (primarySet()) {
-                //noinspection unchecked
-                Class<? extends RemoteLifeCycle.LifeCycleHandler<?>> candidate = (Class<? extends RemoteLifeCycle.LifeCycleHandler<?>>) subClasses.stream()
-                        // 选取被 RemoteSubProperty 标注的类
-                        .filter(item -> item.isAnnotationPresent(RemoteSubProperty.class))
-                        // 判断 RemoteSubProperty # value 属性是否 符合配置的优先策略
-                        .filter(item -> primary(item.getAnnotation(RemoteSubProperty.class).value()))
-                        .findFirst().orElse(null);
-
-                if (Objects.nonNull(candidate))
-                    return constructInstance(candidate, name);
-            }
+        handler = INSTANCE_CACHE.get(implementation);
+        if (Objects.nonNull(handler))
+            return handler;
+        return constructInstance(implementation, clazz.getName());
+    }
 
-            // 通过优先级筛选后，依然没有获取到可用子类
-            List<Class<?>> candidates = subClasses.stream().filter(item -> item.isAnnotationPresent(Primary.class)).collect(Collectors.toList());
-            if (CollectionUtils.size(candidates) == 1) {
-                // noinspection unchecked
-                clazz = (Class<? extends RemoteLifeCycle.LifeCycleHandler<?>>) candidates.get(0);
-                return constructInstance(clazz, name);
-            }
+    private Class<? extends RemoteLifeCycle.LifeCycleHandler<?>> implementation(Class<? extends RemoteLifeCycle.LifeCycleHandler<?>> clazz) {
+        String name = clazz.getName();
+        // 接口
+        if (Modifier.isInterface(clazz.getModifiers()))
+            throw new IllegalStateException("不能为接口：" + name + "构建实例");
+
+        // 非抽象类
+        if (!Modifier.isAbstract(clazz.getModifiers()))
+            return clazz;
+
+        // 抽象类
+        // 获取抽象类子类
+        Set<Class<?>> subClasses = RemoteClassLoader.subClasses(clazz);
+        if (CollectionUtils.isEmpty(subClasses))
+            throw new IllegalStateException(clazz.getName() + " 为抽象类，但未提供子类");
+
+        // 仅有一个选择
+        if (CollectionUtils.size(subClasses) == 1) {
+            //noinspection unchecked,OptionalGetWithoutIsPresent
+            return (Class<? extends RemoteLifeCycle.LifeCycleHandler<?>>) subClasses.stream().findFirst().get();
+        }
 
-            throw new IllegalStateException(clazz.getName() + " 存在多个子类，但没有子类符合优先匹配原则： " + primaries());
+        // 暂未选到可用子类
+        // 设置优先级
+        if (primarySet()) {
+            //noinspection unchecked
+            Class<? extends RemoteLifeCycle.LifeCycleHandler<?>> candidate = (Class<? extends RemoteLifeCycle.LifeCycleHandler<?>>) subClasses.stream()
+                    // 选取被 RemoteSubProperty 标注的类
+                    .filter(item -> item.isAnnotationPresent(RemoteSubProperty.class))
+                    // 判断 RemoteSubProperty # value 属性是否 符合配置的优先策略
+                    .filter(item -> primary(item.getAnnotation(RemoteSubProperty.class).value()))
+                    .findFirst().orElse(null);
+
+            if (Objects.nonNull(candidate))
+                return candidate;
         }
+
+        // 通过优先级筛选后，依然没有获取到可用子类
+        List<Class<?>> candidates = subClasses.stream().filter(item -> item.isAnnotationPresent(Primary.class)).collect(Collectors.toList());
+        if (CollectionUtils.size(candidates) == 1) {
+            // noinspection unchecked
+            return (Class<? extends RemoteLifeCycle.LifeCycleHandler<?>>) candidates.get(0);
+        }
+
+        throw new IllegalStateException(clazz.getName() + " 存在多个子类，但没有子类符合优先匹配原则： " + primaries());
     }
 
     private RemoteLifeCycle.LifeCycleHandler<?> constructInstance(Class<? extends RemoteLifeCycle.LifeCycleHandler<?>> clazz, String name) {
@@ -154,8 +163,9 @@ public class RemoteLifeCycleHandlerFactory {
                 throw new IllegalArgumentException("Default Constructor of Class<" + clazz.getName() + "> must be public");
             RemoteLifeCycle.LifeCycleHandler<?>
                     handler = (RemoteLifeCycle.LifeCycleHandler<?>) constructor.newInstance();
-            INSTANCE_CACHE.put(clazz, handler);
-            return handler;
+            // 并发初始化时可能重复构建，以先登记的实例为准
+            RemoteLifeCycle.LifeCycleHandler<?> exists = INSTANCE_CACHE.putIfAbsent(clazz, handler);
+            return Objects.nonNull(exists) ? exists : handler;
         } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
             throw new IllegalStateException("无法为Class: " + clazzName + ", [目标类：" + name + "] 构建实例, 异常：" + e.getMessage());
         }
@@ -17,15 +17,17 @@ package com.asialjim.microapplet.remote.context;
 
 import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
 import com.asialjim.microapplet.remote.lifecycle.CallBack;
+import com.asialjim.microapplet.remote.metadata.RemoteMethodDescriptor;
+import com.asialjim.microapplet.remote.metadata.RemoteMetadataRegistry;
+import com.asialjim.microapplet.remote.metrics.RemoteMethodMetrics;
+import com.asialjim.microapplet.remote.proxy.adapter.RemoteReturnAdapter;
+import com.asialjim.microapplet.remote.proxy.adapter.RemoteReturnAdapterHolder;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.AnnotatedType;
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.lang.reflect.Type;
+import java.lang.reflect.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -38,6 +40,7 @@ public class RemoteMethodConfig implements Cloneable {
     @Getter
     private transient final String remoteName;
     private transient final Class<?> remoteInterface;
+    @Getter
     private transient final Method method;
     private transient final List<Annotation> typeAnnotations;
     private transient final List<Annotation> methodAnnotations;
@@ -47,7 +50,15 @@ public class RemoteMethodConfig implements Cloneable {
     private transient final Type returnType;
     @Getter
     private transient final Class<?> returnClass;
+    /**
+     * 方法声明的返回类型被 {@link RemoteReturnAdapter} 支持（如 {@link java.util.concurrent.CompletableFuture}）时为异步调用，
+     * 此时 {@link #returnType} 与 {@link #returnClass} 为适配器给出的响应数据类型
+     */
+    @Getter
+    private transient final RemoteReturnAdapter returnAdapter;
     private transient final RemoteGenericMap configMap;
+    @Getter
+    private transient final RemoteMethodMetrics metrics;
 
     private RemoteMethodConfig(Class<?> remoteInterface, Method method) {
         this.remoteHandlerContext = new RemoteHandlerContext();
@@ -57,27 +68,64 @@ public class RemoteMethodConfig implements Cloneable {
         this.methodAnnotations = new ArrayList<>();
         this.remoteMethodParameters = new ArrayList<>();
         this.returnAnnotations = new ArrayList<>();
-        this.returnType = method.getGenericReturnType();
-        this.returnClass = method.getReturnType();
+        this.returnAdapter = RemoteReturnAdapterHolder.adapter(method.getReturnType());
+        this.returnType = isAsyncReturn() ? this.returnAdapter.dataType(method.getGenericReturnType()) : method.getGenericReturnType();
+        this.returnClass = isAsyncReturn() ? rawClass(this.returnType) : method.getReturnType();
         this.configMap = new RemoteGenericMap();
         this.remoteName = this.remoteInterface.getSimpleName() + "#" + this.method.getName();
+        this.metrics = new RemoteMethodMetrics(this.remoteName);
+        // 存在编译期元数据时，只处理其确认的生命周期注解与参数
+        RemoteMethodDescriptor descriptor = RemoteMetadataRegistry.descriptor(remoteInterface, method);
+        if (Objects.nonNull(descriptor))
+            collect(descriptor);
+        else
+            collect();
+
+        RemoteLifeCycleHandlerFactory.FACTORY.addLifeCycles(this.remoteHandlerContext);
+    }
+
+    private void collect(RemoteMethodDescriptor descriptor) {
+        if (log.isDebugEnabled()) log.debug("Process Annotation with Metadata: {}", descriptor);
+
+        // 编译期确认不存在生命周期注解的位置不再读取注解
+        if (!descriptor.typeAnnotations().isEmpty())
+            this.typeAnnotations.addAll(RemoteMethodDescriptor.filter(this.remoteInterface.getAnnotations(), descriptor.typeAnnotations()));
+        if (!descriptor.methodAnnotations().isEmpty())
+            this.methodAnnotations.addAll(RemoteMethodDescriptor.filter(this.method.getAnnotations(), descriptor.methodAnnotations()));
+        if (!descriptor.returnAnnotations().isEmpty())
+            this.returnAnnotations.addAll(RemoteMethodDescriptor.filter(this.method.getAnnotatedReturnType().getAnnotations(), descriptor.returnAnnotations()));
+
+        Parameter[] parameters = null;
+        for (int i = 0; i < descriptor.parameterCount(); i++) {
+            if (!descriptor.parameterPresent(i))
+                continue;
+
+            if (Objects.isNull(parameters))
+                parameters = this.method.getParameters();
+            RemoteMethodParameter methodParameter = RemoteMethodParameter.create(i, parameters[i]);
+            if (Objects.nonNull(methodParameter))
+                this.remoteMethodParameters.add(methodParameter);
+        }
+    }
+
+    private void collect() {
         // 类上注解
         if (log.isDebugEnabled()) log.debug("Process Annotation on Type: {}", this.remoteInterface.getSimpleName());
 
-        this.typeAnnotations.addAll(Arrays.asList(remoteInterface.getAnnotations()));
+        this.typeAnnotations.addAll(Arrays.asList(this.remoteInterface.getAnnotations()));
 
         // 方法上注解
         if (log.isDebugEnabled()) log.debug("Process Annotation on Method: {}", this.remoteName);
-        this.methodAnnotations.addAll(Arrays.asList(method.getAnnotations()));
+        this.methodAnnotations.addAll(Arrays.asList(this.method.getAnnotations()));
 
         // 返回注解
         if (log.isDebugEnabled())
             log.debug("Process Annotation on ReturnType: {}", this.returnClass.getSimpleName() + "@" + this.remoteName);
-        AnnotatedType annotatedReturnType = method.getAnnotatedReturnType();
+        AnnotatedType annotatedReturnType = this.method.getAnnotatedReturnType();
         this.returnAnnotations.addAll(Arrays.asList(annotatedReturnType.getAnnotations()));
 
         // 参数注解
-        Parameter[] parameters = method.getParameters();
+        Parameter[] parameters = this.method.getParameters();
         for (int i = 0; i < parameters.length; i++) {
             RemoteMethodParameter methodParameter = RemoteMethodParameter.create(i, parameters[i]);
             if (Objects.isNull(methodParameter))
@@ -87,14 +135,28 @@ public class RemoteMethodConfig implements Cloneable {
                 log.debug("Process Annotation on Method: [{}, Parameter Index: {}]", this.remoteName, methodParameter.getIndex());
             this.remoteMethodParameters.add(methodParameter);
         }
-
-        RemoteLifeCycleHandlerFactory.FACTORY.addLifeCycles(this.remoteHandlerContext);
     }
 
     public static RemoteMethodConfig create(Class<?> remoteInterface, Method method) {
         return new RemoteMethodConfig(remoteInterface, method);
     }
 
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class)
+            return (Class<?>) type;
+        if (type instanceof ParameterizedType)
+            return rawClass(((ParameterizedType) type).getRawType());
+        if (type instanceof GenericArrayType)
+            return Array.newInstance(rawClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        if (type instanceof WildcardType)
+            return rawClass(((WildcardType) type).getUpperBounds()[0]);
+        return Object.class;
+    }
+
+    public boolean isAsyncReturn() {
+        return Objects.nonNull(this.returnAdapter);
+    }
+
     public <Config> Config config(GenericKey<Config> key) {
         return this.configMap.valueOf(key);
     }
@@ -123,6 +185,9 @@ public class RemoteMethodConfig implements Cloneable {
         if (log.isDebugEnabled())
             log.debug("Init Type of Method: {}", this.remoteInterface.getSimpleName() + "#" + this.method.getName());
         initType();
+
+        // 编译生命周期执行管道
+        this.remoteHandlerContext.compile();
         return this;
     }
 
@@ -143,7 +208,7 @@ public class RemoteMethodConfig implements Cloneable {
             Parameter parameter = methodParameter.getParameter();
             // 参数是回调函数
             if (CallBack.class.isAssignableFrom(parameter.getType())) {
-                this.remoteHandlerContext.addCallBackIndex(methodParameter.getIndex());
+                this.remoteHandlerContext.addCallBackIndex(methodParameter.getIndex(), parameter.getType());
                 continue;
             }
 
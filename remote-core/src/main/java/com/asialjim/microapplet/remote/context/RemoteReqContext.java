@@ -15,6 +15,7 @@
  */
 package com.asialjim.microapplet.remote.context;
 
+import com.asialjim.microapplet.remote.trace.RemoteTrace;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -25,6 +26,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 
 @ToString
@@ -42,6 +44,41 @@ public final class RemoteReqContext {
     @Getter
     private transient RemoteGenericMap requestContext;
 
+    /**
+     * 已释放回上下文池
+     */
+    @ToString.Exclude
+    private transient volatile boolean released;
+
+    /**
+     * 网络层可能仍持有本上下文，释放时不再回收
+     */
+    @ToString.Exclude
+    private transient volatile boolean abandoned;
+
+    /**
+     * before 阶段已直接给出结果（如命中本地缓存），本次调用不再发送请求
+     */
+    @ToString.Exclude
+    private transient boolean completed;
+
+    /**
+     * 异步调用在 before 阶段登记的发送前等待（如限流令牌），仅对本次执行有效
+     */
+    @ToString.Exclude
+    private transient CompletableFuture<Void> deferred;
+
+    /**
+     * 调用链路上下文，重试间保留
+     */
+    private transient RemoteTrace trace;
+
+    /**
+     * 释放位置，仅在泄漏检测模式下记录
+     */
+    @ToString.Exclude
+    private transient Throwable releasedAt;
+
     /**
      * 获取重试次数
      */
@@ -57,6 +94,8 @@ public final class RemoteReqContext {
     }
 
     public <Value> void put(GenericKey<Value> configKey, Value configValue) {
+        if (released)
+            RemoteContextPool.leak(this, releasedAt);
         if (Objects.isNull(configKey) || Objects.isNull(configValue))
             return;
 
@@ -72,12 +111,14 @@ public final class RemoteReqContext {
     }
 
     public <Value> Value get(GenericKey<Value> configKey) {
+        if (released)
+            RemoteContextPool.leak(this, releasedAt);
         if (Objects.isNull(configKey)) {
             log.warn("Config Key is null");
             return null;
         }
         if (Objects.isNull(this.requestContext))
-            this.requestContext = new RemoteGenericMap();
+            return null;
 
         return this.requestContext.valueOf(configKey);
     }
@@ -88,7 +129,7 @@ public final class RemoteReqContext {
             return false;
         }
         if (Objects.isNull(this.requestContext))
-            this.requestContext = new RemoteGenericMap();
+            return false;
 
         return this.requestContext.containsKey(key);
     }
@@ -99,4 +140,72 @@ public final class RemoteReqContext {
 
         this.requestContext.clear();
     }
+
+    /**
+     * 标记本上下文不可回收：请求超时、取消等场景下网络层可能稍后仍会回写
+     */
+    public void abandon() {
+        this.abandoned = true;
+    }
+
+    public boolean abandoned() {
+        return this.abandoned;
+    }
+
+    /**
+     * 标记本次调用已在 before 阶段给出结果（结果已写入响应上下文），其后的 before 及 invoke、after 阶段不再执行
+     */
+    public void complete() {
+        this.completed = true;
+    }
+
+    public boolean completed() {
+        return this.completed;
+    }
+
+    /**
+     * 异步调用登记发送前的等待：before 阶段结束后，invoke 阶段在等待完成后执行，不阻塞调用线程；
+     * 等待异常结束时本次执行按异常处理。同步调用不检查该等待，应直接在 before 阶段等待
+     */
+    public void defer(CompletableFuture<Void> until) {
+        if (Objects.isNull(until))
+            return;
+        this.deferred = Objects.isNull(this.deferred) ? until : CompletableFuture.allOf(this.deferred, until);
+    }
+
+    /**
+     * 取出并清除本次执行登记的发送前等待
+     */
+    public CompletableFuture<Void> takeDeferred() {
+        CompletableFuture<Void> deferred = this.deferred;
+        this.deferred = null;
+        return deferred;
+    }
+
+    public RemoteTrace trace() {
+        return this.trace;
+    }
+
+    public void trace(RemoteTrace trace) {
+        this.trace = trace;
+    }
+
+    void acquire() {
+        this.released = false;
+        this.abandoned = false;
+        this.completed = false;
+        this.deferred = null;
+        this.trace = null;
+        this.releasedAt = null;
+    }
+
+    void release(Throwable releasedAt) {
+        this.retryTimes = 0;
+        this.completed = false;
+        this.deferred = null;
+        this.trace = null;
+        clean();
+        this.releasedAt = releasedAt;
+        this.released = true;
+    }
 }
\ No newline at end of file
@@ -15,17 +15,24 @@
  */
 package com.asialjim.microapplet.remote.context;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 @Data
 @Slf4j
 @Setter
 public final class RemoteResContext {
     public static final GenericKey<Boolean> ENABLE_CALL_BACK = GenericKey.keyOf("enable_call_back");
+    private static final AtomicReferenceFieldUpdater<RemoteResContext, RemoteGenericMap> GENERIC_MAP_UPDATER = AtomicReferenceFieldUpdater.newUpdater(RemoteResContext.class, RemoteGenericMap.class, "genericMap");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<RemoteResContext, List> CALLBACKS_UPDATER = AtomicReferenceFieldUpdater.newUpdater(RemoteResContext.class, List.class, "callbacks");
 
     /**
      * 状态
@@ -62,28 +69,45 @@ public final class RemoteResContext {
      * 此属性表示需要抛出错误
      */
     private transient List<Throwable> throwable;
-    private transient List<RemoteCallback> callbacks;
-    private transient RemoteGenericMap genericMap;
+    private transient volatile List<RemoteCallback> callbacks;
+    private transient volatile RemoteGenericMap genericMap;
 
-    public <Value> void property(GenericKey<Value> genericKey, Value value) {
-        if (Objects.nonNull(genericMap)) {
-            genericMap.put(genericKey, value);
-            return;
-        }
+    /**
+     * 已释放回上下文池
+     */
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile boolean released;
+
+    /**
+     * 释放位置，仅在泄漏检测模式下记录
+     */
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Throwable releasedAt;
 
-        synchronized (RemoteResContext.class) {
-            if (Objects.isNull(genericMap))
-                genericMap = new RemoteGenericMap();
-            genericMap.put(genericKey, value);
+    public <Value> void property(GenericKey<Value> genericKey, Value value) {
+        if (released)
+            RemoteContextPool.leak(this, releasedAt);
+
+        RemoteGenericMap map = this.genericMap;
+        if (Objects.isNull(map)) {
+            // 按实例无锁初始化，竞争失败时使用胜出者创建的实例
+            GENERIC_MAP_UPDATER.compareAndSet(this, null, new RemoteGenericMap());
+            map = this.genericMap;
         }
+        map.put(genericKey, value);
     }
 
     public <Value> Value property(GenericKey<Value> genericKey) {
+        if (released)
+            RemoteContextPool.leak(this, releasedAt);
         if (Objects.isNull(this.genericMap))
             return null;
 
-        //noinspection unchecked
-        return (Value) genericMap.get(genericKey);
+        return genericMap.valueOf(genericKey);
     }
 
     @SuppressWarnings("unused")
@@ -93,17 +117,12 @@ public final class RemoteResContext {
 
     @SuppressWarnings("unused")
     public void addCallback(RemoteCallback callback) {
-        if (Objects.nonNull(callbacks)) {
-            callbacks.add(callback);
-            return;
-        }
-
-        synchronized (RemoteResContext.class) {
-            if (Objects.isNull(callbacks))
-                callbacks = new ArrayList<>();
-
-            callbacks.add(callback);
+        List<RemoteCallback> list = this.callbacks;
+        if (Objects.isNull(list)) {
+            CALLBACKS_UPDATER.compareAndSet(this, null, new ArrayList<>());
+            list = this.callbacks;
         }
+        list.add(callback);
     }
 
     public void callback() {
@@ -116,6 +135,55 @@ public final class RemoteResContext {
         }
     }
 
+    public Object getData() {
+        if (released)
+            RemoteContextPool.leak(this, releasedAt);
+        return this.data;
+    }
+
+    public void setData(Object data) {
+        if (released)
+            RemoteContextPool.leak(this, releasedAt);
+        this.data = data;
+    }
+
+    public void setTempData(Object tempData) {
+        if (released)
+            RemoteContextPool.leak(this, releasedAt);
+        this.tempData = tempData;
+    }
+
+    public void setCause(Throwable cause) {
+        if (released)
+            RemoteContextPool.leak(this, releasedAt);
+        this.cause = cause;
+    }
+
+    void acquire() {
+        this.released = false;
+        this.releasedAt = null;
+    }
+
+    /**
+     * 清空响应状态；属性映射保留实例以便复用
+     */
+    void release(Throwable releasedAt) {
+        this.status = null;
+        this.protocol = null;
+        this.headers = null;
+        this.source = null;
+        this.tempData = null;
+        this.data = null;
+        this.cause = null;
+        this.throwable = null;
+        this.callbacks = null;
+        RemoteGenericMap map = this.genericMap;
+        if (Objects.nonNull(map))
+            map.clear();
+        this.releasedAt = releasedAt;
+        this.released = true;
+    }
+
     public void setThrowable(Throwable throwable) {
         if (Objects.isNull(this.throwable))
             this.throwable = new ArrayList<>();
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.jfr;
+
+import com.asialjim.microapplet.remote.context.GenericKey;
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.context.RemoteReqContext;
+import com.asialjim.microapplet.remote.context.RemoteResContext;
+import com.asialjim.microapplet.remote.retry.RemoteRetryPolicy;
+import com.asialjim.microapplet.remote.trace.RemoteTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.Objects;
+
+/**
+ * JDK Flight Recorder 事件入口
+ * <p>
+ * 事件类型：com.asialjim.remote.Call（整次调用）、com.asialjim.remote.Phase（生命周期阶段）、
+ * com.asialjim.remote.Net（连接、TLS 握手、获取连接）；
+ * 运行环境不提供 jdk.jfr（Java 8u262 以前）或通过 -Dremote.jfr.enabled=false 关闭时，全部方法直接返回；
+ * 未开启录制时 begin 方法返回 null，end 方法不做任何事
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteFlightRecorder {
+    private static final Logger log = LoggerFactory.getLogger(RemoteFlightRecorder.class);
+
+    /**
+     * 本次调用从连接池获取连接的累计等待时间，单位：纳秒，由网络层写入响应上下文
+     */
+    public static final GenericKey<Long> ACQUIRE_WAIT_KEY = GenericKey.keyOf("remote-jfr-acquire-wait");
+
+    public static final String CONNECT = "CONNECT";
+    public static final String TLS = "TLS";
+    public static final String ACQUIRE = "ACQUIRE";
+
+    private static final boolean AVAILABLE = available();
+
+    private RemoteFlightRecorder() {
+    }
+
+    private static boolean available() {
+        if (!Boolean.parseBoolean(System.getProperty("remote.jfr.enabled", "true")))
+            return false;
+
+        try {
+            Class.forName("jdk.jfr.Event", false, RemoteFlightRecorder.class.getClassLoader());
+            // 触发事件类加载，确认可用
+            RemoteJfrEvents.phase();
+            return true;
+        } catch (Throwable t) {
+            log.info("当前运行环境不支持 JDK Flight Recorder，Remote 事件不可用：{}", t.toString());
+            return false;
+        }
+    }
+
+    /**
+     * 运行环境是否支持 JFR 事件
+     */
+    public static boolean enabled() {
+        return AVAILABLE;
+    }
+
+    public static Object beginCall() {
+        return AVAILABLE ? RemoteJfrEvents.call() : null;
+    }
+
+    public static void endCall(Object event, RemoteMethodConfig methodConfig, String endpoint, RemoteReqContext req, RemoteResContext res, String outcome, long responseBytes) {
+        if (Objects.isNull(event))
+            return;
+
+        Long acquireWait = res.property(ACQUIRE_WAIT_KEY);
+        RemoteJfrEvents.call(event, methodConfig.getRemoteName(), endpoint, trace(req), outcome, RemoteRetryPolicy.statusCode(res.getStatus()),
+                req.retryTimes(), responseBytes, Objects.isNull(acquireWait) ? 0 : acquireWait);
+    }
+
+    public static Object beginPhase() {
+        return AVAILABLE ? RemoteJfrEvents.phase() : null;
+    }
+
+    public static void endPhase(Object event, RemoteMethodConfig methodConfig, String phase, RemoteReqContext req) {
+        if (Objects.isNull(event))
+            return;
+
+        RemoteJfrEvents.phase(event, methodConfig.getRemoteName(), phase, req.retryTimes(), trace(req));
+    }
+
+    /**
+     * 无请求上下文的阶段（如响应解析），链路标识取自当前线程 MDC
+     */
+    public static void endPhase(Object event, RemoteMethodConfig methodConfig, String phase) {
+        if (Objects.isNull(event))
+            return;
+
+        RemoteJfrEvents.phase(event, methodConfig.getRemoteName(), phase, 0, MDC.get(RemoteTrace.MDC_KEY));
+    }
+
+    public static Object beginNet() {
+        return AVAILABLE ? RemoteJfrEvents.net() : null;
+    }
+
+    public static void endNet(Object event, String endpoint, String kind, String channel, boolean success) {
+        if (Objects.isNull(event))
+            return;
+
+        RemoteJfrEvents.net(event, endpoint, kind, channel, success);
+    }
+
+    private static String trace(RemoteReqContext req) {
+        RemoteTrace trace = req.trace();
+        return Objects.isNull(trace) ? null : trace.requestId();
+    }
+}
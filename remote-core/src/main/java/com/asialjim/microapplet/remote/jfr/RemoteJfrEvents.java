@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.jfr;
+
+import jdk.jfr.Event;
+
+/**
+ * 事件创建与提交，仅在 JFR 可用时由 {@link RemoteFlightRecorder} 加载
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+final class RemoteJfrEvents {
+    private RemoteJfrEvents() {
+    }
+
+    static Object call() {
+        return begin(new RemoteCallEvent());
+    }
+
+    static Object phase() {
+        return begin(new RemotePhaseEvent());
+    }
+
+    static Object net() {
+        return begin(new RemoteNetEvent());
+    }
+
+    private static Object begin(Event event) {
+        if (!event.isEnabled())
+            return null;
+        event.begin();
+        return event;
+    }
+
+    static void call(Object e, String remoteName, String endpoint, String trace, String outcome, int status, int attempts, long responseBytes, long acquireWait) {
+        RemoteCallEvent event = (RemoteCallEvent) e;
+        event.end();
+        if (!event.shouldCommit())
+            return;
+
+        event.remoteName = remoteName;
+        event.endpoint = endpoint;
+        event.trace = trace;
+        event.outcome = outcome;
+        event.status = status;
+        event.attempts = attempts;
+        event.responseBytes = responseBytes;
+        event.acquireWait = acquireWait;
+        event.commit();
+    }
+
+    static void phase(Object e, String remoteName, String phase, int attempt, String trace) {
+        RemotePhaseEvent event = (RemotePhaseEvent) e;
+        event.end();
+        if (!event.shouldCommit())
+            return;
+
+        event.remoteName = remoteName;
+        event.phase = phase;
+        event.attempt = attempt;
+        event.trace = trace;
+        event.commit();
+    }
+
+    static void net(Object e, String endpoint, String kind, String channel, boolean success) {
+        RemoteNetEvent event = (RemoteNetEvent) e;
+        event.end();
+        if (!event.shouldCommit())
+            return;
+
+        event.endpoint = endpoint;
+        event.kind = kind;
+        event.channel = channel;
+        event.success = success;
+        event.commit();
+    }
+}
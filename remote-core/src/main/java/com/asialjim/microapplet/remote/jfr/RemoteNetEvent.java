@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * 网络层事件：建立连接、TLS 握手、从连接池获取连接
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@Name("com.asialjim.remote.Net")
+@Label("Remote Net")
+@Category({"Remote"})
+@Description("网络层事件：CONNECT、TLS、ACQUIRE")
+@StackTrace(false)
+final class RemoteNetEvent extends Event {
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Channel")
+    String channel;
+
+    @Label("Success")
+    boolean success;
+}
@@ -34,8 +34,20 @@ public class RemoteClassLoader extends ClassLoader {
     public static final RemoteClassLoader INSTANCE = new RemoteClassLoader();
     private static final Logger log = LoggerFactory.getLogger(RemoteClassLoader.class);
     private static final String REMOTE_CLASSES_CONFIG = "META-INF/remote.loadRemoteClass";
+    /**
+     * remote-processor 编译期生成的继承关系索引，与 {@link #REMOTE_CLASSES_CONFIG} 位于同一位置
+     */
+    private static final String REMOTE_CLASSES_INDEX = REMOTE_CLASSES_CONFIG + ".index";
     private static final Map<String, Class<?>> CLASS_MAP = new ConcurrentHashMap<>();
     private static final SetValuedMap<Class<?>, Class<?>> REMOTE_SUB_CLASSES = MultiMapUtils.newSetValuedHashMap();
+    /**
+     * 父类型名称 -> 实现类名称，初始化完成后只读；实现类在首次查找时才加载
+     */
+    private static volatile Map<String, Set<String>> indexedSubClasses = Collections.emptyMap();
+    /**
+     * 父类型 -> 已解析的全部子类，登记子类或重新初始化时清除
+     */
+    private static final Map<Class<?>, Set<Class<?>>> RESOLVED_SUB_CLASSES = new ConcurrentHashMap<>();
     private static ClassLoader classLoader;
     private volatile boolean init = false;
 
@@ -49,8 +61,38 @@ public class RemoteClassLoader extends ClassLoader {
         return Optional.ofNullable(RemoteClassLoader.classLoader).orElse(RemoteClassLoader.class.getClassLoader());
     }
 
+    /**
+     * 父类型的全部子类，结果只读；索引中的子类在首次查找时加载，此后直接返回缓存的结果
+     */
     public static Set<Class<?>> subClasses(Class<?> remoteClass) {
-        return Optional.ofNullable(REMOTE_SUB_CLASSES.get(remoteClass)).orElseGet(HashSet::new);
+        Set<Class<?>> resolved = RESOLVED_SUB_CLASSES.get(remoteClass);
+        if (Objects.nonNull(resolved))
+            return resolved;
+
+        // 加载子类期间可能再次查找，不在 computeIfAbsent 内解析
+        resolved = Collections.unmodifiableSet(resolve(remoteClass));
+        Set<Class<?>> exists = RESOLVED_SUB_CLASSES.putIfAbsent(remoteClass, resolved);
+        return Objects.isNull(exists) ? resolved : exists;
+    }
+
+    private static Set<Class<?>> resolve(Class<?> remoteClass) {
+        Set<Class<?>> result = new HashSet<>(REMOTE_SUB_CLASSES.get(remoteClass));
+        Set<String> indexed = indexedSubClasses.get(remoteClass.getName());
+        if (Objects.isNull(indexed))
+            return result;
+
+        for (String name : indexed) {
+            try {
+                Class<?> subClass = INSTANCE.loadClass(name);
+                // 索引与实际类不一致（如未重新编译）时忽略
+                if (remoteClass.isAssignableFrom(subClass))
+                    result.add(subClass);
+            } catch (ClassNotFoundException e) {
+                if (log.isDebugEnabled())
+                    log.info("Load Class: {}, exception: {}", name, e.getMessage(), e);
+            }
+        }
+        return result;
     }
 
     public static void subClassOf(Class<?> remoteClass, Class<?> subRemoteClass) {
@@ -60,6 +102,7 @@ public class RemoteClassLoader extends ClassLoader {
             throw new IllegalArgumentException(subRemoteClass.getName() + " 不是" + remoteClass.getName() + " 的子类");
 
         REMOTE_SUB_CLASSES.put(remoteClass, subRemoteClass);
+        RESOLVED_SUB_CLASSES.remove(remoteClass);
     }
 
     public void init() {
@@ -68,6 +111,7 @@ public class RemoteClassLoader extends ClassLoader {
         ClassLoader classLoader = classLoader();
         if (log.isDebugEnabled())
             log.debug("RemoteClassLoader init, Target ClassLoader: {}", classLoader);
+        Map<String, Set<String>> indexed = new HashMap<>();
         try {
             Enumeration<URL> resources = classLoader.getResources(REMOTE_CLASSES_CONFIG);
             while (resources.hasMoreElements()) {
@@ -78,9 +122,18 @@ public class RemoteClassLoader extends ClassLoader {
                     if (Objects.isNull(inputStream))
                         continue;
                     List<String> list = IOUtils.readLines(inputStream, StandardCharsets.UTF_8);
+                    Map<String, String[]> index = index(url);
                     for (String line : list) {
                         if (StringUtils.isBlank(line) || StringUtils.startsWith(StringUtils.trim(line), "#"))
                             continue;
+                        line = StringUtils.trim(line);
+                        String[] supers = index.get(line);
+                        if (Objects.nonNull(supers)) {
+                            for (String superName : supers)
+                                indexed.computeIfAbsent(superName, key -> new LinkedHashSet<>()).add(line);
+                            continue;
+                        }
+
                         Class<?> aClass;
                         try {
                             if (log.isDebugEnabled())
@@ -105,9 +158,36 @@ public class RemoteClassLoader extends ClassLoader {
                 log.info("Load Resources: {}, exception: {}", REMOTE_CLASSES_CONFIG, e.getMessage(), e);
             throw new RuntimeException(e);
         }
+        Map<String, Set<String>> snapshot = new HashMap<>();
+        indexed.forEach((key, value) -> snapshot.put(key, Collections.unmodifiableSet(value)));
+        indexedSubClasses = Collections.unmodifiableMap(snapshot);
+        RESOLVED_SUB_CLASSES.clear();
         init = true;
     }
 
+    /**
+     * 读取与扩展类清单同一位置的继承关系索引，不存在时返回空，清单中的类按原方式加载并遍历
+     */
+    private Map<String, String[]> index(URL url) {
+        Map<String, String[]> index = new HashMap<>();
+        InputStream inputStream = null;
+        try {
+            inputStream = new URL(url, REMOTE_CLASSES_INDEX.substring(REMOTE_CLASSES_INDEX.lastIndexOf('/') + 1)).openStream();
+            for (String line : IOUtils.readLines(inputStream, StandardCharsets.UTF_8)) {
+                int split = line.indexOf('=');
+                if (split <= 0)
+                    continue;
+                index.put(StringUtils.trim(line.substring(0, split)), StringUtils.split(line.substring(split + 1), ','));
+            }
+        } catch (IOException e) {
+            if (log.isDebugEnabled())
+                log.debug("No Index: {}", url);
+        } finally {
+            IOUtils.closeQuietly(inputStream);
+        }
+        return index;
+    }
+
     private void superClasses(Class<?> source, Class<?> target) {
         if (Objects.isNull(target) || StringUtils.startsWith(target.getName(), "java"))
             return;
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.metadata;
+
+import java.util.Map;
+
+/**
+ * 远程接口的编译期元数据，由 remote-processor 为每个远程接口生成实现类 {@code <接口二进制名>_RemoteMetadata}
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public interface RemoteInterfaceMetadata {
+
+    /**
+     * 生成类名后缀
+     */
+    String SUFFIX = "_RemoteMetadata";
+
+    /**
+     * 接口声明的方法，键为 {@link RemoteMethodDescriptor#key(java.lang.reflect.Method)}
+     */
+    Map<String, RemoteMethodDescriptor> methods();
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.metadata;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 编译期元数据注册表
+ * <p>
+ * 按约定查找接口对应的生成类 {@code <接口二进制名>_RemoteMetadata}，未使用 remote-processor 编译的接口返回空，
+ * 调用方回退为运行期反射；{@link #interfaces(ClassLoader)} 读取生成的 META-INF/remote.metadata 清单
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteMetadataRegistry {
+    private static final Logger log = LoggerFactory.getLogger(RemoteMetadataRegistry.class);
+    public static final String REMOTE_METADATA_CONFIG = "META-INF/remote.metadata";
+    private static final RemoteInterfaceMetadata ABSENT = Collections::emptyMap;
+    private static final Map<Class<?>, RemoteInterfaceMetadata> METADATA = new ConcurrentHashMap<>();
+
+    private RemoteMetadataRegistry() {
+    }
+
+    /**
+     * 方法的编译期描述，不存在时返回空
+     */
+    public static RemoteMethodDescriptor descriptor(Class<?> remoteInterface, Method method) {
+        RemoteInterfaceMetadata metadata = METADATA.computeIfAbsent(remoteInterface, RemoteMetadataRegistry::load);
+        if (metadata == ABSENT)
+            return null;
+
+        RemoteMethodDescriptor descriptor = metadata.methods().get(RemoteMethodDescriptor.key(method));
+        // 生成类与接口不一致（如未重新编译），回退为运行期反射
+        if (Objects.isNull(descriptor) || descriptor.parameterCount() != method.getParameterCount())
+            return null;
+        return descriptor;
+    }
+
+    private static RemoteInterfaceMetadata load(Class<?> remoteInterface) {
+        String name = remoteInterface.getName() + RemoteInterfaceMetadata.SUFFIX;
+        try {
+            Class<?> clazz = Class.forName(name, true, remoteInterface.getClassLoader());
+            if (!RemoteInterfaceMetadata.class.isAssignableFrom(clazz))
+                return ABSENT;
+            return (RemoteInterfaceMetadata) clazz.getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return ABSENT;
+        } catch (Throwable t) {
+            log.warn("加载远程接口元数据：{} 异常：{}", name, t.toString());
+            return ABSENT;
+        }
+    }
+
+    /**
+     * 编译期登记的全部远程接口名称
+     */
+    public static Set<String> interfaces(ClassLoader classLoader) {
+        Set<String> names = new LinkedHashSet<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(REMOTE_METADATA_CONFIG);
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+                try (InputStream inputStream = url.openStream()) {
+                    for (String line : IOUtils.readLines(inputStream, StandardCharsets.UTF_8)) {
+                        String name = StringUtils.trim(line);
+                        if (StringUtils.isNotBlank(name) && !name.startsWith("#"))
+                            names.add(name);
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            log.warn("读取 {} 异常：{}", REMOTE_METADATA_CONFIG, t.toString());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.metadata;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * 远程方法的编译期描述：声明了 {@link com.asialjim.microapplet.remote.annotation.RemoteLifeCycle} 的注解所在位置、
+ * 参数角色及回调参数下标；运行期据此跳过无关注解与参数的反射。
+ * 返回类型仍由运行期解析：异步返回类型的适配及其响应数据类型取决于运行期登记的 {@code RemoteReturnAdapter}
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteMethodDescriptor {
+    /**
+     * 回调参数角色
+     */
+    public static final String CALLBACK = "CallBack";
+
+    private final String key;
+    private final Set<String> typeAnnotations;
+    private final Set<String> methodAnnotations;
+    private final Set<String> returnAnnotations;
+    private final String[][] parameterAnnotations;
+    private final String[] parameterRoles;
+    private final int[] callbackIndexes;
+
+    /**
+     * 由生成代码调用
+     *
+     * @param key                  方法签名
+     * @param typeAnnotations      接口上的生命周期注解类型
+     * @param methodAnnotations    方法上的生命周期注解类型
+     * @param returnAnnotations    返回类型上的生命周期注解类型
+     * @param parameterAnnotations 各参数上的生命周期注解类型
+     * @param parameterRoles       各参数角色：生命周期注解简单名称、{@link #CALLBACK}，无角色时为空
+     */
+    public RemoteMethodDescriptor(String key, String[] typeAnnotations, String[] methodAnnotations, String[] returnAnnotations,
+                                  String[][] parameterAnnotations, String[] parameterRoles) {
+        this.key = key;
+        this.typeAnnotations = set(typeAnnotations);
+        this.methodAnnotations = set(methodAnnotations);
+        this.returnAnnotations = set(returnAnnotations);
+        this.parameterAnnotations = parameterAnnotations;
+        this.parameterRoles = parameterRoles;
+
+        int[] indexes = new int[parameterRoles.length];
+        int size = 0;
+        for (int i = 0; i < parameterRoles.length; i++) {
+            if (CALLBACK.equals(parameterRoles[i]))
+                indexes[size++] = i;
+        }
+        this.callbackIndexes = Arrays.copyOf(indexes, size);
+    }
+
+    private static Set<String> set(String[] names) {
+        if (Objects.isNull(names) || names.length == 0)
+            return Collections.emptySet();
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(names)));
+    }
+
+    /**
+     * 方法签名：方法名及参数擦除类型，如 {@code query(java.lang.String,int[])}
+     */
+    public static String key(Method method) {
+        StringJoiner joiner = new StringJoiner(",", method.getName() + "(", ")");
+        for (Class<?> type : method.getParameterTypes())
+            joiner.add(type.getTypeName());
+        return joiner.toString();
+    }
+
+    /**
+     * 保留指定注解中由编译期确认为生命周期注解的部分
+     */
+    public static List<Annotation> filter(Annotation[] annotations, Set<String> types) {
+        if (types.isEmpty())
+            return Collections.emptyList();
+
+        List<Annotation> result = new ArrayList<>(types.size());
+        for (Annotation annotation : annotations) {
+            if (types.contains(annotation.annotationType().getName()))
+                result.add(annotation);
+        }
+        return result;
+    }
+
+    public String key() {
+        return this.key;
+    }
+
+    public Set<String> typeAnnotations() {
+        return this.typeAnnotations;
+    }
+
+    public Set<String> methodAnnotations() {
+        return this.methodAnnotations;
+    }
+
+    public Set<String> returnAnnotations() {
+        return this.returnAnnotations;
+    }
+
+    public int parameterCount() {
+        return this.parameterRoles.length;
+    }
+
+    /**
+     * 参数是否需要初始化：存在生命周期注解或为回调参数
+     */
+    public boolean parameterPresent(int index) {
+        return Objects.nonNull(this.parameterRoles[index]);
+    }
+
+    public Set<String> parameterAnnotations(int index) {
+        return set(this.parameterAnnotations[index]);
+    }
+
+    public String parameterRole(int index) {
+        return this.parameterRoles[index];
+    }
+
+    public int[] callbackIndexes() {
+        return this.callbackIndexes.clone();
+    }
+
+    @Override
+    public String toString() {
+        return this.key;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.metrics;
+
+import com.asialjim.microapplet.remote.context.GenericKey;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 远程方法的内置指标：延迟与响应大小分布、进行中的调用数及成功、失败、异常、重试次数
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteMethodMetrics {
+    /**
+     * 响应字节数，由网络层在收到响应时写入响应上下文
+     */
+    public static final GenericKey<Long> RESPONSE_BYTES_KEY = GenericKey.keyOf("remote-response-bytes");
+
+    /**
+     * 业务成功标记，写入响应上下文
+     */
+    public static final GenericKey<Boolean> SUCCESS_KEY = GenericKey.keyOf("remote-call-success");
+
+    private final String remoteName;
+    private final RemoteHistogram latency = new RemoteHistogram();
+    private final RemoteHistogram responseBytes = new RemoteHistogram();
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder success = new LongAdder();
+    private final LongAdder fail = new LongAdder();
+    private final LongAdder error = new LongAdder();
+    private final LongAdder retry = new LongAdder();
+
+    public RemoteMethodMetrics(String remoteName) {
+        this.remoteName = remoteName;
+    }
+
+    void start() {
+        this.inflight.incrementAndGet();
+    }
+
+    void complete(RemoteMetrics.Outcome outcome, long nanos, int attempts, long responseBytes) {
+        this.inflight.decrementAndGet();
+        this.latency.record(nanos);
+        if (responseBytes >= 0)
+            this.responseBytes.record(responseBytes);
+        if (attempts > 1)
+            this.retry.add(attempts - 1);
+
+        switch (outcome) {
+            case SUCCESS:
+                this.success.increment();
+                break;
+            case FAIL:
+                this.fail.increment();
+                break;
+            default:
+                this.error.increment();
+        }
+    }
+
+    public String remoteName() {
+        return this.remoteName;
+    }
+
+    /**
+     * 调用耗时分布，单位：纳秒
+     */
+    public RemoteHistogram latency() {
+        return this.latency;
+    }
+
+    /**
+     * 响应大小分布，单位：字节
+     */
+    public RemoteHistogram responseBytes() {
+        return this.responseBytes;
+    }
+
+    public int inflight() {
+        return this.inflight.get();
+    }
+
+    public long successCount() {
+        return this.success.sum();
+    }
+
+    public long failCount() {
+        return this.fail.sum();
+    }
+
+    public long errorCount() {
+        return this.error.sum();
+    }
+
+    public long retryCount() {
+        return this.retry.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteMethodMetrics{" +
+                "remoteName='" + this.remoteName + '\'' +
+                ", inflight=" + inflight() +
+                ", success=" + successCount() +
+                ", fail=" + failCount() +
+                ", error=" + errorCount() +
+                ", retry=" + retryCount() +
+                ", p50=" + this.latency.percentile(50) +
+                ", p99=" + this.latency.percentile(99) +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.metrics;
+
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+
+/**
+ * 调用指标扩展点
+ * <p>
+ * 实现类通过 META-INF/remote.loadRemoteClass 登记，需提供公共无参构造函数；
+ * 回调在调用线程或网络线程上同步执行，实现不应阻塞
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public interface RemoteMetrics {
+
+    /**
+     * 调用开始
+     *
+     * @param methodConfig 远程方法，{@link RemoteMethodConfig#getMetrics()} 为该方法的内置指标
+     * @param endpoint     端点
+     */
+    default void start(RemoteMethodConfig methodConfig, String endpoint) {
+    }
+
+    /**
+     * 调用结束（含全部重试）
+     *
+     * @param methodConfig  远程方法
+     * @param endpoint      端点
+     * @param outcome       调用结果
+     * @param nanos         耗时，单位：纳秒
+     * @param attempts      执行次数，包含首次执行
+     * @param responseBytes 最后一次响应的字节数，未知时为 -1
+     */
+    void complete(RemoteMethodConfig methodConfig, String endpoint, Outcome outcome, long nanos, int attempts, long responseBytes);
+
+    enum Outcome {
+        /**
+         * 业务成功
+         */
+        SUCCESS,
+
+        /**
+         * 已响应，业务失败
+         */
+        FAIL,
+
+        /**
+         * 执行异常
+         */
+        ERROR
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.metrics;
+
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.loader.RemoteClassLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 调用指标分发：记录方法内置指标与端点延迟分布，并通知已登记的 {@link RemoteMetrics} 实现
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteMetricsHolder {
+    private static final Logger log = LoggerFactory.getLogger(RemoteMetricsHolder.class);
+    private static final ConcurrentMap<String, RemoteHistogram> ENDPOINTS = new ConcurrentHashMap<>();
+    private static final RemoteMetrics[] METRICS;
+
+    static {
+        List<RemoteMetrics> metrics = new ArrayList<>();
+        for (Class<?> aClass : RemoteClassLoader.subClasses(RemoteMetrics.class)) {
+            if (aClass.isInterface() || Modifier.isAbstract(aClass.getModifiers()))
+                continue;
+
+            //noinspection unchecked
+            Constructor<? extends RemoteMetrics>[] declaredConstructors = (Constructor<? extends RemoteMetrics>[]) aClass.getDeclaredConstructors();
+            Optional<Constructor<? extends RemoteMetrics>> constructorOptional = Arrays.stream(declaredConstructors).filter(item -> item.getParameterCount() == 0).filter(item -> item.getModifiers() == Modifier.PUBLIC).findFirst();
+            if (!constructorOptional.isPresent())
+                throw new IllegalStateException(aClass.getName() + "未提供默认构造函数");
+
+            try {
+                metrics.add(constructorOptional.get().newInstance());
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        METRICS = metrics.toArray(new RemoteMetrics[0]);
+    }
+
+    private RemoteMetricsHolder() {
+    }
+
+    public static void start(RemoteMethodConfig methodConfig, String endpoint) {
+        methodConfig.getMetrics().start();
+        for (RemoteMetrics metrics : METRICS) {
+            try {
+                metrics.start(methodConfig, endpoint);
+            } catch (Throwable t) {
+                log.warn("Remote 指标: {} 记录异常: {}", metrics.getClass().getName(), t.getMessage(), t);
+            }
+        }
+    }
+
+    public static void complete(RemoteMethodConfig methodConfig, String endpoint, RemoteMetrics.Outcome outcome, long nanos, int attempts, long responseBytes) {
+        methodConfig.getMetrics().complete(outcome, nanos, attempts, responseBytes);
+        ENDPOINTS.computeIfAbsent(endpoint, k -> new RemoteHistogram()).record(nanos);
+        for (RemoteMetrics metrics : METRICS) {
+            try {
+                metrics.complete(methodConfig, endpoint, outcome, nanos, attempts, responseBytes);
+            } catch (Throwable t) {
+                log.warn("Remote 指标: {} 记录异常: {}", metrics.getClass().getName(), t.getMessage(), t);
+            }
+        }
+    }
+
+    /**
+     * 端点调用耗时分布，单位：纳秒；端点尚无调用时返回 null
+     */
+    public static RemoteHistogram endpoint(String endpoint) {
+        return ENDPOINTS.get(endpoint);
+    }
+
+    public static Set<String> endpoints() {
+        return Collections.unmodifiableSet(ENDPOINTS.keySet());
+    }
+}
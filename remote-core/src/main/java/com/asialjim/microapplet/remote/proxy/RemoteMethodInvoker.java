@@ -16,71 +16,239 @@
 package com.asialjim.microapplet.remote.proxy;
 
 import com.asialjim.microapplet.remote.annotation.Retryable;
-import com.asialjim.microapplet.remote.context.RemoteHandlerContext;
-import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
-import com.asialjim.microapplet.remote.context.RemoteReqContext;
-import com.asialjim.microapplet.remote.context.RemoteResContext;
+import com.asialjim.microapplet.remote.context.*;
+import com.asialjim.microapplet.remote.jfr.RemoteFlightRecorder;
+import com.asialjim.microapplet.remote.metrics.RemoteMethodMetrics;
+import com.asialjim.microapplet.remote.metrics.RemoteMetrics;
+import com.asialjim.microapplet.remote.metrics.RemoteMetricsHolder;
+import com.asialjim.microapplet.remote.retry.RemoteRetryPolicy;
+import com.asialjim.microapplet.remote.trace.RemoteTrace;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
+import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 public class RemoteMethodInvoker {
     private static final Logger log = LoggerFactory.getLogger(RemoteMethodInvoker.class);
+    private static final Object[] EMPTY_ARGS = new Object[0];
 
-    private final RemoteMethodConfig methodConfig;
+    private final Class<?> remoteInterface;
+    private final Method method;
+    private volatile RemoteMethodConfig methodConfig;
 
     public RemoteMethodInvoker(RemoteMethodConfig methodConfig) {
+        this.remoteInterface = null;
+        this.method = methodConfig.getMethod();
         this.methodConfig = methodConfig;
     }
 
+    /**
+     * 延迟构建：方法配置在 {@link #init()} 或首次调用时编译
+     */
+    public RemoteMethodInvoker(Class<?> remoteInterface, Method method) {
+        this.remoteInterface = remoteInterface;
+        this.method = method;
+    }
+
+    /**
+     * 编译方法配置，仅执行一次；失败时下次调用重新编译
+     */
+    public RemoteMethodInvoker init() {
+        if (Objects.nonNull(this.methodConfig))
+            return this;
+
+        synchronized (this) {
+            if (Objects.isNull(this.methodConfig))
+                this.methodConfig = RemoteMethodConfig.create(this.remoteInterface, this.method).init();
+        }
+        return this;
+    }
+
+    public boolean initialized() {
+        return Objects.nonNull(this.methodConfig);
+    }
+
     public Object invoke(Object[] args) throws Throwable {
-        String trace = MDC.get("REQUEST_ID");
-        if (StringUtils.isBlank(trace))
-            trace = UUID.randomUUID().toString().substring(0,8);
-        MDC.put("REQUEST_ID", trace);
-        RemoteReqContext reqContext = new RemoteReqContext();
-        RemoteResContext resContext = new RemoteResContext();
-        Object[] copyArgs = Objects.isNull(args) ? new Object[0] : args.clone();
+        init();
+        RemoteTrace trace = RemoteTrace.current();
+
+        // 异步返回类型：每次执行均使用独立的请求、响应上下文，返回值可能被多次订阅，参数需复制
+        if (this.methodConfig.isAsyncReturn()) {
+            Object[] copyArgs = Objects.isNull(args) ? EMPTY_ARGS : args.clone();
+            return this.methodConfig.getReturnAdapter().adapt(this.methodConfig, () -> invokeAsync(trace, copyArgs));
+        }
 
+        // 代理每次调用都会创建新的参数数组，同步调用无需复制
+        Object[] copyArgs = Objects.isNull(args) ? EMPTY_ARGS : args;
+        RemoteReqContext reqContext = RemoteContextPool.req();
+        RemoteResContext resContext = RemoteContextPool.res();
         RemoteHandlerContext handlerContext = this.methodConfig.getRemoteHandlerContext();
+        String endpoint = endpoint(this.methodConfig);
+        reqContext.trace(trace);
 
-        StopWatch stopWatch = new StopWatch();
+        String caller = trace.attach();
+        RemoteMetricsHolder.start(this.methodConfig, endpoint);
+        Object event = RemoteFlightRecorder.beginCall();
+        RemoteMetrics.Outcome outcome = RemoteMetrics.Outcome.ERROR;
+        long start = System.nanoTime();
         try {
-            stopWatch.start();
-            Object o = doInvoke(handlerContext, this.methodConfig, reqContext, resContext, copyArgs);
-            stopWatch.stop();
-            return o;
+            Object result = doInvoke(handlerContext, this.methodConfig, reqContext, resContext, copyArgs);
+            outcome = outcome(resContext);
+            return result;
         } finally {
-            long time = stopWatch.getTime();
-            if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 on 方法", methodConfig.getRemoteName());
+            long nanos = System.nanoTime() - start;
+            try {
+                if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 on 方法", methodConfig.getRemoteName());
 
-            handlerContext.on(resContext.getData(), this.methodConfig, reqContext, resContext, copyArgs);
-            log.info("Remote 客户端：{} 执行时间： {} 毫秒\r\n", methodConfig.getRemoteName(), time);
+                handlerContext.on(resContext.getData(), this.methodConfig, reqContext, resContext, copyArgs);
+                log.info("Remote 客户端：{} 执行时间： {} 毫秒\r\n", methodConfig.getRemoteName(), TimeUnit.NANOSECONDS.toMillis(nanos));
+            } finally {
+                RemoteMetricsHolder.complete(this.methodConfig, endpoint, outcome, nanos, reqContext.retryTimes(), responseBytes(resContext));
+                RemoteFlightRecorder.endCall(event, this.methodConfig, endpoint, reqContext, resContext, outcome.name(), responseBytes(resContext));
+                RemoteContextPool.release(reqContext, resContext);
+                RemoteTrace.detach(caller);
+            }
         }
     }
 
-    private Object doInvoke(RemoteHandlerContext handlerContext, RemoteMethodConfig methodConfig, RemoteReqContext reqContext, RemoteResContext resContext, Object[] copyArgs) {
+    private CompletableFuture<Object> invokeAsync(RemoteTrace trace, Object[] copyArgs) {
+        RemoteReqContext reqContext = RemoteContextPool.req();
+        RemoteResContext resContext = RemoteContextPool.res();
+        RemoteHandlerContext handlerContext = this.methodConfig.getRemoteHandlerContext();
+        RemoteCallFuture call = new RemoteCallFuture();
+        String endpoint = endpoint(this.methodConfig);
+        reqContext.trace(trace);
+
+        String caller = trace.attach();
+        RemoteMetricsHolder.start(this.methodConfig, endpoint);
+        Object event = RemoteFlightRecorder.beginCall();
+        long start = System.nanoTime();
+        CompletableFuture<Object> future;
+        try {
+            future = doInvokeAsync(call, trace, handlerContext, this.methodConfig, reqContext, resContext, copyArgs);
+        } catch (Throwable t) {
+            future = failedFuture(t);
+        } finally {
+            RemoteTrace.detach(caller);
+        }
+
+        future.whenComplete((data, ex) -> {
+            String previous = trace.attach();
+            Throwable error = Objects.nonNull(ex) ? unwrap(ex) : null;
+            try {
+                finalFunctions(handlerContext, this.methodConfig, reqContext, resContext, copyArgs);
+            } catch (Throwable t) {
+                if (Objects.isNull(error))
+                    error = t;
+            }
+
+            long nanos = System.nanoTime() - start;
+            try {
+                if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 on 方法", methodConfig.getRemoteName());
+                handlerContext.on(resContext.getData(), this.methodConfig, reqContext, resContext, copyArgs);
+                log.info("Remote 客户端：{} 执行时间： {} 毫秒\r\n", methodConfig.getRemoteName(), TimeUnit.NANOSECONDS.toMillis(nanos));
+            } finally {
+                RemoteMetrics.Outcome outcome = Objects.nonNull(error) ? RemoteMetrics.Outcome.ERROR : outcome(resContext);
+                RemoteMetricsHolder.complete(this.methodConfig, endpoint, outcome, nanos, reqContext.retryTimes(), responseBytes(resContext));
+                RemoteFlightRecorder.endCall(event, this.methodConfig, endpoint, reqContext, resContext, outcome.name(), responseBytes(resContext));
+                RemoteContextPool.release(reqContext, resContext);
+                RemoteTrace.detach(previous);
+                if (Objects.nonNull(error)) call.completeExceptionally(error);
+                else call.complete(data);
+            }
+        });
+        return call;
+    }
+
+    /**
+     * 异步执行一次：before 与 invoke 在当前线程上执行，请求写出后即返回；before 阶段登记了发送前等待时，invoke 在等待完成后执行；
+     * after 及后续阶段作为响应信号的后续动作执行，需要重试时由定时器在退避时间后发起下一次执行
+     */
+    private CompletableFuture<Object> doInvokeAsync(RemoteCallFuture call, RemoteTrace trace, RemoteHandlerContext handlerContext, RemoteMethodConfig methodConfig, RemoteReqContext reqContext, RemoteResContext resContext, Object[] copyArgs) {
+        if (call.isCancelled())
+            return failedFuture(new CancellationException("Remote 客户端: " + methodConfig.getRemoteName() + " 调用已取消"));
+
         if (reqContext.retryTimes() > 0)
             log.info("Remote 客户端: {} 调用开始, 重试次数: {}...", methodConfig.getRemoteName(), reqContext.retryTimes());
-
         reqContext.addRetryTimes();
-        if (reqContext.retryTimes() > 10)
-            throw new RuntimeException("达到最大重试次数：10， 你必须自定义最大重试次数，且要求小于10次");
 
+        CompletableFuture<Void> deferred;
         try {
             // before方法
             if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 before 方法", methodConfig.getRemoteName());
             handlerContext.before(resContext.getData(), methodConfig, reqContext, resContext, copyArgs);
+            if (reqContext.completed()) {
+                resContext.property(RemoteMethodMetrics.SUCCESS_KEY, Boolean.TRUE);
+                return CompletableFuture.completedFuture(methodConfig.getReturnAdapter().resolve(resContext.getData(), methodConfig, resContext));
+            }
+            deferred = reqContext.takeDeferred();
+        } catch (Throwable t) {
+            // 本次执行登记的发送前等待随本次执行一并作废
+            reqContext.takeDeferred();
+            return afterResponse(call, trace, handlerContext, methodConfig, reqContext, resContext, copyArgs, t);
+        }
 
+        if (Objects.isNull(deferred) || (deferred.isDone() && !deferred.isCompletedExceptionally()))
+            return sendAsync(call, trace, handlerContext, methodConfig, reqContext, resContext, copyArgs);
+
+        // 发送前的等待（如限流令牌）由定时器完成，等待期间取消调用会一并取消等待
+        call.attach(deferred);
+        return deferred.handleAsync((v, ex) -> {
+            String previous = trace.attach();
+            try {
+                if (Objects.nonNull(ex))
+                    return call.isCancelled() ? failedFuture(unwrap(ex)) : afterResponse(call, trace, handlerContext, methodConfig, reqContext, resContext, copyArgs, unwrap(ex));
+                return sendAsync(call, trace, handlerContext, methodConfig, reqContext, resContext, copyArgs);
+            } finally {
+                RemoteTrace.detach(previous);
+            }
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * 异步发送：invoke 在当前线程上执行，after 及后续阶段作为响应信号的后续动作执行
+     */
+    private CompletableFuture<Object> sendAsync(RemoteCallFuture call, RemoteTrace trace, RemoteHandlerContext handlerContext, RemoteMethodConfig methodConfig, RemoteReqContext reqContext, RemoteResContext resContext, Object[] copyArgs) {
+        CompletableFuture<Void> response;
+        try {
             // 执行方法
             if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 invoke 方法", methodConfig.getRemoteName());
             handlerContext.invoke(resContext.getData(), methodConfig, reqContext, resContext, copyArgs);
 
+            // 未登记响应信号的调用（如本地处理器）视为已响应
+            response = Optional.ofNullable(reqContext.get(RemoteAsyncContext.RESPONSE_FUTURE_KEY)).orElseGet(() -> CompletableFuture.completedFuture(null));
+            call.attach(response);
+        } catch (Throwable t) {
+            return afterResponse(call, trace, handlerContext, methodConfig, reqContext, resContext, copyArgs, t);
+        }
+
+        return response.handle((v, ex) -> {
+            String previous = trace.attach();
+            try {
+                if (Objects.nonNull(ex) && Objects.isNull(resContext.getCause()))
+                    resContext.setCause(unwrap(ex));
+                return afterResponse(call, trace, handlerContext, methodConfig, reqContext, resContext, copyArgs, null);
+            } finally {
+                RemoteTrace.detach(previous);
+            }
+        }).thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Object> afterResponse(RemoteCallFuture call, RemoteTrace trace, RemoteHandlerContext handlerContext, RemoteMethodConfig methodConfig, RemoteReqContext reqContext, RemoteResContext resContext, Object[] copyArgs, Throwable error) {
+        long delay;
+        try {
+            if (Objects.nonNull(error))
+                throw error;
+
             // after 方法
             if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 after 方法", methodConfig.getRemoteName());
             handlerContext.after(resContext.getData(), methodConfig, reqContext, resContext, copyArgs);
@@ -88,70 +256,254 @@ public class RemoteMethodInvoker {
 
             // 判断流程是否错误
             if (Objects.nonNull(resContext.getCause())) {
-                log.error("Remote 客户端： {} 执行异常：{}", methodConfig.getRemoteName(), resContext.getCause().getMessage(),resContext.getCause());
-                // 抛出错误，并交由 catch 模块中的回调函数处理
+                log.error("Remote 客户端： {} 执行异常：{}", methodConfig.getRemoteName(), resContext.getCause().getMessage(), resContext.getCause());
                 throw resContext.getCause();
             }
+
             // 判断流程是否成功
             if (log.isDebugEnabled())
                 log.debug("Remote 客户端： {} 执行 successWhen 方法", methodConfig.getRemoteName());
             boolean success = handlerContext.successWhen(data, methodConfig, reqContext, resContext, copyArgs);
-            // 判定业务成功， 返回类型不为 void， 且返回结果不为空
             if (success && !Void.class.isAssignableFrom(methodConfig.getReturnClass()) && Objects.nonNull(data)) {
-                // 回调成功函数
                 if (log.isDebugEnabled())
                     log.debug("Remote 客户端： {} 执行 onSuccess 方法", methodConfig.getRemoteName());
                 handlerContext.onSuccess(data, methodConfig, reqContext, resContext, copyArgs);
-                return data;
+                resContext.property(RemoteMethodMetrics.SUCCESS_KEY, Boolean.TRUE);
+                return CompletableFuture.completedFuture(methodConfig.getReturnAdapter().resolve(data, methodConfig, resContext));
             }
 
             // 回调失败函数
             if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 onFail 方法", methodConfig.getRemoteName());
             handlerContext.onFail(data, methodConfig, reqContext, resContext, copyArgs);
 
-            Boolean retryable = Optional.ofNullable(reqContext.get(Retryable.RETRY_ABLE_KEY)).orElse(Boolean.FALSE);
-
-            // 判断是否需要重试
-            if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 retryWhen 方法", methodConfig.getRemoteName());
-            boolean retry = retryable && handlerContext.retryWhen(data, methodConfig, reqContext, resContext, copyArgs);
+            delay = retryOnFail(handlerContext, methodConfig, reqContext, resContext, copyArgs, data);
+            if (delay < 0)
+                return CompletableFuture.completedFuture(methodConfig.getReturnAdapter().resolve(data, methodConfig, resContext));
 
-            // 不需要重试，直接返回
-            if (!retry) return data;
-
-            // 需要重试,回调重试回调函数
             if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 onRetry 方法", methodConfig.getRemoteName());
             handlerContext.onRetry(data, methodConfig, reqContext, resContext, copyArgs);
-
-            // 重试
-            return doInvoke(handlerContext, methodConfig, reqContext, resContext, copyArgs);
         } catch (Throwable t) {
-            Boolean retryable = Optional.ofNullable(reqContext.get(Retryable.RETRY_ABLE_KEY)).orElse(Boolean.FALSE);
-
-            // 回调异常回调函数
-            if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 onError 方法", methodConfig.getRemoteName());
-            boolean retry = handlerContext.onError(resContext.getData(), methodConfig, reqContext, resContext, t, copyArgs) && retryable;
+            try {
+                delay = retryOnError(handlerContext, methodConfig, reqContext, resContext, copyArgs, t);
+                if (delay < 0) {
+                    if (CollectionUtils.isNotEmpty(resContext.getThrowable()))
+                        return failedFuture(throwables(methodConfig, resContext));
+                    return CompletableFuture.completedFuture(methodConfig.getReturnAdapter().resolve(resContext.getData(), methodConfig, resContext));
+                }
 
-            // 需要重试
-            if (retry) {
                 if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 onRetry 方法", methodConfig.getRemoteName());
                 handlerContext.onRetry(resContext.getData(), methodConfig, reqContext, resContext, copyArgs);
-                // 重试
-                return doInvoke(handlerContext, methodConfig, reqContext, resContext, copyArgs);
+            } catch (Throwable e) {
+                return failedFuture(e);
             }
+        }
 
-            if (CollectionUtils.isNotEmpty(resContext.getThrowable())){
-                List<Throwable> throwable = resContext.getThrowable();
-                StringJoiner sj = new StringJoiner(";\r\n");
-                for (Throwable e : throwable) {
-                    sj.add(e.getMessage());
-                }
-                log.error("Remote 客户端： {} 执行异常：{}", methodConfig.getRemoteName(), sj);
-                throw new RuntimeException(sj.toString());
+        if (delay <= 0)
+            return doInvokeAsync(call, trace, handlerContext, methodConfig, reqContext, resContext, copyArgs);
+
+        // 退避等待由定时器完成，等待期间取消调用会一并取消等待
+        log.info("Remote 客户端: {} 将在 {} 毫秒后重试", methodConfig.getRemoteName(), delay);
+        CompletableFuture<Void> wait = RemoteAsyncContext.delay(delay);
+        call.attach(wait);
+        return wait.thenComposeAsync(v -> {
+            String previous = trace.attach();
+            try {
+                return doInvokeAsync(call, trace, handlerContext, methodConfig, reqContext, resContext, copyArgs);
+            } finally {
+                RemoteTrace.detach(previous);
             }
+        });
+    }
+
+    /**
+     * 业务失败时计算下一次重试前的等待时间，不重试时返回 -1
+     */
+    private static long retryOnFail(RemoteHandlerContext handlerContext, RemoteMethodConfig methodConfig, RemoteReqContext reqContext, RemoteResContext resContext, Object[] copyArgs, Object data) {
+        if (!retryable(reqContext))
+            return -1;
+
+        // 判断是否需要重试：没有 retryWhen 处理器及回调的方法直接跳过
+        if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 retryWhen 方法", methodConfig.getRemoteName());
+        boolean requested = handlerContext.retryWhenPresent() && handlerContext.retryWhen(data, methodConfig, reqContext, resContext, copyArgs);
+        return RemoteRetryPolicy.of(methodConfig).nextDelay(methodConfig, reqContext, resContext, null, requested);
+    }
+
+    /**
+     * 执行异常时回调 onError，并计算下一次重试前的等待时间，不重试时返回 -1
+     */
+    private static long retryOnError(RemoteHandlerContext handlerContext, RemoteMethodConfig methodConfig, RemoteReqContext reqContext, RemoteResContext resContext, Object[] copyArgs, Throwable t) {
+        // 回调异常回调函数
+        if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 onError 方法", methodConfig.getRemoteName());
+        boolean requested = handlerContext.onError(resContext.getData(), methodConfig, reqContext, resContext, t, copyArgs);
+        if (!retryable(reqContext))
+            return -1;
+        return RemoteRetryPolicy.of(methodConfig).nextDelay(methodConfig, reqContext, resContext, t, requested);
+    }
+
+    /**
+     * 与递归执行时一致：每次执行对应一次 finally，全部执行结束后依次调用
+     */
+    private static void finalFunctions(RemoteHandlerContext handlerContext, RemoteMethodConfig methodConfig, RemoteReqContext reqContext, RemoteResContext resContext, Object[] copyArgs) {
+        for (int attempt = reqContext.retryTimes(); attempt > 0; attempt--)
+            handlerContext.finalFunction(resContext.getData(), methodConfig, reqContext, resContext, copyArgs);
+    }
+
+    private static RuntimeException throwables(RemoteMethodConfig methodConfig, RemoteResContext resContext) {
+        StringJoiner sj = new StringJoiner(";\r\n");
+        for (Throwable e : resContext.getThrowable()) {
+            sj.add(e.getMessage());
+        }
+        log.error("Remote 客户端： {} 执行异常：{}", methodConfig.getRemoteName(), sj);
+        return new RuntimeException(sj.toString());
+    }
+
+    private static void awaitRetry(RemoteMethodConfig methodConfig, long delay) {
+        if (delay <= 0)
+            return;
+
+        log.info("Remote 客户端: {} 将在 {} 毫秒后重试", methodConfig.getRemoteName(), delay);
+        try {
+            RemoteAsyncContext.delay(delay).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Remote 客户端: " + methodConfig.getRemoteName() + " 等待重试时线程被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 指标所属端点：网络层初始化时配置的端点，未配置时为接口名
+     */
+    private static String endpoint(RemoteMethodConfig methodConfig) {
+        String endpoint = methodConfig.config(Retryable.RETRY_ENDPOINT_KEY);
+        return StringUtils.isNotBlank(endpoint) ? endpoint : methodConfig.getRemoteInterface().getName();
+    }
+
+    private static RemoteMetrics.Outcome outcome(RemoteResContext resContext) {
+        return Boolean.TRUE.equals(resContext.property(RemoteMethodMetrics.SUCCESS_KEY)) ? RemoteMetrics.Outcome.SUCCESS : RemoteMetrics.Outcome.FAIL;
+    }
+
+    private static long responseBytes(RemoteResContext resContext) {
+        Long bytes = resContext.property(RemoteMethodMetrics.RESPONSE_BYTES_KEY);
+        return Objects.isNull(bytes) ? -1 : bytes;
+    }
+
+    private static boolean retryable(RemoteReqContext reqContext) {
+        return Boolean.TRUE.equals(reqContext.get(Retryable.RETRY_ABLE_KEY));
+    }
 
-            return resContext.getData();
+    private static <T> CompletableFuture<T> failedFuture(Throwable t) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(t);
+        return future;
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        if (t instanceof CompletionException && Objects.nonNull(t.getCause()))
+            return t.getCause();
+        return t;
+    }
+
+    /**
+     * 交给返回类型适配器的调用结果，取消时一并取消当前正在等待的请求
+     */
+    private static final class RemoteCallFuture extends CompletableFuture<Object> {
+        private volatile CompletableFuture<Void> response;
+
+        void attach(CompletableFuture<Void> response) {
+            this.response = response;
+            if (isCancelled())
+                response.cancel(false);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            CompletableFuture<Void> current = this.response;
+            if (cancelled && Objects.nonNull(current))
+                current.cancel(false);
+            return cancelled;
+        }
+    }
+
+    private Object doInvoke(RemoteHandlerContext handlerContext, RemoteMethodConfig methodConfig, RemoteReqContext reqContext, RemoteResContext resContext, Object[] copyArgs) {
+        try {
+            while (true) {
+                if (reqContext.retryTimes() > 0)
+                    log.info("Remote 客户端: {} 调用开始, 重试次数: {}...", methodConfig.getRemoteName(), reqContext.retryTimes());
+                reqContext.addRetryTimes();
+
+                long delay;
+                try {
+                    // before方法
+                    if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 before 方法", methodConfig.getRemoteName());
+                    handlerContext.before(resContext.getData(), methodConfig, reqContext, resContext, copyArgs);
+                    // before 阶段已直接给出结果（如命中本地缓存）
+                    if (reqContext.completed()) {
+                        resContext.property(RemoteMethodMetrics.SUCCESS_KEY, Boolean.TRUE);
+                        return resContext.getData();
+                    }
+
+                    // 执行方法
+                    if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 invoke 方法", methodConfig.getRemoteName());
+                    handlerContext.invoke(resContext.getData(), methodConfig, reqContext, resContext, copyArgs);
+
+                    // after 方法
+                    if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 after 方法", methodConfig.getRemoteName());
+                    handlerContext.after(resContext.getData(), methodConfig, reqContext, resContext, copyArgs);
+                    Object data = resContext.getData();
+
+                    // 判断流程是否错误
+                    if (Objects.nonNull(resContext.getCause())) {
+                        log.error("Remote 客户端： {} 执行异常：{}", methodConfig.getRemoteName(), resContext.getCause().getMessage(),resContext.getCause());
+                        // 抛出错误，并交由 catch 模块中的回调函数处理
+                        throw resContext.getCause();
+                    }
+                    // 判断流程是否成功
+                    if (log.isDebugEnabled())
+                        log.debug("Remote 客户端： {} 执行 successWhen 方法", methodConfig.getRemoteName());
+                    boolean success = handlerContext.successWhen(data, methodConfig, reqContext, resContext, copyArgs);
+                    // 判定业务成功， 返回类型不为 void， 且返回结果不为空
+                    if (success && !Void.class.isAssignableFrom(methodConfig.getReturnClass()) && Objects.nonNull(data)) {
+                        // 回调成功函数
+                        if (log.isDebugEnabled())
+                            log.debug("Remote 客户端： {} 执行 onSuccess 方法", methodConfig.getRemoteName());
+                        handlerContext.onSuccess(data, methodConfig, reqContext, resContext, copyArgs);
+                        resContext.property(RemoteMethodMetrics.SUCCESS_KEY, Boolean.TRUE);
+                        return data;
+                    }
+
+                    // 回调失败函数
+                    if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 onFail 方法", methodConfig.getRemoteName());
+                    handlerContext.onFail(data, methodConfig, reqContext, resContext, copyArgs);
+
+                    // 不需要重试，直接返回
+                    delay = retryOnFail(handlerContext, methodConfig, reqContext, resContext, copyArgs, data);
+                    if (delay < 0) return data;
+
+                    // 需要重试,回调重试回调函数
+                    if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 onRetry 方法", methodConfig.getRemoteName());
+                    handlerContext.onRetry(data, methodConfig, reqContext, resContext, copyArgs);
+                } catch (Throwable t) {
+                    delay = retryOnError(handlerContext, methodConfig, reqContext, resContext, copyArgs, t);
+
+                    // 不需要重试
+                    if (delay < 0) {
+                        if (CollectionUtils.isNotEmpty(resContext.getThrowable()))
+                            throw throwables(methodConfig, resContext);
+                        return resContext.getData();
+                    }
+
+                    if (log.isDebugEnabled()) log.debug("Remote 客户端： {} 执行 onRetry 方法", methodConfig.getRemoteName());
+                    handlerContext.onRetry(resContext.getData(), methodConfig, reqContext, resContext, copyArgs);
+                }
+
+                // 退避等待后重试
+                awaitRetry(methodConfig, delay);
+            }
         } finally {
-            handlerContext.finalFunction(resContext.getData(),methodConfig,reqContext,resContext,copyArgs);
+            finalFunctions(handlerContext, methodConfig, reqContext, resContext, copyArgs);
         }
     }
-}
\ No newline at end of file
+}
@@ -15,18 +15,25 @@
  */
 package com.asialjim.microapplet.remote.proxy;
 
-import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
 import com.asialjim.microapplet.remote.loader.RemoteClassLoader;
+import com.asialjim.microapplet.remote.metadata.RemoteMethodDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.lang.reflect.Proxy;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class RemoteProxy implements InvocationHandler {
+    private static final Logger log = LoggerFactory.getLogger(RemoteProxy.class);
+    /**
+     * remote-processor 生成的代理类后缀，生成类的方法直接调用对应的 {@link RemoteMethodInvoker}
+     */
+    public static final String GENERATED_SUFFIX = "_RemoteProxy";
+    private static final boolean GENERATED = !"false".equalsIgnoreCase(System.getProperty("remote.proxy.generated"));
+    private static final Map<String, Long> INIT_REPORT = new ConcurrentHashMap<>();
+    private static volatile InitMode initMode = InitMode.nameOf(System.getProperty("remote.proxy.init-mode"));
     private transient final String desc;
     private transient final Map<Method, RemoteMethodInvoker> methodCache;
 
@@ -41,17 +48,55 @@ public class RemoteProxy implements InvocationHandler {
             throw new IllegalArgumentException("Remote Proxy Interface Class must be Interface");
 
         RemoteProxy remoteProxy = new RemoteProxy(remoteInterface);
+        // 优先使用编译期生成的代理类，不存在或与接口不一致时回退为 JDK 动态代理
+        T generated = remoteProxy.generated(remoteInterface);
+        if (Objects.nonNull(generated))
+            return generated;
+
         //noinspection unchecked
         return (T) Proxy.newProxyInstance(remoteInterface.getClassLoader(), new Class[]{remoteInterface}, remoteProxy);
     }
 
+    /**
+     * 方法配置初始化模式，未设置时使用 {@code -Dremote.proxy.init-mode}
+     */
+    public static void initMode(String initMode) {
+        if (Objects.nonNull(initMode) && !initMode.trim().isEmpty())
+            RemoteProxy.initMode = InitMode.nameOf(initMode);
+    }
+
+    /**
+     * 启动报告：接口名称 -> 代理初始化耗时（毫秒），按耗时降序
+     */
+    public static Map<String, Long> initReport() {
+        Map<String, Long> report = new LinkedHashMap<>();
+        INIT_REPORT.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> report.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(report);
+    }
+
     private RemoteProxy(Class<?> remoteInterface){
         this.methodCache = new HashMap<>();
         this.desc = "RemoteProxyOf[" + remoteInterface.getName() + "]";
+        long start = System.nanoTime();
         initClass(remoteInterface);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        INIT_REPORT.put(remoteInterface.getName(), millis);
+        log.info("Remote 代理：{} 初始化完成，方法数：{}，模式：{}，耗时：{} 毫秒", remoteInterface.getName(), this.methodCache.size(), initMode, millis);
     }
 
-    private void initClass(Class<?> remoteInterface){initMethod(remoteInterface);}
+    private void initClass(Class<?> remoteInterface){
+        initMethod(remoteInterface);
+        if (initMode == InitMode.LAZY)
+            return;
+
+        // 各方法配置相互独立，在 ForkJoin 公共池上并行编译
+        if (this.methodCache.size() > 1)
+            this.methodCache.values().parallelStream().forEach(RemoteMethodInvoker::init);
+        else
+            this.methodCache.values().forEach(RemoteMethodInvoker::init);
+    }
 
     private void initMethod(Class<?> clazz){
         for (Class<?> superClass : clazz.getInterfaces())
@@ -61,12 +106,61 @@ public class RemoteProxy implements InvocationHandler {
             if (method.isDefault() || Modifier.isStatic(method.getModifiers()))
                 continue;
 
-            RemoteMethodConfig config = RemoteMethodConfig.create(clazz, method).init();
-            RemoteMethodInvoker invoker = new RemoteMethodInvoker(config);
+            RemoteMethodInvoker invoker = new RemoteMethodInvoker(clazz, method);
             methodCache.put(method,invoker);
         }
     }
 
+    private <T> T generated(Class<T> remoteInterface) {
+        if (!GENERATED)
+            return null;
+
+        String name = remoteInterface.getName() + GENERATED_SUFFIX;
+        try {
+            Class<?> clazz = Class.forName(name, true, remoteInterface.getClassLoader());
+            if (!remoteInterface.isAssignableFrom(clazz))
+                return null;
+
+            // 接口新增方法而生成类未重新编译时，生成类缺少实现
+            for (Method method : remoteInterface.getMethods()) {
+                if (Modifier.isAbstract(method.getModifiers()) && Modifier.isAbstract(clazz.getMethod(method.getName(), method.getParameterTypes()).getModifiers())) {
+                    log.warn("远程接口代理类：{} 未实现方法：{}，使用 JDK 动态代理", name, method.getName());
+                    return null;
+                }
+            }
+
+            Map<String, RemoteMethodInvoker> invokers = new HashMap<>();
+            this.methodCache.forEach((method, invoker) -> invokers.put(method.getDeclaringClass().getName() + "#" + RemoteMethodDescriptor.key(method), invoker));
+            String[] methods = (String[]) clazz.getField("METHODS").get(null);
+            RemoteMethodInvoker[] args = new RemoteMethodInvoker[methods.length];
+            for (int i = 0; i < methods.length; i++) {
+                args[i] = invokers.get(methods[i]);
+                if (Objects.isNull(args[i])) {
+                    log.warn("远程接口代理类：{} 方法：{} 不存在，使用 JDK 动态代理", name, methods[i]);
+                    return null;
+                }
+            }
+
+            return remoteInterface.cast(clazz.getConstructor(String.class, RemoteMethodInvoker[].class).newInstance(this.desc, args));
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (Throwable t) {
+            log.warn("加载远程接口代理类：{} 异常：{}，使用 JDK 动态代理", name, t.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 生成的代理类对未声明的受检异常的处理，与 JDK 动态代理一致
+     */
+    public static RuntimeException unchecked(Throwable throwable) {
+        if (throwable instanceof Error)
+            throw (Error) throwable;
+        if (throwable instanceof RuntimeException)
+            return (RuntimeException) throwable;
+        return new UndeclaredThrowableException(throwable);
+    }
+
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         if (Object.class.equals(method.getDeclaringClass()) || method.isDefault() || Modifier.isStatic(method.getModifiers()))
@@ -76,4 +170,23 @@ public class RemoteProxy implements InvocationHandler {
     }
 
     @Override public String toString() {return this.desc;}
+
+    public enum InitMode {
+        /**
+         * 创建代理时并行编译全部方法配置
+         */
+        EAGER,
+        /**
+         * 方法首次调用时编译其配置
+         */
+        LAZY;
+
+        public static InitMode nameOf(String name) {
+            for (InitMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(Objects.isNull(name) ? null : name.trim()))
+                    return mode;
+            }
+            return EAGER;
+        }
+    }
 }
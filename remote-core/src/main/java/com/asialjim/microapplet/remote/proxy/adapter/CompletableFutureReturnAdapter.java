@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.proxy.adapter;
+
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+public final class CompletableFutureReturnAdapter implements RemoteReturnAdapter {
+    public static final CompletableFutureReturnAdapter INSTANCE = new CompletableFutureReturnAdapter();
+
+    @Override
+    public boolean support(Class<?> returnClass) {
+        return CompletableFuture.class.equals(returnClass) || CompletionStage.class.equals(returnClass);
+    }
+
+    @Override
+    public Object adapt(RemoteMethodConfig methodConfig, Supplier<CompletableFuture<Object>> invocation) {
+        return invocation.get();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.proxy.adapter;
+
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.context.RemoteResContext;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 异步返回类型适配器
+ * <p>
+ * 方法声明的返回类型被某个适配器支持时，该方法以异步方式执行：
+ * 每次调用 {@link Supplier#get()} 发起一次完整的异步调用，适配器将其结果转换为方法声明的返回类型。
+ * 除内置的 {@link CompletableFutureReturnAdapter} 外，实现类通过 META-INF/remote.loadRemoteClass 注册
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public interface RemoteReturnAdapter {
+
+    /**
+     * 是否支持方法声明的返回类型
+     */
+    boolean support(Class<?> returnClass);
+
+    /**
+     * 响应解析使用的数据类型，默认为返回类型的第一个泛型参数
+     */
+    default Type dataType(Type genericReturnType) {
+        if (genericReturnType instanceof ParameterizedType)
+            return ((ParameterizedType) genericReturnType).getActualTypeArguments()[0];
+        return Object.class;
+    }
+
+    /**
+     * 在本次调用结束（finally 执行）前，将响应数据转换为交给适配器的结果
+     */
+    default Object resolve(Object data, RemoteMethodConfig methodConfig, RemoteResContext res) {
+        return data;
+    }
+
+    /**
+     * 将异步调用适配为方法声明的返回类型；取消 {@link Supplier#get()} 返回的 {@link CompletableFuture} 会取消对应请求
+     */
+    Object adapt(RemoteMethodConfig methodConfig, Supplier<CompletableFuture<Object>> invocation);
+}
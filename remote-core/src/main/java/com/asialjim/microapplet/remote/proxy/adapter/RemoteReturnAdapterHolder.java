@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.proxy.adapter;
+
+import com.asialjim.microapplet.remote.loader.RemoteClassLoader;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+public class RemoteReturnAdapterHolder {
+    private static final List<RemoteReturnAdapter> RETURN_ADAPTERS = new ArrayList<>();
+
+    static {
+        RETURN_ADAPTERS.add(CompletableFutureReturnAdapter.INSTANCE);
+
+        for (Class<?> aClass : RemoteClassLoader.subClasses(RemoteReturnAdapter.class)) {
+            if (aClass.isInterface() || Modifier.isAbstract(aClass.getModifiers()) || CompletableFutureReturnAdapter.class.equals(aClass))
+                continue;
+
+            //noinspection unchecked
+            Constructor<? extends RemoteReturnAdapter>[] declaredConstructors = (Constructor<? extends RemoteReturnAdapter>[]) aClass.getDeclaredConstructors();
+            Optional<Constructor<? extends RemoteReturnAdapter>> constructorOptional = Arrays.stream(declaredConstructors).filter(item -> item.getParameterCount() == 0).filter(item -> item.getModifiers() == Modifier.PUBLIC).findFirst();
+            if (!constructorOptional.isPresent())
+                throw new IllegalStateException(aClass.getName() + "未提供默认构造函数");
+
+            try {
+                RETURN_ADAPTERS.add(constructorOptional.get().newInstance());
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * 查找支持该返回类型的适配器，不存在时返回 null（同步调用）
+     */
+    public static RemoteReturnAdapter adapter(Class<?> returnClass) {
+        for (RemoteReturnAdapter adapter : RETURN_ADAPTERS) {
+            if (adapter.support(returnClass))
+                return adapter;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.retry;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 端点重试预算
+ * <p>
+ * 每次调用存入 ratio 个额度，每次重试消耗 1 个额度，从而将重试流量限制在正常流量的 ratio 倍以内；
+ * 另外每秒保底允许 minPerSecond 次重试，保证低流量端点仍可重试。
+ * 同一端点的预算由首个使用它的策略创建
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteRetryBudget {
+    private static final Map<String, RemoteRetryBudget> BUDGETS = new ConcurrentHashMap<>();
+    private static final long SCALE = 1000;
+
+    private final String endpoint;
+    private final long deposit;
+    private final long maxBalance;
+    private final int minPerSecond;
+    private final AtomicLong balance = new AtomicLong();
+
+    /**
+     * 高 32 位：秒；低 32 位：该秒内已使用的保底次数
+     */
+    private final AtomicLong reserve = new AtomicLong();
+
+    private RemoteRetryBudget(String endpoint, double ratio, int minPerSecond) {
+        this.endpoint = endpoint;
+        this.deposit = (long) (ratio * SCALE);
+        // 最多积攒约 1000 次调用的额度，避免长时间空闲后集中重试
+        this.maxBalance = Math.max(SCALE, this.deposit * 1000);
+        this.minPerSecond = minPerSecond;
+    }
+
+    public static RemoteRetryBudget of(String endpoint, double ratio, int minPerSecond) {
+        RemoteRetryBudget budget = BUDGETS.get(endpoint);
+        if (Objects.nonNull(budget))
+            return budget;
+        return BUDGETS.computeIfAbsent(endpoint, key -> new RemoteRetryBudget(key, ratio, minPerSecond));
+    }
+
+    public void deposit() {
+        if (this.deposit <= 0)
+            return;
+
+        long current;
+        do {
+            current = this.balance.get();
+            if (current >= this.maxBalance)
+                return;
+        } while (!this.balance.compareAndSet(current, Math.min(this.maxBalance, current + this.deposit)));
+    }
+
+    public boolean tryRetry() {
+        return tryReserve() || tryWithdraw();
+    }
+
+    private boolean tryReserve() {
+        if (this.minPerSecond <= 0)
+            return false;
+
+        long second = System.currentTimeMillis() / 1000;
+        while (true) {
+            long current = this.reserve.get();
+            long used = (current >>> 32) == second ? (current & 0xFFFFFFFFL) : 0;
+            if (used >= this.minPerSecond)
+                return false;
+            if (this.reserve.compareAndSet(current, (second << 32) | (used + 1)))
+                return true;
+        }
+    }
+
+    private boolean tryWithdraw() {
+        while (true) {
+            long current = this.balance.get();
+            if (current < SCALE)
+                return false;
+            if (this.balance.compareAndSet(current, current - SCALE))
+                return true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteRetryBudget{" + endpoint + ", balance=" + (this.balance.get() / (double) SCALE) + '}';
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.retry;
+
+import com.asialjim.microapplet.remote.annotation.Retryable;
+import com.asialjim.microapplet.remote.context.GenericKey;
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.context.RemoteReqContext;
+import com.asialjim.microapplet.remote.context.RemoteResContext;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 重试策略，由 {@link Retryable} 在方法初始化时构建，构建后不再修改
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteRetryPolicy {
+    private static final Logger log = LoggerFactory.getLogger(RemoteRetryPolicy.class);
+    private static final GenericKey<Long> LAST_DELAY_KEY = GenericKey.keyOf("retry-last-delay");
+    private static final Pattern STATUS_CODE = Pattern.compile("\\b([1-5]\\d{2})\\b");
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Throwable>[] NO_EXCEPTION = new Class[0];
+
+    /**
+     * 未标注 {@link Retryable}，但由其他处理器开启重试时使用的默认策略
+     */
+    public static final RemoteRetryPolicy DEFAULT = new RemoteRetryPolicy(3, Retryable.Backoff.EXPONENTIAL, 100, 10000, 2.0, new int[0], NO_EXCEPTION, true, 0.1, 10);
+
+    private final int maxAttempts;
+    private final Retryable.Backoff backoff;
+    private final long delay;
+    private final long maxDelay;
+    private final double multiplier;
+    private final int[] status;
+    private final Class<? extends Throwable>[] include;
+    private final boolean retryAfter;
+    private final double budgetRatio;
+    private final int budgetMinPerSecond;
+    private volatile RemoteRetryBudget budget;
+
+    private RemoteRetryPolicy(int maxAttempts, Retryable.Backoff backoff, long delay, long maxDelay, double multiplier,
+                              int[] status, Class<? extends Throwable>[] include, boolean retryAfter, double budgetRatio, int budgetMinPerSecond) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = Objects.isNull(backoff) ? Retryable.Backoff.NONE : backoff;
+        this.delay = Math.max(0, delay);
+        this.maxDelay = Math.max(this.delay, maxDelay);
+        this.multiplier = Math.max(1.0, multiplier);
+        this.status = status.clone();
+        Arrays.sort(this.status);
+        this.include = include.clone();
+        this.retryAfter = retryAfter;
+        this.budgetRatio = Math.max(0, budgetRatio);
+        this.budgetMinPerSecond = Math.max(0, budgetMinPerSecond);
+    }
+
+    public static RemoteRetryPolicy of(Retryable annotation) {
+        return new RemoteRetryPolicy(annotation.maxAttempts(), annotation.backoff(), annotation.delay(), annotation.maxDelay(), annotation.multiplier(),
+                annotation.status(), annotation.include(), annotation.retryAfter(), annotation.budgetRatio(), annotation.budgetMinPerSecond());
+    }
+
+    public static RemoteRetryPolicy of(RemoteMethodConfig methodConfig) {
+        RemoteRetryPolicy policy = methodConfig.config(Retryable.RETRY_POLICY_KEY);
+        return Objects.isNull(policy) ? DEFAULT : policy;
+    }
+
+    /**
+     * 方法配置的端点的重试预算
+     */
+    public RemoteRetryBudget budget(RemoteMethodConfig methodConfig) {
+        RemoteRetryBudget current = this.budget;
+        if (Objects.nonNull(current))
+            return current;
+
+        String endpoint = methodConfig.config(Retryable.RETRY_ENDPOINT_KEY);
+        if (StringUtils.isBlank(endpoint))
+            endpoint = methodConfig.getRemoteInterface().getName();
+        current = RemoteRetryBudget.of(endpoint, this.budgetRatio, this.budgetMinPerSecond);
+
+        // 默认策略被多个方法共享，不缓存
+        if (this != DEFAULT)
+            this.budget = current;
+        return current;
+    }
+
+    /**
+     * 请求所属端点的重试预算：网络层已按请求解析端点时按该端点统计，否则按方法配置的端点统计
+     */
+    public RemoteRetryBudget budget(RemoteMethodConfig methodConfig, RemoteReqContext req) {
+        String endpoint = req.get(Retryable.RETRY_ENDPOINT_KEY);
+        if (StringUtils.isBlank(endpoint))
+            return budget(methodConfig);
+        return RemoteRetryBudget.of(endpoint, this.budgetRatio, this.budgetMinPerSecond);
+    }
+
+    /**
+     * 计算下一次重试前的等待时间
+     *
+     * @param requested 生命周期处理器是否要求重试
+     * @param ex        本次执行的异常，业务失败时为空
+     * @return 等待毫秒数，不重试时返回 -1
+     */
+    public long nextDelay(RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Throwable ex, boolean requested) {
+        if (!requested && !retryOnStatus(res) && !retryOnException(ex))
+            return -1;
+
+        int attempts = req.retryTimes();
+        if (attempts >= this.maxAttempts) {
+            log.info("Remote 客户端: {} 已执行 {} 次，达到最大执行次数，不再重试", methodConfig.getRemoteName(), attempts);
+            return -1;
+        }
+
+        Long last = req.get(LAST_DELAY_KEY);
+        long wait = backoff(attempts, Objects.isNull(last) ? 0 : last);
+        if (this.retryAfter) {
+            long serverWait = retryAfter(res);
+            if (serverWait > this.maxDelay) {
+                log.info("Remote 客户端: {} 服务端要求 {} 毫秒后重试，超过最大等待时间：{} 毫秒，不再重试", methodConfig.getRemoteName(), serverWait, this.maxDelay);
+                return -1;
+            }
+            wait = Math.max(wait, serverWait);
+        }
+
+        if (!budget(methodConfig, req).tryRetry()) {
+            log.warn("Remote 客户端: {} 重试预算已耗尽，不再重试", methodConfig.getRemoteName());
+            return -1;
+        }
+
+        req.put(LAST_DELAY_KEY, wait);
+        return wait;
+    }
+
+    private long backoff(int attempts, long last) {
+        switch (this.backoff) {
+            case FIXED:
+                return this.delay;
+            case EXPONENTIAL:
+                double exponential = this.delay * Math.pow(this.multiplier, attempts - 1);
+                return (long) Math.min(this.maxDelay, exponential);
+            case DECORRELATED_JITTER:
+                long upper = Math.max(this.delay, Math.min(this.maxDelay, Math.max(last, this.delay) * 3));
+                return upper <= this.delay ? this.delay : ThreadLocalRandom.current().nextLong(this.delay, upper + 1);
+            default:
+                return 0;
+        }
+    }
+
+    private boolean retryOnStatus(RemoteResContext res) {
+        if (this.status.length == 0)
+            return false;
+        int code = statusCode(res.getStatus());
+        return code > 0 && Arrays.binarySearch(this.status, code) >= 0;
+    }
+
+    private boolean retryOnException(Throwable ex) {
+        if (Objects.isNull(ex) || this.include.length == 0)
+            return false;
+        for (Class<? extends Throwable> type : this.include) {
+            if (type.isInstance(ex) || (Objects.nonNull(ex.getCause()) && type.isInstance(ex.getCause())))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 从协议响应状态中解析状态码，兼容数值及 "503 Service Unavailable"、"HTTP/1.1 503 ..." 等形式
+     */
+    public static int statusCode(Object status) {
+        if (Objects.isNull(status))
+            return -1;
+        if (status instanceof Number)
+            return ((Number) status).intValue();
+
+        Matcher matcher = STATUS_CODE.matcher(status.toString());
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * 解析响应头 Retry-After：秒数或 HTTP 日期
+     */
+    static long retryAfter(RemoteResContext res) {
+        Object headers = res.getHeaders();
+        if (!(headers instanceof Map))
+            return -1;
+
+        String value = null;
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) headers).entrySet()) {
+            if (StringUtils.equalsIgnoreCase(String.valueOf(entry.getKey()), "Retry-After")) {
+                value = StringUtils.trimToNull(String.valueOf(entry.getValue()));
+                break;
+            }
+        }
+        if (Objects.isNull(value))
+            return -1;
+
+        try {
+            if (StringUtils.isNumeric(value))
+                return Long.parseLong(value) * 1000;
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, at.toInstant().toEpochMilli() - System.currentTimeMillis());
+        } catch (Exception e) {
+            log.warn("无法解析响应头 Retry-After: {}", value);
+            return -1;
+        }
+    }
+}
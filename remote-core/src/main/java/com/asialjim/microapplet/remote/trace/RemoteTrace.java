@@ -0,0 +1,189 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.trace;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.MDC;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 调用链路上下文
+ * <p>
+ * 标识使用 {@link ThreadLocalRandom} 生成（非加密用途，避免 {@code UUID.randomUUID()} 在高并发下争用 SecureRandom），
+ * 格式兼容 W3C Trace Context：traceId 为 32 位、spanId 为 16 位小写十六进制；
+ * 上下文随请求上下文及网络通道传递，在异步回调、网络线程上通过 {@link #attach()} 恢复至 MDC
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteTrace {
+    /**
+     * 日志 MDC 中的请求标识
+     */
+    public static final String MDC_KEY = "REQUEST_ID";
+
+    /**
+     * W3C Trace Context 请求头
+     */
+    public static final String TRACE_PARENT = "traceparent";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String traceId;
+    private final String requestId;
+
+    private RemoteTrace(String traceId, String requestId) {
+        this.traceId = traceId;
+        this.requestId = requestId;
+    }
+
+    /**
+     * 当前线程的链路上下文：沿用 MDC 中已有的请求标识，不存在时生成新的链路
+     */
+    public static RemoteTrace current() {
+        String requestId = MDC.get(MDC_KEY);
+        if (StringUtils.isBlank(requestId)) {
+            String traceId = newTraceId();
+            return new RemoteTrace(traceId, traceId);
+        }
+
+        // 上游已按 W3C 格式传入 traceId 或 traceparent 时沿用其 traceId，否则仅保留请求标识用于日志
+        String traceId = validTraceId(requestId) ? requestId : traceIdOf(requestId);
+        return new RemoteTrace(Objects.nonNull(traceId) ? traceId : newTraceId(), requestId);
+    }
+
+    /**
+     * 从 traceparent 请求头中解析 traceId
+     *
+     * @return 格式不合法（含全零的 traceId、parentId 及保留版本 ff）时返回 null
+     */
+    public static String traceIdOf(String traceParent) {
+        if (Objects.isNull(traceParent) || traceParent.length() < 55)
+            return null;
+        // 版本 00 长度固定，更高版本可在末尾追加字段
+        if (traceParent.length() > 55 && (traceParent.startsWith("00") || traceParent.charAt(55) != '-'))
+            return null;
+        if (traceParent.charAt(2) != '-' || traceParent.charAt(35) != '-' || traceParent.charAt(52) != '-')
+            return null;
+        if (!hex(traceParent, 0, 2) || traceParent.startsWith("ff") || !hex(traceParent, 53, 55))
+            return null;
+        if (!hex(traceParent, 36, 52) || zero(traceParent, 36, 52))
+            return null;
+
+        String traceId = traceParent.substring(3, 35);
+        return validTraceId(traceId) ? traceId : null;
+    }
+
+    public String traceId() {
+        return this.traceId;
+    }
+
+    public String requestId() {
+        return this.requestId;
+    }
+
+    /**
+     * 为一次网络请求生成 traceparent 请求头，每次请求使用新的 spanId
+     */
+    public String traceParent(boolean sampled) {
+        return "00-" + this.traceId + "-" + newSpanId() + (sampled ? "-01" : "-00");
+    }
+
+    /**
+     * 将请求标识写入当前线程的 MDC
+     *
+     * @return 写入前的请求标识，用于 {@link #detach(String)} 恢复
+     */
+    public String attach() {
+        String previous = MDC.get(MDC_KEY);
+        MDC.put(MDC_KEY, this.requestId);
+        return previous;
+    }
+
+    /**
+     * 恢复当前线程 MDC 中的请求标识
+     */
+    public static void detach(String previous) {
+        if (Objects.isNull(previous))
+            MDC.remove(MDC_KEY);
+        else MDC.put(MDC_KEY, previous);
+    }
+
+    /**
+     * 生成 32 位十六进制 traceId
+     */
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        if (high == 0 && low == 0)
+            low = 1;
+
+        char[] chars = new char[32];
+        hex(high, chars, 0);
+        hex(low, chars, 16);
+        return new String(chars);
+    }
+
+    /**
+     * 生成 16 位十六进制 spanId
+     */
+    public static String newSpanId() {
+        long id = ThreadLocalRandom.current().nextLong();
+        if (id == 0)
+            id = 1;
+
+        char[] chars = new char[16];
+        hex(id, chars, 0);
+        return new String(chars);
+    }
+
+    private static void hex(long value, char[] chars, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static boolean validTraceId(String value) {
+        return value.length() == 32 && hex(value, 0, 32) && !zero(value, 0, 32);
+    }
+
+    private static boolean hex(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f'))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean zero(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) != '0')
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return this.requestId;
+    }
+}
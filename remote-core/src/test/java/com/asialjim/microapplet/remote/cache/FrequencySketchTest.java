@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrequencySketchTest {
+
+    @Test
+    public void unseenKeyHasZeroFrequency() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        Assert.assertEquals(0, sketch.frequency("unseen"));
+    }
+
+    @Test
+    public void incrementCountsAccesses() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 5; i++)
+            sketch.increment("key");
+        Assert.assertEquals(5, sketch.frequency("key"));
+    }
+
+    @Test
+    public void counterSaturatesAtFifteen() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 20; i++)
+            sketch.increment("key");
+        Assert.assertEquals(15, sketch.frequency("key"));
+    }
+
+    @Test
+    public void resetHalvesCounters() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 15; i++)
+            sketch.increment("hot");
+
+        // 采样上限为 160 次计数，达到后全部计数减半
+        int increments = 0;
+        while (sketch.frequency("hot") == 15 && increments < 1000)
+            sketch.increment("key-" + increments++);
+        Assert.assertEquals(7, sketch.frequency("hot"));
+        Assert.assertTrue(increments <= 160);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RemoteLocalCacheTest {
+
+    @Test
+    public void sameNameSharesCache() {
+        RemoteLocalCache<String, String> cache = RemoteLocalCache.of("local-cache-test:shared", 10, 0, 0, TimeUnit.SECONDS);
+        Assert.assertSame(cache, RemoteLocalCache.of("local-cache-test:shared", 100, 1, 0, TimeUnit.SECONDS));
+        Assert.assertSame(cache, RemoteLocalCache.caches().get("local-cache-test:shared"));
+    }
+
+    @Test
+    public void hitAndMissCounted() {
+        RemoteLocalCache<String, String> cache = RemoteLocalCache.of("local-cache-test:hit", 10, 0, 0, TimeUnit.SECONDS);
+        Assert.assertNull(cache.get("key"));
+        cache.put("key", "value");
+        Assert.assertEquals("value", cache.get("key"));
+        Assert.assertEquals(1, cache.hitCount());
+        Assert.assertEquals(1, cache.missCount());
+        Assert.assertEquals(0.5, cache.hitRate(), 0.0001);
+
+        cache.invalidate("key");
+        Assert.assertNull(cache.get("key"));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void sizeBoundedByMaximum() {
+        RemoteLocalCache<Integer, Integer> cache = RemoteLocalCache.of("local-cache-test:bounded", 10, 0, 0, TimeUnit.SECONDS);
+        for (int i = 0; i < 100; i++)
+            cache.put(i, i);
+        Assert.assertEquals(10, cache.size());
+        Assert.assertEquals(90, cache.evictionCount());
+
+        cache.invalidateAll();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void frequentKeySurvivesScan() {
+        RemoteLocalCache<String, String> cache = RemoteLocalCache.of("local-cache-test:admission", 100, 0, 0, TimeUnit.SECONDS);
+        cache.put("hot", "hot");
+        cache.put("cold", "cold");
+        for (int i = 0; i < 5; i++)
+            Assert.assertEquals("hot", cache.get("hot"));
+
+        // 仅访问一次的条目频率低于热点条目，不能将其挤出主区
+        for (int i = 0; i < 500; i++)
+            cache.put("scan-" + i, "scan");
+        Assert.assertEquals("hot", cache.get("hot"));
+        Assert.assertNull(cache.get("cold"));
+        Assert.assertEquals(100, cache.size());
+    }
+
+    @Test
+    public void expiresAfterTtl() throws InterruptedException {
+        RemoteLocalCache<String, String> cache = RemoteLocalCache.of("local-cache-test:ttl", 10, 50, 0, TimeUnit.MILLISECONDS);
+        cache.put("key", "value");
+        Assert.assertEquals("value", cache.get("key"));
+
+        TimeUnit.MILLISECONDS.sleep(80);
+        Assert.assertNull(cache.get("key"));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void refreshClaimedBySingleReader() throws InterruptedException {
+        RemoteLocalCache<String, String> cache = RemoteLocalCache.of("local-cache-test:refresh", 10, 10_000, 50, TimeUnit.MILLISECONDS);
+        cache.put("key", "value");
+        Assert.assertEquals("value", cache.get("key"));
+        TimeUnit.MILLISECONDS.sleep(80);
+
+        // 刷新时间已到：仅一个读取者得到 null 并负责重新加载，其余读取者仍获得旧值
+        int readers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(readers);
+        AtomicInteger reloads = new AtomicInteger();
+        AtomicInteger stale = new AtomicInteger();
+        for (int i = 0; i < readers; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    if (cache.get("key") == null)
+                        reloads.incrementAndGet();
+                    else
+                        stale.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, reloads.get());
+        Assert.assertEquals(readers - 1, stale.get());
+        Assert.assertEquals(1, cache.refreshCount());
+
+        cache.put("key", "reloaded");
+        Assert.assertEquals("reloaded", cache.get("key"));
+        Assert.assertEquals(1, cache.refreshCount());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.context;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RemoteContextPoolTest {
+    private static final GenericKey<String> KEY = GenericKey.keyOf("context-pool-test:key");
+
+    @Test
+    public void releasedReqIsReusedClean() {
+        RemoteReqContext req = RemoteContextPool.req();
+        RemoteResContext res = RemoteContextPool.res();
+        req.put(KEY, "value");
+        req.addRetryTimes();
+        req.complete();
+        req.defer(new CompletableFuture<>());
+        RemoteContextPool.release(req, res);
+
+        RemoteReqContext reused = RemoteContextPool.req();
+        try {
+            Assert.assertSame(req, reused);
+            Assert.assertNull(reused.get(KEY));
+            Assert.assertEquals(0, reused.retryTimes());
+            Assert.assertFalse(reused.completed());
+            Assert.assertNull(reused.takeDeferred());
+            Assert.assertNull(reused.trace());
+        } finally {
+            RemoteContextPool.release(reused, RemoteContextPool.res());
+        }
+    }
+
+    @Test
+    public void releasedResIsReusedClean() {
+        RemoteReqContext req = RemoteContextPool.req();
+        RemoteResContext res = RemoteContextPool.res();
+        res.property(KEY, "value");
+        res.setData("data");
+        res.setCause(new IllegalStateException());
+        RemoteContextPool.release(req, res);
+
+        RemoteResContext reused = RemoteContextPool.res();
+        try {
+            Assert.assertSame(res, reused);
+            Assert.assertNull(reused.property(KEY));
+            Assert.assertNull(reused.getData());
+            Assert.assertNull(reused.getCause());
+        } finally {
+            RemoteContextPool.release(RemoteContextPool.req(), reused);
+        }
+    }
+
+    @Test
+    public void abandonedReqIsNotRecycled() {
+        RemoteReqContext req = RemoteContextPool.req();
+        RemoteResContext res = RemoteContextPool.res();
+        req.abandon();
+        RemoteContextPool.release(req, res);
+
+        RemoteReqContext next = RemoteContextPool.req();
+        RemoteResContext nextRes = RemoteContextPool.res();
+        try {
+            Assert.assertNotSame(req, next);
+            Assert.assertNotSame(res, nextRes);
+            Assert.assertFalse(next.abandoned());
+        } finally {
+            RemoteContextPool.release(next, nextRes);
+        }
+    }
+
+    @Test
+    public void poolIsPerThread() throws Exception {
+        RemoteReqContext req = RemoteContextPool.req();
+        RemoteContextPool.release(req, RemoteContextPool.res());
+
+        // 其他线程释放的上下文留在其自身的池中
+        AtomicReference<RemoteReqContext> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            RemoteReqContext acquired = RemoteContextPool.req();
+            other.set(acquired);
+            RemoteContextPool.release(acquired, RemoteContextPool.res());
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertNotSame(req, other.get());
+        RemoteReqContext reused = RemoteContextPool.req();
+        try {
+            Assert.assertSame(req, reused);
+        } finally {
+            RemoteContextPool.release(reused, RemoteContextPool.res());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.context;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public class RemoteGenericMapTest {
+
+    @Test
+    public void putAndGetBySlot() {
+        GenericKey<String> name = GenericKey.keyOf("generic-map-test:name");
+        GenericKey<Integer> age = GenericKey.keyOf("generic-map-test:age");
+        RemoteGenericMap map = new RemoteGenericMap();
+
+        Assert.assertNull(map.put(name, "asial"));
+        Assert.assertNull(map.put(age, 18));
+        Assert.assertEquals("asial", map.valueOf(name));
+        Assert.assertEquals(Integer.valueOf(18), map.valueOf(age));
+        Assert.assertEquals(2, map.size());
+
+        // 覆盖已有槽位返回旧值且不改变大小
+        Assert.assertEquals("asial", map.put(name, "jim"));
+        Assert.assertEquals("jim", map.valueOf(name));
+        Assert.assertEquals(2, map.size());
+    }
+
+    @Test
+    public void sameNameSharesSlot() {
+        GenericKey<String> interned = GenericKey.keyOf("generic-map-test:shared");
+        GenericKey<String> created = new GenericKey<>("generic-map-test:shared");
+        Assert.assertEquals(interned.slot(), created.slot());
+        Assert.assertEquals(interned, created);
+
+        RemoteGenericMap map = new RemoteGenericMap();
+        map.put(created, "value");
+        Assert.assertEquals("value", map.valueOf(interned));
+        Assert.assertEquals("value", map.valueOf("generic-map-test:shared"));
+        Assert.assertTrue(map.containsKey(interned));
+    }
+
+    @Test
+    public void nullValueRemoves() {
+        GenericKey<String> key = GenericKey.keyOf("generic-map-test:nullable");
+        RemoteGenericMap map = new RemoteGenericMap();
+        map.put(key, "value");
+
+        Assert.assertEquals("value", map.put(key, null));
+        Assert.assertFalse(map.containsKey(key));
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.remove(key));
+    }
+
+    @Test
+    public void missingSlotReadsNull() {
+        RemoteGenericMap map = new RemoteGenericMap();
+        // 映射创建后才分配的槽位超出当前容量，读取时不扩容
+        GenericKey<String> late = GenericKey.keyOf("generic-map-test:late-" + System.nanoTime());
+        Assert.assertNull(map.valueOf(late));
+        Assert.assertNull(map.get(late));
+        Assert.assertNull(map.get("generic-map-test:late"));
+        Assert.assertFalse(map.containsKey(late));
+
+        map.put(late, "value");
+        Assert.assertEquals("value", map.valueOf(late));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullKeyRejected() {
+        new RemoteGenericMap().put(null, "value");
+    }
+
+    @Test
+    public void entrySetSkipsEmptySlots() {
+        GenericKey<String> first = GenericKey.keyOf("generic-map-test:first");
+        GenericKey<String> second = GenericKey.keyOf("generic-map-test:second");
+        GenericKey<String> third = GenericKey.keyOf("generic-map-test:third");
+        RemoteGenericMap map = new RemoteGenericMap();
+        map.put(first, "1");
+        map.put(second, "2");
+        map.put(third, "3");
+        map.remove(second);
+
+        Map<GenericKey<?>, Object> copy = new HashMap<>();
+        for (Map.Entry<GenericKey<?>, Object> entry : map.entrySet())
+            copy.put(entry.getKey(), entry.getValue());
+        Assert.assertEquals(2, copy.size());
+        Assert.assertEquals("1", copy.get(first));
+        Assert.assertEquals("3", copy.get(third));
+        Assert.assertEquals(2, map.entrySet().size());
+    }
+
+    @Test
+    public void iteratorRemoveAndSetValue() {
+        GenericKey<String> keep = GenericKey.keyOf("generic-map-test:keep");
+        GenericKey<String> drop = GenericKey.keyOf("generic-map-test:drop");
+        RemoteGenericMap map = new RemoteGenericMap();
+        map.put(keep, "keep");
+        map.put(drop, "drop");
+
+        Iterator<Map.Entry<GenericKey<?>, Object>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<GenericKey<?>, Object> entry = iterator.next();
+            if (drop.equals(entry.getKey()))
+                iterator.remove();
+            else
+                entry.setValue("kept");
+        }
+
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals("kept", map.valueOf(keep));
+        Assert.assertFalse(map.containsKey(drop));
+    }
+
+    @Test
+    public void clearKeepsMapUsable() {
+        GenericKey<String> key = GenericKey.keyOf("generic-map-test:clear");
+        RemoteGenericMap map = new RemoteGenericMap();
+        map.put(key, "value");
+        Assert.assertTrue(map.containsValue("value"));
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertFalse(map.containsValue("value"));
+        Assert.assertFalse(map.entrySet().iterator().hasNext());
+
+        map.put(key, "again");
+        Assert.assertEquals("again", map.valueOf(key));
+        Assert.assertEquals(1, map.size());
+    }
+}
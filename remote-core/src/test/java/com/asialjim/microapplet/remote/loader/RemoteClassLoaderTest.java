@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.loader;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+public class RemoteClassLoaderTest {
+
+    public interface IndexedService {
+    }
+
+    public static class IndexedServiceImpl implements IndexedService {
+    }
+
+    public static class NotAService {
+    }
+
+    public interface ScannedService {
+    }
+
+    public static class ScannedServiceImpl implements ScannedService {
+    }
+
+    public static class RegisteredServiceImpl implements ScannedService {
+    }
+
+    private Path dir;
+    private URLClassLoader loader;
+
+    @Before
+    public void before() throws IOException {
+        this.dir = Files.createTempDirectory("remote-class-loader-test");
+        Path metaInf = Files.createDirectories(this.dir.resolve("META-INF"));
+        Files.write(metaInf.resolve("remote.loadRemoteClass"), Arrays.asList(
+                "# 扩展类清单",
+                IndexedServiceImpl.class.getName(),
+                NotAService.class.getName(),
+                "com.asialjim.microapplet.remote.loader.MissingService",
+                ScannedServiceImpl.class.getName()), StandardCharsets.UTF_8);
+        // 索引中的 NotAService 与实际继承关系不一致，MissingService 已不存在；ScannedServiceImpl 未索引，按原方式加载
+        Files.write(metaInf.resolve("remote.loadRemoteClass.index"), Arrays.asList(
+                IndexedServiceImpl.class.getName() + "=" + IndexedService.class.getName(),
+                NotAService.class.getName() + "=" + IndexedService.class.getName(),
+                "com.asialjim.microapplet.remote.loader.MissingService=" + IndexedService.class.getName()), StandardCharsets.UTF_8);
+
+        this.loader = new URLClassLoader(new URL[]{this.dir.toUri().toURL()}, getClass().getClassLoader());
+        RemoteClassLoader.classLoader(this.loader);
+        new RemoteClassLoader().init();
+    }
+
+    @After
+    public void after() throws IOException {
+        RemoteClassLoader.classLoader(getClass().getClassLoader());
+        new RemoteClassLoader().init();
+        this.loader.close();
+        for (File file : new File[]{this.dir.resolve("META-INF/remote.loadRemoteClass").toFile(),
+                this.dir.resolve("META-INF/remote.loadRemoteClass.index").toFile(),
+                this.dir.resolve("META-INF").toFile(), this.dir.toFile()})
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+    }
+
+    @Test
+    public void indexedSubClassesLoadedOnLookup() {
+        Assert.assertEquals(Collections.singleton(IndexedServiceImpl.class), RemoteClassLoader.subClasses(IndexedService.class));
+    }
+
+    @Test
+    public void unindexedClassesScanned() {
+        Assert.assertTrue(RemoteClassLoader.subClasses(ScannedService.class).contains(ScannedServiceImpl.class));
+    }
+
+    @Test
+    public void resolvedSubClassesCached() {
+        Set<Class<?>> first = RemoteClassLoader.subClasses(IndexedService.class);
+        Assert.assertSame(first, RemoteClassLoader.subClasses(IndexedService.class));
+        try {
+            first.add(NotAService.class);
+            Assert.fail();
+        } catch (UnsupportedOperationException expected) {
+            // 结果只读
+        }
+    }
+
+    @Test
+    public void registeredSubClassRefreshesCache() {
+        Set<Class<?>> before = RemoteClassLoader.subClasses(ScannedService.class);
+        RemoteClassLoader.subClassOf(ScannedService.class, RegisteredServiceImpl.class);
+
+        Set<Class<?>> after = RemoteClassLoader.subClasses(ScannedService.class);
+        Assert.assertNotSame(before, after);
+        Assert.assertTrue(after.contains(RegisteredServiceImpl.class));
+        Assert.assertTrue(after.contains(ScannedServiceImpl.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registeringUnrelatedClassRejected() {
+        RemoteClassLoader.subClassOf(IndexedService.class, NotAService.class);
+    }
+}
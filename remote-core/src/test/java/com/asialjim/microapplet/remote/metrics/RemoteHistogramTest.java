@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class RemoteHistogramTest {
+
+    @Test
+    public void emptyHistogram() {
+        RemoteHistogram histogram = new RemoteHistogram();
+        Assert.assertEquals(0, histogram.count());
+        Assert.assertEquals(0, histogram.percentile(50));
+        Assert.assertEquals(0, histogram.percentile(100));
+        Assert.assertEquals(0, histogram.mean(), 0);
+    }
+
+    @Test
+    public void summary() {
+        RemoteHistogram histogram = new RemoteHistogram();
+        histogram.record(10);
+        histogram.record(30);
+        // 负数按 0 记录
+        histogram.record(-5);
+
+        Assert.assertEquals(3, histogram.count());
+        Assert.assertEquals(40, histogram.sum());
+        Assert.assertEquals(30, histogram.max());
+        Assert.assertEquals(40 / 3.0, histogram.mean(), 1e-9);
+        Assert.assertEquals(0, histogram.percentile(1));
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        // 小于 32 的值各占一个桶
+        for (long value = 0; value < 32; value++) {
+            RemoteHistogram histogram = new RemoteHistogram();
+            histogram.record(value);
+            histogram.record(1000);
+            Assert.assertEquals(value, histogram.percentile(50));
+        }
+    }
+
+    @Test
+    public void bucketBoundaries() {
+        // 32 起每个桶宽 2，64 起宽 4
+        Assert.assertEquals(33, upperOf(32));
+        Assert.assertEquals(33, upperOf(33));
+        Assert.assertEquals(35, upperOf(34));
+        Assert.assertEquals(63, upperOf(62));
+        Assert.assertEquals(67, upperOf(64));
+        Assert.assertEquals(67, upperOf(67));
+        Assert.assertEquals(71, upperOf(68));
+        Assert.assertEquals(1023, upperOf(1023));
+        Assert.assertEquals(1024 + 63, upperOf(1024));
+    }
+
+    @Test
+    public void relativeErrorWithinOneSixteenth() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10000; i++) {
+            long value = random.nextLong(1, 1L << 47);
+            long upper = upperOf(value);
+            Assert.assertTrue(upper >= value);
+            Assert.assertTrue((upper - value) * 16 <= value);
+        }
+    }
+
+    @Test
+    public void percentileDoesNotExceedMax() {
+        RemoteHistogram histogram = new RemoteHistogram();
+        histogram.record(1024);
+        Assert.assertEquals(1024, histogram.percentile(100));
+    }
+
+    @Test
+    public void percentiles() {
+        RemoteHistogram histogram = new RemoteHistogram();
+        for (int value = 1; value <= 100; value++) histogram.record(value);
+
+        Assert.assertEquals(1, histogram.percentile(1));
+        Assert.assertEquals(51, histogram.percentile(50));
+        Assert.assertEquals(99, histogram.percentile(99));
+        Assert.assertEquals(100, histogram.percentile(100));
+        // 超出 100 按 100 计算
+        Assert.assertEquals(100, histogram.percentile(150));
+    }
+
+    @Test
+    public void overflowGoesToLastBucket() {
+        RemoteHistogram histogram = new RemoteHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        Assert.assertEquals(Long.MAX_VALUE, histogram.max());
+        Assert.assertEquals((1L << 48) - 1, histogram.percentile(100));
+        Assert.assertEquals((1L << 48) - 1, upperOf(1L << 48));
+    }
+
+    @Test
+    public void concurrentRecord() throws InterruptedException {
+        RemoteHistogram histogram = new RemoteHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) histogram.record(i);
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        Assert.assertEquals(40000, histogram.count());
+        Assert.assertEquals(4L * (9999L * 10000 / 2), histogram.sum());
+        Assert.assertEquals(9999, histogram.max());
+    }
+
+    /**
+     * 值所在桶的上界：与一个更大的值同时记录时的中位数
+     */
+    private static long upperOf(long value) {
+        RemoteHistogram histogram = new RemoteHistogram();
+        histogram.record(value);
+        histogram.record(Long.MAX_VALUE);
+        return histogram.percentile(50);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RemoteMethodMetricsTest {
+
+    @Test
+    public void countsOutcomes() {
+        RemoteMethodMetrics metrics = new RemoteMethodMetrics("MetricsInterface#call");
+        metrics.start();
+        metrics.start();
+        metrics.start();
+        Assert.assertEquals(3, metrics.inflight());
+
+        metrics.complete(RemoteMetrics.Outcome.SUCCESS, 1000, 1, 10);
+        metrics.complete(RemoteMetrics.Outcome.FAIL, 2000, 1, 20);
+        metrics.complete(RemoteMetrics.Outcome.ERROR, 3000, 1, -1);
+
+        Assert.assertEquals("MetricsInterface#call", metrics.remoteName());
+        Assert.assertEquals(0, metrics.inflight());
+        Assert.assertEquals(1, metrics.successCount());
+        Assert.assertEquals(1, metrics.failCount());
+        Assert.assertEquals(1, metrics.errorCount());
+        Assert.assertEquals(0, metrics.retryCount());
+    }
+
+    @Test
+    public void retriesExcludeFirstAttempt() {
+        RemoteMethodMetrics metrics = new RemoteMethodMetrics("MetricsInterface#retry");
+        metrics.start();
+        metrics.complete(RemoteMetrics.Outcome.SUCCESS, 1000, 3, 0);
+        metrics.start();
+        metrics.complete(RemoteMetrics.Outcome.SUCCESS, 1000, 0, 0);
+
+        Assert.assertEquals(2, metrics.retryCount());
+    }
+
+    @Test
+    public void recordsLatencyAndResponseBytes() {
+        RemoteMethodMetrics metrics = new RemoteMethodMetrics("MetricsInterface#histogram");
+        for (int i = 1; i <= 100; i++) {
+            metrics.start();
+            metrics.complete(RemoteMetrics.Outcome.SUCCESS, i, 1, i % 2 == 0 ? i : -1);
+        }
+
+        Assert.assertEquals(100, metrics.latency().count());
+        Assert.assertEquals(99, metrics.latency().percentile(99));
+        Assert.assertEquals(100, metrics.latency().max());
+
+        // 未知响应大小（-1）不计入
+        Assert.assertEquals(50, metrics.responseBytes().count());
+        Assert.assertEquals(100, metrics.responseBytes().max());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.proxy;
+
+import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.context.RemoteMethodParameter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RemoteProxyInitTest {
+    private static final AtomicInteger INITS = new AtomicInteger();
+    private static final AtomicBoolean FAIL = new AtomicBoolean();
+
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @RemoteLifeCycle(CountingHandler.class)
+    @interface Counted { }
+
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @RemoteLifeCycle(FailingHandler.class)
+    @interface Failing { }
+
+    public static final class CountingHandler implements RemoteLifeCycle.LifeCycleHandler<Counted> {
+        @Override
+        public void doInit(RemoteMethodConfig methodConfig, RemoteMethodParameter methodParameter, @SuppressWarnings("ClassEscapesDefinedScope") Counted annotation) {
+            INITS.incrementAndGet();
+        }
+    }
+
+    public static final class FailingHandler implements RemoteLifeCycle.LifeCycleHandler<Failing> {
+        @Override
+        public void doInit(RemoteMethodConfig methodConfig, RemoteMethodParameter methodParameter, @SuppressWarnings("ClassEscapesDefinedScope") Failing annotation) {
+            if (FAIL.get())
+                throw new IllegalStateException("init failed: " + methodConfig.getRemoteName());
+            INITS.incrementAndGet();
+        }
+    }
+
+    interface EagerInterface {
+        @Counted void first();
+
+        @Counted void second();
+
+        @Counted void third();
+    }
+
+    interface LazyInterface {
+        @Counted void first();
+
+        @Counted void second();
+    }
+
+    interface EagerFailingInterface {
+        @Counted void first();
+
+        @Failing void broken();
+
+        @Counted void third();
+    }
+
+    interface LazyFailingInterface {
+        @Counted void first();
+
+        @Failing void broken();
+    }
+
+    @Before
+    public void before() {
+        INITS.set(0);
+        FAIL.set(false);
+    }
+
+    @After
+    public void after() {
+        RemoteProxy.initMode("eager");
+    }
+
+    @Test
+    public void eagerCompilesAllMethods() {
+        RemoteProxy.initMode("eager");
+        RemoteProxy.create(EagerInterface.class);
+
+        Assert.assertEquals(3, INITS.get());
+        Assert.assertTrue(RemoteProxy.initReport().containsKey(EagerInterface.class.getName()));
+    }
+
+    @Test
+    public void eagerSurfacesInitFailure() {
+        RemoteProxy.initMode("eager");
+        FAIL.set(true);
+        try {
+            RemoteProxy.create(EagerFailingInterface.class);
+            Assert.fail("方法配置初始化失败时创建代理应抛出异常");
+        } catch (RuntimeException e) {
+            // 并行编译在其他线程上失败时，异常可能被 ForkJoin 包装一层
+            Throwable cause = e;
+            while (Objects.nonNull(cause) && !(cause instanceof IllegalStateException))
+                cause = cause.getCause();
+            Assert.assertNotNull(cause);
+            Assert.assertTrue(cause.getMessage().contains("EagerFailingInterface#broken"));
+        }
+    }
+
+    @Test
+    public void lazyDefersUntilFirstCall() {
+        RemoteProxy.initMode("lazy");
+        LazyInterface proxy = RemoteProxy.create(LazyInterface.class);
+        Assert.assertEquals(0, INITS.get());
+        Assert.assertTrue(RemoteProxy.initReport().containsKey(LazyInterface.class.getName()));
+
+        proxy.first();
+        Assert.assertEquals(1, INITS.get());
+
+        // 每个方法只编译一次
+        proxy.first();
+        Assert.assertEquals(1, INITS.get());
+        proxy.second();
+        Assert.assertEquals(2, INITS.get());
+    }
+
+    @Test
+    public void lazyFailureRetriedOnNextCall() {
+        RemoteProxy.initMode("lazy");
+        FAIL.set(true);
+        LazyFailingInterface proxy = RemoteProxy.create(LazyFailingInterface.class);
+
+        try {
+            proxy.broken();
+            Assert.fail("方法配置初始化失败时调用应抛出异常");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage().contains("LazyFailingInterface#broken"));
+        }
+
+        // 失败的编译不被缓存，恢复后再次调用重新编译
+        FAIL.set(false);
+        proxy.broken();
+        Assert.assertEquals(1, INITS.get());
+        proxy.broken();
+        Assert.assertEquals(1, INITS.get());
+    }
+}
@@ -21,6 +21,7 @@ import com.asialjim.microapplet.remote.context.RemoteMethodParameter;
 import com.asialjim.microapplet.remote.context.RemoteReqContext;
 import com.asialjim.microapplet.remote.context.RemoteResContext;
 import com.asialjim.microapplet.remote.lifecycle.callback.*;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -28,6 +29,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.concurrent.CompletableFuture;
 
 public class RemoteProxyTest {
     @Target(ElementType.TYPE)
@@ -110,6 +112,8 @@ public class RemoteProxyTest {
     @RemoteType
     interface RemoteInterface{
         void test();
+
+        CompletableFuture<String> testAsync();
     }
 
     RemoteInterface remoteInterface;
@@ -121,4 +125,10 @@ public class RemoteProxyTest {
     @Test public void testProxy(){
         remoteInterface.test();
     }
+
+    @Test public void testAsyncProxy(){
+        CompletableFuture<String> future = remoteInterface.testAsync();
+        Assert.assertNotNull(future);
+        Assert.assertNull(future.join());
+    }
 }
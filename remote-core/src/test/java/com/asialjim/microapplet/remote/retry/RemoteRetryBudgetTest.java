@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.retry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RemoteRetryBudgetTest {
+
+    @Test
+    public void sameEndpointSharesBudget() {
+        RemoteRetryBudget budget = RemoteRetryBudget.of("budget-test:shared", 0.1, 10);
+
+        // 预算由首个使用端点的策略创建，后续参数不生效
+        Assert.assertSame(budget, RemoteRetryBudget.of("budget-test:shared", 1.0, 0));
+        Assert.assertNotSame(budget, RemoteRetryBudget.of("budget-test:other", 0.1, 10));
+    }
+
+    @Test
+    public void withdrawNeedsWholeDeposit() {
+        RemoteRetryBudget budget = RemoteRetryBudget.of("budget-test:ratio", 0.5, 0);
+        Assert.assertFalse(budget.tryRetry());
+
+        // 每次调用存入 0.5 个额度，两次调用才够一次重试
+        budget.deposit();
+        Assert.assertFalse(budget.tryRetry());
+        budget.deposit();
+        Assert.assertTrue(budget.tryRetry());
+        Assert.assertFalse(budget.tryRetry());
+    }
+
+    @Test
+    public void zeroRatioNeverDeposits() {
+        RemoteRetryBudget budget = RemoteRetryBudget.of("budget-test:zero", 0, 0);
+        for (int i = 0; i < 100; i++) budget.deposit();
+
+        Assert.assertFalse(budget.tryRetry());
+    }
+
+    @Test
+    public void balanceIsCapped() {
+        RemoteRetryBudget budget = RemoteRetryBudget.of("budget-test:cap", 1.0, 0);
+        for (int i = 0; i < 5000; i++) budget.deposit();
+
+        // 最多积攒 1000 次调用的额度
+        int retries = 0;
+        while (budget.tryRetry()) retries++;
+        Assert.assertEquals(1000, retries);
+    }
+
+    @Test
+    public void minPerSecondAllowsRetriesWithoutDeposit() {
+        int round = 0;
+        long second;
+        boolean[] results = new boolean[3];
+        do {
+            RemoteRetryBudget budget = RemoteRetryBudget.of("budget-test:reserve-" + round++, 0, 2);
+            second = System.currentTimeMillis() / 1000;
+            for (int i = 0; i < results.length; i++) results[i] = budget.tryRetry();
+            // 跨秒时保底次数会重置，换一个端点重来
+        } while (second != System.currentTimeMillis() / 1000);
+
+        Assert.assertTrue(results[0]);
+        Assert.assertTrue(results[1]);
+        Assert.assertFalse(results[2]);
+    }
+
+    @Test
+    public void reserveIsUsedBeforeBalance() {
+        RemoteRetryBudget budget = RemoteRetryBudget.of("budget-test:reserve-first", 1.0, 1);
+        budget.deposit();
+
+        int retries = 0;
+        while (budget.tryRetry()) retries++;
+        // 1 次保底加 1 次存入的额度（同一秒内）
+        Assert.assertTrue(retries >= 2);
+        Assert.assertTrue(retries <= 3);
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.retry;
+
+import com.asialjim.microapplet.remote.annotation.Retryable;
+import com.asialjim.microapplet.remote.context.RemoteContextPool;
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.context.RemoteReqContext;
+import com.asialjim.microapplet.remote.context.RemoteResContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class RemoteRetryPolicyTest {
+    private static int endpoints;
+
+    private RemoteReqContext req;
+    private RemoteResContext res;
+
+    public interface RetryApi {
+        @Retryable(backoff = Retryable.Backoff.NONE, maxAttempts = 4, budgetMinPerSecond = 100)
+        void none();
+
+        @Retryable(backoff = Retryable.Backoff.FIXED, delay = 100, maxAttempts = 4, budgetMinPerSecond = 100)
+        void fixed();
+
+        @Retryable(backoff = Retryable.Backoff.EXPONENTIAL, delay = 100, maxDelay = 350, multiplier = 2.0, maxAttempts = 4, budgetMinPerSecond = 100)
+        void exponential();
+
+        @Retryable(backoff = Retryable.Backoff.DECORRELATED_JITTER, delay = 100, maxDelay = 1000, maxAttempts = 10, budgetMinPerSecond = 100)
+        void jitter();
+
+        @Retryable(backoff = Retryable.Backoff.FIXED, delay = 100, maxDelay = 3000, status = {429, 503}, include = IOException.class, budgetMinPerSecond = 100)
+        void conditional();
+
+        @Retryable(backoff = Retryable.Backoff.FIXED, delay = 100, budgetRatio = 0, budgetMinPerSecond = 0)
+        void noBudget();
+    }
+
+    @Before
+    public void setUp() {
+        this.req = RemoteContextPool.req();
+        this.res = RemoteContextPool.res();
+        // 每个用例使用独立端点的预算
+        this.req.put(Retryable.RETRY_ENDPOINT_KEY, "retry-policy-test:" + endpoints++);
+    }
+
+    @After
+    public void tearDown() {
+        RemoteContextPool.release(this.req, this.res);
+    }
+
+    @Test
+    public void noneRetriesImmediately() throws Exception {
+        Assert.assertEquals(0, nextDelay("none", true));
+        Assert.assertEquals(0, nextDelay("none", true));
+    }
+
+    @Test
+    public void fixedWaitsTheSameDelay() throws Exception {
+        Assert.assertEquals(100, nextDelay("fixed", true));
+        Assert.assertEquals(100, nextDelay("fixed", true));
+        Assert.assertEquals(100, nextDelay("fixed", true));
+    }
+
+    @Test
+    public void exponentialGrowsUpToMaxDelay() throws Exception {
+        Assert.assertEquals(100, nextDelay("exponential", true));
+        Assert.assertEquals(200, nextDelay("exponential", true));
+        Assert.assertEquals(350, nextDelay("exponential", true));
+    }
+
+    @Test
+    public void decorrelatedJitterStaysWithinBounds() throws Exception {
+        long last = 100;
+        for (int i = 0; i < 9; i++) {
+            long wait = nextDelay("jitter", true);
+            Assert.assertTrue(wait >= 100);
+            Assert.assertTrue(wait <= Math.min(1000, last * 3));
+            last = wait;
+        }
+    }
+
+    @Test
+    public void stopsAtMaxAttempts() throws Exception {
+        Assert.assertEquals(100, nextDelay("fixed", true));
+        Assert.assertEquals(100, nextDelay("fixed", true));
+        Assert.assertEquals(100, nextDelay("fixed", true));
+        // 第 4 次执行后达到最大执行次数
+        Assert.assertEquals(-1, nextDelay("fixed", true));
+    }
+
+    @Test
+    public void notRequestedWithoutMatchDoesNotRetry() throws Exception {
+        this.res.setStatus(500);
+        Assert.assertEquals(-1, nextDelay("conditional", false, new IllegalStateException()));
+    }
+
+    @Test
+    public void retriesOnStatus() throws Exception {
+        this.res.setStatus("HTTP/1.1 503 Service Unavailable");
+        Assert.assertEquals(100, nextDelay("conditional", false));
+    }
+
+    @Test
+    public void retriesOnExceptionOrCause() throws Exception {
+        Assert.assertEquals(100, nextDelay("conditional", false, new IOException()));
+        Assert.assertEquals(100, nextDelay("conditional", false, new IllegalStateException(new IOException())));
+    }
+
+    @Test
+    public void serverRetryAfterExtendsWait() throws Exception {
+        this.res.setStatus(429);
+        this.res.setHeaders(Collections.singletonMap("retry-after", "2"));
+        Assert.assertEquals(2000, nextDelay("conditional", false));
+    }
+
+    @Test
+    public void serverRetryAfterBeyondMaxDelayStops() throws Exception {
+        this.res.setStatus(429);
+        this.res.setHeaders(Collections.singletonMap("Retry-After", "5"));
+        Assert.assertEquals(-1, nextDelay("conditional", false));
+    }
+
+    @Test
+    public void exhaustedBudgetStops() throws Exception {
+        Assert.assertEquals(-1, nextDelay("noBudget", true));
+    }
+
+    @Test
+    public void retryAfterSeconds() {
+        Assert.assertEquals(-1, RemoteRetryPolicy.retryAfter(this.res));
+
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("Retry-After", " 3 ");
+        this.res.setHeaders(headers);
+        Assert.assertEquals(3000, RemoteRetryPolicy.retryAfter(this.res));
+    }
+
+    @Test
+    public void retryAfterHttpDate() {
+        String at = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(10));
+        this.res.setHeaders(Collections.singletonMap("Retry-After", at));
+
+        // HTTP 日期精确到秒
+        long wait = RemoteRetryPolicy.retryAfter(this.res);
+        Assert.assertTrue(wait > 8000);
+        Assert.assertTrue(wait <= 10000);
+    }
+
+    @Test
+    public void retryAfterPastHttpDateIsZero() {
+        this.res.setHeaders(Collections.singletonMap("Retry-After", "Wed, 21 Oct 2015 07:28:00 GMT"));
+        Assert.assertEquals(0, RemoteRetryPolicy.retryAfter(this.res));
+    }
+
+    @Test
+    public void retryAfterMalformedIsIgnored() {
+        this.res.setHeaders(Collections.singletonMap("Retry-After", "soon"));
+        Assert.assertEquals(-1, RemoteRetryPolicy.retryAfter(this.res));
+
+        this.res.setHeaders(Collections.singletonMap("Retry-After", "-1"));
+        Assert.assertEquals(-1, RemoteRetryPolicy.retryAfter(this.res));
+    }
+
+    @Test
+    public void statusCode() {
+        Assert.assertEquals(-1, RemoteRetryPolicy.statusCode(null));
+        Assert.assertEquals(503, RemoteRetryPolicy.statusCode(503));
+        Assert.assertEquals(503, RemoteRetryPolicy.statusCode("503 Service Unavailable"));
+        Assert.assertEquals(429, RemoteRetryPolicy.statusCode("HTTP/1.1 429 Too Many Requests"));
+        Assert.assertEquals(-1, RemoteRetryPolicy.statusCode("OK"));
+    }
+
+    private long nextDelay(String method, boolean requested) throws Exception {
+        return nextDelay(method, requested, null);
+    }
+
+    /**
+     * 模拟一次执行后计算重试等待时间
+     */
+    private long nextDelay(String method, boolean requested, Throwable ex) throws Exception {
+        RemoteMethodConfig methodConfig = RemoteMethodConfig.create(RetryApi.class, RetryApi.class.getMethod(method));
+        RemoteRetryPolicy policy = RemoteRetryPolicy.of(RetryApi.class.getMethod(method).getAnnotation(Retryable.class));
+        this.req.addRetryTimes();
+        return policy.nextDelay(methodConfig, this.req, this.res, ex, requested);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.trace;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.regex.Pattern;
+
+public class RemoteTraceTest {
+    private static final Pattern TRACE_PARENT = Pattern.compile("00-[0-9a-f]{32}-[0-9a-f]{16}-0[01]");
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @After
+    public void tearDown() {
+        MDC.remove(RemoteTrace.MDC_KEY);
+    }
+
+    @Test
+    public void generatedIds() {
+        Assert.assertTrue(RemoteTrace.newTraceId().matches("[0-9a-f]{32}"));
+        Assert.assertTrue(RemoteTrace.newSpanId().matches("[0-9a-f]{16}"));
+        Assert.assertNotEquals(RemoteTrace.newTraceId(), RemoteTrace.newTraceId());
+    }
+
+    @Test
+    public void buildTraceParent() {
+        RemoteTrace trace = RemoteTrace.current();
+        String sampled = trace.traceParent(true);
+        String unsampled = trace.traceParent(false);
+
+        Assert.assertTrue(TRACE_PARENT.matcher(sampled).matches());
+        Assert.assertTrue(sampled.endsWith("-01"));
+        Assert.assertTrue(unsampled.endsWith("-00"));
+        Assert.assertTrue(sampled.startsWith("00-" + trace.traceId() + "-"));
+        // 每次请求使用新的 spanId
+        Assert.assertNotEquals(sampled.substring(36, 52), trace.traceParent(true).substring(36, 52));
+    }
+
+    @Test
+    public void parseBuiltTraceParent() {
+        RemoteTrace trace = RemoteTrace.current();
+        Assert.assertEquals(trace.traceId(), RemoteTrace.traceIdOf(trace.traceParent(true)));
+        Assert.assertEquals(TRACE_ID, RemoteTrace.traceIdOf("00-" + TRACE_ID + "-00f067aa0ba902b7-01"));
+    }
+
+    @Test
+    public void parseFutureVersion() {
+        // 更高版本可在末尾追加以 - 分隔的字段
+        Assert.assertEquals(TRACE_ID, RemoteTrace.traceIdOf("01-" + TRACE_ID + "-00f067aa0ba902b7-01"));
+        Assert.assertEquals(TRACE_ID, RemoteTrace.traceIdOf("01-" + TRACE_ID + "-00f067aa0ba902b7-01-extra"));
+        Assert.assertNull(RemoteTrace.traceIdOf("01-" + TRACE_ID + "-00f067aa0ba902b7-01extra"));
+    }
+
+    @Test
+    public void parseMalformed() {
+        Assert.assertNull(RemoteTrace.traceIdOf(null));
+        Assert.assertNull(RemoteTrace.traceIdOf(""));
+        Assert.assertNull(RemoteTrace.traceIdOf(TRACE_ID));
+        // 长度或分隔符错误
+        Assert.assertNull(RemoteTrace.traceIdOf("00-" + TRACE_ID + "-00f067aa0ba902b-01"));
+        Assert.assertNull(RemoteTrace.traceIdOf("00_" + TRACE_ID + "_00f067aa0ba902b7_01"));
+        Assert.assertNull(RemoteTrace.traceIdOf("00-" + TRACE_ID + "-00f067aa0ba902b7-01-extra"));
+        // 大写或非十六进制字符
+        Assert.assertNull(RemoteTrace.traceIdOf("00-" + TRACE_ID.toUpperCase() + "-00f067aa0ba902b7-01"));
+        Assert.assertNull(RemoteTrace.traceIdOf("00-" + TRACE_ID + "-00f067aa0ba902g7-01"));
+        Assert.assertNull(RemoteTrace.traceIdOf("00-" + TRACE_ID + "-00f067aa0ba902b7-0x"));
+        Assert.assertNull(RemoteTrace.traceIdOf("0g-" + TRACE_ID + "-00f067aa0ba902b7-01"));
+        // 全零标识及保留版本
+        Assert.assertNull(RemoteTrace.traceIdOf("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        Assert.assertNull(RemoteTrace.traceIdOf("00-" + TRACE_ID + "-0000000000000000-01"));
+        Assert.assertNull(RemoteTrace.traceIdOf("ff-" + TRACE_ID + "-00f067aa0ba902b7-01"));
+    }
+
+    @Test
+    public void currentStartsNewTrace() {
+        RemoteTrace trace = RemoteTrace.current();
+        Assert.assertTrue(trace.traceId().matches("[0-9a-f]{32}"));
+        Assert.assertEquals(trace.traceId(), trace.requestId());
+    }
+
+    @Test
+    public void currentReusesUpstreamIds() {
+        MDC.put(RemoteTrace.MDC_KEY, TRACE_ID);
+        Assert.assertEquals(TRACE_ID, RemoteTrace.current().traceId());
+
+        String traceParent = "00-" + TRACE_ID + "-00f067aa0ba902b7-01";
+        MDC.put(RemoteTrace.MDC_KEY, traceParent);
+        RemoteTrace trace = RemoteTrace.current();
+        Assert.assertEquals(TRACE_ID, trace.traceId());
+        Assert.assertEquals(traceParent, trace.requestId());
+    }
+
+    @Test
+    public void currentKeepsNonW3cRequestId() {
+        MDC.put(RemoteTrace.MDC_KEY, "order-42");
+        RemoteTrace trace = RemoteTrace.current();
+
+        // 仅保留请求标识用于日志，traceId 重新生成
+        Assert.assertEquals("order-42", trace.requestId());
+        Assert.assertTrue(trace.traceId().matches("[0-9a-f]{32}"));
+    }
+
+    @Test
+    public void attachAndDetach() {
+        MDC.put(RemoteTrace.MDC_KEY, "caller");
+        RemoteTrace trace = RemoteTrace.current();
+        MDC.remove(RemoteTrace.MDC_KEY);
+
+        String previous = trace.attach();
+        Assert.assertNull(previous);
+        Assert.assertEquals("caller", MDC.get(RemoteTrace.MDC_KEY));
+        RemoteTrace.detach(previous);
+        Assert.assertNull(MDC.get(RemoteTrace.MDC_KEY));
+
+        MDC.put(RemoteTrace.MDC_KEY, "outer");
+        previous = trace.attach();
+        RemoteTrace.detach(previous);
+        Assert.assertEquals("outer", MDC.get(RemoteTrace.MDC_KEY));
+    }
+}
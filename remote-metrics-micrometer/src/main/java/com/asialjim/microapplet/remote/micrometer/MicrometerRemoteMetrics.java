@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.micrometer;
+
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.metrics.RemoteMethodMetrics;
+import com.asialjim.microapplet.remote.metrics.RemoteMetrics;
+import io.micrometer.core.instrument.*;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 将调用指标发布到 Micrometer
+ * <p>
+ * 默认注册到 {@link Metrics#globalRegistry}，可通过 {@link #registry(MeterRegistry)} 在首次调用前替换；
+ * 指标按 remote（远程方法）、endpoint（端点）及 outcome（调用结果）打标签
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public class MicrometerRemoteMetrics implements RemoteMetrics {
+    public static final String CALLS = "remote.client.calls";
+    public static final String RESPONSE_SIZE = "remote.client.response.size";
+    public static final String RETRIES = "remote.client.retries";
+    public static final String INFLIGHT = "remote.client.inflight";
+
+    private static volatile MeterRegistry registry = Metrics.globalRegistry;
+    private static final Map<Meters.Key, Meters> METERS = new ConcurrentHashMap<>();
+
+    /**
+     * 指定指标注册表，已创建的指标不会迁移
+     */
+    public static void registry(MeterRegistry meterRegistry) {
+        registry = Objects.requireNonNull(meterRegistry);
+        METERS.clear();
+    }
+
+    @Override
+    public void start(RemoteMethodConfig methodConfig, String endpoint) {
+        meters(methodConfig, endpoint);
+    }
+
+    @Override
+    public void complete(RemoteMethodConfig methodConfig, String endpoint, Outcome outcome, long nanos, int attempts, long responseBytes) {
+        Meters meters = meters(methodConfig, endpoint);
+        meters.calls[outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        if (responseBytes >= 0)
+            meters.responseSize.record(responseBytes);
+        if (attempts > 1)
+            meters.retries.increment(attempts - 1);
+    }
+
+    private static Meters meters(RemoteMethodConfig methodConfig, String endpoint) {
+        Meters.Key key = new Meters.Key(methodConfig.getRemoteName(), endpoint);
+        Meters meters = METERS.get(key);
+        if (Objects.nonNull(meters))
+            return meters;
+        return METERS.computeIfAbsent(key, k -> new Meters(registry, k, methodConfig.getMetrics()));
+    }
+
+    private static final class Meters {
+        private final Timer[] calls;
+        private final DistributionSummary responseSize;
+        private final Counter retries;
+
+        private Meters(MeterRegistry registry, Key key, RemoteMethodMetrics metrics) {
+            Tags tags = Tags.of("remote", key.remote, "endpoint", key.endpoint);
+            Outcome[] outcomes = Outcome.values();
+            this.calls = new Timer[outcomes.length];
+            for (Outcome outcome : outcomes) {
+                this.calls[outcome.ordinal()] = Timer.builder(CALLS)
+                        .description("远程调用耗时（含重试）")
+                        .tags(tags)
+                        .tag("outcome", outcome.name())
+                        .publishPercentiles(0.5, 0.9, 0.99)
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+            this.responseSize = DistributionSummary.builder(RESPONSE_SIZE)
+                    .description("远程调用响应大小")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(registry);
+            this.retries = Counter.builder(RETRIES)
+                    .description("远程调用重试次数")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder(INFLIGHT, metrics, RemoteMethodMetrics::inflight)
+                    .description("进行中的远程调用数")
+                    .tag("remote", key.remote)
+                    .register(registry);
+        }
+
+        private static final class Key {
+            private final String remote;
+            private final String endpoint;
+
+            private Key(String remote, String endpoint) {
+                this.remote = String.valueOf(remote);
+                this.endpoint = String.valueOf(endpoint);
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (this == o)
+                    return true;
+                if (!(o instanceof Key))
+                    return false;
+                Key key = (Key) o;
+                return remote.equals(key.remote) && endpoint.equals(key.endpoint);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * remote.hashCode() + endpoint.hashCode();
+            }
+        }
+    }
+}
@@ -62,7 +62,7 @@ public final class ApacheHttpProcessLifeCycle extends HttpMapping.HttpProcessLif
         req.put(AbstractHttpMappingLifeCycle.HTTP_REQUEST_URI, uri);
         Optional.ofNullable(req.get(ServerLifeCycle.NET_NODE_KEY_GENERIC_KEY))
                 .ifPresent(item -> Optional.ofNullable(req.get(AbstractSslLifeCycle.SSL_CONTEXT_GENERIC_KEY))
-                        .ifPresent(item::setSslContext));
+                        .ifPresent(sslContext -> req.put(ServerLifeCycle.NET_NODE_KEY_GENERIC_KEY, item.sslContext(sslContext))));
 
         Map<String, String> headerMap = Optional.ofNullable(req.get(AbstractHttpHeaderLifeCycle.HTTP_HEADER_VALUE)).orElseGet(HashMap::new);
         req.put(AbstractHttpHeaderLifeCycle.HTTP_HEADER_VALUE, headerMap);
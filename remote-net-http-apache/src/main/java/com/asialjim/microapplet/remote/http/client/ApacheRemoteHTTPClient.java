@@ -17,15 +17,18 @@
 package com.asialjim.microapplet.remote.http.client;
 
 import com.asialjim.microapplet.remote.context.GenericKey;
+import com.asialjim.microapplet.remote.context.RemoteAsyncContext;
 import com.asialjim.microapplet.remote.context.RemoteReqContext;
 import com.asialjim.microapplet.remote.context.RemoteResContext;
 import com.asialjim.microapplet.remote.http.annotation.HttpMethod;
 import com.asialjim.microapplet.remote.http.annotation.lifecycle.AbstractHttpMappingLifeCycle;
 import com.asialjim.microapplet.remote.http.annotation.lifecycle.AbstractOctetStreamBodyLifeCycle;
+import com.asialjim.microapplet.remote.metrics.RemoteMethodMetrics;
 import com.asialjim.microapplet.remote.net.annotation.ServerLifeCycle;
 import com.asialjim.microapplet.remote.net.client.RemoteNetClient;
 import com.asialjim.microapplet.remote.net.constant.RemoteConstant;
 import com.asialjim.microapplet.remote.net.context.RemoteNetNodeKey;
+import com.asialjim.microapplet.remote.net.dns.RemoteDnsResolver;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -39,6 +42,7 @@ import org.apache.http.client.methods.*;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.DnsResolver;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
@@ -68,6 +72,7 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import static com.asialjim.microapplet.remote.http.annotation.lifecycle.AbstractHttpHeaderLifeCycle.HTTP_HEADER_VALUE;
@@ -84,10 +89,14 @@ public class ApacheRemoteHTTPClient implements RemoteNetClient {
     public static final GenericKey<HttpEntity> HTTP_ENTITY_GENERIC_KEY = GenericKey.keyOf("apache_http_request_entity");
     private static final Logger log = LoggerFactory.getLogger(ApacheRemoteHTTPClient.class);
     private static final Map<Integer, PoolingHttpClientConnectionManager> POOLING_HTTP_CLIENT_CONNECTION_MANAGER_MAP = new ConcurrentHashMap<>();
+    /**
+     * 使用共享的异步域名解析，已解析的主机名不阻塞请求线程；多个地址按调用次数轮换顺序，连接失败时依次尝试其余地址
+     */
+    private static final DnsResolver REMOTE_DNS_RESOLVER = host -> RemoteDnsResolver.rotate(RemoteDnsResolver.resolve(host));
+    private static final long DNS_DRAIN_TIME = Long.getLong("remote.dns.drain-time", 30000L);
     private final RemoteNetNodeKey nodeKey;
     private final String proxyHost;
     private final Integer proxyPort;
-    private final int timeout;
     private final int nodeCode;
 
     public ApacheRemoteHTTPClient(RemoteNetNodeKey nodeKey) {
@@ -96,7 +105,6 @@ public class ApacheRemoteHTTPClient implements RemoteNetClient {
             this.nodeKey = null;
             this.proxyHost = StringUtils.EMPTY;
             this.proxyPort = 1080;
-            this.timeout = 5000;
             this.nodeCode = 0;
             return;
         }
@@ -105,7 +113,6 @@ public class ApacheRemoteHTTPClient implements RemoteNetClient {
         schema = nodeKey.getSchema();
         this.proxyHost = nodeKey.getProxyHost();
         this.proxyPort = nodeKey.getProxyPort();
-        this.timeout = nodeKey.getTimeout();
         SSLContext sslContext = nodeKey.getSslContext();
         int sslCode = -1;
         if (Objects.isNull(sslContext)) {
@@ -129,8 +136,23 @@ public class ApacheRemoteHTTPClient implements RemoteNetClient {
                 ? RegistryBuilder.<ConnectionSocketFactory>create().register(schema, Objects.nonNull(sslContext) ? new Socks5ProxySSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE) : new Socks5ProxyConnectionSocketFactory()).build()
                 : RegistryBuilder.<ConnectionSocketFactory>create().register(schema, Objects.nonNull(sslContext) ? new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE) : PlainConnectionSocketFactory.getSocketFactory()).build();
 
-        cm = new PoolingHttpClientConnectionManager(reg);
+        cm = new PoolingHttpClientConnectionManager(reg, REMOTE_DNS_RESOLVER);
         POOLING_HTTP_CLIENT_CONNECTION_MANAGER_MAP.put(this.nodeCode, cm);
+        drainOnAddressChange(nodeKey.getHost(), cm);
+    }
+
+    /**
+     * 主机名解析地址变化时立即关闭空闲连接；变化时正在使用的连接归还后，在 remote.dns.drain-time 毫秒后再次关闭，
+     * 之后新建的连接使用新地址
+     */
+    private static void drainOnAddressChange(String host, PoolingHttpClientConnectionManager cm) {
+        RemoteDnsResolver.addListener((changed, addresses) -> {
+            if (!StringUtils.equals(host, changed))
+                return;
+
+            cm.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+            RemoteAsyncContext.delay(DNS_DRAIN_TIME).thenRun(() -> cm.closeIdleConnections(0, TimeUnit.MILLISECONDS));
+        });
     }
 
     public static void addStringEntity(RemoteReqContext req) {
@@ -241,7 +263,7 @@ public class ApacheRemoteHTTPClient implements RemoteNetClient {
             // 添加代理
             addSocksProxy(context);
             // 添加超时时间
-            addRequestTimeout(custom);
+            addRequestTimeout(req, custom);
             context.setRequestConfig(custom.build());
 
             HttpEntity entity = req.get(HTTP_ENTITY_GENERIC_KEY);
@@ -279,6 +301,7 @@ public class ApacheRemoteHTTPClient implements RemoteNetClient {
 
                 InputStream inputStream = resEntity.getContent();
                 InputStream copy = copy(inputStream);
+                res.property(RemoteMethodMetrics.RESPONSE_BYTES_KEY, (long) copy.available());
                 res.setTempData(copy);
             } catch (IOException e) {
                 res.setCause(e);
@@ -295,10 +318,12 @@ public class ApacheRemoteHTTPClient implements RemoteNetClient {
         return new ByteArrayInputStream(bytes);
     }
 
-    private void addRequestTimeout(RequestConfig.Builder custom) {
-        custom.setConnectTimeout(this.timeout);
-        custom.setSocketTimeout(this.timeout);
-        custom.setConnectionRequestTimeout(this.timeout);
+    private void addRequestTimeout(RemoteReqContext req, RequestConfig.Builder custom) {
+        // 超时时间按请求设置，不属于节点标识
+        int timeout = Optional.ofNullable(req.get(RemoteConstant.TIMEOUT)).orElse(5000);
+        custom.setConnectTimeout(timeout);
+        custom.setSocketTimeout(timeout);
+        custom.setConnectionRequestTimeout(timeout);
     }
 
     private void addSocksProxy(HttpClientContext context) {
@@ -17,6 +17,7 @@
 package com.asialjim.microapplet.remote.http.client;
 
 import com.asialjim.microapplet.remote.context.GenericKey;
+import com.asialjim.microapplet.remote.context.RemoteAsyncContext;
 import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
 import com.asialjim.microapplet.remote.context.RemoteReqContext;
 import com.asialjim.microapplet.remote.context.RemoteResContext;
@@ -24,13 +25,22 @@ import com.asialjim.microapplet.remote.http.annotation.lifecycle.AbstractHttpHea
 import com.asialjim.microapplet.remote.http.annotation.lifecycle.AbstractHttpMappingLifeCycle;
 import com.asialjim.microapplet.remote.http.annotation.lifecycle.AbstractHttpQueryLifeCycle;
 import com.asialjim.microapplet.remote.http.pool.RemoteHttpClientPoolOnNetty;
+import com.asialjim.microapplet.remote.jfr.RemoteFlightRecorder;
+import com.asialjim.microapplet.remote.metrics.RemoteMethodMetrics;
+import com.asialjim.microapplet.remote.net.annotation.Coalesced;
+import com.asialjim.microapplet.remote.net.annotation.Hedged;
 import com.asialjim.microapplet.remote.net.annotation.ServerLifeCycle;
 import com.asialjim.microapplet.remote.net.client.RemoteNetClient;
+import com.asialjim.microapplet.remote.net.coalesce.RemoteCoalescePolicy;
+import com.asialjim.microapplet.remote.net.coalesce.RemoteSingleFlight;
 import com.asialjim.microapplet.remote.net.constant.RemoteConstant;
 import com.asialjim.microapplet.remote.net.context.RemoteContext;
 import com.asialjim.microapplet.remote.net.context.RemoteNetNodeKey;
+import com.asialjim.microapplet.remote.net.hedge.RemoteHedgePolicy;
+import com.asialjim.microapplet.remote.net.hedge.RemoteNetLatencyTracker;
 import com.asialjim.microapplet.remote.net.netty.NettyPoolUtil;
 import com.asialjim.microapplet.remote.net.netty.context.RemoteNettyChannelContext;
+import com.asialjim.microapplet.remote.retry.RemoteRetryBudget;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufUtil;
@@ -40,9 +50,12 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.pool.SimpleChannelPool;
 import io.netty.handler.codec.http.*;
 import io.netty.handler.codec.http.multipart.HttpPostRequestEncoder;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
 import lombok.AllArgsConstructor;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -56,6 +69,10 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import static com.asialjim.microapplet.remote.http.annotation.lifecycle.AbstractFormDataLifeCycle.FORM_DATA_REQUEST;
 import static com.asialjim.microapplet.remote.http.annotation.lifecycle.AbstractHttpMappingLifeCycle.COMMON_QUERY;
@@ -157,6 +174,19 @@ public final class NettyRemoteHTTPClient implements RemoteNetClient {
         //noinspection resource
         final SimpleChannelPool simpleChannelPool = Optional.ofNullable(req.get(CHANNEL_POOL_GENERIC_KEY)).orElseGet(() -> RemoteHttpClientPoolOnNetty.simpleChannelPool(this.nodeKey));
         final Promise<FullHttpResponse> promise = Optional.ofNullable(req.get(FULL_HTTP_RESPONSE_PROMISE_KEY)).orElseGet(RemoteNettyChannelContext.NETTY_RESPONSE_PROMISE_NOTIFY_EVENT_LOOP::newPromise);
+        final String endpoint = this.nodeKey.getHost() + ":" + this.nodeKey.getPort();
+        final long start = System.nanoTime();
+        final HttpPostRequestEncoder postEncoder = req.get(POST_REQUEST_ENCODER_GENERIC_KEY);
+        final HttpRequest httpRequest = req.get(HTTP_REQUEST_GENERIC_KEY);
+        final RemoteHedgePolicy hedge = req.get(Hedged.HEDGE_POLICY_KEY);
+        final Runnable send = () -> {
+            // 分块上传的请求无法复制，不做对冲
+            if (Objects.isNull(hedge) || Objects.nonNull(postEncoder) || !(httpRequest instanceof FullHttpRequest))
+                sendOn(simpleChannelPool, promise, httpRequest, postEncoder, req, res, false);
+            else hedge(hedge, endpoint, simpleChannelPool, promise, (FullHttpRequest) httpRequest, req, res);
+        };
+        // 须先于响应处理登记，挂载的请求在响应被消费前复制响应
+        final boolean leader = coalesce(req, promise, postEncoder, httpRequest, send);
 
         promise.addListener((GenericFutureListener<Future<FullHttpResponse>>) future -> {
             if (!future.isSuccess()) {
@@ -168,6 +198,7 @@ public final class NettyRemoteHTTPClient implements RemoteNetClient {
                     res.setCause(new IllegalStateException("请求取消"));
                 }
             } else {
+                RemoteNetLatencyTracker.of(endpoint).record(System.nanoTime() - start);
                 FullHttpResponse fullHttpResponse = future.get();
                 HttpResponseStatus status = fullHttpResponse.status();
                 res.setStatus(status);
@@ -193,6 +224,7 @@ public final class NettyRemoteHTTPClient implements RemoteNetClient {
                     }
                 }
                 res.setHeaders(headerMap);
+                res.property(RemoteMethodMetrics.RESPONSE_BYTES_KEY, (long) fullHttpResponse.content().readableBytes());
                 ByteBufInputStream inputStream = new ByteBufInputStream(fullHttpResponse.content(),true);
                 res.setTempData(inputStream);
                 NettyPoolUtil.releaseObject(fullHttpResponse);
@@ -200,37 +232,195 @@ public final class NettyRemoteHTTPClient implements RemoteNetClient {
             ServerLifeCycle.countDown(req);
         });
 
+        // 调用方取消请求时，取消响应等待并关闭连接
+        final CompletableFuture<Void> response = req.get(RemoteAsyncContext.RESPONSE_FUTURE_KEY);
+        if (Objects.nonNull(response))
+            response.whenComplete((v, e) -> {
+                if (response.isCancelled())
+                    promise.cancel(false);
+            });
+
+        if (leader)
+            send.run();
+        req.put(RemoteContext.REQUEST_SEND, Boolean.TRUE);
+    }
+
+    /**
+     * 合并并发中的相同请求，仅合并不携带请求体的请求
+     *
+     * @return true: 需要实际发送请求；false: 已挂载到进行中的相同请求
+     */
+    private boolean coalesce(RemoteReqContext req, Promise<FullHttpResponse> promise, HttpPostRequestEncoder postEncoder, HttpRequest httpRequest, Runnable send) {
+        RemoteCoalescePolicy coalesce = req.get(Coalesced.COALESCE_POLICY_KEY);
+        if (Objects.isNull(coalesce) || Objects.nonNull(postEncoder) || !(httpRequest instanceof FullHttpRequest))
+            return true;
+        if (((FullHttpRequest) httpRequest).content().isReadable())
+            return true;
+
+        Object key = coalesce.key(this.nodeKey, httpRequest.method().name(), httpRequest.uri(), httpRequest.headers());
+        CompletableFuture<FullHttpResponse> flight = new CompletableFuture<>();
+        boolean leader = RemoteSingleFlight.join(key, flight, FullHttpResponse::copy, ReferenceCountUtil::safeRelease, send);
+        if (leader) {
+            // 首个请求的响应在此监听器内完成复制，随后才由响应处理释放
+            promise.addListener((GenericFutureListener<Future<FullHttpResponse>>) future -> {
+                if (future.isSuccess())
+                    flight.complete(future.getNow());
+                else if (future.isCancelled())
+                    flight.cancel(false);
+                else flight.completeExceptionally(future.cause());
+            });
+            return true;
+        }
+
+        flight.whenComplete((response, ex) -> {
+            if (Objects.nonNull(ex))
+                promise.tryFailure(ex);
+            else if (!promise.trySuccess(response))
+                ReferenceCountUtil.safeRelease(response);
+        });
+        promise.addListener(future -> {
+            if (future.isCancelled())
+                flight.cancel(false);
+        });
+        return false;
+    }
+
+    private void hedge(RemoteHedgePolicy hedge, String endpoint, SimpleChannelPool simpleChannelPool, Promise<FullHttpResponse> promise, FullHttpRequest httpRequest, RemoteReqContext req, RemoteResContext res) {
+        RemoteRetryBudget budget = hedge.budget(endpoint);
+        budget.deposit();
+        hedge(budget, hedge.delay(endpoint), RemoteNettyChannelContext.NETTY_RESPONSE_PROMISE_NOTIFY_EVENT_LOOP, promise, httpRequest,
+                (leg, request) -> sendOn(simpleChannelPool, leg, request, null, req, res, true));
+    }
+
+    /**
+     * 对冲发送：首个请求在对冲延迟内未收到响应且重试预算允许时，在连接池的另一条连接上发送请求副本；
+     * 任一请求成功即完成响应，并取消另一请求（关闭其连接）；已发出的请求全部失败时响应失败
+     *
+     * @param delay    对冲延迟（毫秒），小于 0 时不对冲
+     * @param executor 创建各请求的响应并触发对冲的事件循环
+     * @param sender   在一条连接上发送请求，请求的一个引用计数随之转交
+     */
+    static void hedge(RemoteRetryBudget budget, long delay, EventExecutor executor, Promise<FullHttpResponse> promise, FullHttpRequest httpRequest, BiConsumer<Promise<FullHttpResponse>, FullHttpRequest> sender) {
+        // 首个请求写出后请求体即被释放，需要在发送前保留副本；副本与原请求共享内容，只释放其自身持有的引用
+        final FullHttpRequest copy = httpRequest.retainedDuplicate();
+        final AtomicInteger pending = new AtomicInteger(1);
+        Promise<FullHttpResponse> first = executor.newPromise();
+        join(first, promise, pending);
+        sender.accept(first, httpRequest);
+
+        if (delay < 0) {
+            ReferenceCountUtil.safeRelease(copy);
+            return;
+        }
+
+        ScheduledFuture<?> timer = executor.schedule(() -> {
+            if (promise.isDone() || !budget.tryRetry()) {
+                ReferenceCountUtil.safeRelease(copy);
+                return;
+            }
+
+            log.info("Remote NET Req Hedge === Uri: {} {} 毫秒内未收到响应，发送对冲请求", copy.uri(), delay);
+            pending.incrementAndGet();
+            Promise<FullHttpResponse> second = executor.newPromise();
+            join(second, promise, pending);
+            sender.accept(second, copy);
+        }, delay, TimeUnit.MILLISECONDS);
+
+        promise.addListener(future -> {
+            // 对冲请求尚未发出
+            if (timer.cancel(false))
+                ReferenceCountUtil.safeRelease(copy);
+        });
+    }
+
+    /**
+     * 将单个请求的结果汇入最终响应
+     */
+    private static void join(Promise<FullHttpResponse> leg, Promise<FullHttpResponse> promise, AtomicInteger pending) {
+        leg.addListener((GenericFutureListener<Future<FullHttpResponse>>) future -> {
+            if (future.isSuccess()) {
+                if (!promise.trySuccess(future.getNow()))
+                    ReferenceCountUtil.safeRelease(future.getNow());
+                return;
+            }
+
+            if (pending.decrementAndGet() == 0 && !future.isCancelled())
+                promise.tryFailure(future.cause());
+        });
+
+        promise.addListener(future -> {
+            if (!leg.isDone())
+                leg.cancel(false);
+        });
+    }
+
+    private void sendOn(SimpleChannelPool simpleChannelPool, Promise<FullHttpResponse> promise, HttpRequest httpRequest, HttpPostRequestEncoder postEncoder, RemoteReqContext req, RemoteResContext res, boolean hedged) {
+        final Object acquireEvent = RemoteFlightRecorder.beginNet();
+        final long acquireStart = System.nanoTime();
         simpleChannelPool.acquire().addListener((GenericFutureListener<Future<Channel>>) fn -> {
+            acquired(acquireEvent, acquireStart, fn, res, hedged);
             if (!fn.isSuccess() || Objects.nonNull(fn.cause())) {
+                NettyPoolUtil.releaseNettyClient(simpleChannelPool, fn);
+                if (hedged) {
+                    ReferenceCountUtil.safeRelease(httpRequest);
+                    promise.tryFailure(fn.cause());
+                    return;
+                }
                 res.setCause(fn.cause());
                 ServerLifeCycle.countDown(req);
-                NettyPoolUtil.releaseNettyClient(simpleChannelPool, fn);
                 return;
             }
 
             Channel channel = fn.get();
+            if (promise.isDone()) {
+                simpleChannelPool.release(channel);
+                if (hedged)
+                    ReferenceCountUtil.safeRelease(httpRequest);
+                return;
+            }
+
+            // 取消后连接上可能仍有未读取的响应，关闭连接而非直接归还连接池
+            promise.addListener(future -> {
+                if (future.isCancelled())
+                    channel.close();
+            });
+
             RemoteNettyChannelContext context = RemoteNettyChannelContext.builder()
                     .resContext(res)
                     .reqContext(req)
                     .simpleChannelPool(simpleChannelPool)
                     .channel(channel)
-                    .trace(this.nodeKey.getTrace())
+                    .trace(req.trace())
                     .defaultPromise(promise)
                     .sslContext(this.nodeKey.getSslContext())
                     .build();
 
-            HttpPostRequestEncoder postEncoder = req.get(POST_REQUEST_ENCODER_GENERIC_KEY);
-            HttpRequest httpRequest = req.get(HTTP_REQUEST_GENERIC_KEY);
             channel.attr(RemoteNettyChannelContext.CURRENT_REQ_BOUND_WITH_THE_CHANNEL).set(context);
-            writeAndFlush(res, channel, postEncoder, channel.writeAndFlush(httpRequest));
+            writeAndFlush(res, channel, postEncoder, channel.writeAndFlush(httpRequest), hedged ? promise : null);
 
             if (Objects.nonNull(postEncoder) && postEncoder.isChunked())
-                writeAndFlush(res, channel, postEncoder, channel.writeAndFlush(postEncoder));
+                writeAndFlush(res, channel, postEncoder, channel.writeAndFlush(postEncoder), null);
         });
-        req.put(RemoteContext.REQUEST_SEND, Boolean.TRUE);
     }
 
-    private void writeAndFlush(RemoteResContext res, Channel channel, HttpPostRequestEncoder postEncoder, ChannelFuture channelFuture) {
+    /**
+     * 记录获取连接的等待时间：主请求累计写入响应上下文，对冲请求仅记录事件
+     */
+    private void acquired(Object event, long start, Future<Channel> fn, RemoteResContext res, boolean hedged) {
+        long wait = System.nanoTime() - start;
+        if (!hedged) {
+            Long total = res.property(RemoteFlightRecorder.ACQUIRE_WAIT_KEY);
+            res.property(RemoteFlightRecorder.ACQUIRE_WAIT_KEY, Objects.isNull(total) ? wait : total + wait);
+        }
+
+        if (Objects.nonNull(event)) {
+            Channel channel = fn.isSuccess() ? fn.getNow() : null;
+            RemoteFlightRecorder.endNet(event, this.nodeKey.getHost() + ":" + this.nodeKey.getPort(), RemoteFlightRecorder.ACQUIRE,
+                    Objects.isNull(channel) ? null : channel.id().asShortText(), fn.isSuccess());
+        }
+    }
+
+    private void writeAndFlush(RemoteResContext res, Channel channel, HttpPostRequestEncoder postEncoder, ChannelFuture channelFuture, Promise<FullHttpResponse> hedgedPromise) {
         channelFuture.addListener(future -> {
             if (future.isSuccess()) {
                 if (log.isDebugEnabled())
@@ -244,11 +434,14 @@ public final class NettyRemoteHTTPClient implements RemoteNetClient {
                 }
                 if (Objects.nonNull(future.cause())) {
                     log.info("Request Send Exception: {}", future.cause(), future.cause());
-                    res.setThrowable(future.cause());
+                    // 对冲请求写出失败仅影响自身，由另一请求继续等待响应
+                    if (Objects.nonNull(hedgedPromise))
+                        hedgedPromise.tryFailure(future.cause());
+                    else res.setThrowable(future.cause());
                 }
             }
             if (Objects.nonNull(postEncoder) && postEncoder.isEndOfInput())
                 postEncoder.cleanFiles();
         });
     }
-}
\ No newline at end of file
+}
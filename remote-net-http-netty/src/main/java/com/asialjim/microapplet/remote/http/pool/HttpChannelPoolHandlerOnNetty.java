@@ -15,9 +15,10 @@
  */
 package com.asialjim.microapplet.remote.http.pool;
 
+import com.asialjim.microapplet.remote.jfr.RemoteFlightRecorder;
 import com.asialjim.microapplet.remote.net.context.RemoteNetNodeKey;
-import io.netty.channel.Channel;
-import io.netty.channel.ChannelPipeline;
+import com.asialjim.microapplet.remote.net.repository.ApiServerEnvironmentHolder;
+import io.netty.channel.*;
 import io.netty.channel.pool.ChannelPoolHandler;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
@@ -38,24 +39,34 @@ import org.slf4j.LoggerFactory;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.Objects;
 
 public class HttpChannelPoolHandlerOnNetty implements ChannelPoolHandler {
     private static final Logger log = LoggerFactory.getLogger(HttpChannelPoolHandlerOnNetty.class);
     private final RemoteNetNodeKey nodeKey;
+    /**
+     * 连接池创建时的日志级别，不属于节点标识
+     */
+    private final String logLevel;
 
     public HttpChannelPoolHandlerOnNetty(RemoteNetNodeKey nodeKey) {
         this.nodeKey = nodeKey;
+        this.logLevel = StringUtils.isNotBlank(ApiServerEnvironmentHolder.localLogLevel())
+                ? ApiServerEnvironmentHolder.localLogLevel()
+                : ApiServerEnvironmentHolder.globalLogLevel();
     }
 
     @Override
     public void channelReleased(Channel channel) {
-        log.info("向连接池归还连接, ChannelId: {}", channel.id());
+        if (log.isDebugEnabled())
+            log.debug("向连接池归还连接, ChannelId: {}", channel.id());
     }
 
     @Override
     public void channelAcquired(Channel channel) {
-        log.info("从连接池获取连接, ChannelId: {}", channel.id());
+        if (log.isDebugEnabled())
+            log.debug("从连接池获取连接, ChannelId: {}", channel.id());
     }
 
     @Override
@@ -89,7 +100,7 @@ public class HttpChannelPoolHandlerOnNetty implements ChannelPoolHandler {
         pipeline.addLast("aggregator", new HttpObjectAggregator(1 << 25));
 
         try {
-            LogLevel level = LogLevel.valueOf(nodeKey.getLogLevel().toUpperCase());
+            LogLevel level = LogLevel.valueOf(this.logLevel.toUpperCase());
             pipeline.addLast("log", new LoggingHandler(level));
         } catch (Throwable ignored) {
 
@@ -97,5 +108,39 @@ public class HttpChannelPoolHandlerOnNetty implements ChannelPoolHandler {
 
         pipeline.addLast("chunkedWriter", new ChunkedWriteHandler());
         pipeline.addLast("handler", new RemoteHttpResponseHandler());
+
+        if (RemoteFlightRecorder.enabled())
+            pipeline.addLast("flightRecorder", new ConnectRecorder(nodeKey.getHost() + ":" + nodeKey.getPort(), sslHandler));
+    }
+
+    /**
+     * 记录建立连接（含代理握手）及 TLS 握手的 JFR 事件，连接建立后自行移除
+     */
+    private static final class ConnectRecorder extends ChannelOutboundHandlerAdapter {
+        private final String endpoint;
+        private final SslHandler sslHandler;
+
+        private ConnectRecorder(String endpoint, SslHandler sslHandler) {
+            this.endpoint = endpoint;
+            this.sslHandler = sslHandler;
+        }
+
+        @Override
+        public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress, ChannelPromise promise) throws Exception {
+            Object event = RemoteFlightRecorder.beginNet();
+            String channel = ctx.channel().id().asShortText();
+            promise.addListener(future -> {
+                RemoteFlightRecorder.endNet(event, this.endpoint, RemoteFlightRecorder.CONNECT, channel, future.isSuccess());
+                if (future.isSuccess() && Objects.nonNull(this.sslHandler)) {
+                    Object tls = RemoteFlightRecorder.beginNet();
+                    if (Objects.nonNull(tls))
+                        this.sslHandler.handshakeFuture().addListener(handshake -> RemoteFlightRecorder.endNet(tls, this.endpoint, RemoteFlightRecorder.TLS, channel, handshake.isSuccess()));
+                }
+
+                if (Objects.nonNull(ctx.pipeline().context(this)))
+                    ctx.pipeline().remove(this);
+            });
+            super.connect(ctx, remoteAddress, localAddress, promise);
+        }
     }
 }
\ No newline at end of file
@@ -16,6 +16,8 @@
  package com.asialjim.microapplet.remote.http.pool;
 
 import com.asialjim.microapplet.remote.net.context.RemoteNetNodeKey;
+import com.asialjim.microapplet.remote.net.dns.RemoteDnsResolver;
+import com.asialjim.microapplet.remote.net.netty.dns.RemoteAddressResolverGroup;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.pool.AbstractChannelPoolMap;
 import io.netty.channel.pool.ChannelHealthChecker;
@@ -24,6 +26,7 @@ import io.netty.channel.pool.SimpleChannelPool;
 import lombok.AllArgsConstructor;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 
  @AllArgsConstructor
  public final class RemoteHttpClientPoolMap extends AbstractChannelPoolMap<RemoteNetNodeKey, SimpleChannelPool> {
@@ -31,15 +34,34 @@ import java.net.InetSocketAddress;
      private final int maxConnectionPerRout;
      private final int acquireTimeoutMillis;
 
+     /**
+      * 连接地址在新建连接时由 {@link RemoteDnsResolver} 解析，不在创建连接池时固定；
+      * 主机名解析地址变化后，指向旧地址的连接在获取或归还时关闭，连接池逐步迁移到新地址
+      */
      @Override
      protected SimpleChannelPool newPool(RemoteNetNodeKey key) {
-         return new FixedChannelPool(strap.remoteAddress(new InetSocketAddress(key.getHost(), key.getPort())),
+         Bootstrap bootstrap = strap.clone()
+                 .remoteAddress(InetSocketAddress.createUnresolved(key.getHost(), key.getPort()))
+                 .resolver(RemoteAddressResolverGroup.INSTANCE);
+         return new FixedChannelPool(bootstrap,
                  new HttpChannelPoolHandlerOnNetty(key),
-                 ChannelHealthChecker.ACTIVE,
+                 key.proxyEnable() ? ChannelHealthChecker.ACTIVE : resolvedHealthChecker(key.getHost()),
                  FixedChannelPool.AcquireTimeoutAction.FAIL,
                  acquireTimeoutMillis,
                  maxConnectionPerRout,
                  Integer.MAX_VALUE,
                  true);
      }
+
+     /**
+      * 连接有效且仍指向主机名的当前解析地址；经代理的连接对端为代理服务器，只检查连接是否有效
+      */
+     private static ChannelHealthChecker resolvedHealthChecker(String host) {
+         return channel -> {
+             SocketAddress remote = channel.remoteAddress();
+             boolean healthy = channel.isActive()
+                     && (!(remote instanceof InetSocketAddress) || RemoteDnsResolver.current(host, ((InetSocketAddress) remote).getAddress()));
+             return channel.eventLoop().newSucceededFuture(healthy);
+         };
+     }
  }
@@ -17,6 +17,7 @@ package com.asialjim.microapplet.remote.http.pool;
 
 import com.asialjim.microapplet.remote.net.netty.context.RemoteNettyChannelContext;
 import com.asialjim.microapplet.remote.net.netty.response.BaseChannelInboundHandlerAdapter;
+import com.asialjim.microapplet.remote.trace.RemoteTrace;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.FullHttpResponse;
@@ -25,7 +26,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import java.util.Objects;
+
 import static com.asialjim.microapplet.remote.net.netty.NettyPoolUtil.releaseChannel;
+import static com.asialjim.microapplet.remote.net.netty.NettyPoolUtil.releaseObject;
 
 @ChannelHandler.Sharable
 public final class RemoteHttpResponseHandler extends BaseChannelInboundHandlerAdapter<FullHttpResponse> {
@@ -42,15 +46,20 @@ public final class RemoteHttpResponseHandler extends BaseChannelInboundHandlerAd
 
     //@Override
     private void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
-        log.info("收到服务器:{} 响应：{}",ctx.channel().id(), response.status());
         RemoteNettyChannelContext channelContext = ctx.channel().attr(RemoteNettyChannelContext.CURRENT_REQ_BOUND_WITH_THE_CHANNEL).get();
+        String previous = traceOn(channelContext);
+        try {
+            log.info("收到服务器:{} 响应：{}",ctx.channel().id(), response.status());
 
-        //noinspection unchecked
-        Promise<FullHttpResponse> defaultPromise = (Promise<FullHttpResponse>) channelContext.getDefaultPromise();
-        defaultPromise.setSuccess(response);
+            //noinspection unchecked
+            Promise<FullHttpResponse> defaultPromise = (Promise<FullHttpResponse>) channelContext.getDefaultPromise();
+            if (!defaultPromise.trySuccess(response))
+                releaseObject(response);
 
-        releaseChannel(ctx);
-        MDC.clear();
+            releaseChannel(ctx);
+        } finally {
+            RemoteTrace.detach(previous);
+        }
     }
 
     @Override
@@ -61,12 +70,40 @@ public final class RemoteHttpResponseHandler extends BaseChannelInboundHandlerAd
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         log.info("与服务端通讯异常， ChannelId: {}, Exception:{}", ctx.channel().id(), cause.getMessage(), cause);
+        failure(ctx, cause);
         releaseChannel(ctx);
     }
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
         log.info("与服务端断开连接，ChannelId：{}", ctx.channel().id());
+        failure(ctx, new IllegalStateException("与服务端断开连接"));
         releaseChannel(ctx);
     }
+
+    /**
+     * 响应未到达前连接异常，立即通知等待中的请求，避免等待至超时
+     */
+    private void failure(ChannelHandlerContext ctx, Throwable cause) {
+        RemoteNettyChannelContext channelContext = ctx.channel().attr(RemoteNettyChannelContext.CURRENT_REQ_BOUND_WITH_THE_CHANNEL).get();
+        if (Objects.isNull(channelContext) || Objects.isNull(channelContext.getDefaultPromise()))
+            return;
+
+        String previous = traceOn(channelContext);
+        try {
+            channelContext.getDefaultPromise().tryFailure(cause);
+        } finally {
+            RemoteTrace.detach(previous);
+        }
+    }
+
+    /**
+     * 在网络线程上恢复发起请求时的链路上下文，使响应处理及其回调的日志可与请求关联
+     */
+    private static String traceOn(RemoteNettyChannelContext channelContext) {
+        RemoteTrace trace = Objects.isNull(channelContext) ? null : channelContext.getTrace();
+        if (Objects.isNull(trace))
+            return MDC.get(RemoteTrace.MDC_KEY);
+        return trace.attach();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.http.client;
+
+import com.asialjim.microapplet.remote.retry.RemoteRetryBudget;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.concurrent.DefaultEventLoop;
+import io.netty.util.concurrent.Promise;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public class NettyRemoteHTTPClientHedgeTest {
+    private DefaultEventLoop executor;
+    private List<Promise<FullHttpResponse>> legs;
+    private List<FullHttpRequest> sent;
+    private List<Long> sentAt;
+
+    @Before
+    public void before() {
+        this.executor = new DefaultEventLoop();
+        this.legs = new CopyOnWriteArrayList<>();
+        this.sent = new CopyOnWriteArrayList<>();
+        this.sentAt = new CopyOnWriteArrayList<>();
+    }
+
+    @After
+    public void after() {
+        this.executor.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    private static FullHttpRequest request() {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/hedge", Unpooled.copiedBuffer("body", StandardCharsets.UTF_8));
+    }
+
+    private static FullHttpResponse response() {
+        return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    }
+
+    private static RemoteRetryBudget allow(String endpoint) {
+        return RemoteRetryBudget.of("hedge-test:" + endpoint, 1.0, 10);
+    }
+
+    private static RemoteRetryBudget deny(String endpoint) {
+        return RemoteRetryBudget.of("hedge-test:" + endpoint, 0, 0);
+    }
+
+    /**
+     * 发送方持有请求的引用（模拟请求仍在进行中），记录各请求的响应
+     */
+    private Promise<FullHttpResponse> hedge(RemoteRetryBudget budget, long delay, FullHttpRequest request) {
+        Promise<FullHttpResponse> promise = this.executor.newPromise();
+        NettyRemoteHTTPClient.hedge(budget, delay, this.executor, promise, request, (leg, copy) -> {
+            this.sentAt.add(System.nanoTime());
+            this.legs.add(leg);
+            this.sent.add(copy);
+        });
+        return promise;
+    }
+
+    private void awaitLegs(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (this.legs.size() < count && System.currentTimeMillis() < deadline)
+            TimeUnit.MILLISECONDS.sleep(5);
+        Assert.assertEquals(count, this.legs.size());
+    }
+
+    /**
+     * 在事件循环上执行，返回时各监听器均已执行完毕
+     */
+    private void onLoop(Runnable runnable) {
+        this.executor.submit(runnable).syncUninterruptibly();
+    }
+
+    @Test
+    public void hedgeFiresAfterDelay() throws InterruptedException {
+        FullHttpRequest request = request();
+        long start = System.nanoTime();
+        Promise<FullHttpResponse> promise = hedge(allow("delay"), 100, request);
+        Assert.assertEquals(1, this.legs.size());
+        Assert.assertSame(request, this.sent.get(0));
+
+        awaitLegs(2);
+        Assert.assertTrue(this.sentAt.get(1) - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        // 对冲请求为原请求的副本，共享请求内容
+        Assert.assertNotSame(request, this.sent.get(1));
+        Assert.assertEquals("/hedge", this.sent.get(1).uri());
+        Assert.assertEquals(2, request.refCnt());
+
+        promise.cancel(false);
+    }
+
+    @Test
+    public void noHedgeWhenBudgetExhausted() throws InterruptedException {
+        FullHttpRequest request = request();
+        Promise<FullHttpResponse> promise = hedge(deny("budget"), 20, request);
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assert.assertEquals(1, this.legs.size());
+        Assert.assertFalse(promise.isDone());
+        // 未发出的副本已释放，仅剩首个请求持有的引用
+        Assert.assertEquals(1, request.refCnt());
+        promise.cancel(false);
+    }
+
+    @Test
+    public void negativeDelayNeverHedges() throws InterruptedException {
+        FullHttpRequest request = request();
+        Promise<FullHttpResponse> promise = hedge(allow("disabled"), -1, request);
+
+        TimeUnit.MILLISECONDS.sleep(50);
+        Assert.assertEquals(1, this.legs.size());
+        Assert.assertEquals(1, request.refCnt());
+        promise.cancel(false);
+    }
+
+    @Test
+    public void firstResponseWinsAndLoserCancelled() throws InterruptedException {
+        Promise<FullHttpResponse> promise = hedge(allow("winner"), 20, request());
+        awaitLegs(2);
+
+        FullHttpResponse winner = response();
+        FullHttpResponse late = response();
+        onLoop(() -> {
+            this.legs.get(1).trySuccess(winner);
+            // 落选请求已取消，其响应不再被采用
+            Assert.assertFalse(this.legs.get(0).trySuccess(late));
+        });
+
+        Assert.assertSame(winner, promise.getNow());
+        Assert.assertTrue(this.legs.get(0).isCancelled());
+        Assert.assertEquals(1, winner.refCnt());
+        winner.release();
+        late.release();
+    }
+
+    @Test
+    public void failsOnlyAfterAllRequestsFail() throws InterruptedException {
+        Promise<FullHttpResponse> promise = hedge(allow("failure"), 20, request());
+        awaitLegs(2);
+
+        IOException first = new IOException("first");
+        IOException second = new IOException("second");
+        onLoop(() -> this.legs.get(0).tryFailure(first));
+        Assert.assertFalse(promise.isDone());
+        Assert.assertFalse(this.legs.get(1).isDone());
+
+        onLoop(() -> this.legs.get(1).tryFailure(second));
+        Assert.assertTrue(promise.isDone());
+        Assert.assertSame(second, promise.cause());
+    }
+
+    @Test
+    public void failureBeforeHedgeReleasesCopy() throws InterruptedException {
+        FullHttpRequest request = request();
+        Promise<FullHttpResponse> promise = hedge(allow("early-failure"), 100, request);
+        IOException cause = new IOException("refused");
+        onLoop(() -> this.legs.get(0).tryFailure(cause));
+
+        Assert.assertSame(cause, promise.cause());
+        Assert.assertEquals(1, request.refCnt());
+        TimeUnit.MILLISECONDS.sleep(150);
+        Assert.assertEquals(1, this.legs.size());
+    }
+
+    @Test
+    public void copyReleasedWhenTimerCancelled() throws InterruptedException {
+        FullHttpRequest request = request();
+        Promise<FullHttpResponse> promise = hedge(allow("timer"), 100, request);
+        Assert.assertEquals(2, request.refCnt());
+
+        FullHttpResponse response = response();
+        onLoop(() -> this.legs.get(0).trySuccess(response));
+        Assert.assertSame(response, promise.getNow());
+        Assert.assertEquals(1, request.refCnt());
+
+        TimeUnit.MILLISECONDS.sleep(150);
+        Assert.assertEquals(1, this.legs.size());
+        response.release();
+    }
+
+    @Test
+    public void callerCancelCancelsRequestsAndReleasesCopy() {
+        FullHttpRequest request = request();
+        Promise<FullHttpResponse> promise = hedge(allow("cancel"), 100, request);
+
+        onLoop(() -> promise.cancel(false));
+        Assert.assertTrue(this.legs.get(0).isCancelled());
+        Assert.assertEquals(1, request.refCnt());
+    }
+}
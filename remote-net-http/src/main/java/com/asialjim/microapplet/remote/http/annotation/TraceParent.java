@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.http.annotation;
+
+import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
+import com.asialjim.microapplet.remote.context.*;
+import com.asialjim.microapplet.remote.http.annotation.lifecycle.AbstractHttpHeaderLifeCycle;
+import com.asialjim.microapplet.remote.lifecycle.callback.Before;
+import com.asialjim.microapplet.remote.trace.RemoteTrace;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.annotation.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 向请求注入 W3C Trace Context 请求头 traceparent
+ * <p>
+ * traceId 取自本次调用的链路上下文，每次发送（含重试）使用新的 spanId；
+ * 已通过 {@link HttpHeader} 显式指定 traceparent 时不覆盖；traceparent 不参与请求合并判断，合并后的请求沿用首个请求的链路
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@RemoteLifeCycle(TraceParent.TraceParentLifeCycle.class)
+public @interface TraceParent {
+    GenericKey<Boolean> TRACE_PARENT_SAMPLED_KEY = GenericKey.keyOf("trace-parent-sampled");
+
+    /**
+     * 采样标记（trace-flags）
+     */
+    boolean sampled() default true;
+
+    final class TraceParentLifeCycle implements RemoteLifeCycle.LifeCycleHandler<TraceParent>, Before {
+        @Override
+        public int order() {
+            // 位于请求头处理器之后
+            return Integer.MIN_VALUE + 21;
+        }
+
+        @Override
+        public void doInit(RemoteMethodConfig methodConfig, RemoteMethodParameter methodParameter, TraceParent annotation) {
+            if (Objects.isNull(methodConfig.config(TRACE_PARENT_SAMPLED_KEY)))
+                methodConfig.config(TRACE_PARENT_SAMPLED_KEY, annotation.sampled());
+        }
+
+        @Override
+        public void before(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+            RemoteTrace trace = req.trace();
+            if (Objects.isNull(trace))
+                return;
+
+            Map<String, String> headers = req.get(AbstractHttpHeaderLifeCycle.HTTP_HEADER_VALUE);
+            if (Objects.isNull(headers)) {
+                headers = new HashMap<>();
+                req.put(AbstractHttpHeaderLifeCycle.HTTP_HEADER_VALUE, headers);
+            }
+
+            for (String name : headers.keySet()) {
+                if (StringUtils.equalsIgnoreCase(name, RemoteTrace.TRACE_PARENT))
+                    return;
+            }
+            headers.put(RemoteTrace.TRACE_PARENT, trace.traceParent(Boolean.TRUE.equals(methodConfig.config(TRACE_PARENT_SAMPLED_KEY))));
+        }
+    }
+}
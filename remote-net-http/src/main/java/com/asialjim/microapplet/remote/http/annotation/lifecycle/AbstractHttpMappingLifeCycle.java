@@ -24,6 +24,8 @@ import com.asialjim.microapplet.remote.lifecycle.callback.Before;
 import com.asialjim.microapplet.remote.lifecycle.callback.Invoke;
 import com.asialjim.microapplet.remote.lifecycle.callback.OnError;
 import com.asialjim.microapplet.remote.net.constant.RemoteConstant;
+import com.asialjim.microapplet.remote.net.log.RemoteWireLogPolicy;
+import com.asialjim.microapplet.remote.net.log.RemoteWireLogger;
 import com.asialjim.microapplet.remote.net.mime.MimeMenu;
 import com.asialjim.microapplet.remote.net.response.RemoteNetResponseParserHolder;
 import org.apache.commons.lang3.StringUtils;
@@ -68,13 +70,14 @@ import java.util.Optional;
 
          String proxyHost = req.get(RemoteConstant.PROXY_HOST);
          Integer proxyPort = req.get(RemoteConstant.PROXY_PORT);
-         log.info("Remote NET Req Host >>> Client:{} >>> {}://{}:{}/ , Proxy[Host:{}, Port:{}]",
-                 methodConfig.getRemoteName(),
-                 req.get(RemoteConstant.SCHEMA),
-                 req.get(RemoteConstant.HOST),
-                 req.get(RemoteConstant.PORT),
-                 StringUtils.isNotBlank(proxyHost) ? proxyHost : "NONE",
-                 StringUtils.isNotBlank(String.valueOf(proxyPort)) ? proxyPort : "NONE");
+         if (RemoteWireLogPolicy.of(methodConfig).line(res))
+             RemoteWireLogger.info(log, "Remote NET Req Host >>> Client:{} >>> {}://{}:{}/ , Proxy[Host:{}, Port:{}]",
+                     methodConfig.getRemoteName(),
+                     req.get(RemoteConstant.SCHEMA),
+                     req.get(RemoteConstant.HOST),
+                     req.get(RemoteConstant.PORT),
+                     StringUtils.isNotBlank(proxyHost) ? proxyHost : "NONE",
+                     Objects.nonNull(proxyPort) ? proxyPort : "NONE");
      }
 
      @Override
@@ -87,8 +90,11 @@ import java.util.Optional;
          doAfter(data, methodConfig, req, res, args);
          Map<String, String> headers = responseHeader(res);
 
-         log.info("Remote NET Res Line <<< Client:{} <<< Status: {}, ProtocolVersion: {}", methodConfig.getRemoteName(), res.getStatus(), res.getProtocol());
-         log.info("Remote NET Res Head <<< Client:{} <<< {}", methodConfig.getRemoteName(), headers);
+         RemoteWireLogPolicy wireLog = RemoteWireLogPolicy.of(methodConfig);
+         if (wireLog.line(res))
+             RemoteWireLogger.info(log, "Remote NET Res Line <<< Client:{} <<< Status: {}, ProtocolVersion: {}", methodConfig.getRemoteName(), res.getStatus(), res.getProtocol());
+         if (wireLog.headers(res))
+             RemoteWireLogger.info(log, "Remote NET Res Head <<< Client:{} <<< {}", methodConfig.getRemoteName(), wireLog.headers(headers));
 
          String contentType = headers.entrySet().stream().filter(item -> StringUtils.equalsIgnoreCase(item.getKey(), "Content-Type")).map(Map.Entry::getValue).findAny().orElse(StringUtils.EMPTY);
          MimeType mimeType = Optional.ofNullable(res.property(MimeMenu.MIME_TYPE_GENERIC_KEY)).orElseGet(() -> MimeMenu.createConstant(contentType));
@@ -24,6 +24,8 @@ import com.asialjim.microapplet.remote.lifecycle.callback.Invoke;
 import com.asialjim.microapplet.remote.net.annotation.Ssl;
 import com.asialjim.microapplet.remote.net.client.RemoteNetClient;
 import com.asialjim.microapplet.remote.net.constant.RemoteConstant;
+import com.asialjim.microapplet.remote.net.log.RemoteWireLogPolicy;
+import com.asialjim.microapplet.remote.net.log.RemoteWireLogger;
 import com.asialjim.microapplet.remote.net.response.ResWithHeader;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -54,15 +56,21 @@ public abstract class AbstractHttpProcessLifeCycle implements Before, Invoke, Af
         headers.putIfAbsent("Host", req.get(RemoteConstant.HOST));
         req.put(AbstractHttpHeaderLifeCycle.HTTP_HEADER_VALUE, headers);
 
-        log.info("Remote NET Req Line >>> Client:{} >>> {} {}://{}:{}{}", methodConfig.getRemoteName(), req.get(AbstractHttpMappingLifeCycle.HTTP_METHOD_KEY), req.get(RemoteConstant.SCHEMA), req.get(RemoteConstant.HOST), req.get(RemoteConstant.PORT), url);
-        log.info("Remote NET Req Head >>> Client:{} >>> {}", methodConfig.getRemoteName(), headers);
-        AbstractFormDataLifeCycle.callFromLog(req);
-        Boolean fromDataRequest = req.get(AbstractFormDataLifeCycle.FORM_DATA_REQUEST);
-        if (StringUtils.isNotBlank(bodyStr) && !Boolean.TRUE.equals(fromDataRequest))
-            log.info("Remote NET Req Body >>> Client:{} >>> {}", methodConfig.getRemoteName(), bodyStr);
-        SSLContext sslContext = req.get(Ssl.SslLifeCycle.SSL_CONTEXT_GENERIC_KEY);
-        if (Objects.nonNull(sslContext))
-            log.info("Remote NET Req Ssl  >>> Client:{} >>> {}", methodConfig.getRemoteName(), sslContext);
+        RemoteWireLogPolicy wireLog = RemoteWireLogPolicy.of(methodConfig);
+        if (wireLog.line(res)) {
+            RemoteWireLogger.info(log, "Remote NET Req Line >>> Client:{} >>> {} {}://{}:{}{}", methodConfig.getRemoteName(), req.get(AbstractHttpMappingLifeCycle.HTTP_METHOD_KEY), req.get(RemoteConstant.SCHEMA), req.get(RemoteConstant.HOST), req.get(RemoteConstant.PORT), url);
+            SSLContext sslContext = req.get(Ssl.SslLifeCycle.SSL_CONTEXT_GENERIC_KEY);
+            if (Objects.nonNull(sslContext))
+                RemoteWireLogger.info(log, "Remote NET Req Ssl  >>> Client:{} >>> {}", methodConfig.getRemoteName(), sslContext);
+        }
+        if (wireLog.headers(res))
+            RemoteWireLogger.info(log, "Remote NET Req Head >>> Client:{} >>> {}", methodConfig.getRemoteName(), wireLog.headers(headers));
+        if (wireLog.body(res)) {
+            AbstractFormDataLifeCycle.callFromLog(req);
+            Boolean fromDataRequest = req.get(AbstractFormDataLifeCycle.FORM_DATA_REQUEST);
+            if (StringUtils.isNotBlank(bodyStr) && !Boolean.TRUE.equals(fromDataRequest))
+                RemoteWireLogger.info(log, "Remote NET Req Body >>> Client:{} >>> {}", methodConfig.getRemoteName(), wireLog.body(bodyStr));
+        }
 
         RemoteNetClient client = req.get(RemoteNetClient.REMOTE_NET_CLIENT_GENERIC_KEY);
         if (Objects.nonNull(client))
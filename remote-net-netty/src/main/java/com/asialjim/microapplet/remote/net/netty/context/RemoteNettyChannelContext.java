@@ -19,6 +19,7 @@ import com.asialjim.microapplet.remote.context.GenericKey;
 import com.asialjim.microapplet.remote.context.RemoteReqContext;
 import com.asialjim.microapplet.remote.context.RemoteResContext;
 import com.asialjim.microapplet.remote.thread.NamedThreadFactory;
+import com.asialjim.microapplet.remote.trace.RemoteTrace;
 import io.netty.channel.Channel;
 import io.netty.channel.DefaultEventLoop;
 import io.netty.channel.EventLoopGroup;
@@ -53,5 +54,5 @@ public class RemoteNettyChannelContext {
     private SimpleChannelPool               simpleChannelPool;
     private Promise<?>                      defaultPromise;
     private SSLContext                      sslContext;
-    private String                          trace;
+    private RemoteTrace                     trace;
 }
\ No newline at end of file
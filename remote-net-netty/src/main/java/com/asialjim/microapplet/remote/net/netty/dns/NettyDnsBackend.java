@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.netty.dns;
+
+import com.asialjim.microapplet.remote.net.dns.RemoteDnsBackend;
+import com.asialjim.microapplet.remote.net.netty.context.RemoteNettyChannelContext;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.resolver.dns.DefaultDnsCache;
+import io.netty.resolver.dns.DnsNameResolver;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.util.concurrent.Future;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Netty 异步域名解析：在 Remote 事件循环上查询 DNS，不占用任何阻塞线程；
+ * 解析结果按 DNS 记录的 TTL 缓存，TTL 过期后的后台重新解析才会访问 DNS 服务器
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public class NettyDnsBackend implements RemoteDnsBackend {
+    private final DnsNameResolver resolver = new DnsNameResolverBuilder(RemoteNettyChannelContext.group.next())
+            .channelType(NioDatagramChannel.class)
+            .socketChannelType(NioSocketChannel.class)
+            .resolveCache(new DefaultDnsCache())
+            .build();
+
+    @Override
+    public CompletableFuture<InetAddress[]> resolve(String host) {
+        CompletableFuture<InetAddress[]> future = new CompletableFuture<>();
+        this.resolver.resolveAll(host).addListener((Future<List<InetAddress>> f) -> {
+            if (f.isSuccess())
+                future.complete(f.getNow().toArray(new InetAddress[0]));
+            else future.completeExceptionally(f.cause());
+        });
+        return future;
+    }
+}
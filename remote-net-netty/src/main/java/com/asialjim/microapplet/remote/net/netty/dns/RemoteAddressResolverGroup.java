@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.netty.dns;
+
+import com.asialjim.microapplet.remote.net.dns.RemoteDnsResolver;
+import io.netty.resolver.AbstractAddressResolver;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 使用 {@link RemoteDnsResolver} 解析连接地址：每次新建连接时读取主机名的当前地址，并在多个地址间轮换
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+    public static final RemoteAddressResolverGroup INSTANCE = new RemoteAddressResolverGroup();
+
+    private RemoteAddressResolverGroup() {
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new AbstractAddressResolver<InetSocketAddress>(executor) {
+            @Override
+            protected boolean doIsResolved(InetSocketAddress address) {
+                return !address.isUnresolved();
+            }
+
+            @Override
+            protected void doResolve(InetSocketAddress unresolved, Promise<InetSocketAddress> promise) {
+                RemoteDnsResolver.resolveAsync(unresolved.getHostString()).whenComplete((addresses, ex) -> {
+                    if (Objects.nonNull(ex))
+                        promise.tryFailure(ex);
+                    else promise.trySuccess(new InetSocketAddress(RemoteDnsResolver.next(addresses), unresolved.getPort()));
+                });
+            }
+
+            @Override
+            protected void doResolveAll(InetSocketAddress unresolved, Promise<List<InetSocketAddress>> promise) {
+                RemoteDnsResolver.resolveAsync(unresolved.getHostString()).whenComplete((addresses, ex) -> {
+                    if (Objects.nonNull(ex)) {
+                        promise.tryFailure(ex);
+                        return;
+                    }
+
+                    List<InetSocketAddress> list = new ArrayList<>(addresses.length);
+                    for (InetAddress address : addresses)
+                        list.add(new InetSocketAddress(address, unresolved.getPort()));
+                    promise.trySuccess(list);
+                });
+            }
+        };
+    }
+}
@@ -147,6 +147,8 @@ public class ApiServerMyBatisFlexRepository implements ApiServerRepository, Appl
         // 为API 服务器网络环境上锁
         // API 服务器网络环境锁不过期
         redisTemplate.opsForValue().set(lockKey, "lock");
+        // 本地缓存的服务器信息已失效，后续请求改用公网环境
+        invalidate(supplierId, namespaceId, env);
 
         // 达到超时次数阈值, 向指定用户发送消息通知
         applicationContext.publishEvent(new ApiServerEnvironmentLockedEvent(apiServerInfo));
@@ -36,6 +36,6 @@ import java.util.Objects;
          req.put(SSL_CONTEXT_GENERIC_KEY, sslContext);
          RemoteNetNodeKey nodeKey = req.get(ServerLifeCycle.NET_NODE_KEY_GENERIC_KEY);
          if (Objects.nonNull(nodeKey) && Objects.isNull(nodeKey.getSslContext()))
-             nodeKey.setSslContext(sslContext);
+             req.put(ServerLifeCycle.NET_NODE_KEY_GENERIC_KEY, nodeKey.sslContext(sslContext));
      }
  }
\ No newline at end of file
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.annotation;
+
+import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
+import com.asialjim.microapplet.remote.context.*;
+import com.asialjim.microapplet.remote.lifecycle.callback.After;
+import com.asialjim.microapplet.remote.lifecycle.callback.Before;
+import com.asialjim.microapplet.remote.lifecycle.callback.Finally;
+import com.asialjim.microapplet.remote.net.constant.RemoteConstant;
+import com.asialjim.microapplet.remote.net.exception.RemoteRejectedException;
+import com.asialjim.microapplet.remote.net.limit.RemoteConcurrencyLimiter;
+
+import java.lang.annotation.*;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 端点并发隔离
+ * <p>
+ * 按 API 供应商、业务空间及环境（未配置供应商时按服务器地址）限制同时进行中的请求数，
+ * 并发上限根据端点的响应延迟自动调整；超出上限的同步请求在获取连接前排队等待，
+ * 等待超时（不超过调用超时时间）后以 {@link RemoteRejectedException} 拒绝，异步请求则立即拒绝，
+ * 避免单个缓慢的端点占满连接池与调用线程
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@RemoteLifeCycle(Bulkhead.BulkheadLifeCycle.class)
+public @interface Bulkhead {
+
+    GenericKey<Bulkhead> BULKHEAD_KEY = GenericKey.keyOf("bulkhead");
+    GenericKey<RemoteConcurrencyLimiter.Permit> BULKHEAD_PERMIT_KEY = GenericKey.keyOf("bulkhead-permit");
+
+    /**
+     * 初始并发上限
+     */
+    int initialLimit() default 20;
+
+    /**
+     * 并发上限的下限
+     */
+    int minLimit() default 1;
+
+    /**
+     * 并发上限的上限
+     */
+    int maxLimit() default 200;
+
+    /**
+     * 超出并发上限时的最长等待时间，单位：毫秒；小于等于 0 时立即拒绝。
+     * 仅对同步调用生效，异步调用（CompletableFuture、Mono 等返回类型）不阻塞调用线程，超出并发上限时立即拒绝
+     */
+    long maxWait() default 0;
+
+    final class BulkheadLifeCycle implements RemoteLifeCycle.LifeCycleHandler<Bulkhead>, Before, After, Finally {
+        @Override
+        public int order() {
+            // 在服务器信息解析之后、请求发出之前执行
+            return Integer.MIN_VALUE + 6;
+        }
+
+        @Override
+        public void doInit(RemoteMethodConfig methodConfig, RemoteMethodParameter methodParameter, Bulkhead annotation) {
+            if (Objects.isNull(methodConfig.config(BULKHEAD_KEY)))
+                methodConfig.config(BULKHEAD_KEY, annotation);
+        }
+
+        @Override
+        public void before(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+            // 上一次执行未经 after 阶段结束（如发送异常）时，先归还许可
+            release(req);
+
+            Bulkhead bulkhead = methodConfig.config(BULKHEAD_KEY);
+            RemoteConcurrencyLimiter limiter = RemoteConcurrencyLimiter.of(ServerLifeCycle.endpoint(req), bulkhead.initialLimit(), bulkhead.minLimit(), bulkhead.maxLimit());
+            // 异步调用不在调用线程上排队等待，超出并发上限时立即拒绝
+            Integer timeout = req.get(RemoteConstant.TIMEOUT);
+            long maxWait = methodConfig.isAsyncReturn() ? 0 : Objects.isNull(timeout) ? bulkhead.maxWait() : Math.min(bulkhead.maxWait(), timeout);
+
+            RemoteConcurrencyLimiter.Permit permit = limiter.acquire(maxWait);
+            if (Objects.isNull(permit))
+                throw new RemoteRejectedException("Remote 客户端: " + methodConfig.getRemoteName() + " 端点: " + limiter.endpoint() + " 并发数已达上限: " + limiter.limit());
+            req.put(BULKHEAD_PERMIT_KEY, permit);
+        }
+
+        @Override
+        public void after(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+            RemoteConcurrencyLimiter.Permit permit = req.get(BULKHEAD_PERMIT_KEY);
+            if (Objects.isNull(permit))
+                return;
+
+            Throwable cause = res.getCause();
+            if (Objects.isNull(cause))
+                permit.success();
+            else if (cause instanceof TimeoutException)
+                permit.dropped();
+            else permit.ignore();
+        }
+
+        @Override
+        public void finallyFun(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+            release(req);
+        }
+
+        private static void release(RemoteReqContext req) {
+            RemoteConcurrencyLimiter.Permit permit = req.get(BULKHEAD_PERMIT_KEY);
+            if (Objects.nonNull(permit))
+                permit.ignore();
+        }
+    }
+}
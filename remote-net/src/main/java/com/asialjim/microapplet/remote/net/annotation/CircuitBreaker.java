@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.annotation;
+
+import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
+import com.asialjim.microapplet.remote.context.GenericKey;
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.context.RemoteMethodParameter;
+import com.asialjim.microapplet.remote.net.exception.RemoteRejectedException;
+
+import java.lang.annotation.*;
+import java.util.Objects;
+
+/**
+ * 服务节点熔断
+ * <p>
+ * 由 {@link ServerLifeCycle} 按实际访问的服务节点（协议、主机名、端口）统计调用结果：
+ * 超时、连接异常及 5xx 响应计为失败，耗时超过 {@link #slowCallDuration()} 计为慢调用；
+ * 熔断打开期间请求在 before 阶段以 {@link RemoteRejectedException} 快速失败，不再等待超时。
+ * 同一服务节点的各方法共享熔断状态，配置以首个调用该节点的方法为准，其他方法的配置与之不同时记录告警
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@RemoteLifeCycle(CircuitBreaker.CircuitBreakerLifeCycle.class)
+public @interface CircuitBreaker {
+
+    GenericKey<CircuitBreaker> CIRCUIT_BREAKER_KEY = GenericKey.keyOf("circuit-breaker");
+
+    /**
+     * 滑动窗口类型
+     */
+    WindowType windowType() default WindowType.COUNT;
+
+    /**
+     * 滑动窗口大小：按次数统计时为调用次数，按时间统计时为秒数
+     */
+    int windowSize() default 100;
+
+    /**
+     * 计算失败率所需的最少调用次数
+     */
+    int minimumCalls() default 20;
+
+    /**
+     * 失败率阈值，百分比
+     */
+    float failureRateThreshold() default 50;
+
+    /**
+     * 慢调用率阈值，百分比
+     */
+    float slowCallRateThreshold() default 100;
+
+    /**
+     * 慢调用耗时，单位：毫秒；小于等于 0 时不统计慢调用
+     */
+    long slowCallDuration() default 0;
+
+    /**
+     * 熔断打开后进入半开状态前的等待时间，单位：毫秒
+     */
+    long waitInOpen() default 30000;
+
+    /**
+     * 半开状态下放行的探测调用次数
+     */
+    int permittedInHalfOpen() default 5;
+
+    enum WindowType {
+        /**
+         * 最近 N 次调用
+         */
+        COUNT,
+
+        /**
+         * 最近 N 秒内的调用
+         */
+        TIME
+    }
+
+    final class CircuitBreakerLifeCycle implements RemoteLifeCycle.LifeCycleHandler<CircuitBreaker> {
+        @Override
+        public void doInit(RemoteMethodConfig methodConfig, RemoteMethodParameter methodParameter, CircuitBreaker annotation) {
+            if (Objects.isNull(methodConfig.config(CIRCUIT_BREAKER_KEY)))
+                methodConfig.config(CIRCUIT_BREAKER_KEY, annotation);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.annotation;
+
+import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
+import com.asialjim.microapplet.remote.context.*;
+import com.asialjim.microapplet.remote.lifecycle.callback.Before;
+import com.asialjim.microapplet.remote.net.coalesce.RemoteCoalescePolicy;
+
+import java.lang.annotation.*;
+import java.util.Objects;
+
+/**
+ * 合并并发中的相同请求，仅用于幂等的查询类方法
+ * <p>
+ * 同一方法、同一服务节点、相同请求地址及 {@link #headers()} 所列请求头的请求并发执行时，只发送首个请求，
+ * 其余请求等待并共享其响应；每个调用方获得响应的独立副本，互不影响。
+ * 携带请求体的请求不做合并
+ * <p>
+ * 仅 Netty 网络客户端支持请求合并，Apache HttpClient 网络客户端忽略该注解
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@RemoteLifeCycle(Coalesced.CoalescedLifeCycle.class)
+public @interface Coalesced {
+
+    GenericKey<RemoteCoalescePolicy> COALESCE_POLICY_KEY = GenericKey.keyOf("coalesce-policy");
+
+    /**
+     * 参与合并判断的请求头名称，不区分大小写；未列出的请求头不参与判断，
+     * 请求号、签名、时间戳等每次调用均不同的请求头不应列出，否则请求无法合并；链路请求头 traceparent 始终不参与判断
+     */
+    String[] headers() default {};
+
+    final class CoalescedLifeCycle implements RemoteLifeCycle.LifeCycleHandler<Coalesced>, Before {
+        @Override
+        public int order() {
+            return Integer.MIN_VALUE + 5;
+        }
+
+        @Override
+        public void doInit(RemoteMethodConfig methodConfig, RemoteMethodParameter methodParameter, Coalesced annotation) {
+            if (Objects.isNull(methodConfig.config(COALESCE_POLICY_KEY)))
+                methodConfig.config(COALESCE_POLICY_KEY, RemoteCoalescePolicy.of(methodConfig, annotation));
+        }
+
+        @Override
+        public void before(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+            req.put(COALESCE_POLICY_KEY, methodConfig.config(COALESCE_POLICY_KEY));
+        }
+    }
+}
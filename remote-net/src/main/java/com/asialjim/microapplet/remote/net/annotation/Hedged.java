@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.annotation;
+
+import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
+import com.asialjim.microapplet.remote.context.*;
+import com.asialjim.microapplet.remote.lifecycle.callback.Before;
+import com.asialjim.microapplet.remote.net.hedge.RemoteHedgePolicy;
+
+import java.lang.annotation.*;
+import java.util.Objects;
+
+/**
+ * 对冲请求，仅用于幂等方法
+ * <p>
+ * 请求发出后在对冲延迟内未收到响应时，在另一条连接上再发送一份相同的请求，
+ * 采用先到达的成功响应并取消另一份请求；对冲请求数受端点的对冲预算限制
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@RemoteLifeCycle(Hedged.HedgedLifeCycle.class)
+public @interface Hedged {
+
+    GenericKey<RemoteHedgePolicy> HEDGE_POLICY_KEY = GenericKey.keyOf("hedge-policy");
+
+    /**
+     * 固定对冲延迟，单位：毫秒；小于等于 0 时使用端点实时延迟的 {@link #percentile()} 分位值
+     */
+    long delay() default 0;
+
+    /**
+     * 对冲延迟使用的延迟分位，取值 (0, 100)
+     */
+    double percentile() default 95;
+
+    /**
+     * 对冲延迟下限，单位：毫秒
+     */
+    long minDelay() default 5;
+
+    /**
+     * 对冲预算：对冲请求数占正常请求数的最大比例
+     */
+    double budgetRatio() default 0.05;
+
+    /**
+     * 对冲预算：每秒保底允许的对冲次数
+     */
+    int budgetMinPerSecond() default 1;
+
+    final class HedgedLifeCycle implements RemoteLifeCycle.LifeCycleHandler<Hedged>, Before {
+        @Override
+        public int order() {
+            return Integer.MIN_VALUE + 5;
+        }
+
+        @Override
+        public void doInit(RemoteMethodConfig methodConfig, RemoteMethodParameter methodParameter, Hedged annotation) {
+            if (Objects.isNull(methodConfig.config(HEDGE_POLICY_KEY)))
+                methodConfig.config(HEDGE_POLICY_KEY, RemoteHedgePolicy.of(annotation));
+        }
+
+        @Override
+        public void before(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+            req.put(HEDGE_POLICY_KEY, methodConfig.config(HEDGE_POLICY_KEY));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.annotation;
+
+import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
+import com.asialjim.microapplet.remote.context.*;
+import com.asialjim.microapplet.remote.lifecycle.callback.Before;
+import com.asialjim.microapplet.remote.net.constant.RemoteConstant;
+import com.asialjim.microapplet.remote.net.exception.RemoteRejectedException;
+import com.asialjim.microapplet.remote.net.limit.RemoteRateLimiter;
+
+import java.lang.annotation.*;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 出站限流
+ * <p>
+ * 按 API 供应商、业务空间及环境（未配置供应商时按服务器地址）共享令牌桶，平滑发往端点的请求，
+ * 避免触发服务端的 QPS 配额；每次执行（含重试）消耗一个令牌。
+ * 同一端点的令牌桶参数以首次调用的配置为准，其他方法配置了不同的参数时记录告警
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@RemoteLifeCycle(RateLimit.RateLimitLifeCycle.class)
+public @interface RateLimit {
+
+    GenericKey<RateLimit> RATE_LIMIT_KEY = GenericKey.keyOf("rate-limit");
+
+    /**
+     * 每秒令牌数
+     */
+    double permitsPerSecond();
+
+    /**
+     * 允许积累的令牌数，即允许的瞬时并发请求数
+     */
+    int burst() default 1;
+
+    /**
+     * 令牌不足时的处理方式
+     */
+    Mode mode() default Mode.WAIT;
+
+    enum Mode {
+        /**
+         * 等待令牌，等待时间不超过调用超时时间的一半，超过时拒绝；
+         * 等待时间计入调用超时时间，异步调用等待期间不阻塞调用线程
+         */
+        WAIT,
+
+        /**
+         * 立即拒绝
+         */
+        REJECT
+    }
+
+    final class RateLimitLifeCycle implements RemoteLifeCycle.LifeCycleHandler<RateLimit>, Before {
+        @Override
+        public int order() {
+            // 在服务器信息解析之后、并发隔离之前执行
+            return Integer.MIN_VALUE + 5;
+        }
+
+        @Override
+        public void doInit(RemoteMethodConfig methodConfig, RemoteMethodParameter methodParameter, RateLimit annotation) {
+            if (annotation.permitsPerSecond() <= 0)
+                throw new IllegalStateException("Remote 客户端: " + methodConfig.getRemoteName() + " 限流每秒令牌数必须大于 0");
+
+            if (Objects.isNull(methodConfig.config(RATE_LIMIT_KEY)))
+                methodConfig.config(RATE_LIMIT_KEY, annotation);
+        }
+
+        @Override
+        public void before(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+            RateLimit rateLimit = methodConfig.config(RATE_LIMIT_KEY);
+            RemoteRateLimiter limiter = RemoteRateLimiter.of(ServerLifeCycle.endpoint(req), rateLimit.permitsPerSecond(), rateLimit.burst());
+
+            // 等待时间不超过调用超时时间的一半，保证请求发出后仍有足够的响应等待时间
+            Integer timeout = req.get(RemoteConstant.TIMEOUT);
+            long maxWait = rateLimit.mode() == Mode.REJECT || Objects.isNull(timeout) ? 0 : TimeUnit.MILLISECONDS.toNanos(timeout) / 2;
+            long wait = limiter.reserve(maxWait);
+            if (wait < 0)
+                throw new RemoteRejectedException("Remote 客户端: " + methodConfig.getRemoteName() + " 端点: " + limiter.endpoint() + " 请求频率超过限制: " + limiter.permitsPerSecond() + "/秒");
+            if (wait == 0)
+                return;
+
+            // 等待时间计入调用超时时间，请求发出后只等待剩余的时间
+            long millis = TimeUnit.NANOSECONDS.toMillis(wait + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+            req.put(RemoteConstant.TIMEOUT, (int) Math.max(1, timeout - millis));
+
+            // 异步调用不阻塞调用线程，由定时器在等待结束后发出请求
+            if (methodConfig.isAsyncReturn()) {
+                req.defer(RemoteAsyncContext.delay(millis));
+                return;
+            }
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Remote 客户端: " + methodConfig.getRemoteName() + " 等待限流令牌时线程被中断", e);
+            }
+        }
+    }
+}
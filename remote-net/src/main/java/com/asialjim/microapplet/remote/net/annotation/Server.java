@@ -18,6 +18,7 @@ package com.asialjim.microapplet.remote.net.annotation;
 import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
 import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
 import com.asialjim.microapplet.remote.context.RemoteMethodParameter;
+import com.asialjim.microapplet.remote.net.balance.RemoteLoadBalancer;
 import org.apache.commons.lang3.StringUtils;
 
 import java.lang.annotation.ElementType;
@@ -49,6 +50,18 @@ public @interface Server {
      */
     int port() default 0;
 
+    /**
+     * 服务节点组，每项格式：主机名[:端口][;weight=权重]，未指定端口时使用 {@link #port()}；
+     * 不为空时忽略 {@link #host()}，每次请求由 {@link #balancer()} 选出一个节点，各节点使用独立的连接池
+     */
+    String[] endpoints() default {};
+
+    /**
+     * 服务节点组负载均衡策略，见 {@link RemoteLoadBalancer} 中的内置策略名称，
+     * 或通过 META-INF/remote.loadRemoteClass 注册的实现名称
+     */
+    String balancer() default RemoteLoadBalancer.ROUND_ROBIN;
+
     /**
      * 代理主机名或者IP地址
      */
@@ -16,42 +16,65 @@
 package com.asialjim.microapplet.remote.net.annotation;
 
 import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
+import com.asialjim.microapplet.remote.annotation.Retryable;
 import com.asialjim.microapplet.remote.context.*;
 import com.asialjim.microapplet.remote.lifecycle.callback.*;
+import com.asialjim.microapplet.remote.net.balance.RemoteEndpoint;
+import com.asialjim.microapplet.remote.net.balance.RemoteEndpointGroup;
+import com.asialjim.microapplet.remote.net.breaker.RemoteCircuitBreaker;
 import com.asialjim.microapplet.remote.net.constant.RemoteConstant;
 import com.asialjim.microapplet.remote.net.context.RemoteNetNodeKey;
 import com.asialjim.microapplet.remote.net.exception.ConnectionException;
+import com.asialjim.microapplet.remote.net.exception.ConnectionTimeoutException;
 import com.asialjim.microapplet.remote.net.exception.DedicatedTimeoutException;
+import com.asialjim.microapplet.remote.net.exception.RemoteRejectedException;
+import com.asialjim.microapplet.remote.net.health.RemoteHealthChecker;
 import com.asialjim.microapplet.remote.net.repository.ApiServerEnvironmentHolder;
 import com.asialjim.microapplet.remote.net.repository.ApiServerInfo;
 import com.asialjim.microapplet.remote.net.repository.ApiServerRepository;
 import com.asialjim.microapplet.remote.net.repository.ApiServerRepositoryHolder;
+import com.asialjim.microapplet.remote.retry.RemoteRetryPolicy;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
+import java.io.IOException;
 import java.net.ConnectException;
-import java.util.List;
+import java.net.NoRouteToHostException;
 import java.util.Objects;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.asialjim.microapplet.remote.net.annotation.ApiServerEnvironmentLifeCycle.NET_ENV_KEY;
 import static com.asialjim.microapplet.remote.net.context.RemoteContext.REQUEST_SEND;
 
 public final class ServerLifeCycle implements Before, After, SuccessWhen, OnError, Finally, RemoteLifeCycle.LifeCycleHandler<Server> {
     public static final GenericKey<RemoteNetNodeKey> NET_NODE_KEY_GENERIC_KEY = GenericKey.keyOf("REMOTE_NET_NODE_KEY");
-    public static final GenericKey<CountDownLatch> ASYNC_COUNT_DOWN_LATCH_KEY = GenericKey.keyOf("ASYNC_COUNT_DOWN_LATCH");
+    private static final GenericKey<AtomicReference<RemoteNetNodeKey>> NET_NODE_KEY_LAST_KEY = GenericKey.keyOf("REMOTE_NET_NODE_KEY_LAST");
+    public static final GenericKey<RemoteEndpoint.Lease> ENDPOINT_LEASE_KEY = GenericKey.keyOf("REMOTE_ENDPOINT_LEASE");
+    private static final GenericKey<String> ENDPOINTS_KEY = GenericKey.keyOf("REMOTE_ENDPOINTS");
+    private static final GenericKey<String> BALANCER_KEY = GenericKey.keyOf("REMOTE_BALANCER");
+    private static final GenericKey<AtomicReference<RemoteEndpointGroup>> ENDPOINT_GROUP_LAST_KEY = GenericKey.keyOf("REMOTE_ENDPOINT_GROUP_LAST");
+    public static final GenericKey<RemoteCircuitBreaker.Call> CIRCUIT_BREAKER_CALL_KEY = GenericKey.keyOf("REMOTE_CIRCUIT_BREAKER_CALL");
     public static final String GLOBAL_NET_ENV = "NET";
     private static final Logger log = LoggerFactory.getLogger(ServerLifeCycle.class);
 
     public static void countDown(RemoteReqContext req) {
         req.put(REQUEST_SEND, Boolean.TRUE);
-        CountDownLatch countDownLatch = req.get(ASYNC_COUNT_DOWN_LATCH_KEY);
-        if (Objects.nonNull(countDownLatch))
-            countDownLatch.countDown();
+        RemoteAsyncContext.complete(req);
+    }
+
+    /**
+     * 请求所属端点：API 供应商、业务空间及环境，未配置供应商时为服务器地址；须在 before 阶段之后调用
+     */
+    public static String endpoint(RemoteReqContext req) {
+        String supplier = req.get(RemoteConstant.SUPPLIER);
+        if (StringUtils.isNotBlank(supplier))
+            return supplier + ":" + req.get(RemoteConstant.NAMESPACE) + ":" + req.get(RemoteConstant.ENV);
+        return req.get(RemoteConstant.SCHEMA) + "://" + req.get(RemoteConstant.HOST) + ":" + req.get(RemoteConstant.PORT);
     }
 
     @Override
@@ -71,12 +94,33 @@ public final class ServerLifeCycle implements Before, After, SuccessWhen, OnErro
         config.config(RemoteConstant.ENV, annotation.env());                // API 环境
         config.config(RemoteConstant.TIMEOUT, annotation.timeout());        // 超时时间
         config.config(RemoteConstant.CHARSET, annotation.charset());        // 字符集
+        if (Objects.isNull(config.config(NET_NODE_KEY_LAST_KEY)))
+            config.config(NET_NODE_KEY_LAST_KEY, new AtomicReference<>());
+
+        // 服务节点组：初始化时解析，配置错误时尽早失败
+        config.config(BALANCER_KEY, annotation.balancer());
+        if (Objects.isNull(config.config(ENDPOINT_GROUP_LAST_KEY)))
+            config.config(ENDPOINT_GROUP_LAST_KEY, new AtomicReference<>());
+        if (annotation.endpoints().length > 0) {
+            String endpoints = String.join(",", annotation.endpoints());
+            config.config(ENDPOINTS_KEY, endpoints);
+            config.config(ENDPOINT_GROUP_LAST_KEY).set(RemoteEndpointGroup.of(annotation.balancer(), endpoints, annotation.port()));
+        }
+
+        // 默认端点与 endpoint(req) 格式一致，实际端点在 before 阶段按请求解析
+        String endpoint = StringUtils.isNotBlank(annotation.supplier())
+                ? annotation.supplier() + ":" + annotation.namespace() + ":" + annotation.env()
+                : annotation.schema() + "://" + annotation.host() + ":" + annotation.port();
+        config.config(Retryable.RETRY_ENDPOINT_KEY, endpoint);
     }
 
     @Override
     public void before(Object data, RemoteMethodConfig config, RemoteReqContext req, RemoteResContext res, Object[] args) {
+        // 重试时上一次执行选定的节点先行归还，请求上下文在重试间不清空，finally 阶段只能归还最后一次的节点
+        releaseLease(req);
+
         //    通讯协议  主机名  代理主机名: 初始化获取全局代理主机名
-        String schema, host, proxyHost = ApiServerEnvironmentHolder.globalProxyHost(), charset, logLevel = ApiServerEnvironmentHolder.globalLogLevel();
+        String schema, host, proxyHost = ApiServerEnvironmentHolder.globalProxyHost(), charset;
 
         //      端口  代理端口: 初始化获取全局代理主机端口                             超时时间
         Integer port, proxyPort = ApiServerEnvironmentHolder.globalProxyPort(), timeout;
@@ -94,6 +138,7 @@ public final class ServerLifeCycle implements Before, After, SuccessWhen, OnErro
         charset = config.config(RemoteConstant.CHARSET);           // 字符集
         timeout = config.config(RemoteConstant.TIMEOUT);           // 超时时间
 
+        String endpoints = config.config(ENDPOINTS_KEY);                       // 服务节点组
         String supplier = config.config(RemoteConstant.SUPPLIER);              // API 供应商编号
         String namespace = config.config(RemoteConstant.NAMESPACE);            // API 业务编号
         String env = config.config(RemoteConstant.ENV);                        // API 环境编号
@@ -102,10 +147,13 @@ public final class ServerLifeCycle implements Before, After, SuccessWhen, OnErro
 
         // 查询服务器信息
         ApiServerInfo server = finApiServerInfo(args, config, supplier, namespace, env);
-        if (Objects.nonNull(server) && StringUtils.isNotBlank(server.getHost()) && !StringUtils.equals(ApiServerInfo.LOOP, server.getHost())) {
+        ApiServerInfo resolved = null;
+        if (Objects.nonNull(server) && (StringUtils.isNotBlank(server.getHost()) || StringUtils.isNotBlank(server.getEndpoints())) && !StringUtils.equals(ApiServerInfo.LOOP, server.getHost())) {
             schema = server.getSchema();
             host = server.getHost();
             port = server.getPort();
+            endpoints = StringUtils.isNotBlank(server.getEndpoints()) ? server.getEndpoints() : StringUtils.contains(host, ',') ? host : null;
+            resolved = server;
             charset = server.getCharset();
             timeout = server.getTimeout();
             // 服务器信息配置代理服务器信息
@@ -125,8 +173,17 @@ public final class ServerLifeCycle implements Before, After, SuccessWhen, OnErro
             log.info("线程指定代理主机名：{}，主机端口：{}", proxyHost, proxyPort);
         }
 
-        if (StringUtils.isNotBlank(ApiServerEnvironmentHolder.localLogLevel()))
-            logLevel = ApiServerEnvironmentHolder.localLogLevel();
+        // 服务节点组：由负载均衡策略选出本次请求的节点
+        RemoteEndpoint endpoint = null;
+        if (StringUtils.isNotBlank(endpoints)) {
+            RemoteEndpointGroup group = endpointGroup(config, endpoints, port);
+            // 服务器信息仓库解析的节点组登记主动健康检查，经代理访问的节点不直接探测
+            if (Objects.nonNull(resolved) && StringUtils.isBlank(proxyHost))
+                RemoteHealthChecker.watch(group, schema, resolved.getHealthCheck());
+            endpoint = group.choose();
+            host = endpoint.host();
+            port = endpoint.port();
+        }
 
         if (Objects.isNull(timeout)) timeout = 5000;
         if (StringUtils.isBlank(schema))
@@ -146,26 +203,55 @@ public final class ServerLifeCycle implements Before, After, SuccessWhen, OnErro
         req.put(RemoteConstant.NAMESPACE, namespace);
         req.put(RemoteConstant.ENV, env);
 
-        RemoteNetNodeKey nodeKey = RemoteNetNodeKey.builder().schema(schema).host(host).port(port).proxyHost(proxyHost).proxyPort(proxyPort).trace(MDC.get("REQUEST_ID")).logLevel(logLevel).timeout(timeout).build();
-        req.put(ServerLifeCycle.NET_NODE_KEY_GENERIC_KEY, nodeKey);
+        // 重试预算与并发隔离、限流按同一端点统计，每次调用（而非每次重试）存入额度
+        req.put(Retryable.RETRY_ENDPOINT_KEY, endpoint(req));
+        if (req.retryTimes() <= 1 && Boolean.TRUE.equals(req.get(Retryable.RETRY_ABLE_KEY)))
+            RemoteRetryPolicy.of(config).budget(config, req).deposit();
+
+        req.put(ServerLifeCycle.NET_NODE_KEY_GENERIC_KEY, nodeKey(config, schema, host, port, proxyHost, proxyPort));
+        if (Objects.nonNull(endpoint))
+            req.put(ENDPOINT_LEASE_KEY, endpoint.acquire());
+
+        // 熔断打开时快速失败，不再发送请求
+        CircuitBreaker circuitBreaker = config.config(CircuitBreaker.CIRCUIT_BREAKER_KEY);
+        if (Objects.nonNull(circuitBreaker)) {
+            RemoteCircuitBreaker breaker = RemoteCircuitBreaker.of(schema + "://" + host + ":" + port, circuitBreaker);
+            RemoteCircuitBreaker.Call call = breaker.tryAcquire();
+            if (Objects.isNull(call))
+                throw new RemoteRejectedException("Remote Net 客户端: " + config.getRemoteName() + " 服务节点: " + breaker.node() + " 已熔断");
+            req.put(CIRCUIT_BREAKER_CALL_KEY, call);
+        }
 
-        req.put(ASYNC_COUNT_DOWN_LATCH_KEY, new CountDownLatch(1));
+        CompletableFuture<Void> response = RemoteAsyncContext.responseFuture(req);
+        // 异步调用不在 after 中等待，由定时任务完成超时；请求未发出时按同步调用的处理方式直接放行
+        if (config.isAsyncReturn()) {
+            final int wait = timeout;
+            RemoteAsyncContext.timeout(response, wait, () -> {
+                if (Boolean.TRUE.equals(req.get(REQUEST_SEND)))
+                    response.completeExceptionally(new TimeoutException("等待超时，最大允许超时时间：" + wait + "毫秒"));
+                else response.complete(null);
+            });
+        }
     }
 
     @Override
     public void after(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
-        Integer timeout = methodConfig.config(RemoteConstant.TIMEOUT);
+        // 发送前的等待（如限流令牌）已从本次请求的超时时间中扣除
+        Integer timeout = req.get(RemoteConstant.TIMEOUT);
+        if (Objects.isNull(timeout))
+            timeout = methodConfig.config(RemoteConstant.TIMEOUT);
         Boolean send = req.get(REQUEST_SEND);
         if (Boolean.TRUE.equals(send)) {
-            CountDownLatch countDownLatch = req.get(ASYNC_COUNT_DOWN_LATCH_KEY);
-            if (Objects.isNull(countDownLatch))
+            CompletableFuture<Void> response = req.get(RemoteAsyncContext.RESPONSE_FUTURE_KEY);
+            if (Objects.isNull(response))
                 return;
 
+            // 异步调用执行到此处时信号已完成，不会阻塞
             try {
-                boolean await = countDownLatch.await(timeout, TimeUnit.MILLISECONDS);
-                if (!await)
-                    res.setCause(new TimeoutException("等待超时，最大允许超时时间：" + timeout + "毫秒"));
-            } catch (InterruptedException e) {
+                response.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                // 请求已发出，响应可能稍后回写到上下文
+                req.abandon();
                 res.setCause(new TimeoutException("等待超时，最大允许超时时间：" + timeout + "毫秒"));
             }
         }
@@ -174,6 +260,8 @@ public final class ServerLifeCycle implements Before, After, SuccessWhen, OnErro
     @Override
     public boolean onError(Object data, RemoteMethodConfig config, RemoteReqContext req, RemoteResContext res, Throwable ex, Object[] args) {
         log.info("Remote NET Req Err  === Client:{} === {}", config.getRemoteName(), ex.getMessage(), ex);
+        breakerOnError(req, ex);
+        endpointOnError(req, ex);
 
         // 连接异常
         if (ex instanceof ConnectionException) {
@@ -196,9 +284,95 @@ public final class ServerLifeCycle implements Before, After, SuccessWhen, OnErro
 
     @Override
     public boolean success(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+        boolean serverError = RemoteRetryPolicy.statusCode(res.getStatus()) >= 500;
+        RemoteCircuitBreaker.Call call = req.get(CIRCUIT_BREAKER_CALL_KEY);
+        if (Objects.nonNull(call)) {
+            if (serverError) call.failure();
+            else call.success();
+        }
+
+        // 被动健康检测：连续 5xx 响应时摘除节点
+        RemoteEndpoint.Lease lease = req.get(ENDPOINT_LEASE_KEY);
+        if (Objects.nonNull(lease)) {
+            if (serverError) lease.endpoint().health().failure();
+            else lease.endpoint().health().success();
+        }
         return true;
     }
 
+    @Override
+    public void finallyFun(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
+        releaseLease(req);
+    }
+
+    private static void releaseLease(RemoteReqContext req) {
+        RemoteEndpoint.Lease lease = req.get(ENDPOINT_LEASE_KEY);
+        if (Objects.nonNull(lease))
+            lease.release();
+    }
+
+    /**
+     * 超时、连接异常计为熔断失败；请求未发出（被拒绝）时不计入统计，其余异常说明服务节点已响应
+     */
+    private static void breakerOnError(RemoteReqContext req, Throwable ex) {
+        RemoteCircuitBreaker.Call call = req.get(CIRCUIT_BREAKER_CALL_KEY);
+        if (Objects.isNull(call))
+            return;
+
+        if (ex instanceof TimeoutException || ex instanceof ConnectException || ex instanceof ConnectionException || ex instanceof ConnectionTimeoutException || ex instanceof IOException)
+            call.failure();
+        else if (ex instanceof RemoteRejectedException)
+            call.ignore();
+        else call.success();
+    }
+
+    /**
+     * 被动健康检测：连接失败（含被包装的连接异常）计入节点的连续失败次数，读取超时等其他异常不计入
+     */
+    private static void endpointOnError(RemoteReqContext req, Throwable ex) {
+        RemoteEndpoint.Lease lease = req.get(ENDPOINT_LEASE_KEY);
+        if (Objects.isNull(lease))
+            return;
+
+        for (Throwable cause = ex; Objects.nonNull(cause); cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof NoRouteToHostException || cause instanceof ConnectionException || cause instanceof ConnectionTimeoutException) {
+                lease.endpoint().health().failure();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 节点未变化时复用方法上次使用的节点标识，不再查找登记表
+     */
+    private static RemoteNetNodeKey nodeKey(RemoteMethodConfig config, String schema, String host, Integer port, String proxyHost, Integer proxyPort) {
+        AtomicReference<RemoteNetNodeKey> last = config.config(NET_NODE_KEY_LAST_KEY);
+        RemoteNetNodeKey nodeKey = Objects.isNull(last) ? null : last.get();
+        if (Objects.nonNull(nodeKey) && nodeKey.matches(schema, host, port, proxyHost, proxyPort))
+            return nodeKey;
+
+        nodeKey = RemoteNetNodeKey.of(schema, host, port, proxyHost, proxyPort, null);
+        if (Objects.nonNull(last))
+            last.set(nodeKey);
+        return nodeKey;
+    }
+
+    /**
+     * 节点组配置未变化时复用方法上次使用的节点组
+     */
+    private static RemoteEndpointGroup endpointGroup(RemoteMethodConfig config, String endpoints, Integer port) {
+        String balancer = config.config(BALANCER_KEY);
+        AtomicReference<RemoteEndpointGroup> last = config.config(ENDPOINT_GROUP_LAST_KEY);
+        RemoteEndpointGroup group = Objects.isNull(last) ? null : last.get();
+        if (Objects.nonNull(group) && group.matches(balancer, endpoints, port))
+            return group;
+
+        group = RemoteEndpointGroup.of(balancer, endpoints, port);
+        if (Objects.nonNull(last))
+            last.set(group);
+        return group;
+    }
+
     private ApiServerInfo finApiServerInfo(Object[] args, RemoteMethodConfig config, String supplier, String namespace, String env) {
         // 优先用函数式接口查询服务器信息，用户可以以参数的形式，将服务器信息仓库传入
         ApiServerInfo server = queryServerByFunctionalInterface(args, config, supplier, namespace, env);
@@ -211,9 +385,9 @@ public final class ServerLifeCycle implements Before, After, SuccessWhen, OnErro
 
     private ApiServerInfo queryServerByFunctionalInterface(Object[] args, RemoteMethodConfig config, String supplier, String namespace, String env) {
         RemoteHandlerContext remoteHandlerContext = config.getRemoteHandlerContext();
-        List<Integer> callBackIndexes = remoteHandlerContext.callBackIndex();
-        for (Integer index : callBackIndexes) {
-            if (index < 0 || index > args.length)
+        int[] callBackIndexes = remoteHandlerContext.callBackIndexes();
+        for (int index : callBackIndexes) {
+            if (index >= args.length)
                 continue;
             Object arg = args[index];
             if ((Objects.isNull(arg)) || !(arg instanceof ApiServerRepository))
@@ -227,9 +401,4 @@ public final class ServerLifeCycle implements Before, After, SuccessWhen, OnErro
         }
         return null;
     }
-
-    @Override
-    public void finallyFun(Object data, RemoteMethodConfig methodConfig, RemoteReqContext req, RemoteResContext res, Object[] args) {
-        req.clean();
-    }
 }
\ No newline at end of file
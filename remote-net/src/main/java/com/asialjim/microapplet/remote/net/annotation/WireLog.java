@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.annotation;
+
+import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
+import com.asialjim.microapplet.remote.context.GenericKey;
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.context.RemoteMethodParameter;
+import com.asialjim.microapplet.remote.net.log.RemoteWireLogPolicy;
+
+import java.lang.annotation.*;
+import java.util.Objects;
+
+/**
+ * 报文日志策略
+ * <p>
+ * 标注在方法上的策略优先于标注在类型上的策略；未标注时使用全局默认策略，
+ * 全局默认策略通过系统属性 remote.wire-log（NONE、LINE、HEADERS、FULL，quiet 等同 NONE）、
+ * remote.wire-log.max-body、remote.wire-log.sample-rate、remote.wire-log.redact 配置
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@RemoteLifeCycle(WireLog.WireLogLifeCycle.class)
+public @interface WireLog {
+
+    GenericKey<RemoteWireLogPolicy> WIRE_LOG_POLICY_KEY = GenericKey.keyOf("wire-log-policy");
+
+    /**
+     * 日志级别
+     */
+    Level value() default Level.FULL;
+
+    /**
+     * 请求体、响应体最大记录字符数，超出部分截断；小于 0 时不截断
+     */
+    int maxBody() default 4096;
+
+    /**
+     * 需脱敏的请求头、响应头名称，不区分大小写
+     */
+    String[] redact() default {"Authorization", "Proxy-Authorization", "Cookie", "Set-Cookie"};
+
+    /**
+     * 采样率，取值 [0, 1]：按调用采样，同一次调用的请求与响应日志同时记录或同时跳过
+     */
+    double sampleRate() default 1.0;
+
+    enum Level {
+        /**
+         * 不记录报文
+         */
+        NONE,
+
+        /**
+         * 请求行、响应状态行
+         */
+        LINE,
+
+        /**
+         * 请求行、状态行及请求头、响应头
+         */
+        HEADERS,
+
+        /**
+         * 完整报文
+         */
+        FULL
+    }
+
+    final class WireLogLifeCycle implements RemoteLifeCycle.LifeCycleHandler<WireLog> {
+        @Override
+        public void doInit(RemoteMethodConfig methodConfig, RemoteMethodParameter methodParameter, WireLog annotation) {
+            if (Objects.isNull(methodConfig.config(WIRE_LOG_POLICY_KEY)))
+                methodConfig.config(WIRE_LOG_POLICY_KEY, RemoteWireLogPolicy.of(annotation));
+        }
+    }
+}
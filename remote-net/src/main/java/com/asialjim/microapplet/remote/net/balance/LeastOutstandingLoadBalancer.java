@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.balance;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 最少进行中请求
+ * <p>
+ * 选择 (进行中请求数 + 1) / 权重 最小的可用节点，多个节点相同时从随机位置开始取第一个，避免并发请求集中到同一节点
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public class LeastOutstandingLoadBalancer implements RemoteLoadBalancer {
+
+    @Override
+    public String name() {
+        return LEAST_OUTSTANDING;
+    }
+
+    @Override
+    public RemoteEndpoint choose(RemoteEndpointGroup group) {
+        int size = group.size();
+        int start = ThreadLocalRandom.current().nextInt(size);
+        RemoteEndpoint best = group.get(start);
+        for (int i = 1; i < size; i++) {
+            RemoteEndpoint candidate = group.get((start + i) % size);
+            if (lessLoaded(candidate, best))
+                best = candidate;
+        }
+        return best;
+    }
+
+    /**
+     * a 的负载是否低于 b：(outstanding(a) + 1) / weight(a) &lt; (outstanding(b) + 1) / weight(b)；已摘除的节点视为负载最高
+     */
+    static boolean lessLoaded(RemoteEndpoint a, RemoteEndpoint b) {
+        boolean available = a.available();
+        if (available != b.available())
+            return available;
+        return (long) (a.outstanding() + 1) * b.weight() < (long) (b.outstanding() + 1) * a.weight();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.balance;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 二选一（power of two choices）
+ * <p>
+ * 按权重随机选取两个不同的节点，取 (进行中请求数 + 1) / 权重 较小者；
+ * 节点较多时只比较两个节点，开销固定，且不会像全局最少请求那样使并发请求同时涌向同一节点
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public class PowerOfTwoChoicesLoadBalancer implements RemoteLoadBalancer {
+    private volatile int[] cumulative;
+
+    @Override
+    public String name() {
+        return POWER_OF_TWO_CHOICES;
+    }
+
+    @Override
+    public void init(RemoteEndpointGroup group) {
+        int[] sums = new int[group.size()];
+        int sum = 0;
+        for (int i = 0; i < sums.length; i++) {
+            sum += group.get(i).weight();
+            sums[i] = sum;
+        }
+        this.cumulative = sums;
+    }
+
+    @Override
+    public RemoteEndpoint choose(RemoteEndpointGroup group) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int size = group.size();
+        int first = pick(random, group.totalWeight());
+        int second = pick(random, group.totalWeight());
+        // 权重悬殊时可能重复选中同一节点，改为在其余节点中等概率选取
+        if (second == first)
+            second = (first + 1 + random.nextInt(size - 1)) % size;
+
+        RemoteEndpoint a = group.get(first);
+        RemoteEndpoint b = group.get(second);
+        return LeastOutstandingLoadBalancer.lessLoaded(b, a) ? b : a;
+    }
+
+    private int pick(ThreadLocalRandom random, int totalWeight) {
+        int[] sums = this.cumulative;
+        int value = random.nextInt(totalWeight);
+        int low = 0, high = sums.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sums[mid] > value)
+                high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.balance;
+
+import com.asialjim.microapplet.remote.net.health.RemoteEndpointHealth;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 节点组中的服务节点
+ * <p>
+ * 配置格式：主机名[:端口][;weight=权重]，IPv6 地址以 [] 包裹；权重取值 [1, {@link #MAX_WEIGHT}]，默认为 1。
+ * 同一主机名与端口的进行中请求数在所有节点组间共享：请求选定节点时计入，本次执行结束（finally）时扣除，
+ * 包括等待连接池分配连接的请求，与该节点的连接池一一对应；健康状态同样按主机名与端口共享，见 {@link RemoteEndpointHealth}
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteEndpoint {
+    public static final int MAX_WEIGHT = 100;
+    private static final String WEIGHT = "weight=";
+    private static final ConcurrentMap<String, AtomicInteger> OUTSTANDING = new ConcurrentHashMap<>();
+
+    private final String host;
+    private final Integer port;
+    private final int weight;
+    private final AtomicInteger outstanding;
+    private final RemoteEndpointHealth health;
+
+    private RemoteEndpoint(String host, Integer port, int weight) {
+        this.host = host;
+        this.port = port;
+        this.weight = weight;
+        this.outstanding = OUTSTANDING.computeIfAbsent(host + ":" + port, k -> new AtomicInteger());
+        this.health = RemoteEndpointHealth.of(host, port);
+    }
+
+    /**
+     * 解析节点配置
+     *
+     * @param spec        主机名[:端口][;weight=权重]
+     * @param defaultPort 配置未指定端口时使用的端口
+     */
+    public static RemoteEndpoint parse(String spec, Integer defaultPort) {
+        String value = StringUtils.trim(spec);
+        if (StringUtils.isBlank(value))
+            throw new IllegalArgumentException("服务节点配置为空");
+
+        int weight = 1;
+        int semicolon = value.indexOf(';');
+        if (semicolon >= 0) {
+            String option = StringUtils.trim(value.substring(semicolon + 1));
+            value = StringUtils.trim(value.substring(0, semicolon));
+            if (StringUtils.startsWithIgnoreCase(option, WEIGHT))
+                option = option.substring(WEIGHT.length());
+            try {
+                weight = Integer.parseInt(StringUtils.trim(option));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("服务节点: " + spec + " 权重配置错误");
+            }
+            if (weight < 1 || weight > MAX_WEIGHT)
+                throw new IllegalArgumentException("服务节点: " + spec + " 权重取值范围为 [1, " + MAX_WEIGHT + "]");
+        }
+
+        String host = value;
+        Integer port = defaultPort;
+        int colon;
+        if (value.startsWith("[")) {
+            int bracket = value.indexOf(']');
+            if (bracket < 0)
+                throw new IllegalArgumentException("服务节点: " + spec + " 地址配置错误");
+            host = value.substring(1, bracket);
+            colon = value.indexOf(':', bracket);
+        } else {
+            colon = value.indexOf(':') == value.lastIndexOf(':') ? value.indexOf(':') : -1;
+            if (colon >= 0)
+                host = value.substring(0, colon);
+        }
+
+        if (colon >= 0) {
+            try {
+                port = Integer.parseInt(value.substring(colon + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("服务节点: " + spec + " 端口配置错误");
+            }
+        }
+
+        if (StringUtils.isBlank(host))
+            throw new IllegalArgumentException("服务节点: " + spec + " 主机名为空");
+        return new RemoteEndpoint(host.trim(), port, weight);
+    }
+
+    public String host() {
+        return this.host;
+    }
+
+    public Integer port() {
+        return this.port;
+    }
+
+    public int weight() {
+        return this.weight;
+    }
+
+    /**
+     * 当前进行中的请求数
+     */
+    public int outstanding() {
+        return this.outstanding.get();
+    }
+
+    public RemoteEndpointHealth health() {
+        return this.health;
+    }
+
+    /**
+     * 节点未被摘除
+     */
+    public boolean available() {
+        return this.health.available();
+    }
+
+    /**
+     * 计入一个进行中的请求
+     */
+    public Lease acquire() {
+        this.outstanding.incrementAndGet();
+        return new Lease();
+    }
+
+    @Override
+    public String toString() {
+        return this.host + ":" + this.port + ";weight=" + this.weight;
+    }
+
+    /**
+     * 进行中的请求，仅扣除一次
+     */
+    public final class Lease {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease() {
+        }
+
+        public RemoteEndpoint endpoint() {
+            return RemoteEndpoint.this;
+        }
+
+        public void release() {
+            if (this.released.compareAndSet(false, true))
+                RemoteEndpoint.this.outstanding.decrementAndGet();
+        }
+    }
+}
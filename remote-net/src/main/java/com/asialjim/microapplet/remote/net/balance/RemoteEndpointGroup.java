@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.balance;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 服务节点组
+ * <p>
+ * 多个节点以 ',' 分隔，每个节点组持有独立的负载均衡器实例；
+ * 相同策略、配置及默认端口的节点组只创建一次。
+ * 选择节点时跳过已摘除的节点，全部节点均被摘除时不再跳过，避免节点组整体不可用
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteEndpointGroup {
+    private static final ConcurrentMap<String, RemoteEndpointGroup> GROUPS = new ConcurrentHashMap<>();
+
+    private final String balancerName;
+    private final String spec;
+    private final Integer defaultPort;
+    private final RemoteEndpoint[] endpoints;
+    private final int totalWeight;
+    private final RemoteLoadBalancer balancer;
+
+    private RemoteEndpointGroup(String balancerName, String spec, Integer defaultPort) {
+        this.balancerName = balancerName;
+        this.spec = spec;
+        this.defaultPort = defaultPort;
+
+        List<RemoteEndpoint> list = new ArrayList<>();
+        for (String item : StringUtils.split(spec, ',')) {
+            if (StringUtils.isNotBlank(item))
+                list.add(RemoteEndpoint.parse(item, defaultPort));
+        }
+        if (list.isEmpty())
+            throw new IllegalArgumentException("服务节点组: " + spec + " 未配置节点");
+
+        this.endpoints = list.toArray(new RemoteEndpoint[0]);
+        int total = 0;
+        for (RemoteEndpoint endpoint : this.endpoints)
+            total += endpoint.weight();
+        this.totalWeight = total;
+        this.balancer = RemoteLoadBalancerHolder.create(balancerName);
+        this.balancer.init(this);
+    }
+
+    /**
+     * 获取（不存在则创建）节点组
+     *
+     * @param balancer    负载均衡策略名称
+     * @param spec        节点组配置
+     * @param defaultPort 节点未指定端口时使用的端口
+     */
+    public static RemoteEndpointGroup of(String balancer, String spec, Integer defaultPort) {
+        String name = StringUtils.isBlank(balancer) ? RemoteLoadBalancer.ROUND_ROBIN : balancer.trim();
+        return GROUPS.computeIfAbsent(name + "|" + defaultPort + "|" + spec, k -> new RemoteEndpointGroup(name, spec, defaultPort));
+    }
+
+    /**
+     * 是否为同一配置创建的节点组
+     */
+    public boolean matches(String balancer, String spec, Integer defaultPort) {
+        String name = StringUtils.isBlank(balancer) ? RemoteLoadBalancer.ROUND_ROBIN : balancer.trim();
+        return this.balancerName.equals(name) && this.spec.equals(spec) && Objects.equals(this.defaultPort, defaultPort);
+    }
+
+    /**
+     * 为本次请求选出一个节点
+     */
+    public RemoteEndpoint choose() {
+        if (this.endpoints.length == 1)
+            return this.endpoints[0];
+
+        RemoteEndpoint chosen = this.balancer.choose(this);
+        if (chosen.available())
+            return chosen;
+
+        // 已摘除：再由负载均衡器选择，仍不可用时依次查找可用节点
+        for (int i = 1; i < this.endpoints.length; i++) {
+            RemoteEndpoint next = this.balancer.choose(this);
+            if (next.available())
+                return next;
+        }
+        int start = ThreadLocalRandom.current().nextInt(this.endpoints.length);
+        for (int i = 0; i < this.endpoints.length; i++) {
+            RemoteEndpoint next = this.endpoints[(start + i) % this.endpoints.length];
+            if (next.available())
+                return next;
+        }
+        return chosen;
+    }
+
+    public int size() {
+        return this.endpoints.length;
+    }
+
+    public RemoteEndpoint get(int index) {
+        return this.endpoints[index];
+    }
+
+    public int totalWeight() {
+        return this.totalWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteEndpointGroup{balancer='" + this.balancerName + "', endpoints=" + this.spec + '}';
+    }
+}
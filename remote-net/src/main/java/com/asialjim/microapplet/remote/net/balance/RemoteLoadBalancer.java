@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.balance;
+
+/**
+ * 节点组负载均衡策略
+ * <p>
+ * 每个节点组创建一个实例，创建后调用一次 {@link #init(RemoteEndpointGroup)}，之后 {@link #choose(RemoteEndpointGroup)} 会被并发调用。
+ * 除内置策略外，实现类通过 META-INF/remote.loadRemoteClass 注册，须提供公共无参构造函数
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public interface RemoteLoadBalancer {
+    /**
+     * 加权轮询
+     */
+    String ROUND_ROBIN = "round-robin";
+    /**
+     * 最少进行中请求（按权重折算）
+     */
+    String LEAST_OUTSTANDING = "least-outstanding";
+    /**
+     * 按权重随机选取两个节点，取进行中请求较少者
+     */
+    String POWER_OF_TWO_CHOICES = "p2c";
+
+    /**
+     * 策略名称
+     */
+    String name();
+
+    /**
+     * 节点组创建时调用，可预先计算调度数据
+     */
+    default void init(RemoteEndpointGroup group) {
+    }
+
+    /**
+     * 选出本次请求的节点，节点组至少包含两个节点
+     */
+    RemoteEndpoint choose(RemoteEndpointGroup group);
+}
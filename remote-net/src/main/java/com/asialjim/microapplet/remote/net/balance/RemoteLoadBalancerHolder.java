@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.balance;
+
+import com.asialjim.microapplet.remote.loader.RemoteClassLoader;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按名称创建负载均衡器
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteLoadBalancerHolder {
+    private static final Map<String, Constructor<? extends RemoteLoadBalancer>> BALANCERS = new ConcurrentHashMap<>();
+
+    static {
+        register(WeightedRoundRobinLoadBalancer.class);
+        register(LeastOutstandingLoadBalancer.class);
+        register(PowerOfTwoChoicesLoadBalancer.class);
+
+        for (Class<?> aClass : RemoteClassLoader.subClasses(RemoteLoadBalancer.class)) {
+            if (aClass.isInterface() || Modifier.isAbstract(aClass.getModifiers()))
+                continue;
+
+            //noinspection unchecked
+            register((Class<? extends RemoteLoadBalancer>) aClass);
+        }
+    }
+
+    private RemoteLoadBalancerHolder() {
+    }
+
+    /**
+     * 创建指定名称的负载均衡器
+     */
+    public static RemoteLoadBalancer create(String name) {
+        Constructor<? extends RemoteLoadBalancer> constructor = BALANCERS.get(name);
+        if (Objects.isNull(constructor))
+            throw new IllegalStateException("未找到负载均衡策略: " + name + "，可选策略: " + BALANCERS.keySet());
+        return newInstance(constructor);
+    }
+
+    private static void register(Class<? extends RemoteLoadBalancer> clazz) {
+        Constructor<? extends RemoteLoadBalancer> constructor;
+        try {
+            constructor = clazz.getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(clazz.getName() + "未提供默认构造函数");
+        }
+        BALANCERS.putIfAbsent(newInstance(constructor).name(), constructor);
+    }
+
+    private static RemoteLoadBalancer newInstance(Constructor<? extends RemoteLoadBalancer> constructor) {
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("创建负载均衡器: " + constructor.getDeclaringClass().getName() + " 失败", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.balance;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 平滑加权轮询
+ * <p>
+ * 节点组创建时按平滑加权轮询算法预先生成一个周期（长度为总权重）的调度表，同一周期内各节点交错出现；
+ * 选择节点时只需原子递增游标，不加锁。游标初始位置随机，避免多个实例同时从第一个节点开始
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public class WeightedRoundRobinLoadBalancer implements RemoteLoadBalancer {
+    private final AtomicInteger cursor = new AtomicInteger(ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE));
+    private volatile RemoteEndpoint[] schedule;
+
+    @Override
+    public String name() {
+        return ROUND_ROBIN;
+    }
+
+    @Override
+    public void init(RemoteEndpointGroup group) {
+        int size = group.size();
+        int total = group.totalWeight();
+        int[] current = new int[size];
+        RemoteEndpoint[] table = new RemoteEndpoint[total];
+        for (int i = 0; i < total; i++) {
+            int best = 0;
+            for (int j = 0; j < size; j++) {
+                current[j] += group.get(j).weight();
+                if (current[j] > current[best])
+                    best = j;
+            }
+            current[best] -= total;
+            table[i] = group.get(best);
+        }
+        this.schedule = table;
+    }
+
+    @Override
+    public RemoteEndpoint choose(RemoteEndpointGroup group) {
+        RemoteEndpoint[] table = this.schedule;
+        int index = (this.cursor.getAndIncrement() & Integer.MAX_VALUE) % table.length;
+        return table[index];
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.breaker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按调用次数统计的滑动窗口：最近 size 次调用
+ * <p>
+ * 环形缓冲区的每个槽位保存一次调用结果，写入时以新结果替换最旧的结果并同步调整汇总计数，不加锁
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+final class CountSlidingWindow implements SlidingWindow {
+    private final AtomicIntegerArray ring;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger slows = new AtomicInteger();
+
+    CountSlidingWindow(int size) {
+        this.ring = new AtomicIntegerArray(Math.max(1, size));
+    }
+
+    @Override
+    public void record(int outcome) {
+        int index = (int) (this.cursor.getAndIncrement() % this.ring.length());
+        int previous = this.ring.getAndSet(index, outcome);
+        adjust(previous, -1);
+        adjust(outcome, 1);
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        return new Snapshot(this.calls.get(), this.failures.get(), this.slows.get());
+    }
+
+    private void adjust(int outcome, int delta) {
+        if (outcome == 0)
+            return;
+        this.calls.addAndGet(delta);
+        if ((outcome & FAILURE) != 0)
+            this.failures.addAndGet(delta);
+        if ((outcome & SLOW) != 0)
+            this.slows.addAndGet(delta);
+    }
+}
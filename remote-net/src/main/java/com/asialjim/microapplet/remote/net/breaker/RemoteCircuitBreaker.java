@@ -0,0 +1,272 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.breaker;
+
+import com.asialjim.microapplet.remote.net.annotation.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 服务节点熔断器
+ * <p>
+ * 关闭状态下按滑动窗口统计失败率与慢调用率，调用数达到下限且任一比率达到阈值时打开；
+ * 打开状态下直接拒绝调用，等待期结束后进入半开状态，放行有限数量的探测调用；
+ * 探测调用全部完成后按其失败率决定关闭或重新打开。
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteCircuitBreaker {
+    private static final Logger log = LoggerFactory.getLogger(RemoteCircuitBreaker.class);
+    private static final ConcurrentMap<String, RemoteCircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+
+    private final String node;
+    private final CircuitBreaker config;
+    private final boolean timeWindow;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDuration;
+    private final long waitInOpen;
+    private final int permittedInHalfOpen;
+
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private volatile SlidingWindow window;
+    private volatile long stateChangedAt = System.nanoTime();
+    private final AtomicInteger probes = new AtomicInteger();
+    private final AtomicInteger probeCalls = new AtomicInteger();
+    private final AtomicInteger probeFailures = new AtomicInteger();
+    private final AtomicInteger probeSlows = new AtomicInteger();
+    private volatile CircuitBreaker[] checked;
+
+    private RemoteCircuitBreaker(String node, CircuitBreaker config) {
+        this.node = node;
+        this.config = config;
+        this.checked = new CircuitBreaker[]{config};
+        this.timeWindow = config.windowType() == CircuitBreaker.WindowType.TIME;
+        this.windowSize = Math.max(1, config.windowSize());
+        this.minimumCalls = Math.max(1, config.minimumCalls());
+        this.failureRateThreshold = config.failureRateThreshold();
+        this.slowCallRateThreshold = config.slowCallRateThreshold();
+        this.slowCallDuration = TimeUnit.MILLISECONDS.toNanos(config.slowCallDuration());
+        this.waitInOpen = TimeUnit.MILLISECONDS.toNanos(config.waitInOpen());
+        this.permittedInHalfOpen = Math.max(1, config.permittedInHalfOpen());
+        this.window = newWindow();
+    }
+
+    /**
+     * 获取（不存在则创建）服务节点的熔断器；同一服务节点的各方法共享熔断状态，配置仅在首次创建时生效，
+     * 其他方法的配置与之冲突时记录一次告警
+     */
+    public static RemoteCircuitBreaker of(String node, CircuitBreaker config) {
+        RemoteCircuitBreaker breaker = BREAKERS.computeIfAbsent(node, k -> new RemoteCircuitBreaker(k, config));
+        breaker.check(config);
+        return breaker;
+    }
+
+    /**
+     * 申请调用
+     *
+     * @return 调用凭证；熔断打开或半开状态下探测名额已用完时返回 null
+     */
+    public Call tryAcquire() {
+        int current = this.state.get();
+        if (current == CLOSED)
+            return new Call(false);
+
+        long now = System.nanoTime();
+        if (current == OPEN) {
+            if (now - this.stateChangedAt < this.waitInOpen)
+                return null;
+            if (this.state.compareAndSet(OPEN, HALF_OPEN))
+                halfOpen(now);
+        }
+
+        // 探测调用长时间未完成（如结果未被记录），重新发放探测名额
+        if (this.state.get() == HALF_OPEN && now - this.stateChangedAt >= this.waitInOpen && this.probeCalls.get() < this.permittedInHalfOpen)
+            halfOpen(now);
+
+        if (this.state.get() != HALF_OPEN)
+            return this.state.get() == CLOSED ? new Call(false) : null;
+        return tryProbe() ? new Call(true) : null;
+    }
+
+    public String node() {
+        return this.node;
+    }
+
+    public String state() {
+        switch (this.state.get()) {
+            case OPEN:
+                return "OPEN";
+            case HALF_OPEN:
+                return "HALF_OPEN";
+            default:
+                return "CLOSED";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteCircuitBreaker{node='" + this.node + "', state=" + state() + '}';
+    }
+
+    /**
+     * 按注解实例检查配置是否冲突，每个注解实例只比较一次
+     */
+    private void check(CircuitBreaker config) {
+        for (CircuitBreaker each : this.checked) {
+            if (each == config)
+                return;
+        }
+
+        synchronized (this) {
+            CircuitBreaker[] current = this.checked;
+            for (CircuitBreaker each : current) {
+                if (each == config)
+                    return;
+            }
+            CircuitBreaker[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = config;
+            this.checked = next;
+        }
+
+        if (!this.config.equals(config))
+            log.warn("熔断器: {} 已按配置 {} 创建，忽略冲突的配置 {}", this.node, this.config, config);
+    }
+
+    /**
+     * 占用一个探测名额；名额用完时不扣减，避免归还的名额被抵消
+     */
+    private boolean tryProbe() {
+        while (true) {
+            int left = this.probes.get();
+            if (left <= 0)
+                return false;
+            if (this.probes.compareAndSet(left, left - 1))
+                return true;
+        }
+    }
+
+    private void halfOpen(long now) {
+        this.probeCalls.set(0);
+        this.probeFailures.set(0);
+        this.probeSlows.set(0);
+        this.probes.set(this.permittedInHalfOpen);
+        this.stateChangedAt = now;
+        log.info("熔断器: {} 进入半开状态，放行 {} 次探测调用", this.node, this.permittedInHalfOpen);
+    }
+
+    private void record(boolean probe, long duration, boolean failure) {
+        int outcome = failure ? SlidingWindow.FAILURE : SlidingWindow.SUCCESS;
+        if (this.slowCallDuration > 0 && duration >= this.slowCallDuration)
+            outcome |= SlidingWindow.SLOW;
+
+        if (probe) {
+            if (this.state.get() != HALF_OPEN)
+                return;
+
+            if ((outcome & SlidingWindow.FAILURE) != 0)
+                this.probeFailures.incrementAndGet();
+            if ((outcome & SlidingWindow.SLOW) != 0)
+                this.probeSlows.incrementAndGet();
+            int calls = this.probeCalls.incrementAndGet();
+            if (calls < this.permittedInHalfOpen)
+                return;
+
+            float failureRate = this.probeFailures.get() * 100f / calls;
+            float slowRate = this.probeSlows.get() * 100f / calls;
+            if (failureRate >= this.failureRateThreshold || slowRate >= this.slowCallRateThreshold) {
+                if (this.state.compareAndSet(HALF_OPEN, OPEN))
+                    open(Math.max(failureRate, slowRate));
+            } else if (this.state.compareAndSet(HALF_OPEN, CLOSED)) {
+                this.window = newWindow();
+                this.stateChangedAt = System.nanoTime();
+                log.info("熔断器: {} 探测调用成功，关闭熔断", this.node);
+            }
+            return;
+        }
+
+        if (this.state.get() != CLOSED)
+            return;
+
+        SlidingWindow window = this.window;
+        window.record(outcome);
+        // 成功且非慢调用时不会达到阈值
+        if (outcome == SlidingWindow.SUCCESS)
+            return;
+
+        SlidingWindow.Snapshot snapshot = window.snapshot();
+        if (snapshot.calls < this.minimumCalls)
+            return;
+
+        float rate = Math.max(snapshot.failureRate(), snapshot.slowRate());
+        if ((snapshot.failureRate() >= this.failureRateThreshold || snapshot.slowRate() >= this.slowCallRateThreshold) && this.state.compareAndSet(CLOSED, OPEN))
+            open(rate);
+    }
+
+    private void open(float rate) {
+        this.stateChangedAt = System.nanoTime();
+        log.warn("熔断器: {} 失败率/慢调用率: {}% 达到阈值，打开熔断 {} 毫秒", this.node, rate, TimeUnit.NANOSECONDS.toMillis(this.waitInOpen));
+    }
+
+    private SlidingWindow newWindow() {
+        return this.timeWindow ? new TimeSlidingWindow(this.windowSize) : new CountSlidingWindow(this.windowSize);
+    }
+
+    /**
+     * 调用凭证，每个凭证仅记录一次结果
+     */
+    public final class Call {
+        private final long start = System.nanoTime();
+        private final boolean probe;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private Call(boolean probe) {
+            this.probe = probe;
+        }
+
+        public void success() {
+            if (this.recorded.compareAndSet(false, true))
+                record(this.probe, System.nanoTime() - this.start, false);
+        }
+
+        public void failure() {
+            if (this.recorded.compareAndSet(false, true))
+                record(this.probe, System.nanoTime() - this.start, true);
+        }
+
+        /**
+         * 不计入统计；探测调用归还探测名额
+         */
+        public void ignore() {
+            if (this.recorded.compareAndSet(false, true) && this.probe && state.get() == HALF_OPEN)
+                probes.incrementAndGet();
+        }
+    }
+}
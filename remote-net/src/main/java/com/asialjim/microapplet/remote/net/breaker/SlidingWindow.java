@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.breaker;
+
+/**
+ * 熔断器滑动窗口
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+interface SlidingWindow {
+    int SUCCESS = 1;
+    int FAILURE = 2;
+    int SLOW = 4;
+
+    /**
+     * 记录一次调用结果
+     *
+     * @param outcome {@link #SUCCESS} 或 {@link #FAILURE}，慢调用附加 {@link #SLOW}
+     */
+    void record(int outcome);
+
+    /**
+     * 窗口内的调用数、失败数及慢调用数
+     */
+    Snapshot snapshot();
+
+    final class Snapshot {
+        final int calls;
+        final int failures;
+        final int slows;
+
+        Snapshot(int calls, int failures, int slows) {
+            this.calls = calls;
+            this.failures = failures;
+            this.slows = slows;
+        }
+
+        float failureRate() {
+            return this.calls == 0 ? 0 : this.failures * 100f / this.calls;
+        }
+
+        float slowRate() {
+            return this.calls == 0 ? 0 : this.slows * 100f / this.calls;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.breaker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 按时间统计的滑动窗口：最近 size 秒内的调用
+ * <p>
+ * 环形缓冲区的每个桶对应一秒，桶内调用数、失败数及慢调用数打包在一个 long 中（各 16 位，另 16 位为秒的低位），
+ * 记录时以 CAS 更新；桶所属的秒过期时由首个写入者重置
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+final class TimeSlidingWindow implements SlidingWindow {
+    private static final long MASK = 0xffffL;
+    private static final long ORIGIN = System.nanoTime();
+
+    private final AtomicLongArray buckets;
+    private final int size;
+
+    TimeSlidingWindow(int size) {
+        this.size = Math.max(1, Math.min(size, (int) MASK));
+        this.buckets = new AtomicLongArray(this.size);
+    }
+
+    @Override
+    public void record(int outcome) {
+        long second = now();
+        int index = (int) (second % this.size);
+        while (true) {
+            long bucket = this.buckets.get(index);
+            long current = epoch(bucket) == (second & MASK) ? bucket : pack(second, 0, 0, 0);
+            long calls = Math.min(MASK, calls(current) + 1);
+            long failures = Math.min(MASK, failures(current) + ((outcome & FAILURE) != 0 ? 1 : 0));
+            long slows = Math.min(MASK, slows(current) + ((outcome & SLOW) != 0 ? 1 : 0));
+            if (this.buckets.compareAndSet(index, bucket, pack(second, calls, failures, slows)))
+                return;
+        }
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        long second = now();
+        int calls = 0, failures = 0, slows = 0;
+        for (int i = 0; i < this.size; i++) {
+            long bucket = this.buckets.get(i);
+            // 仅统计窗口内的桶
+            if (((second - epoch(bucket)) & MASK) >= this.size)
+                continue;
+            calls += (int) calls(bucket);
+            failures += (int) failures(bucket);
+            slows += (int) slows(bucket);
+        }
+        return new Snapshot(calls, failures, slows);
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - ORIGIN) + 1;
+    }
+
+    private static long pack(long second, long calls, long failures, long slows) {
+        return ((second & MASK) << 48) | (calls << 32) | (failures << 16) | slows;
+    }
+
+    private static long epoch(long bucket) {
+        return (bucket >>> 48) & MASK;
+    }
+
+    private static long calls(long bucket) {
+        return (bucket >>> 32) & MASK;
+    }
+
+    private static long failures(long bucket) {
+        return (bucket >>> 16) & MASK;
+    }
+
+    private static long slows(long bucket) {
+        return bucket & MASK;
+    }
+}
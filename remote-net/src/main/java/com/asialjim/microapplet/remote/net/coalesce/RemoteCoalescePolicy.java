@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.coalesce;
+
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.net.annotation.Coalesced;
+import com.asialjim.microapplet.remote.trace.RemoteTrace;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+
+/**
+ * 请求合并策略，由 {@link Coalesced} 在方法初始化时构建
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteCoalescePolicy {
+    private final String method;
+    private final Set<String> headers;
+
+    private RemoteCoalescePolicy(String method, Set<String> headers) {
+        this.method = method;
+        this.headers = headers;
+    }
+
+    public static RemoteCoalescePolicy of(RemoteMethodConfig methodConfig, Coalesced annotation) {
+        Set<String> headers = new HashSet<>();
+        for (String header : annotation.headers()) {
+            if (StringUtils.isNotBlank(header))
+                headers.add(header.trim().toLowerCase(Locale.ROOT));
+        }
+        // 链路请求头每次发送均使用新的 spanId，参与判断时请求永远无法合并
+        headers.remove(RemoteTrace.TRACE_PARENT);
+        return new RemoteCoalescePolicy(methodConfig.getMethod().toGenericString(), Collections.unmodifiableSet(headers));
+    }
+
+    /**
+     * 构建合并键
+     *
+     * @param node    服务节点
+     * @param verb    请求方法
+     * @param uri     解析完成的请求地址（含查询参数）
+     * @param headers 请求头，仅 {@link Coalesced#headers()} 所列请求头参与合并判断，traceparent 始终不参与
+     */
+    public Object key(Object node, String verb, String uri, Iterable<Map.Entry<String, String>> headers) {
+        Map<String, List<String>> relevant = new TreeMap<>();
+        if (Objects.nonNull(headers) && !this.headers.isEmpty()) {
+            for (Map.Entry<String, String> header : headers) {
+                String name = header.getKey().toLowerCase(Locale.ROOT);
+                if (this.headers.contains(name))
+                    relevant.computeIfAbsent(name, k -> new ArrayList<>(1)).add(header.getValue());
+            }
+        }
+        return Arrays.asList(this.method, node, verb, uri, relevant);
+    }
+}
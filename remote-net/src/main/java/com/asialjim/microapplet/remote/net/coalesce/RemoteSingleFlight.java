@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.coalesce;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * 进行中的请求登记表
+ * <p>
+ * 相同合并键的请求中，首个请求负责实际发送；其余请求挂载在首个请求上，
+ * 首个请求完成时各自获得一份响应副本或相同的异常；首个请求被调用方取消时，
+ * 挂载的请求改为自行发送
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteSingleFlight {
+    private static final ConcurrentMap<Object, Flight<?>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private RemoteSingleFlight() {
+    }
+
+    /**
+     * 登记请求
+     *
+     * @param key     合并键
+     * @param future  当前请求的响应；首个请求的响应完成时在完成线程上同步复制，须在响应被消费前完成
+     * @param share   为挂载的请求复制响应
+     * @param release 释放未被采用的响应副本
+     * @param send    挂载的请求改为自行发送
+     * @return true: 当前请求为首个请求，需要实际发送；false: 已挂载到进行中的请求
+     */
+    public static <T> boolean join(Object key, CompletableFuture<T> future, UnaryOperator<T> share, Consumer<T> release, Runnable send) {
+        Flight<T> flight = new Flight<>(key, share, release);
+        while (true) {
+            //noinspection unchecked
+            Flight<T> current = (Flight<T>) IN_FLIGHT.putIfAbsent(key, flight);
+            if (Objects.isNull(current)) {
+                future.whenComplete(flight);
+                return true;
+            }
+
+            if (current.follow(future, send))
+                return false;
+
+            // 进行中的请求恰好完成，重新登记
+            IN_FLIGHT.remove(key, current);
+        }
+    }
+
+    private static final class Flight<T> implements BiConsumer<T, Throwable> {
+        private final Object key;
+        private final UnaryOperator<T> share;
+        private final Consumer<T> release;
+        private List<CompletableFuture<T>> followers = new ArrayList<>();
+        private List<Runnable> sends = new ArrayList<>();
+
+        private Flight(Object key, UnaryOperator<T> share, Consumer<T> release) {
+            this.key = key;
+            this.share = share;
+            this.release = release;
+        }
+
+        private synchronized boolean follow(CompletableFuture<T> future, Runnable send) {
+            if (Objects.isNull(this.followers))
+                return false;
+
+            this.followers.add(future);
+            this.sends.add(send);
+            return true;
+        }
+
+        @Override
+        public void accept(T response, Throwable cause) {
+            List<CompletableFuture<T>> followers;
+            List<Runnable> sends;
+            synchronized (this) {
+                followers = this.followers;
+                sends = this.sends;
+                this.followers = null;
+                this.sends = null;
+            }
+            IN_FLIGHT.remove(this.key, this);
+
+            for (int i = 0; i < followers.size(); i++) {
+                CompletableFuture<T> follower = followers.get(i);
+                if (follower.isDone())
+                    continue;
+
+                if (Objects.isNull(cause)) {
+                    T copy = this.share.apply(response);
+                    if (!follower.complete(copy))
+                        this.release.accept(copy);
+                } else if (cause instanceof CancellationException) {
+                    sends.get(i).run();
+                } else follower.completeExceptionally(cause);
+            }
+        }
+    }
+}
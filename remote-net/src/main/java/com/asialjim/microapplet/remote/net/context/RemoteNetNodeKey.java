@@ -15,36 +15,90 @@
  */
 package com.asialjim.microapplet.remote.net.context;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.net.ssl.SSLContext;
 import java.io.Serializable;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class RemoteNetNodeKey implements Serializable {
+/**
+ * 网络通讯节点标识
+ * <p>
+ * 不可变，由 {@link #of} 登记后全局唯一：同一节点的标识为同一实例，客户端及连接池查找时引用相同即可判定相等；
+ * 散列值在构造时计算，相等性按协议、主机、端口、代理及 SSL 上下文逐字段比较。
+ * <p>
+ * 携带 SSL 上下文的标识不登记：SSL 上下文可能由每次调用的参数传入，登记会使其永不释放；
+ * 登记数量达到上限（remote.node-key.max-interned，默认 4096）后新的标识同样不再登记，仍可按字段比较相等
+ * 请求标识、日志级别、超时时间等按请求变化的属性不属于节点标识
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@Getter
+public final class RemoteNetNodeKey implements Serializable {
     private static final long serialVersionUID = -2145609626837779738L;
+    private static final int MAX_INTERNED = Integer.getInteger("remote.node-key.max-interned", 4096);
+    private static final Map<RemoteNetNodeKey, RemoteNetNodeKey> INTERNED = new ConcurrentHashMap<>();
+
+    private final String                    schema;
+    private final String                    host;
+    private final int                       port;
+    private final String                    proxyHost;
+    private final Integer                   proxyPort;
+    private final transient SSLContext      sslContext;
+    private final transient int             hash;
+
+    private RemoteNetNodeKey(String schema, String host, int port, String proxyHost, Integer proxyPort, SSLContext sslContext) {
+        this.schema = StringUtils.lowerCase(schema);
+        this.host = host;
+        this.port = port;
+        this.proxyHost = StringUtils.isNotBlank(proxyHost) ? proxyHost : null;
+        this.proxyPort = Objects.isNull(this.proxyHost) ? null : proxyPort;
+        this.sslContext = sslContext;
+        this.hash = Objects.hash(this.schema, this.host, this.port, this.proxyHost, this.proxyPort, System.identityHashCode(sslContext));
+    }
+
+    /**
+     * 登记并返回节点标识，相同节点返回同一实例；携带 SSL 上下文或登记数量已达上限时返回未登记的新实例
+     */
+    public static RemoteNetNodeKey of(String schema, String host, Integer port, String proxyHost, Integer proxyPort, SSLContext sslContext) {
+        RemoteNetNodeKey key = new RemoteNetNodeKey(schema, host, Objects.isNull(port) ? 0 : port, proxyHost, proxyPort, sslContext);
+        if (Objects.nonNull(sslContext))
+            return key;
 
-    private String                          schema;
-    private String                          host;
-    private int                             port;
-    private String                          proxyHost;
-    private Integer                         proxyPort;
-    private SSLContext                      sslContext;
-    private int                             timeout;
-    private String                          logLevel;
-    private String                          trace;
+        RemoteNetNodeKey exists = INTERNED.get(key);
+        if (Objects.nonNull(exists))
+            return exists;
+        if (INTERNED.size() >= MAX_INTERNED)
+            return key;
+
+        exists = INTERNED.putIfAbsent(key, key);
+        return Objects.isNull(exists) ? key : exists;
+    }
 
-    public int getTimeout() {
-        return timeout == 0 ? 5000 : timeout;
+    /**
+     * 使用指定 SSL 上下文的同一节点
+     */
+    public RemoteNetNodeKey sslContext(SSLContext sslContext) {
+        if (this.sslContext == sslContext)
+            return this;
+        return of(this.schema, this.host, this.port, this.proxyHost, this.proxyPort, sslContext);
+    }
+
+    /**
+     * 是否为未指定 SSL 上下文的指定节点，用于复用上次登记的标识而无需再次查找
+     */
+    public boolean matches(String schema, String host, Integer port, String proxyHost, Integer proxyPort) {
+        boolean proxy = StringUtils.isNotBlank(proxyHost);
+        return Objects.isNull(this.sslContext)
+                && StringUtils.equalsIgnoreCase(this.schema, schema)
+                && Objects.equals(this.host, host)
+                && this.port == (Objects.isNull(port) ? 0 : port)
+                && (proxy ? Objects.equals(this.proxyHost, proxyHost) && Objects.equals(this.proxyPort, proxyPort) : Objects.isNull(this.proxyHost));
     }
 
     public boolean proxyEnable(){
@@ -54,16 +108,28 @@ public class RemoteNetNodeKey implements Serializable {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof RemoteNetNodeKey)) return false;
         RemoteNetNodeKey nodeKey = (RemoteNetNodeKey) o;
-        return nodeKey.hashCode() == hashCode();
+        return this.hash == nodeKey.hash
+                && this.port == nodeKey.port
+                && this.sslContext == nodeKey.sslContext
+                && Objects.equals(this.schema, nodeKey.schema)
+                && Objects.equals(this.host, nodeKey.host)
+                && Objects.equals(this.proxyHost, nodeKey.proxyHost)
+                && Objects.equals(this.proxyPort, nodeKey.proxyPort);
     }
 
     @Override
     public int hashCode() {
-        Integer sslHashCode = Optional.ofNullable(this.sslContext).map(Object::hashCode).orElse(0);
-        String proxyHost = StringUtils.isNotBlank(getProxyHost()) ? getProxyHost() : StringUtils.EMPTY;
-        String proxyPort = Objects.isNull(getProxyPort()) ? StringUtils.EMPTY : String.valueOf(getProxyPort());
-        return String.format("%s:%d:SSL:%s:PROXY:%s:%s", this.host, this.port, sslHashCode, proxyHost,proxyPort).hashCode();
+        return this.hash;
+    }
+
+    @Override
+    public String toString() {
+        return this.schema + "://" + this.host + ":" + this.port + (proxyEnable() ? " via " + this.proxyHost + ":" + this.proxyPort : "");
+    }
+
+    private Object readResolve() {
+        return of(this.schema, this.host, this.port, this.proxyHost, this.proxyPort, null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.dns;
+
+import com.asialjim.microapplet.remote.thread.NamedThreadFactory;
+
+import java.net.InetAddress;
+import java.util.Objects;
+import java.util.concurrent.*;
+
+/**
+ * JDK 域名解析：在独立的解析线程上调用 {@link InetAddress#getAllByName(String)}，
+ * 结果缓存时间由 JVM 的 networkaddress.cache.ttl 决定
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public class JdkDnsBackend implements RemoteDnsBackend {
+    private static final ThreadFactory REMOTE_DNS_FACTORY = new NamedThreadFactory("RDNS");
+    private static volatile ExecutorService executor;
+
+    @Override
+    public CompletableFuture<InetAddress[]> resolve(String host) {
+        CompletableFuture<InetAddress[]> future = new CompletableFuture<>();
+        try {
+            executor().execute(() -> {
+                try {
+                    future.complete(InetAddress.getAllByName(host));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static ExecutorService executor() {
+        ExecutorService current = executor;
+        if (Objects.nonNull(current))
+            return current;
+
+        synchronized (JdkDnsBackend.class) {
+            if (Objects.nonNull(executor))
+                return executor;
+
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(4, 4, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1024), r -> {
+                Thread thread = REMOTE_DNS_FACTORY.newThread(r);
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.dns;
+
+import java.net.InetAddress;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 域名解析实现
+ * <p>
+ * 除内置的 {@link JdkDnsBackend} 外，实现类通过 META-INF/remote.loadRemoteClass 注册，须提供公共无参构造函数；
+ * 存在其他实现时优先使用，可通过 remote.dns.backend=jdk 强制使用 JDK 解析
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public interface RemoteDnsBackend {
+
+    /**
+     * 异步解析主机名的全部地址，不得阻塞调用线程
+     */
+    CompletableFuture<InetAddress[]> resolve(String host);
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.dns;
+
+import com.asialjim.microapplet.remote.context.RemoteAsyncContext;
+import com.asialjim.microapplet.remote.loader.RemoteClassLoader;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Modifier;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * 共享的异步域名解析
+ * <p>
+ * 解析结果按主机名缓存，由共享定时线程按固定间隔在后台重新解析，请求线程只读取缓存；仅首次解析某个主机名时等待解析结果。
+ * 重新解析失败时继续使用原有地址；地址变化时通知监听器，由连接池逐步将连接迁移到新地址。
+ * 超过空闲时间未再使用的主机名不再解析
+ * <p>
+ * 配置：remote.dns.refresh-interval（毫秒，默认 5000）、remote.dns.timeout（首次解析最长等待时间，毫秒，默认 5000）、
+ * remote.dns.idle-time（毫秒，默认 600000）、remote.dns.backend（jdk 时强制使用 JDK 解析）
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteDnsResolver {
+    private static final Logger log = LoggerFactory.getLogger(RemoteDnsResolver.class);
+    private static final long REFRESH_INTERVAL = Long.getLong("remote.dns.refresh-interval", 5000L);
+    private static final long TIMEOUT = Long.getLong("remote.dns.timeout", 5000L);
+    private static final long IDLE_TIME = Long.getLong("remote.dns.idle-time", 600000L);
+    private static final long TOUCH_INTERVAL = 1000L;
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final List<BiConsumer<String, InetAddress[]>> LISTENERS = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger ROTATION = new AtomicInteger();
+    private static volatile RemoteDnsBackend backend = defaultBackend();
+    private static volatile ScheduledFuture<?> refresher;
+
+    private RemoteDnsResolver() {
+    }
+
+    /**
+     * 解析主机名的全部地址；已缓存时直接返回，首次解析时最多等待 remote.dns.timeout 毫秒
+     */
+    public static InetAddress[] resolve(String host) throws UnknownHostException {
+        CompletableFuture<InetAddress[]> future = resolveAsync(host);
+        try {
+            return future.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unknownHost(host, e);
+        } catch (ExecutionException e) {
+            throw unknownHost(host, Objects.isNull(e.getCause()) ? e : e.getCause());
+        } catch (TimeoutException e) {
+            throw unknownHost(host, e);
+        }
+    }
+
+    /**
+     * 异步解析主机名的全部地址
+     */
+    public static CompletableFuture<InetAddress[]> resolveAsync(String host) {
+        if (isLiteral(host)) {
+            try {
+                return CompletableFuture.completedFuture(new InetAddress[]{InetAddress.getByName(host)});
+            } catch (UnknownHostException e) {
+                CompletableFuture<InetAddress[]> future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+                return future;
+            }
+        }
+
+        Entry entry = ENTRIES.get(host);
+        if (Objects.isNull(entry)) {
+            entry = ENTRIES.computeIfAbsent(host, Entry::new);
+            startRefresher();
+        }
+        entry.touch();
+
+        InetAddress[] addresses = entry.addresses;
+        if (Objects.nonNull(addresses))
+            return CompletableFuture.completedFuture(addresses);
+        return entry.load();
+    }
+
+    /**
+     * 按调用次数轮换选取一个地址，使新建连接分散到主机名的各个地址上
+     */
+    public static InetAddress next(InetAddress[] addresses) {
+        return addresses[(ROTATION.getAndIncrement() & Integer.MAX_VALUE) % addresses.length];
+    }
+
+    /**
+     * 按调用次数轮换地址顺序，返回新数组
+     */
+    public static InetAddress[] rotate(InetAddress[] addresses) {
+        int length = addresses.length;
+        if (length <= 1)
+            return addresses;
+
+        int start = (ROTATION.getAndIncrement() & Integer.MAX_VALUE) % length;
+        InetAddress[] rotated = new InetAddress[length];
+        for (int i = 0; i < length; i++)
+            rotated[i] = addresses[(start + i) % length];
+        return rotated;
+    }
+
+    /**
+     * 地址是否仍属于主机名的当前解析结果；尚无解析结果时视为属于
+     */
+    public static boolean current(String host, InetAddress address) {
+        if (Objects.isNull(address) || isLiteral(host))
+            return true;
+
+        Entry entry = ENTRIES.get(host);
+        InetAddress[] addresses = Objects.isNull(entry) ? null : entry.addresses;
+        if (Objects.isNull(addresses))
+            return true;
+
+        for (InetAddress item : addresses) {
+            if (item.equals(address))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 登记地址变化监听器：参数为主机名及新的地址
+     */
+    public static void addListener(BiConsumer<String, InetAddress[]> listener) {
+        if (Objects.nonNull(listener))
+            LISTENERS.add(listener);
+    }
+
+    private static boolean isLiteral(String host) {
+        return StringUtils.isBlank(host) || host.indexOf(':') >= 0 || IPV4.matcher(host).matches();
+    }
+
+    private static UnknownHostException unknownHost(String host, Throwable cause) {
+        if (cause instanceof UnknownHostException)
+            return (UnknownHostException) cause;
+        UnknownHostException exception = new UnknownHostException(host + ": " + cause);
+        exception.initCause(cause);
+        return exception;
+    }
+
+    private static void startRefresher() {
+        if (REFRESH_INTERVAL <= 0 || Objects.nonNull(refresher))
+            return;
+
+        synchronized (RemoteDnsResolver.class) {
+            if (Objects.isNull(refresher))
+                refresher = RemoteAsyncContext.schedule(RemoteDnsResolver::refresh, REFRESH_INTERVAL);
+        }
+    }
+
+    /**
+     * 替换域名解析实现并清空已缓存的解析结果，用于测试
+     */
+    static void backend(RemoteDnsBackend backend) {
+        RemoteDnsResolver.backend = Objects.requireNonNull(backend);
+        ENTRIES.clear();
+    }
+
+    /**
+     * 重新解析全部在用的主机名，由共享定时线程按 remote.dns.refresh-interval 调用
+     */
+    static void refresh() {
+        try {
+            long now = System.currentTimeMillis();
+            ENTRIES.values().removeIf(entry -> now - entry.lastUsed > IDLE_TIME);
+            for (Entry entry : ENTRIES.values()) {
+                if (Objects.nonNull(entry.addresses))
+                    entry.load();
+            }
+        } catch (Throwable t) {
+            log.warn("域名后台解析异常：{}", t.getMessage(), t);
+        }
+    }
+
+    private static RemoteDnsBackend defaultBackend() {
+        if (!StringUtils.equalsIgnoreCase("jdk", System.getProperty("remote.dns.backend"))) {
+            for (Class<?> aClass : RemoteClassLoader.subClasses(RemoteDnsBackend.class)) {
+                if (aClass.isInterface() || Modifier.isAbstract(aClass.getModifiers()) || JdkDnsBackend.class.equals(aClass))
+                    continue;
+
+                try {
+                    RemoteDnsBackend backend = (RemoteDnsBackend) aClass.getConstructor().newInstance();
+                    log.info("域名解析使用：{}", aClass.getName());
+                    return backend;
+                } catch (Throwable t) {
+                    log.warn("创建域名解析实现：{} 失败：{}，使用 JDK 解析", aClass.getName(), t.toString());
+                }
+            }
+        }
+        return new JdkDnsBackend();
+    }
+
+    private static final class Entry {
+        private final String host;
+        private final AtomicReference<CompletableFuture<InetAddress[]>> loading = new AtomicReference<>();
+        private volatile InetAddress[] addresses;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private Entry(String host) {
+            this.host = host;
+        }
+
+        private void touch() {
+            long now = System.currentTimeMillis();
+            if (now - this.lastUsed > TOUCH_INTERVAL)
+                this.lastUsed = now;
+        }
+
+        /**
+         * 单飞解析：同一主机名同时只进行一次解析
+         */
+        private CompletableFuture<InetAddress[]> load() {
+            CompletableFuture<InetAddress[]> mine = new CompletableFuture<>();
+            CompletableFuture<InetAddress[]> current = this.loading.get();
+            if (Objects.nonNull(current) || !this.loading.compareAndSet(null, mine))
+                return Objects.nonNull(current) ? current : load();
+
+            CompletableFuture<InetAddress[]> future;
+            try {
+                future = backend.resolve(this.host);
+            } catch (Throwable t) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(t);
+            }
+
+            future.whenComplete((resolved, ex) -> {
+                InetAddress[] previous = this.addresses;
+                if (Objects.isNull(ex) && Objects.nonNull(resolved) && resolved.length > 0)
+                    update(previous, resolved);
+                else if (Objects.nonNull(previous))
+                    log.warn("重新解析域名：{} 失败：{}，继续使用原有地址：{}", this.host, Objects.isNull(ex) ? "无地址" : ex.toString(), Arrays.toString(previous));
+
+                this.loading.compareAndSet(mine, null);
+                InetAddress[] addresses = this.addresses;
+                if (Objects.nonNull(addresses))
+                    mine.complete(addresses);
+                else mine.completeExceptionally(Objects.isNull(ex) ? new UnknownHostException(this.host) : ex);
+            });
+            return mine;
+        }
+
+        private void update(InetAddress[] previous, InetAddress[] resolved) {
+            if (Objects.nonNull(previous) && new HashSet<>(Arrays.asList(previous)).equals(new HashSet<>(Arrays.asList(resolved))))
+                return;
+
+            this.addresses = resolved.clone();
+            if (Objects.isNull(previous))
+                return;
+
+            log.info("域名：{} 解析地址变化：{} -> {}", this.host, Arrays.toString(previous), Arrays.toString(resolved));
+            for (BiConsumer<String, InetAddress[]> listener : LISTENERS) {
+                try {
+                    listener.accept(this.host, this.addresses);
+                } catch (Throwable t) {
+                    log.warn("域名地址变化监听器异常：{}", t.getMessage(), t);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.exception;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * 请求在发出前被客户端拒绝（并发数、熔断、限流等）
+ */
+@AllArgsConstructor
+public final class RemoteRejectedException extends RuntimeException{
+    private final String message;
+
+    @SuppressWarnings("unused")
+    public static void cast(String message){
+        throw new RemoteRejectedException(message);
+    }
+
+    @Override
+    public String getMessage() {
+        return this.message;
+    }
+}
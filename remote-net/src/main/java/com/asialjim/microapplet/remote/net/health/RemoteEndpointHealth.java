@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.health;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 服务节点健康状态（按主机名与端口共享）
+ * <p>
+ * 被动检测：连续连接失败或 5xx 响应达到阈值时摘除节点；主动探测：连续探测失败达到阈值时摘除节点，探测成功时立即恢复。
+ * 摘除时间按摘除次数递增（基础时间 × 次数，不超过上限），冷却期结束后节点自动恢复，恢复后首次请求成功时清零摘除次数
+ * <p>
+ * 配置：remote.health.consecutive-failures（默认 5）、remote.health.probe-failures（默认 2）、
+ * remote.health.ejection-time（毫秒，默认 30000）、remote.health.max-ejection-time（毫秒，默认 300000）
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteEndpointHealth {
+    private static final Logger log = LoggerFactory.getLogger(RemoteEndpointHealth.class);
+    private static final ConcurrentMap<String, RemoteEndpointHealth> HEALTHS = new ConcurrentHashMap<>();
+    private static final int CONSECUTIVE_FAILURES = Integer.getInteger("remote.health.consecutive-failures", 5);
+    private static final int PROBE_FAILURES = Integer.getInteger("remote.health.probe-failures", 2);
+    private static final long EJECTION_TIME = TimeUnit.MILLISECONDS.toNanos(Long.getLong("remote.health.ejection-time", 30000L));
+    private static final long MAX_EJECTION_TIME = TimeUnit.MILLISECONDS.toNanos(Long.getLong("remote.health.max-ejection-time", 300000L));
+
+    private final String address;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger probeFailures = new AtomicInteger();
+    private final AtomicInteger ejections = new AtomicInteger();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile boolean ejected;
+    private volatile long ejectedUntil;
+
+    private RemoteEndpointHealth(String address) {
+        this.address = address;
+    }
+
+    public static RemoteEndpointHealth of(String host, Integer port) {
+        return HEALTHS.computeIfAbsent(host + ":" + port, RemoteEndpointHealth::new);
+    }
+
+    public String address() {
+        return this.address;
+    }
+
+    /**
+     * 节点未被摘除，或摘除冷却期已结束
+     */
+    public boolean available() {
+        return !this.ejected || System.nanoTime() - this.ejectedUntil >= 0;
+    }
+
+    /**
+     * 请求成功（含非 5xx 响应）
+     */
+    public void success() {
+        if (this.failures.get() != 0)
+            this.failures.set(0);
+        if (this.ejected && available())
+            recover("请求成功");
+    }
+
+    /**
+     * 连接失败或 5xx 响应
+     */
+    public void failure() {
+        if (this.failures.incrementAndGet() >= CONSECUTIVE_FAILURES)
+            eject("连续失败 " + CONSECUTIVE_FAILURES + " 次");
+    }
+
+    /**
+     * 主动探测成功，摘除中的节点立即恢复
+     */
+    public void probeSuccess() {
+        this.probeFailures.set(0);
+        if (this.ejected)
+            recover("主动探测成功");
+    }
+
+    /**
+     * 主动探测失败
+     */
+    public void probeFailure(String reason) {
+        if (this.probeFailures.incrementAndGet() >= PROBE_FAILURES && available())
+            eject("主动探测连续失败 " + PROBE_FAILURES + " 次：" + reason);
+    }
+
+    /**
+     * 同一节点同时只进行一次主动探测
+     */
+    boolean startProbe() {
+        return this.probing.compareAndSet(false, true);
+    }
+
+    void endProbe() {
+        this.probing.set(false);
+    }
+
+    private synchronized void eject(String reason) {
+        if (this.ejected && !available())
+            return;
+
+        int times = this.ejections.incrementAndGet();
+        long duration = Math.min(MAX_EJECTION_TIME, EJECTION_TIME * times);
+        this.ejectedUntil = System.nanoTime() + duration;
+        this.ejected = true;
+        this.failures.set(0);
+        this.probeFailures.set(0);
+        log.warn("服务节点: {} {}，摘除 {} 毫秒（第 {} 次）", this.address, reason, TimeUnit.NANOSECONDS.toMillis(duration), times);
+    }
+
+    private synchronized void recover(String reason) {
+        if (!this.ejected)
+            return;
+
+        this.ejected = false;
+        this.ejections.set(0);
+        log.info("服务节点: {} {}，恢复", this.address, reason);
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteEndpointHealth{address='" + this.address + "', available=" + available() + ", ejections=" + this.ejections.get() + '}';
+    }
+}
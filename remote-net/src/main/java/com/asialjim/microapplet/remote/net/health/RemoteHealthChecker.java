@@ -0,0 +1,226 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.health;
+
+import com.asialjim.microapplet.remote.context.RemoteAsyncContext;
+import com.asialjim.microapplet.remote.net.balance.RemoteEndpoint;
+import com.asialjim.microapplet.remote.net.balance.RemoteEndpointGroup;
+import com.asialjim.microapplet.remote.thread.NamedThreadFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+
+/**
+ * 服务节点主动健康检查
+ * <p>
+ * 通过 API 服务器信息仓库解析到的节点组登记后，由共享定时线程按固定间隔触发探测，探测在独立的线程池上执行，
+ * 同一节点同时只进行一次探测；超过空闲时间未再使用的节点组不再探测。
+ * 探测方式：tcp（建立连接）、以 '/' 开头的路径（HTTP GET，5xx 或异常为失败）、none（不探测）。
+ * HTTPS 节点的 SSL 上下文（{@code @Ssl}、自定义 CA 或双向认证）随调用配置，探测线程无从获得，HTTPS 节点始终以建立连接探测
+ * <p>
+ * 配置：remote.health.interval（毫秒，默认 10000，小于等于 0 时关闭主动探测）、remote.health.timeout（毫秒，默认 2000）、
+ * remote.health.check（默认探测方式，默认 tcp）、remote.health.idle-time（毫秒，默认 600000）
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteHealthChecker {
+    private static final Logger log = LoggerFactory.getLogger(RemoteHealthChecker.class);
+    private static final ThreadFactory REMOTE_HEALTH_CHECK_FACTORY = new NamedThreadFactory("RHCK");
+    public static final String TCP = "tcp";
+    public static final String NONE = "none";
+    private static final long INTERVAL = Long.getLong("remote.health.interval", 10000L);
+    private static final int TIMEOUT = Integer.getInteger("remote.health.timeout", 2000);
+    private static final String DEFAULT_CHECK = System.getProperty("remote.health.check", TCP);
+    private static final long IDLE_TIME = Long.getLong("remote.health.idle-time", 600000L);
+    private static final long TOUCH_INTERVAL = 1000L;
+
+    private static final Map<RemoteEndpointGroup, Watch> WATCHES = new ConcurrentHashMap<>();
+    private static volatile ExecutorService executor;
+
+    private RemoteHealthChecker() {
+    }
+
+    /**
+     * 登记节点组的主动健康检查，已登记且配置未变化时只刷新使用时间
+     *
+     * @param group  节点组
+     * @param schema 网络通讯协议
+     * @param check  探测方式，为空时使用默认探测方式
+     */
+    public static void watch(RemoteEndpointGroup group, String schema, String check) {
+        if (INTERVAL <= 0 || Objects.isNull(group))
+            return;
+
+        String probe = StringUtils.isBlank(check) ? DEFAULT_CHECK : check.trim();
+        Watch watch = WATCHES.get(group);
+        if (Objects.nonNull(watch) && watch.matches(schema, probe)) {
+            watch.touch();
+            return;
+        }
+
+        if (NONE.equalsIgnoreCase(probe)) {
+            WATCHES.remove(group);
+            return;
+        }
+
+        WATCHES.put(group, new Watch(schema, probe));
+        executor();
+    }
+
+    private static void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            WATCHES.values().removeIf(watch -> now - watch.lastUsed > IDLE_TIME);
+
+            // 多个节点组包含同一节点时只探测一次
+            Map<String, Probe> probes = new HashMap<>();
+            WATCHES.forEach((group, watch) -> {
+                for (int i = 0; i < group.size(); i++) {
+                    RemoteEndpoint endpoint = group.get(i);
+                    probes.putIfAbsent(endpoint.health().address(), new Probe(endpoint, watch));
+                }
+            });
+
+            ExecutorService current = executor();
+            for (Probe probe : probes.values()) {
+                RemoteEndpointHealth health = probe.endpoint.health();
+                if (!health.startProbe())
+                    continue;
+                try {
+                    current.execute(probe);
+                } catch (RejectedExecutionException e) {
+                    health.endProbe();
+                }
+            }
+        } catch (Throwable t) {
+            log.warn("服务节点主动健康检查异常：{}", t.getMessage(), t);
+        }
+    }
+
+    private static ExecutorService executor() {
+        ExecutorService current = executor;
+        if (Objects.nonNull(current))
+            return current;
+
+        synchronized (RemoteHealthChecker.class) {
+            if (Objects.nonNull(executor))
+                return executor;
+
+            executor = new ThreadPoolExecutor(4, 4, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1024), r -> {
+                Thread thread = REMOTE_HEALTH_CHECK_FACTORY.newThread(r);
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+            ((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+            RemoteAsyncContext.schedule(RemoteHealthChecker::tick, INTERVAL);
+            return executor;
+        }
+    }
+
+    private static final class Watch {
+        private final String schema;
+        private final String check;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private Watch(String schema, String check) {
+            this.schema = schema;
+            this.check = check;
+        }
+
+        private boolean matches(String schema, String check) {
+            return StringUtils.equals(this.schema, schema) && StringUtils.equals(this.check, check);
+        }
+
+        private void touch() {
+            long now = System.currentTimeMillis();
+            if (now - this.lastUsed > TOUCH_INTERVAL)
+                this.lastUsed = now;
+        }
+    }
+
+    private static final class Probe implements Runnable {
+        private final RemoteEndpoint endpoint;
+        private final Watch watch;
+
+        private Probe(RemoteEndpoint endpoint, Watch watch) {
+            this.endpoint = endpoint;
+            this.watch = watch;
+        }
+
+        @Override
+        public void run() {
+            try {
+                probe(this.endpoint, this.watch.schema, this.watch.check);
+            } finally {
+                this.endpoint.health().endProbe();
+            }
+        }
+    }
+
+    /**
+     * 探测一次节点并记录结果
+     */
+    static void probe(RemoteEndpoint endpoint, String schema, String check) {
+        RemoteEndpointHealth health = endpoint.health();
+        try {
+            boolean https = StringUtils.equalsIgnoreCase("https", schema);
+            String failure = https || TCP.equalsIgnoreCase(check) ? tcp(endpoint, schema) : http(endpoint, schema, check);
+            if (Objects.isNull(failure))
+                health.probeSuccess();
+            else health.probeFailure(failure);
+        } catch (Throwable t) {
+            health.probeFailure(t.toString());
+        }
+    }
+
+    private static int port(RemoteEndpoint endpoint, String schema) {
+        Integer port = endpoint.port();
+        if (Objects.nonNull(port) && port > 0)
+            return port;
+        return StringUtils.equalsIgnoreCase("https", schema) ? 443 : 80;
+    }
+
+    private static String tcp(RemoteEndpoint endpoint, String schema) throws Exception {
+        try (Socket socket = new Socket(Proxy.NO_PROXY)) {
+            socket.connect(new InetSocketAddress(endpoint.host(), port(endpoint, schema)), TIMEOUT);
+        }
+        return null;
+    }
+
+    private static String http(RemoteEndpoint endpoint, String schema, String check) throws Exception {
+        String host = endpoint.host().indexOf(':') >= 0 ? "[" + endpoint.host() + "]" : endpoint.host();
+        URL url = new URL("http://" + host + ":" + port(endpoint, schema) + check);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection(Proxy.NO_PROXY);
+        try {
+            connection.setConnectTimeout(TIMEOUT);
+            connection.setReadTimeout(TIMEOUT);
+            connection.setInstanceFollowRedirects(false);
+            connection.setUseCaches(false);
+            int status = connection.getResponseCode();
+            return status >= 500 ? "HTTP " + status : null;
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.hedge;
+
+import com.asialjim.microapplet.remote.net.annotation.Hedged;
+import com.asialjim.microapplet.remote.retry.RemoteRetryBudget;
+
+/**
+ * 对冲策略，由 {@link Hedged} 在方法初始化时构建
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteHedgePolicy {
+    private final long delay;
+    private final double percentile;
+    private final long minDelay;
+    private final double budgetRatio;
+    private final int budgetMinPerSecond;
+
+    private RemoteHedgePolicy(long delay, double percentile, long minDelay, double budgetRatio, int budgetMinPerSecond) {
+        this.delay = delay;
+        this.percentile = Math.min(99.9, Math.max(1, percentile));
+        this.minDelay = Math.max(0, minDelay);
+        this.budgetRatio = Math.max(0, budgetRatio);
+        this.budgetMinPerSecond = Math.max(0, budgetMinPerSecond);
+    }
+
+    public static RemoteHedgePolicy of(Hedged annotation) {
+        return new RemoteHedgePolicy(annotation.delay(), annotation.percentile(), annotation.minDelay(), annotation.budgetRatio(), annotation.budgetMinPerSecond());
+    }
+
+    /**
+     * 计算对冲延迟
+     *
+     * @param endpoint 端点
+     * @return 对冲延迟毫秒数；端点尚无足够的延迟样本时返回 -1，不发送对冲请求
+     */
+    public long delay(String endpoint) {
+        if (this.delay > 0)
+            return Math.max(this.minDelay, this.delay);
+
+        long observed = RemoteNetLatencyTracker.of(endpoint).percentile(this.percentile);
+        return observed < 0 ? -1 : Math.max(this.minDelay, observed);
+    }
+
+    /**
+     * 端点的对冲预算，与重试预算相互独立
+     */
+    public RemoteRetryBudget budget(String endpoint) {
+        return RemoteRetryBudget.of("hedge:" + endpoint, this.budgetRatio, this.budgetMinPerSecond);
+    }
+}
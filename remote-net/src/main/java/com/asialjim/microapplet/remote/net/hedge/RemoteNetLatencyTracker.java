@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.hedge;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 端点实时延迟统计
+ * <p>
+ * 以环形缓冲区保存最近 {@value #WINDOW} 次成功响应的耗时；分位值按需计算并缓存，
+ * 每秒最多重新计算一次，记录与读取均无锁
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteNetLatencyTracker {
+    private static final Map<String, RemoteNetLatencyTracker> TRACKERS = new ConcurrentHashMap<>();
+    private static final int WINDOW = 1024;
+    private static final int MIN_SAMPLES = 100;
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicBoolean computing = new AtomicBoolean();
+    private volatile long[] sorted;
+    private volatile long sortedAt;
+
+    private RemoteNetLatencyTracker() {
+    }
+
+    public static RemoteNetLatencyTracker of(String endpoint) {
+        RemoteNetLatencyTracker tracker = TRACKERS.get(endpoint);
+        if (Objects.nonNull(tracker))
+            return tracker;
+        return TRACKERS.computeIfAbsent(endpoint, key -> new RemoteNetLatencyTracker());
+    }
+
+    /**
+     * 记录一次成功响应的耗时
+     */
+    public void record(long nanos) {
+        long index = this.count.getAndIncrement();
+        this.samples.set((int) (index % WINDOW), TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    /**
+     * 延迟分位值，单位：毫秒；样本不足时返回 -1
+     */
+    public long percentile(double percentile) {
+        long total = this.count.get();
+        if (total < MIN_SAMPLES)
+            return -1;
+
+        long[] current = this.sorted;
+        if ((Objects.isNull(current) || System.nanoTime() - this.sortedAt > REFRESH_NANOS) && this.computing.compareAndSet(false, true)) {
+            try {
+                int size = (int) Math.min(total, WINDOW);
+                long[] copy = new long[size];
+                for (int i = 0; i < size; i++)
+                    copy[i] = this.samples.get(i);
+                Arrays.sort(copy);
+                this.sorted = current = copy;
+                this.sortedAt = System.nanoTime();
+            } finally {
+                this.computing.set(false);
+            }
+        }
+
+        if (Objects.isNull(current))
+            return -1;
+        int index = (int) Math.ceil(percentile / 100 * current.length) - 1;
+        return current[Math.max(0, Math.min(current.length - 1, index))];
+    }
+}
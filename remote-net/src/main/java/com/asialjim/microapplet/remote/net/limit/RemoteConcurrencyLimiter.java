@@ -0,0 +1,216 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.limit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 端点自适应并发限制（梯度算法）
+ * <p>
+ * 以长期平均延迟与本次延迟之比作为梯度：延迟上升时按比例收缩并发上限，延迟平稳时按 sqrt(上限) 逐步放大；
+ * 请求超时视为丢弃，并发上限收缩 10%。实际并发远低于上限时不放大上限，避免空闲期上限无限增长。
+ * <p>
+ * 获取许可不加锁；超出上限的请求在有限时间内排队等待，超时后拒绝
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteConcurrencyLimiter {
+    private static final ConcurrentMap<String, RemoteConcurrencyLimiter> LIMITERS = new ConcurrentHashMap<>();
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_FACTOR = 0.9;
+    private static final int LONG_WINDOW = 600;
+    private static final int WARM_UP = 10;
+
+    private final String endpoint;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Object monitor = new Object();
+    private volatile double limit;
+    private volatile int waiters;
+
+    // 以下字段仅在 onSample 内访问
+    private double longRtt;
+    private long samples;
+
+    private RemoteConcurrencyLimiter(String endpoint, int initialLimit, int minLimit, int maxLimit) {
+        this.endpoint = endpoint;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * 获取（不存在则创建）端点的并发限制，参数仅在首次创建时生效
+     */
+    public static RemoteConcurrencyLimiter of(String endpoint, int initialLimit, int minLimit, int maxLimit) {
+        return LIMITERS.computeIfAbsent(endpoint, k -> new RemoteConcurrencyLimiter(k, initialLimit, minLimit, maxLimit));
+    }
+
+    /**
+     * 获取许可
+     *
+     * @param maxWait 最长等待时间，单位：毫秒；小于等于 0 时不等待
+     * @return 许可；超出并发上限且等待超时时返回 null
+     */
+    public Permit acquire(long maxWait) {
+        int current = tryAcquire();
+        if (current > 0)
+            return new Permit(current);
+        if (maxWait <= 0)
+            return null;
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWait);
+        synchronized (this.monitor) {
+            this.waiters++;
+            try {
+                while ((current = tryAcquire()) <= 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0)
+                        return null;
+                    TimeUnit.NANOSECONDS.timedWait(this.monitor, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                this.waiters--;
+            }
+        }
+        return new Permit(current);
+    }
+
+    public String endpoint() {
+        return this.endpoint;
+    }
+
+    public int limit() {
+        return (int) this.limit;
+    }
+
+    public int inflight() {
+        return this.inflight.get();
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteConcurrencyLimiter{endpoint='" + this.endpoint + "', limit=" + limit() + ", inflight=" + inflight() + '}';
+    }
+
+    /**
+     * @return 获取成功时返回获取后的并发数，否则返回 0
+     */
+    private int tryAcquire() {
+        while (true) {
+            int current = this.inflight.get();
+            if (current >= (int) this.limit)
+                return 0;
+            if (this.inflight.compareAndSet(current, current + 1))
+                return current + 1;
+        }
+    }
+
+    private void release() {
+        this.inflight.decrementAndGet();
+        signal();
+    }
+
+    private void signal() {
+        if (this.waiters <= 0)
+            return;
+        synchronized (this.monitor) {
+            this.monitor.notifyAll();
+        }
+    }
+
+    private void onSample(long rtt, int inflight, boolean dropped) {
+        double next;
+        synchronized (this) {
+            double current = this.limit;
+            if (dropped) {
+                next = current * DROP_FACTOR;
+            } else {
+                rtt = Math.max(1, rtt);
+                this.samples++;
+                this.longRtt = this.samples <= WARM_UP
+                        ? this.longRtt + (rtt - this.longRtt) / this.samples
+                        : this.longRtt + (rtt - this.longRtt) / LONG_WINDOW;
+                // 负载回落后长期延迟明显偏高时加速回落，避免放大过度
+                if (this.longRtt / rtt > 2)
+                    this.longRtt *= 0.95;
+
+                // 实际并发远低于上限，本次延迟不反映上限是否合适
+                if (inflight < current / 2)
+                    return;
+
+                double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * this.longRtt / rtt));
+                next = current * gradient + Math.sqrt(current);
+                next = current * (1 - SMOOTHING) + next * SMOOTHING;
+            }
+
+            this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, next));
+        }
+        signal();
+    }
+
+    /**
+     * 并发许可，每个许可仅释放一次
+     */
+    public final class Permit {
+        private final long start = System.nanoTime();
+        private final int inflight;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inflight) {
+            this.inflight = inflight;
+        }
+
+        /**
+         * 请求正常响应，记录延迟样本
+         */
+        public void success() {
+            if (this.released.compareAndSet(false, true)) {
+                release();
+                onSample(System.nanoTime() - this.start, this.inflight, false);
+            }
+        }
+
+        /**
+         * 请求超时，收缩并发上限
+         */
+        public void dropped() {
+            if (this.released.compareAndSet(false, true)) {
+                release();
+                onSample(System.nanoTime() - this.start, this.inflight, true);
+            }
+        }
+
+        /**
+         * 释放许可，不记录样本
+         */
+        public void ignore() {
+            if (this.released.compareAndSet(false, true))
+                release();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.limit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 端点令牌桶
+ * <p>
+ * 以理论到达时间（GCRA）实现：仅保存下一个令牌的可用时间，按纳秒补充令牌，
+ * 允许积累 burst 个令牌；获取令牌只需一次 CAS，不加锁
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteRateLimiter {
+    private static final Logger log = LoggerFactory.getLogger(RemoteRateLimiter.class);
+    private static final ConcurrentMap<String, RemoteRateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private final String endpoint;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong next = new AtomicLong(Long.MIN_VALUE);
+    private final Set<String> conflicts = ConcurrentHashMap.newKeySet();
+
+    private RemoteRateLimiter(String endpoint, double permitsPerSecond, int burst) {
+        this.endpoint = endpoint;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.tolerance = this.interval * (this.burst - 1);
+    }
+
+    /**
+     * 获取（不存在则创建）端点的令牌桶；同一端点的令牌桶共享配额，参数仅在首次创建时生效，
+     * 与已创建的令牌桶参数冲突时记录一次告警
+     *
+     * @param permitsPerSecond 每秒令牌数
+     * @param burst            允许积累的令牌数
+     */
+    public static RemoteRateLimiter of(String endpoint, double permitsPerSecond, int burst) {
+        RemoteRateLimiter limiter = LIMITERS.computeIfAbsent(endpoint, k -> new RemoteRateLimiter(k, permitsPerSecond, burst));
+        if (Double.compare(limiter.permitsPerSecond, permitsPerSecond) != 0 || limiter.burst != Math.max(1, burst))
+            limiter.conflict(permitsPerSecond, burst);
+        return limiter;
+    }
+
+    /**
+     * 预约一个令牌
+     *
+     * @param maxWait 可接受的最长等待时间，单位：纳秒
+     * @return 获得令牌前需要等待的纳秒数；等待时间超过 maxWait 时不预约，返回 -1
+     */
+    public long reserve(long maxWait) {
+        long now = System.nanoTime();
+        while (true) {
+            long next = this.next.get();
+            long arrival = next == Long.MIN_VALUE || next - now < 0 ? now : next;
+            long wait = Math.max(0, arrival - this.tolerance - now);
+            if (wait > maxWait)
+                return -1;
+            if (this.next.compareAndSet(next, arrival + this.interval))
+                return wait;
+        }
+    }
+
+    public String endpoint() {
+        return this.endpoint;
+    }
+
+    public double permitsPerSecond() {
+        return this.permitsPerSecond;
+    }
+
+    public int burst() {
+        return this.burst;
+    }
+
+    private void conflict(double permitsPerSecond, int burst) {
+        if (this.conflicts.add(permitsPerSecond + "/" + burst))
+            log.warn("Remote 限流: 端点 {} 的令牌桶已按每秒 {} 个令牌、积累 {} 个令牌创建，忽略冲突的配置：每秒 {} 个令牌、积累 {} 个令牌",
+                    this.endpoint, this.permitsPerSecond, this.burst, permitsPerSecond, burst);
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteRateLimiter{endpoint='" + this.endpoint + "', permitsPerSecond=" + this.permitsPerSecond + '}';
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.log;
+
+import com.asialjim.microapplet.remote.context.GenericKey;
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.context.RemoteResContext;
+import com.asialjim.microapplet.remote.net.annotation.WireLog;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 报文日志策略，由 {@link WireLog} 在方法初始化时构建，构建后不再修改
+ * <p>
+ * 调用方先通过 {@link #line(RemoteResContext)}、{@link #headers(RemoteResContext)}、{@link #body(RemoteResContext)}
+ * 判断是否需要记录，再将 {@link #headers(Map)}、{@link #body(Object)} 返回的延迟对象交给 {@link RemoteWireLogger}：
+ * 截断、脱敏及字符串拼接均在日志线程上进行，不记录时不构建任何字符串
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteWireLogPolicy {
+    private static final GenericKey<Boolean> SAMPLED_KEY = GenericKey.keyOf("wire-log-sampled");
+    private static final String REDACTED = "******";
+
+    /**
+     * 未标注 {@link WireLog} 时使用的全局策略
+     */
+    public static final RemoteWireLogPolicy DEFAULT = fromSystemProperties();
+
+    private final WireLog.Level level;
+    private final int maxBody;
+    private final Set<String> redact;
+    private final double sampleRate;
+
+    private RemoteWireLogPolicy(WireLog.Level level, int maxBody, String[] redact, double sampleRate) {
+        this.level = Objects.isNull(level) ? WireLog.Level.FULL : level;
+        this.maxBody = maxBody;
+        Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (String name : redact) {
+            if (StringUtils.isNotBlank(name))
+                names.add(name.trim());
+        }
+        this.redact = Collections.unmodifiableSet(names);
+        this.sampleRate = Math.max(0, Math.min(1, sampleRate));
+    }
+
+    public static RemoteWireLogPolicy of(WireLog annotation) {
+        return new RemoteWireLogPolicy(annotation.value(), annotation.maxBody(), annotation.redact(), annotation.sampleRate());
+    }
+
+    public static RemoteWireLogPolicy of(RemoteMethodConfig methodConfig) {
+        RemoteWireLogPolicy policy = methodConfig.config(WireLog.WIRE_LOG_POLICY_KEY);
+        return Objects.isNull(policy) ? DEFAULT : policy;
+    }
+
+    private static RemoteWireLogPolicy fromSystemProperties() {
+        String level = System.getProperty("remote.wire-log", WireLog.Level.FULL.name()).trim();
+        WireLog.Level target;
+        if (StringUtils.equalsIgnoreCase("quiet", level)) {
+            target = WireLog.Level.NONE;
+        } else {
+            try {
+                target = WireLog.Level.valueOf(level.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                target = WireLog.Level.FULL;
+            }
+        }
+
+        // 默认不截断、不采样，与此前逐条记录完整报文的行为保持一致
+        int maxBody = Integer.getInteger("remote.wire-log.max-body", -1);
+        double sampleRate;
+        try {
+            sampleRate = Double.parseDouble(System.getProperty("remote.wire-log.sample-rate", "1"));
+        } catch (NumberFormatException e) {
+            sampleRate = 1;
+        }
+        String[] redact = System.getProperty("remote.wire-log.redact", "Authorization,Proxy-Authorization,Cookie,Set-Cookie").split(",");
+        return new RemoteWireLogPolicy(target, maxBody, redact, sampleRate);
+    }
+
+    /**
+     * 是否记录请求行、响应状态行
+     */
+    public boolean line(RemoteResContext res) {
+        return enabled(WireLog.Level.LINE, res);
+    }
+
+    /**
+     * 是否记录请求头、响应头
+     */
+    public boolean headers(RemoteResContext res) {
+        return enabled(WireLog.Level.HEADERS, res);
+    }
+
+    /**
+     * 是否记录请求体、响应体
+     */
+    public boolean body(RemoteResContext res) {
+        return enabled(WireLog.Level.FULL, res);
+    }
+
+    /**
+     * 请求头、响应头的快照，输出时脱敏
+     */
+    public Object headers(Map<String, String> headers) {
+        if (Objects.isNull(headers))
+            return Collections.emptyMap();
+        return new Headers(new LinkedHashMap<>(headers), this.redact);
+    }
+
+    /**
+     * 请求体、响应体的原始文本，输出时截断；日志在后台线程格式化，只接受不可变的文本
+     */
+    public Object body(String body) {
+        return new Body(body, this.maxBody);
+    }
+
+    private boolean enabled(WireLog.Level required, RemoteResContext res) {
+        if (this.level.compareTo(required) < 0)
+            return false;
+        if (this.sampleRate >= 1)
+            return true;
+        if (this.sampleRate <= 0)
+            return false;
+
+        // 采样结果记录在响应上下文中，同一次调用的各条日志保持一致
+        Boolean sampled = res.property(SAMPLED_KEY);
+        if (Objects.isNull(sampled)) {
+            sampled = ThreadLocalRandom.current().nextDouble() < this.sampleRate;
+            res.property(SAMPLED_KEY, sampled);
+        }
+        return sampled;
+    }
+
+    private static final class Headers {
+        private final Map<String, String> headers;
+        private final Set<String> redact;
+
+        private Headers(Map<String, String> headers, Set<String> redact) {
+            this.headers = headers;
+            this.redact = redact;
+        }
+
+        @Override
+        public String toString() {
+            if (this.redact.isEmpty())
+                return this.headers.toString();
+
+            StringBuilder builder = new StringBuilder("{");
+            boolean first = true;
+            for (Map.Entry<String, String> entry : this.headers.entrySet()) {
+                if (!first)
+                    builder.append(", ");
+                first = false;
+                builder.append(entry.getKey()).append('=').append(this.redact.contains(entry.getKey()) ? REDACTED : entry.getValue());
+            }
+            return builder.append('}').toString();
+        }
+    }
+
+    private static final class Body {
+        private final String body;
+        private final int maxBody;
+
+        private Body(String body, int maxBody) {
+            this.body = body;
+            this.maxBody = maxBody;
+        }
+
+        @Override
+        public String toString() {
+            String text = String.valueOf(this.body);
+            if (this.maxBody < 0 || text.length() <= this.maxBody)
+                return text;
+            return text.substring(0, this.maxBody) + "...(" + text.length() + " chars)";
+        }
+    }
+}
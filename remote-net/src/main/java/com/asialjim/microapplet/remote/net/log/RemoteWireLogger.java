@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.log;
+
+import com.asialjim.microapplet.remote.thread.NamedThreadFactory;
+import com.asialjim.microapplet.remote.trace.RemoteTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 报文日志输出
+ * <p>
+ * 日志在独立的日志线程上格式化并输出，请求线程只负责提交；
+ * 输出时恢复提交时的请求标识；队列已满时丢弃日志，不阻塞请求线程
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class RemoteWireLogger {
+    private static final Logger log = LoggerFactory.getLogger(RemoteWireLogger.class);
+    private static final ThreadFactory REMOTE_WIRE_LOG_FACTORY = new NamedThreadFactory("RWLG");
+    private static final int QUEUE_SIZE = Integer.getInteger("remote.wire-log.queue-size", 8192);
+    private static final LongAdder DROPPED = new LongAdder();
+    private static volatile ExecutorService executor;
+
+    private RemoteWireLogger() {
+    }
+
+    /**
+     * 提交一条 INFO 级别日志，参数在日志线程上格式化，调用方须传入不再变化的参数或其快照
+     */
+    public static void info(Logger logger, String format, Object... args) {
+        if (!logger.isInfoEnabled())
+            return;
+
+        String requestId = MDC.get(RemoteTrace.MDC_KEY);
+        try {
+            executor().execute(() -> {
+                String previous = MDC.get(RemoteTrace.MDC_KEY);
+                try {
+                    if (Objects.nonNull(requestId))
+                        MDC.put(RemoteTrace.MDC_KEY, requestId);
+                    logger.info(format, args);
+                } catch (Throwable t) {
+                    log.warn("报文日志输出异常：{}", t.toString());
+                } finally {
+                    RemoteTrace.detach(previous);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            DROPPED.increment();
+        }
+    }
+
+    /**
+     * 因队列已满而丢弃的日志条数
+     */
+    public static long dropped() {
+        return DROPPED.sum();
+    }
+
+    private static ExecutorService executor() {
+        ExecutorService current = executor;
+        if (Objects.nonNull(current))
+            return current;
+
+        synchronized (RemoteWireLogger.class) {
+            if (Objects.nonNull(executor))
+                return executor;
+
+            executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE), r -> {
+                Thread thread = REMOTE_WIRE_LOG_FACTORY.newThread(r);
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+            return executor;
+        }
+    }
+}
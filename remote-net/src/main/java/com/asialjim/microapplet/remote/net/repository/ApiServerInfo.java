@@ -61,6 +61,17 @@ public class ApiServerInfo implements Serializable {
      */
     private Integer port;
 
+    /**
+     * 服务节点组，多个节点以 ',' 分隔，每项格式：主机名[:端口][;weight=权重]，未指定端口时使用 {@link #port}；
+     * 不为空时忽略主机名。为空而主机名中包含 ',' 时，主机名按节点组解析，无需变更已有的表结构
+     */
+    private String endpoints;
+
+    /**
+     * 服务节点组的主动健康检查方式：tcp、以 '/' 开头的 HTTP 路径或 none；为空时使用 remote.health.check 配置
+     */
+    private String healthCheck;
+
     /**
      * 代理主机名
      */
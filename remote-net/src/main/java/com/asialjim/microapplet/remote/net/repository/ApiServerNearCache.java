@@ -0,0 +1,228 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.repository;
+
+import com.asialjim.microapplet.remote.thread.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * API 服务器信息进程内缓存
+ * <p>
+ * 位于全部 {@link ApiServerRepository} 之前：命中时仅为一次 Map 查找；
+ * 超过刷新点（TTL 的一定比例）后仍返回当前值，并在后台线程提前刷新；
+ * 未查询到的结果按较短的 TTL 缓存；同一键同时只有一个线程访问仓库，其余线程等待其结果；
+ * 仓库查询异常时继续使用已过期的值。
+ * <p>
+ * 每次清除推进缓存版本，清除前开始的加载在完成时发现版本变化，其结果不再写入缓存。
+ * <p>
+ * 配置：remote.server-cache.ttl（毫秒，默认 30000，小于等于 0 时关闭）、remote.server-cache.negative-ttl（毫秒，默认 5000）、
+ * remote.server-cache.refresh-ahead（刷新点占 TTL 比例，默认 0.8）、remote.server-cache.max-size（默认 1024）
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+final class ApiServerNearCache {
+    private static final Logger log = LoggerFactory.getLogger(ApiServerNearCache.class);
+    private static final ThreadFactory REMOTE_SERVER_CACHE_FACTORY = new NamedThreadFactory("RSCR");
+
+    private final long ttl;
+    private final long negativeTtl;
+    private final int maxSize;
+    private final double refreshAhead;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<ApiServerInfo>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile ExecutorService executor;
+
+    ApiServerNearCache() {
+        this(Long.getLong("remote.server-cache.ttl", 30000L), Long.getLong("remote.server-cache.negative-ttl", 5000L),
+                Integer.getInteger("remote.server-cache.max-size", 1024), refreshAhead());
+    }
+
+    ApiServerNearCache(long ttl, long negativeTtl, int maxSize, double refreshAhead) {
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.maxSize = maxSize;
+        this.refreshAhead = refreshAhead;
+    }
+
+    static String key(String supplier, String namespace, String env) {
+        return supplier + ":" + namespace + ":" + env;
+    }
+
+    ApiServerInfo get(String key, Supplier<ApiServerInfo> loader) {
+        if (this.ttl <= 0)
+            return loader.get();
+
+        long now = System.currentTimeMillis();
+        Entry entry = this.cache.get(key);
+        if (Objects.nonNull(entry) && now < entry.expiresAt) {
+            if (now >= entry.refreshAt && entry.refreshing.compareAndSet(false, true))
+                refresh(key, loader, entry);
+            return entry.value;
+        }
+
+        return load(key, loader, entry);
+    }
+
+    void invalidate(String key) {
+        // 先推进版本再清除：进行中的加载无论在清除前后完成，其结果都不会留在缓存中
+        this.generation.incrementAndGet();
+        this.loading.remove(key);
+        this.cache.remove(key);
+    }
+
+    void invalidateAll() {
+        this.generation.incrementAndGet();
+        this.loading.clear();
+        this.cache.clear();
+    }
+
+    /**
+     * 单飞加载：首个线程访问仓库，其余线程等待同一结果
+     */
+    private ApiServerInfo load(String key, Supplier<ApiServerInfo> loader, Entry stale) {
+        CompletableFuture<ApiServerInfo> mine = new CompletableFuture<>();
+        CompletableFuture<ApiServerInfo> current = this.loading.putIfAbsent(key, mine);
+        if (Objects.nonNull(current))
+            return await(current, stale);
+
+        long generation = this.generation.get();
+        try {
+            ApiServerInfo value = loader.get();
+            put(key, value, generation);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            if (Objects.isNull(stale))
+                throw e;
+            log.warn("查询 API 服务器信息：{} 异常：{}，继续使用已过期的缓存", key, e.toString());
+            return stale.value;
+        } finally {
+            this.loading.remove(key, mine);
+        }
+    }
+
+    private ApiServerInfo await(CompletableFuture<ApiServerInfo> current, Entry stale) {
+        try {
+            return current.join();
+        } catch (CompletionException e) {
+            if (Objects.nonNull(stale))
+                return stale.value;
+            Throwable cause = Objects.isNull(e.getCause()) ? e : e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private void refresh(String key, Supplier<ApiServerInfo> loader, Entry entry) {
+        try {
+            executor().execute(() -> {
+                try {
+                    load(key, loader, entry);
+                } catch (Throwable t) {
+                    log.warn("刷新 API 服务器信息：{} 异常：{}", key, t.toString());
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    /**
+     * 写入加载结果；加载期间缓存被清除时撤回本次写入
+     */
+    private void put(String key, ApiServerInfo value, long generation) {
+        if (this.cache.size() >= this.maxSize && !this.cache.containsKey(key))
+            evict();
+
+        long now = System.currentTimeMillis();
+        long ttl = Objects.isNull(value) ? this.negativeTtl : this.ttl;
+        Entry entry = new Entry(value, now + ttl, now + (long) (ttl * this.refreshAhead));
+        this.cache.put(key, entry);
+        if (this.generation.get() != generation)
+            this.cache.remove(key, entry);
+    }
+
+    /**
+     * 先清理已过期的条目，仍然已满时随机淘汰一个
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        this.cache.values().removeIf(item -> now >= item.expiresAt);
+        Iterator<String> iterator = this.cache.keySet().iterator();
+        if (this.cache.size() >= this.maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private ExecutorService executor() {
+        ExecutorService current = this.executor;
+        if (Objects.nonNull(current))
+            return current;
+
+        synchronized (this) {
+            if (Objects.nonNull(this.executor))
+                return this.executor;
+
+            this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(this.maxSize), r -> {
+                Thread thread = REMOTE_SERVER_CACHE_FACTORY.newThread(r);
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+            return this.executor;
+        }
+    }
+
+    private static double refreshAhead() {
+        try {
+            double ratio = Double.parseDouble(System.getProperty("remote.server-cache.refresh-ahead", "0.8"));
+            return ratio > 0 && ratio <= 1 ? ratio : 0.8;
+        } catch (NumberFormatException e) {
+            return 0.8;
+        }
+    }
+
+    private static final class Entry {
+        private final ApiServerInfo value;
+        private final long expiresAt;
+        private final long refreshAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(ApiServerInfo value, long expiresAt, long refreshAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+    }
+}
@@ -51,4 +51,15 @@ public interface ApiServerRepository extends CallBack {
      * @since 2023/3/17
      */
     void addTimeoutOnce(String supplierId, String namespaceId, String env);
+
+    /**
+     * 服务器信息变更后通知本地缓存失效
+     *
+     * @param supplierId  {@link String 供应商}
+     * @param namespaceId {@link String 业务空间}
+     * @param env         {@link String 网络环境}
+     */
+    default void invalidate(String supplierId, String namespaceId, String env) {
+        ApiServerRepositoryHolder.invalidate(supplierId, namespaceId, env);
+    }
 }
\ No newline at end of file
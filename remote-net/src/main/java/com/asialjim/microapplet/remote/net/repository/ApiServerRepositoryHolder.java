@@ -20,13 +20,14 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 public final class ApiServerRepositoryHolder {
     private static final Logger log = LoggerFactory.getLogger(ApiServerRepositoryHolder.class);
-    private static final Set<ApiServerRepository> HOLDER = new HashSet<>();
+    private static final Set<ApiServerRepository> HOLDER = new CopyOnWriteArraySet<>();
+    private static final ApiServerNearCache CACHE = new ApiServerNearCache();
 
     /**
      * 添加网络通讯接口服务器配置信息长裤
@@ -36,7 +37,8 @@ public final class ApiServerRepositoryHolder {
     public static void add(ApiServerRepository repository){
         if (Objects.isNull(repository))
             return;
-        HOLDER.add(repository);
+        if (HOLDER.add(repository))
+            CACHE.invalidateAll();
     }
 
     /**
@@ -48,6 +50,10 @@ public final class ApiServerRepositoryHolder {
      * @since 2022/12/10
      */
     public static ApiServerInfo get(String supplier, String namespace, String env){
+        return CACHE.get(ApiServerNearCache.key(supplier, namespace, env), () -> query(supplier, namespace, env));
+    }
+
+    private static ApiServerInfo query(String supplier, String namespace, String env) {
         ApiServerInfo info = null;
         for (ApiServerRepository repository : HOLDER) {
             info = repository.queryNetServerInfoBySupplierAndNamespaceAndEnv(supplier, namespace, env);
@@ -59,6 +65,23 @@ public final class ApiServerRepositoryHolder {
         return info;
     }
 
+    /**
+     * 服务器信息变更（如环境被锁定）后清除本地缓存，下次查询直接访问仓库
+     * @param supplier {@link String 供应商编号}
+     * @param namespace {@link String 业务编号}
+     * @param env {@link String 环境编号}
+     */
+    public static void invalidate(String supplier, String namespace, String env) {
+        CACHE.invalidate(ApiServerNearCache.key(supplier, namespace, env));
+    }
+
+    /**
+     * 清除全部本地缓存的服务器信息
+     */
+    public static void invalidateAll() {
+        CACHE.invalidateAll();
+    }
+
     /**
      * 判断网络通讯接口服务器信息仓库
      */
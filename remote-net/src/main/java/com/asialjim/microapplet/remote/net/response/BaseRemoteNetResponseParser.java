@@ -18,6 +18,7 @@ package com.asialjim.microapplet.remote.net.response;
 
 import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
 import com.asialjim.microapplet.remote.context.RemoteResContext;
+import com.asialjim.microapplet.remote.jfr.RemoteFlightRecorder;
 import com.asialjim.microapplet.remote.net.mime.MimeMenu;
 import org.apache.commons.lang3.StringUtils;
 
@@ -58,7 +59,12 @@ public abstract class BaseRemoteNetResponseParser implements RemoteNetResponsePa
                 return;
             boolean candidate = support(mediaType, support);
             if (candidate){
-                doParse(mediaType,methodConfig,resContext);
+                Object event = RemoteFlightRecorder.beginPhase();
+                try {
+                    doParse(mediaType,methodConfig,resContext);
+                } finally {
+                    RemoteFlightRecorder.endPhase(event, methodConfig, "parse");
+                }
                 return;
             }
         }
@@ -19,6 +19,8 @@ package com.asialjim.microapplet.remote.net.response.parse;
 import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
 import com.asialjim.microapplet.remote.context.RemoteResContext;
 import com.asialjim.microapplet.remote.net.jackson.AbstractJacksonUtil;
+import com.asialjim.microapplet.remote.net.log.RemoteWireLogPolicy;
+import com.asialjim.microapplet.remote.net.log.RemoteWireLogger;
 import com.asialjim.microapplet.remote.net.mime.MimeMenu;
 import com.asialjim.microapplet.remote.net.response.BaseRemoteNetResponseParser;
 import com.asialjim.microapplet.remote.net.response.RemoteNetResponseParser;
@@ -43,7 +45,10 @@ public final class ApplicationJsonRemoteNetResponseParser extends BaseRemoteNetR
         Class<?> returnClass = methodConfig.getReturnClass();
 
         Object res = AbstractJacksonUtil.json2Object(json, returnClass);
-        log.info("Remote NET Res Data <<< Client:{} <<< {}", methodConfig.getRemoteName(),res);
+        // 解析结果可能随后被调用方或缓存共享方修改，日志记录原始报文
+        RemoteWireLogPolicy wireLog = RemoteWireLogPolicy.of(methodConfig);
+        if (wireLog.body(resContext))
+            RemoteWireLogger.info(log, "Remote NET Res Data <<< Client:{} <<< {}", methodConfig.getRemoteName(), wireLog.body(json));
         resContext.setData(res);
         resContext.property(RemoteNetResponseParser.parsed,true);
     }
@@ -19,6 +19,8 @@ package com.asialjim.microapplet.remote.net.response.parse;
 import com.asialjim.microapplet.remote.context.GenericKey;
 import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
 import com.asialjim.microapplet.remote.context.RemoteResContext;
+import com.asialjim.microapplet.remote.net.log.RemoteWireLogPolicy;
+import com.asialjim.microapplet.remote.net.log.RemoteWireLogger;
 import com.asialjim.microapplet.remote.net.mime.MimeMenu;
 import com.asialjim.microapplet.remote.net.response.BaseRemoteNetResponseParser;
 import org.apache.commons.io.IOUtils;
@@ -62,7 +64,9 @@ public abstract class TextPlainRemoteNetResponseParser extends BaseRemoteNetResp
         Charset charset = charset(resContext);
         byte[] bytes = responseContent(resContext);
         String responseString = new String(bytes, charset);
-        log.info("Remote NET Res Body <<< Client:{} <<< {}", methodConfig.getRemoteName(), responseString);
+        RemoteWireLogPolicy wireLog = RemoteWireLogPolicy.of(methodConfig);
+        if (wireLog.body(resContext))
+            RemoteWireLogger.info(log, "Remote NET Res Body <<< Client:{} <<< {}", methodConfig.getRemoteName(), wireLog.body(responseString));
         resContext.property(TEXT_RES, responseString);
         resContext.setTempData(responseString);
     }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.annotation;
+
+import com.asialjim.microapplet.remote.context.RemoteContextPool;
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.context.RemoteReqContext;
+import com.asialjim.microapplet.remote.context.RemoteResContext;
+import com.asialjim.microapplet.remote.net.constant.RemoteConstant;
+import com.asialjim.microapplet.remote.net.exception.RemoteRejectedException;
+import com.asialjim.microapplet.remote.net.limit.RemoteConcurrencyLimiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class BulkheadTest {
+    private static int endpoints;
+
+    private final Bulkhead.BulkheadLifeCycle lifeCycle = new Bulkhead.BulkheadLifeCycle();
+
+    @Bulkhead(initialLimit = 1, minLimit = 1, maxLimit = 1, maxWait = 5000)
+    interface BulkheadInterface {
+        String sync();
+
+        CompletableFuture<String> async();
+    }
+
+    @Test
+    public void syncWaitsForPermit() throws Exception {
+        RemoteMethodConfig methodConfig = methodConfig("sync");
+        String endpoint = "bulkhead-test-" + endpoints++;
+        RemoteReqContext holder = req(endpoint);
+        lifeCycle.before(null, methodConfig, holder, null, null);
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lifeCycle.finallyFun(null, methodConfig, holder, null, null);
+        });
+        releaser.start();
+
+        // 同步调用在调用线程上排队等待许可
+        RemoteReqContext waiter = req(endpoint);
+        long start = System.nanoTime();
+        lifeCycle.before(null, methodConfig, waiter, null, null);
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        releaser.join();
+
+        Assert.assertNotNull(waiter.get(Bulkhead.BULKHEAD_PERMIT_KEY));
+        Assert.assertTrue(waited >= 40);
+        lifeCycle.finallyFun(null, methodConfig, waiter, null, null);
+    }
+
+    @Test(expected = RemoteRejectedException.class)
+    public void syncWaitBoundedByTimeout() throws Exception {
+        RemoteMethodConfig methodConfig = methodConfig("sync");
+        String endpoint = "bulkhead-test-" + endpoints++;
+        lifeCycle.before(null, methodConfig, req(endpoint), null, null);
+
+        // 等待时间不超过调用超时时间
+        RemoteReqContext waiter = req(endpoint);
+        waiter.put(RemoteConstant.TIMEOUT, 30);
+        lifeCycle.before(null, methodConfig, waiter, null, null);
+    }
+
+    @Test
+    public void asyncRejectsImmediately() throws Exception {
+        RemoteMethodConfig methodConfig = methodConfig("async");
+        String endpoint = "bulkhead-test-" + endpoints++;
+        lifeCycle.before(null, methodConfig, req(endpoint), null, null);
+
+        long start = System.nanoTime();
+        try {
+            lifeCycle.before(null, methodConfig, req(endpoint), null, null);
+            Assert.fail("超出并发上限的异步调用应被拒绝");
+        } catch (RemoteRejectedException expected) {
+            // 异步调用不阻塞调用线程
+            Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        }
+    }
+
+    @Test
+    public void timeoutShrinksLimitAndReleases() throws Exception {
+        RemoteMethodConfig methodConfig = methodConfig("sync");
+        String endpoint = "bulkhead-test-" + endpoints++;
+        RemoteConcurrencyLimiter limiter = RemoteConcurrencyLimiter.of(endpoint + ":null:null", 10, 1, 10);
+
+        RemoteReqContext req = req(endpoint);
+        RemoteResContext res = RemoteContextPool.res();
+        lifeCycle.before(null, methodConfig, req, res, null);
+        Assert.assertEquals(1, limiter.inflight());
+
+        res.setCause(new TimeoutException());
+        lifeCycle.after(null, methodConfig, req, res, null);
+        lifeCycle.finallyFun(null, methodConfig, req, res, null);
+
+        Assert.assertEquals(9, limiter.limit());
+        Assert.assertEquals(0, limiter.inflight());
+    }
+
+    private RemoteMethodConfig methodConfig(String method) throws NoSuchMethodException {
+        RemoteMethodConfig methodConfig = RemoteMethodConfig.create(BulkheadInterface.class, BulkheadInterface.class.getMethod(method));
+        lifeCycle.doInit(methodConfig, null, BulkheadInterface.class.getAnnotation(Bulkhead.class));
+        return methodConfig;
+    }
+
+    private static RemoteReqContext req(String supplier) {
+        RemoteReqContext req = RemoteContextPool.req();
+        req.put(RemoteConstant.SUPPLIER, supplier);
+        return req;
+    }
+}
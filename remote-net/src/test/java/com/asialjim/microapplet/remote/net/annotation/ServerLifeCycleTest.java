@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.annotation;
+
+import com.asialjim.microapplet.remote.annotation.Retryable;
+import com.asialjim.microapplet.remote.lifecycle.callback.RetryWhen;
+import com.asialjim.microapplet.remote.lifecycle.callback.SuccessWhen;
+import com.asialjim.microapplet.remote.net.balance.RemoteEndpoint;
+import com.asialjim.microapplet.remote.net.balance.RemoteEndpointGroup;
+import com.asialjim.microapplet.remote.net.balance.RemoteLoadBalancer;
+import com.asialjim.microapplet.remote.proxy.RemoteProxy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ServerLifeCycleTest {
+    private static final String ENDPOINT = "10.255.0.1:18080";
+
+    @Server(schema = "http", endpoints = ENDPOINT, balancer = RemoteLoadBalancer.LEAST_OUTSTANDING)
+    @Retryable(maxAttempts = 3, backoff = Retryable.Backoff.NONE)
+    interface EndpointInterface {
+        void call(SuccessWhen successWhen, RetryWhen retryWhen);
+    }
+
+    EndpointInterface endpointInterface;
+
+    @Before
+    public void before() {
+        endpointInterface = RemoteProxy.create(EndpointInterface.class);
+    }
+
+    @Test
+    public void releaseLeaseOnRetry() {
+        RemoteEndpoint endpoint = RemoteEndpointGroup.of(RemoteLoadBalancer.LEAST_OUTSTANDING, ENDPOINT, 0).get(0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        endpointInterface.call((data, methodConfig, req, res, args) -> {
+            attempts.incrementAndGet();
+            // 每次执行只占用本次选定节点的一个进行中计数
+            Assert.assertEquals(1, endpoint.outstanding());
+            return false;
+        }, (data, methodConfig, req, res, args) -> true);
+
+        Assert.assertEquals(3, attempts.get());
+        Assert.assertEquals(0, endpoint.outstanding());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.breaker;
+
+import com.asialjim.microapplet.remote.net.annotation.CircuitBreaker;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class RemoteCircuitBreakerTest {
+
+    interface BreakerInterface {
+        @CircuitBreaker(windowSize = 10, minimumCalls = 4, waitInOpen = 100, permittedInHalfOpen = 2)
+        void failure();
+
+        @CircuitBreaker(minimumCalls = 2, slowCallDuration = 1, slowCallRateThreshold = 50, waitInOpen = 100000)
+        void slow();
+
+        @CircuitBreaker(minimumCalls = 1)
+        void conflict();
+    }
+
+    private static CircuitBreaker config(String method) {
+        try {
+            return BreakerInterface.class.getDeclaredMethod(method).getAnnotation(CircuitBreaker.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static RemoteCircuitBreaker open(String node) {
+        RemoteCircuitBreaker breaker = RemoteCircuitBreaker.of(node, config("failure"));
+        for (int i = 0; i < 4; i++) {
+            RemoteCircuitBreaker.Call call = breaker.tryAcquire();
+            if (i % 2 == 0) call.success();
+            else call.failure();
+        }
+        Assert.assertEquals("OPEN", breaker.state());
+        return breaker;
+    }
+
+    @Test
+    public void opensWhenFailureRateReached() {
+        RemoteCircuitBreaker breaker = RemoteCircuitBreaker.of("http://breaker-test:1", config("failure"));
+        breaker.tryAcquire().success();
+        breaker.tryAcquire().success();
+        breaker.tryAcquire().failure();
+
+        // 调用数未达到下限
+        Assert.assertEquals("CLOSED", breaker.state());
+
+        breaker.tryAcquire().failure();
+        Assert.assertEquals("OPEN", breaker.state());
+        Assert.assertNull(breaker.tryAcquire());
+    }
+
+    @Test
+    public void closesAfterSuccessfulProbes() throws InterruptedException {
+        RemoteCircuitBreaker breaker = open("http://breaker-test:2");
+        TimeUnit.MILLISECONDS.sleep(150);
+
+        RemoteCircuitBreaker.Call first = breaker.tryAcquire();
+        RemoteCircuitBreaker.Call second = breaker.tryAcquire();
+        Assert.assertEquals("HALF_OPEN", breaker.state());
+        Assert.assertNotNull(first);
+        Assert.assertNotNull(second);
+        // 探测名额已用完
+        Assert.assertNull(breaker.tryAcquire());
+
+        first.success();
+        Assert.assertEquals("HALF_OPEN", breaker.state());
+        second.success();
+        Assert.assertEquals("CLOSED", breaker.state());
+        Assert.assertNotNull(breaker.tryAcquire());
+    }
+
+    @Test
+    public void reopensAfterFailedProbes() throws InterruptedException {
+        RemoteCircuitBreaker breaker = open("http://breaker-test:3");
+        TimeUnit.MILLISECONDS.sleep(150);
+
+        RemoteCircuitBreaker.Call first = breaker.tryAcquire();
+        RemoteCircuitBreaker.Call second = breaker.tryAcquire();
+        first.success();
+        second.failure();
+        Assert.assertEquals("OPEN", breaker.state());
+        Assert.assertNull(breaker.tryAcquire());
+    }
+
+    @Test
+    public void ignoredProbeReturnsPermit() throws InterruptedException {
+        RemoteCircuitBreaker breaker = open("http://breaker-test:4");
+        TimeUnit.MILLISECONDS.sleep(150);
+
+        RemoteCircuitBreaker.Call first = breaker.tryAcquire();
+        RemoteCircuitBreaker.Call second = breaker.tryAcquire();
+        Assert.assertNull(breaker.tryAcquire());
+
+        second.ignore();
+        // 同一凭证只记录一次结果
+        second.failure();
+        RemoteCircuitBreaker.Call third = breaker.tryAcquire();
+        Assert.assertNotNull(third);
+
+        first.success();
+        third.success();
+        Assert.assertEquals("CLOSED", breaker.state());
+    }
+
+    @Test
+    public void opensWhenSlowCallRateReached() throws InterruptedException {
+        RemoteCircuitBreaker breaker = RemoteCircuitBreaker.of("http://breaker-test:5", config("slow"));
+        for (int i = 0; i < 2; i++) {
+            RemoteCircuitBreaker.Call call = breaker.tryAcquire();
+            TimeUnit.MILLISECONDS.sleep(5);
+            call.success();
+        }
+        Assert.assertEquals("OPEN", breaker.state());
+    }
+
+    @Test
+    public void firstConfigurationWins() {
+        RemoteCircuitBreaker breaker = RemoteCircuitBreaker.of("http://breaker-test:6", config("failure"));
+        Assert.assertSame(breaker, RemoteCircuitBreaker.of("http://breaker-test:6", config("conflict")));
+
+        // 沿用首次创建时的调用数下限
+        breaker.tryAcquire().failure();
+        Assert.assertEquals("CLOSED", breaker.state());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.breaker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class SlidingWindowTest {
+
+    @Test
+    public void countWindowEvictsOldest() {
+        SlidingWindow window = new CountSlidingWindow(3);
+        window.record(SlidingWindow.FAILURE);
+        window.record(SlidingWindow.SUCCESS);
+        window.record(SlidingWindow.SUCCESS | SlidingWindow.SLOW);
+
+        SlidingWindow.Snapshot snapshot = window.snapshot();
+        Assert.assertEquals(3, snapshot.calls);
+        Assert.assertEquals(1, snapshot.failures);
+        Assert.assertEquals(1, snapshot.slows);
+
+        // 第四次调用替换最早的失败结果
+        window.record(SlidingWindow.SUCCESS);
+        snapshot = window.snapshot();
+        Assert.assertEquals(3, snapshot.calls);
+        Assert.assertEquals(0, snapshot.failures);
+        Assert.assertEquals(1, snapshot.slows);
+        Assert.assertEquals(0, snapshot.failureRate(), 0);
+        Assert.assertEquals(100f / 3, snapshot.slowRate(), 0.01);
+    }
+
+    @Test
+    public void emptyWindowHasNoRate() {
+        SlidingWindow.Snapshot snapshot = new CountSlidingWindow(10).snapshot();
+        Assert.assertEquals(0, snapshot.calls);
+        Assert.assertEquals(0, snapshot.failureRate(), 0);
+        Assert.assertEquals(0, snapshot.slowRate(), 0);
+    }
+
+    @Test
+    public void timeWindowCountsCurrentSecond() {
+        SlidingWindow window = new TimeSlidingWindow(10);
+        window.record(SlidingWindow.FAILURE);
+        window.record(SlidingWindow.FAILURE | SlidingWindow.SLOW);
+        window.record(SlidingWindow.SUCCESS);
+
+        SlidingWindow.Snapshot snapshot = window.snapshot();
+        Assert.assertEquals(3, snapshot.calls);
+        Assert.assertEquals(2, snapshot.failures);
+        Assert.assertEquals(1, snapshot.slows);
+    }
+
+    @Test
+    public void timeWindowExpiresBuckets() throws InterruptedException {
+        SlidingWindow window = new TimeSlidingWindow(1);
+        window.record(SlidingWindow.FAILURE);
+        Assert.assertEquals(1, window.snapshot().calls);
+
+        // 一秒的窗口只统计当前秒的调用
+        TimeUnit.MILLISECONDS.sleep(1100);
+        Assert.assertEquals(0, window.snapshot().calls);
+
+        window.record(SlidingWindow.SUCCESS);
+        SlidingWindow.Snapshot snapshot = window.snapshot();
+        Assert.assertEquals(1, snapshot.calls);
+        Assert.assertEquals(0, snapshot.failures);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.coalesce;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RemoteSingleFlightTest {
+
+    private static final class Response {
+        private final String body;
+
+        private Response(String body) {
+            this.body = body;
+        }
+
+        private Response copy() {
+            return new Response(this.body);
+        }
+    }
+
+    @Test
+    public void concurrentRequestsShareOneSend() throws Exception {
+        Object key = "single-flight-test:share";
+        int callers = 8;
+        AtomicInteger sends = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+        List<CompletableFuture<Response>> futures = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Response>> leaders = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(callers);
+        for (int i = 0; i < callers; i++) {
+            new Thread(() -> {
+                CompletableFuture<Response> future = new CompletableFuture<>();
+                futures.add(future);
+                try {
+                    start.await();
+                    if (RemoteSingleFlight.join(key, future, Response::copy, response -> released.incrementAndGet(), sends::incrementAndGet)) {
+                        sends.incrementAndGet();
+                        leaders.add(future);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    joined.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        Assert.assertTrue(joined.await(5, TimeUnit.SECONDS));
+
+        Assert.assertEquals(1, leaders.size());
+        Assert.assertEquals(1, sends.get());
+
+        Response response = new Response("body");
+        leaders.get(0).complete(response);
+
+        // 每个请求获得各自的响应实例，内容相同
+        Set<Response> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CompletableFuture<Response> future : futures) {
+            Response received = future.get(1, TimeUnit.SECONDS);
+            Assert.assertEquals("body", received.body);
+            distinct.add(received);
+        }
+        Assert.assertEquals(callers, distinct.size());
+        Assert.assertTrue(distinct.contains(response));
+        Assert.assertEquals(0, released.get());
+    }
+
+    @Test
+    public void completedFlightStartsNewSend() {
+        Object key = "single-flight-test:sequential";
+        CompletableFuture<Response> first = new CompletableFuture<>();
+        Assert.assertTrue(RemoteSingleFlight.join(key, first, Response::copy, response -> {}, () -> {}));
+        first.complete(new Response("first"));
+
+        CompletableFuture<Response> second = new CompletableFuture<>();
+        Assert.assertTrue(RemoteSingleFlight.join(key, second, Response::copy, response -> {}, () -> {}));
+        second.complete(new Response("second"));
+    }
+
+    @Test
+    public void failureSharedWithFollowers() throws InterruptedException {
+        Object key = "single-flight-test:failure";
+        CompletableFuture<Response> leader = new CompletableFuture<>();
+        CompletableFuture<Response> follower = new CompletableFuture<>();
+        Assert.assertTrue(RemoteSingleFlight.join(key, leader, Response::copy, response -> {}, () -> {}));
+        Assert.assertFalse(RemoteSingleFlight.join(key, follower, Response::copy, response -> {}, () -> {}));
+
+        IllegalStateException cause = new IllegalStateException("boom");
+        leader.completeExceptionally(cause);
+        try {
+            follower.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertSame(cause, e.getCause());
+        }
+    }
+
+    @Test
+    public void cancelledLeaderLetsFollowersSend() {
+        Object key = "single-flight-test:cancel";
+        AtomicInteger sends = new AtomicInteger();
+        CompletableFuture<Response> leader = new CompletableFuture<>();
+        CompletableFuture<Response> follower = new CompletableFuture<>();
+        Assert.assertTrue(RemoteSingleFlight.join(key, leader, Response::copy, response -> {}, sends::incrementAndGet));
+        Assert.assertFalse(RemoteSingleFlight.join(key, follower, Response::copy, response -> {}, sends::incrementAndGet));
+
+        leader.cancel(false);
+        Assert.assertEquals(1, sends.get());
+        Assert.assertFalse(follower.isDone());
+    }
+
+    @Test
+    public void finishedFollowerGetsNoCopy() {
+        Object key = "single-flight-test:follower-done";
+        AtomicInteger copies = new AtomicInteger();
+        CompletableFuture<Response> leader = new CompletableFuture<>();
+        CompletableFuture<Response> follower = new CompletableFuture<>();
+        RemoteSingleFlight.join(key, leader, response -> {
+            copies.incrementAndGet();
+            return response.copy();
+        }, response -> {}, () -> {});
+        RemoteSingleFlight.join(key, follower, Response::copy, response -> {}, () -> {});
+
+        // 调用方已取消的挂载请求不再复制响应
+        follower.cancel(false);
+        leader.complete(new Response("body"));
+        Assert.assertEquals(0, copies.get());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.context;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+public class RemoteNetNodeKeyTest {
+
+    @Test
+    public void sameNodeInterned() {
+        RemoteNetNodeKey key = RemoteNetNodeKey.of("HTTP", "node-key-test", 8080, null, null, null);
+        Assert.assertSame(key, RemoteNetNodeKey.of("http", "node-key-test", 8080, null, null, null));
+        Assert.assertEquals("http://node-key-test:8080", key.toString());
+    }
+
+    @Test
+    public void blankProxyIgnored() {
+        RemoteNetNodeKey direct = RemoteNetNodeKey.of("http", "node-key-test:proxy", 80, null, null, null);
+        Assert.assertSame(direct, RemoteNetNodeKey.of("http", "node-key-test:proxy", 80, " ", 3128, null));
+        Assert.assertFalse(direct.proxyEnable());
+
+        RemoteNetNodeKey proxied = RemoteNetNodeKey.of("http", "node-key-test:proxy", 80, "proxy", 3128, null);
+        Assert.assertNotEquals(direct, proxied);
+        Assert.assertTrue(proxied.proxyEnable());
+        Assert.assertEquals("http://node-key-test:proxy:80 via proxy:3128", proxied.toString());
+    }
+
+    @Test
+    public void missingPortIsZero() {
+        Assert.assertSame(RemoteNetNodeKey.of("http", "node-key-test:port", null, null, null, null),
+                RemoteNetNodeKey.of("http", "node-key-test:port", 0, null, null, null));
+    }
+
+    @Test
+    public void sslKeysEqualByContextButNotInterned() throws Exception {
+        SSLContext ssl = SSLContext.getInstance("TLS");
+        RemoteNetNodeKey plain = RemoteNetNodeKey.of("https", "node-key-test:ssl", 443, null, null, null);
+        RemoteNetNodeKey first = plain.sslContext(ssl);
+        RemoteNetNodeKey second = plain.sslContext(ssl);
+
+        // 携带 SSL 上下文的标识不登记，按字段比较相等
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(first.hashCode(), second.hashCode());
+        Assert.assertNotEquals(plain, first);
+        Assert.assertSame(first, first.sslContext(ssl));
+
+        RemoteNetNodeKey other = plain.sslContext(SSLContext.getInstance("TLS"));
+        Assert.assertNotEquals(first, other);
+    }
+
+    @Test
+    public void matchesOnlyKeysWithoutSsl() throws Exception {
+        RemoteNetNodeKey plain = RemoteNetNodeKey.of("http", "node-key-test:matches", 80, null, null, null);
+        Assert.assertTrue(plain.matches("HTTP", "node-key-test:matches", 80, "", null));
+        Assert.assertFalse(plain.matches("http", "node-key-test:matches", 81, null, null));
+        Assert.assertFalse(plain.matches("http", "node-key-test:matches", 80, "proxy", 3128));
+        Assert.assertFalse(plain.sslContext(SSLContext.getInstance("TLS")).matches("http", "node-key-test:matches", 80, null, null));
+    }
+
+    @Test
+    public void deserializedKeyResolvesToInterned() throws Exception {
+        RemoteNetNodeKey key = RemoteNetNodeKey.of("http", "node-key-test:serial", 80, null, null, null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(key);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Assert.assertSame(key, in.readObject());
+        }
+    }
+}
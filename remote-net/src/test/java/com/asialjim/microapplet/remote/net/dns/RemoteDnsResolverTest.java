@@ -0,0 +1,219 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.dns;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RemoteDnsResolverTest {
+    private final FakeBackend fake = new FakeBackend();
+
+    /**
+     * 按主机名返回预设的地址或异常，未预设时保持解析中
+     */
+    private static final class FakeBackend implements RemoteDnsBackend {
+        private final Map<String, Object> answers = new ConcurrentHashMap<>();
+        private final Map<String, CompletableFuture<InetAddress[]>> pending = new ConcurrentHashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public CompletableFuture<InetAddress[]> resolve(String host) {
+            this.calls.incrementAndGet();
+            Object answer = this.answers.get(host);
+            CompletableFuture<InetAddress[]> future = new CompletableFuture<>();
+            if (answer instanceof Throwable)
+                future.completeExceptionally((Throwable) answer);
+            else if (Objects.nonNull(answer))
+                future.complete((InetAddress[]) answer);
+            else this.pending.put(host, future);
+            return future;
+        }
+    }
+
+    @Before
+    public void before() {
+        RemoteDnsResolver.backend(this.fake);
+    }
+
+    @After
+    public void after() {
+        RemoteDnsResolver.backend(new JdkDnsBackend());
+    }
+
+    @Test
+    public void literalSkipsBackend() throws UnknownHostException {
+        InetAddress[] addresses = RemoteDnsResolver.resolve("10.0.0.1");
+
+        Assert.assertEquals(1, addresses.length);
+        Assert.assertEquals("10.0.0.1", addresses[0].getHostAddress());
+        Assert.assertEquals(0, this.fake.calls.get());
+    }
+
+    @Test
+    public void firstResolutionIsCached() throws UnknownHostException {
+        InetAddress[] expected = addresses("cached.test", 1, 2);
+        this.fake.answers.put("cached.test", expected);
+
+        Assert.assertArrayEquals(expected, RemoteDnsResolver.resolve("cached.test"));
+        Assert.assertArrayEquals(expected, RemoteDnsResolver.resolve("cached.test"));
+        Assert.assertEquals(1, this.fake.calls.get());
+    }
+
+    @Test
+    public void concurrentFirstResolutionsShareOneLookup() {
+        CompletableFuture<InetAddress[]> first = RemoteDnsResolver.resolveAsync("shared.test");
+        CompletableFuture<InetAddress[]> second = RemoteDnsResolver.resolveAsync("shared.test");
+        Assert.assertEquals(1, this.fake.calls.get());
+        Assert.assertFalse(first.isDone());
+
+        InetAddress[] expected = addresses("shared.test", 1);
+        this.fake.pending.get("shared.test").complete(expected);
+        Assert.assertArrayEquals(expected, first.join());
+        Assert.assertArrayEquals(expected, second.join());
+    }
+
+    @Test
+    public void firstFailureIsNotCached() throws UnknownHostException {
+        this.fake.answers.put("missing.test", new UnknownHostException("missing.test"));
+        try {
+            RemoteDnsResolver.resolve("missing.test");
+            Assert.fail("首次解析失败应抛出 UnknownHostException");
+        } catch (UnknownHostException expected) {
+            // 首次解析失败没有可用地址
+        }
+
+        InetAddress[] expected = addresses("missing.test", 1);
+        this.fake.answers.put("missing.test", expected);
+        Assert.assertArrayEquals(expected, RemoteDnsResolver.resolve("missing.test"));
+        Assert.assertEquals(2, this.fake.calls.get());
+    }
+
+    @Test
+    public void refreshUpdatesAddressesAndNotifies() throws UnknownHostException {
+        InetAddress[] before = addresses("refresh.test", 1);
+        InetAddress[] after = addresses("refresh.test", 2, 3);
+        List<InetAddress[]> notified = listen("refresh.test");
+        this.fake.answers.put("refresh.test", before);
+        RemoteDnsResolver.resolve("refresh.test");
+        // 首次解析不通知
+        Assert.assertTrue(notified.isEmpty());
+
+        this.fake.answers.put("refresh.test", after);
+        RemoteDnsResolver.refresh();
+
+        Assert.assertArrayEquals(after, RemoteDnsResolver.resolve("refresh.test"));
+        Assert.assertEquals(1, notified.size());
+        Assert.assertArrayEquals(after, notified.get(0));
+        Assert.assertFalse(RemoteDnsResolver.current("refresh.test", before[0]));
+        Assert.assertTrue(RemoteDnsResolver.current("refresh.test", after[1]));
+    }
+
+    @Test
+    public void refreshWithSameAddressesDoesNotNotify() throws UnknownHostException {
+        InetAddress[] addresses = addresses("same.test", 1, 2);
+        List<InetAddress[]> notified = listen("same.test");
+        this.fake.answers.put("same.test", addresses);
+        RemoteDnsResolver.resolve("same.test");
+
+        // 地址集合相同、顺序不同视为未变化
+        this.fake.answers.put("same.test", new InetAddress[]{addresses[1], addresses[0]});
+        RemoteDnsResolver.refresh();
+
+        Assert.assertTrue(notified.isEmpty());
+        Assert.assertArrayEquals(addresses, RemoteDnsResolver.resolve("same.test"));
+    }
+
+    @Test
+    public void refreshFailureKeepsOldAddresses() throws UnknownHostException {
+        InetAddress[] addresses = addresses("keep.test", 1);
+        List<InetAddress[]> notified = listen("keep.test");
+        this.fake.answers.put("keep.test", addresses);
+        RemoteDnsResolver.resolve("keep.test");
+
+        this.fake.answers.put("keep.test", new UnknownHostException("keep.test"));
+        RemoteDnsResolver.refresh();
+        Assert.assertArrayEquals(addresses, RemoteDnsResolver.resolve("keep.test"));
+
+        // 解析结果为空同样继续使用原有地址
+        this.fake.answers.put("keep.test", new InetAddress[0]);
+        RemoteDnsResolver.refresh();
+        Assert.assertArrayEquals(addresses, RemoteDnsResolver.resolve("keep.test"));
+
+        Assert.assertTrue(notified.isEmpty());
+        Assert.assertTrue(RemoteDnsResolver.current("keep.test", addresses[0]));
+        Assert.assertEquals(3, this.fake.calls.get());
+    }
+
+    @Test
+    public void failingListenerDoesNotBlockOthers() throws UnknownHostException {
+        RemoteDnsResolver.addListener((host, addresses) -> {
+            if ("listener.test".equals(host))
+                throw new IllegalStateException("listener failed");
+        });
+        List<InetAddress[]> notified = listen("listener.test");
+        this.fake.answers.put("listener.test", addresses("listener.test", 1));
+        RemoteDnsResolver.resolve("listener.test");
+
+        this.fake.answers.put("listener.test", addresses("listener.test", 2));
+        RemoteDnsResolver.refresh();
+
+        Assert.assertEquals(1, notified.size());
+    }
+
+    @Test
+    public void rotateSpreadsAddresses() {
+        InetAddress[] addresses = addresses("rotate.test", 1, 2, 3);
+        Set<InetAddress> firsts = new HashSet<>();
+        for (int i = 0; i < addresses.length; i++) {
+            InetAddress[] rotated = RemoteDnsResolver.rotate(addresses);
+            Assert.assertEquals(new HashSet<>(Arrays.asList(addresses)), new HashSet<>(Arrays.asList(rotated)));
+            firsts.add(rotated[0]);
+        }
+
+        Assert.assertEquals(3, firsts.size());
+        Assert.assertEquals("10.0.0.1", addresses[0].getHostAddress());
+    }
+
+    private static List<InetAddress[]> listen(String host) {
+        List<InetAddress[]> notified = new CopyOnWriteArrayList<>();
+        RemoteDnsResolver.addListener((changed, addresses) -> {
+            if (host.equals(changed))
+                notified.add(addresses);
+        });
+        return notified;
+    }
+
+    private static InetAddress[] addresses(String host, int... lastOctets) {
+        InetAddress[] addresses = new InetAddress[lastOctets.length];
+        try {
+            for (int i = 0; i < lastOctets.length; i++)
+                addresses[i] = InetAddress.getByAddress(host, new byte[]{10, 0, 0, (byte) lastOctets[i]});
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+        return addresses;
+    }
+}
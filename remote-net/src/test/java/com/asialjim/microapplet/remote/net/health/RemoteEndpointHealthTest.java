@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.health;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RemoteEndpointHealthTest {
+
+    @Test
+    public void sharedByAddress() {
+        Assert.assertSame(RemoteEndpointHealth.of("endpoint-health-test", 1), RemoteEndpointHealth.of("endpoint-health-test", 1));
+        Assert.assertNotSame(RemoteEndpointHealth.of("endpoint-health-test", 1), RemoteEndpointHealth.of("endpoint-health-test", 2));
+    }
+
+    @Test
+    public void consecutiveFailuresEject() {
+        RemoteEndpointHealth health = RemoteEndpointHealth.of("endpoint-health-test:consecutive", 80);
+        for (int i = 0; i < 4; i++)
+            health.failure();
+        Assert.assertTrue(health.available());
+
+        health.failure();
+        Assert.assertFalse(health.available());
+    }
+
+    @Test
+    public void successResetsFailureCount() {
+        RemoteEndpointHealth health = RemoteEndpointHealth.of("endpoint-health-test:reset", 80);
+        for (int i = 0; i < 4; i++)
+            health.failure();
+        health.success();
+        for (int i = 0; i < 4; i++)
+            health.failure();
+        Assert.assertTrue(health.available());
+    }
+
+    @Test
+    public void successDuringCooldownDoesNotRecover() {
+        RemoteEndpointHealth health = RemoteEndpointHealth.of("endpoint-health-test:cooldown", 80);
+        for (int i = 0; i < 5; i++)
+            health.failure();
+
+        // 摘除期间请求不会路由到该节点，迟到的成功响应不提前恢复
+        health.success();
+        Assert.assertFalse(health.available());
+    }
+
+    @Test
+    public void probeFailuresEjectAndProbeSuccessRecovers() {
+        RemoteEndpointHealth health = RemoteEndpointHealth.of("endpoint-health-test:probe", 80);
+        health.probeFailure("refused");
+        Assert.assertTrue(health.available());
+        health.probeFailure("refused");
+        Assert.assertFalse(health.available());
+
+        health.probeSuccess();
+        Assert.assertTrue(health.available());
+    }
+
+    @Test
+    public void oneProbeAtATime() {
+        RemoteEndpointHealth health = RemoteEndpointHealth.of("endpoint-health-test:probing", 80);
+        Assert.assertTrue(health.startProbe());
+        Assert.assertFalse(health.startProbe());
+        health.endProbe();
+        Assert.assertTrue(health.startProbe());
+        health.endProbe();
+    }
+}
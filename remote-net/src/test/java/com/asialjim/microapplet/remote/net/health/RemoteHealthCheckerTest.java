@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.health;
+
+import com.asialjim.microapplet.remote.net.balance.RemoteEndpoint;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RemoteHealthCheckerTest {
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Test
+    public void tcpProbeEjectsAndRecovers() throws Exception {
+        int port = freePort();
+        RemoteEndpoint endpoint = RemoteEndpoint.parse("127.0.0.1:" + port, null);
+
+        RemoteHealthChecker.probe(endpoint, "http", RemoteHealthChecker.TCP);
+        RemoteHealthChecker.probe(endpoint, "http", RemoteHealthChecker.TCP);
+        Assert.assertFalse(endpoint.available());
+
+        try (ServerSocket ignored = new ServerSocket(port, 1, InetAddress.getLoopbackAddress())) {
+            RemoteHealthChecker.probe(endpoint, "http", RemoteHealthChecker.TCP);
+            Assert.assertTrue(endpoint.available());
+        }
+    }
+
+    @Test
+    public void httpProbeEjectsOnServerErrorAndRecovers() throws Exception {
+        AtomicInteger status = new AtomicInteger(503);
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/health", exchange -> {
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            RemoteEndpoint endpoint = RemoteEndpoint.parse("127.0.0.1:" + server.getAddress().getPort(), null);
+            RemoteHealthChecker.probe(endpoint, "http", "/health");
+            Assert.assertTrue(endpoint.available());
+            RemoteHealthChecker.probe(endpoint, "http", "/health");
+            Assert.assertFalse(endpoint.available());
+
+            // 4xx 说明服务仍在响应，不视为失败
+            status.set(404);
+            RemoteHealthChecker.probe(endpoint, "http", "/health");
+            Assert.assertTrue(endpoint.available());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void httpsEndpointProbedByConnect() throws Exception {
+        // 监听端不进行 TLS 握手：按 HTTPS 请求探测必然失败，建立连接即视为健康
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            RemoteEndpoint endpoint = RemoteEndpoint.parse("127.0.0.1:" + server.getLocalPort(), null);
+            RemoteHealthChecker.probe(endpoint, "https", "/health");
+            RemoteHealthChecker.probe(endpoint, "https", "/health");
+            Assert.assertTrue(endpoint.available());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.limit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class RemoteConcurrencyLimiterTest {
+
+    @Test
+    public void rejectsBeyondLimit() {
+        RemoteConcurrencyLimiter limiter = RemoteConcurrencyLimiter.of("concurrency-limiter-test:reject", 2, 1, 2);
+        RemoteConcurrencyLimiter.Permit first = limiter.acquire(0);
+        RemoteConcurrencyLimiter.Permit second = limiter.acquire(0);
+        Assert.assertNotNull(first);
+        Assert.assertNotNull(second);
+        Assert.assertNull(limiter.acquire(0));
+        Assert.assertEquals(2, limiter.inflight());
+
+        first.ignore();
+        Assert.assertNotNull(limiter.acquire(0));
+    }
+
+    @Test
+    public void permitReleasedOnce() {
+        RemoteConcurrencyLimiter limiter = RemoteConcurrencyLimiter.of("concurrency-limiter-test:once", 2, 1, 2);
+        RemoteConcurrencyLimiter.Permit permit = limiter.acquire(0);
+        permit.ignore();
+        permit.ignore();
+        permit.success();
+        permit.dropped();
+
+        Assert.assertEquals(0, limiter.inflight());
+        Assert.assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    public void waitsForRelease() throws InterruptedException {
+        RemoteConcurrencyLimiter limiter = RemoteConcurrencyLimiter.of("concurrency-limiter-test:wait", 1, 1, 1);
+        RemoteConcurrencyLimiter.Permit held = limiter.acquire(0);
+        Thread releaser = new Thread(() -> {
+            sleep(50);
+            held.ignore();
+        });
+        releaser.start();
+
+        long start = System.nanoTime();
+        RemoteConcurrencyLimiter.Permit permit = limiter.acquire(5000);
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        releaser.join();
+
+        Assert.assertNotNull(permit);
+        Assert.assertTrue(waited >= 40);
+        Assert.assertTrue(waited < 5000);
+        permit.ignore();
+    }
+
+    @Test
+    public void waitTimesOut() {
+        RemoteConcurrencyLimiter limiter = RemoteConcurrencyLimiter.of("concurrency-limiter-test:timeout", 1, 1, 1);
+        RemoteConcurrencyLimiter.Permit held = limiter.acquire(0);
+
+        long start = System.nanoTime();
+        Assert.assertNull(limiter.acquire(50));
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 40);
+        Assert.assertEquals(1, limiter.inflight());
+        held.ignore();
+    }
+
+    @Test
+    public void droppedShrinksLimit() {
+        RemoteConcurrencyLimiter limiter = RemoteConcurrencyLimiter.of("concurrency-limiter-test:dropped", 20, 5, 100);
+        limiter.acquire(0).dropped();
+        Assert.assertEquals(18, limiter.limit());
+
+        // 不低于下限
+        for (int i = 0; i < 50; i++) limiter.acquire(0).dropped();
+        Assert.assertEquals(5, limiter.limit());
+    }
+
+    @Test
+    public void growsWhenSaturatedAndFast() {
+        RemoteConcurrencyLimiter limiter = RemoteConcurrencyLimiter.of("concurrency-limiter-test:grow", 4, 1, 100);
+        for (int round = 0; round < 5; round++)
+            saturate(limiter, 0);
+
+        Assert.assertTrue(limiter.limit() > 4);
+        Assert.assertTrue(limiter.limit() <= 100);
+    }
+
+    @Test
+    public void doesNotGrowWhenIdle() {
+        RemoteConcurrencyLimiter limiter = RemoteConcurrencyLimiter.of("concurrency-limiter-test:idle", 10, 1, 100);
+        // 实际并发远低于上限时不放大上限
+        for (int i = 0; i < 100; i++) limiter.acquire(0).success();
+
+        Assert.assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    public void shrinksWhenLatencyRises() {
+        RemoteConcurrencyLimiter limiter = RemoteConcurrencyLimiter.of("concurrency-limiter-test:latency", 20, 1, 20);
+        // 以快速响应建立长期平均延迟
+        for (int round = 0; round < 3; round++)
+            saturate(limiter, 0);
+        Assert.assertEquals(20, limiter.limit());
+
+        saturate(limiter, 30);
+        Assert.assertTrue(limiter.limit() < 20);
+    }
+
+    private static void saturate(RemoteConcurrencyLimiter limiter, long latency) {
+        List<RemoteConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        RemoteConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.acquire(0)) != null)
+            permits.add(permit);
+        sleep(latency);
+        // 并发最高的许可最先完成，保证样本反映满载时的延迟
+        for (int i = permits.size() - 1; i >= 0; i--)
+            permits.get(i).success();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0)
+            return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.limit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class RemoteRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    public void reserveWithoutWait() {
+        RemoteRateLimiter limiter = RemoteRateLimiter.of("rate-limiter-test:no-wait", 10, 1);
+        Assert.assertEquals(0, limiter.reserve(0));
+
+        // 下一个令牌 100 毫秒后可用，不等待时不预约
+        Assert.assertEquals(-1, limiter.reserve(0));
+        Assert.assertEquals(-1, limiter.reserve(INTERVAL / 2));
+    }
+
+    @Test
+    public void reserveSpacesPermits() {
+        RemoteRateLimiter limiter = RemoteRateLimiter.of("rate-limiter-test:spacing", 10, 1);
+        Assert.assertEquals(0, limiter.reserve(SECOND));
+
+        long first = limiter.reserve(SECOND);
+        Assert.assertTrue(first > 0 && first <= INTERVAL);
+
+        // 每次预约把下一个令牌的可用时间推后一个间隔
+        long second = limiter.reserve(SECOND);
+        Assert.assertTrue(second > INTERVAL && second <= 2 * INTERVAL);
+        Assert.assertTrue(second - first >= INTERVAL - TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    @Test
+    public void burstAllowsImmediatePermits() {
+        RemoteRateLimiter limiter = RemoteRateLimiter.of("rate-limiter-test:burst", 10, 3);
+        for (int i = 0; i < 3; i++)
+            Assert.assertEquals(0, limiter.reserve(0));
+        Assert.assertEquals(-1, limiter.reserve(0));
+    }
+
+    @Test
+    public void idleDoesNotAccumulateBeyondBurst() throws InterruptedException {
+        RemoteRateLimiter limiter = RemoteRateLimiter.of("rate-limiter-test:idle", 100, 2);
+        Assert.assertEquals(0, limiter.reserve(0));
+
+        // 空闲远超补满时间后，最多只积累 burst 个令牌
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assert.assertEquals(0, limiter.reserve(0));
+        Assert.assertEquals(0, limiter.reserve(0));
+        Assert.assertEquals(-1, limiter.reserve(0));
+    }
+
+    @Test
+    public void firstConfigurationWins() {
+        RemoteRateLimiter limiter = RemoteRateLimiter.of("rate-limiter-test:conflict", 10, 1);
+        RemoteRateLimiter conflict = RemoteRateLimiter.of("rate-limiter-test:conflict", 50, 5);
+        Assert.assertSame(limiter, conflict);
+        Assert.assertEquals(10, conflict.permitsPerSecond(), 0);
+        Assert.assertEquals(1, conflict.burst());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.net.repository;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class ApiServerNearCacheTest {
+    private static final String KEY = ApiServerNearCache.key("supplier", "namespace", "env");
+
+    private static ApiServerInfo info(String host) {
+        ApiServerInfo info = new ApiServerInfo();
+        info.setHost(host);
+        return info;
+    }
+
+    private static Supplier<ApiServerInfo> counting(AtomicInteger loads, String host) {
+        return () -> {
+            loads.incrementAndGet();
+            return info(host);
+        };
+    }
+
+    @Test
+    public void hitWithinTtl() {
+        ApiServerNearCache cache = new ApiServerNearCache(10_000, 1_000, 16, 0.8);
+        AtomicInteger loads = new AtomicInteger();
+        ApiServerInfo first = cache.get(KEY, counting(loads, "a"));
+        Assert.assertSame(first, cache.get(KEY, counting(loads, "b")));
+        Assert.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void reloadAfterTtl() throws InterruptedException {
+        ApiServerNearCache cache = new ApiServerNearCache(50, 50, 16, 1);
+        AtomicInteger loads = new AtomicInteger();
+        Assert.assertEquals("a", cache.get(KEY, counting(loads, "a")).getHost());
+
+        TimeUnit.MILLISECONDS.sleep(80);
+        Assert.assertEquals("b", cache.get(KEY, counting(loads, "b")).getHost());
+        Assert.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void missingCachedForNegativeTtl() throws InterruptedException {
+        ApiServerNearCache cache = new ApiServerNearCache(10_000, 50, 16, 1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ApiServerInfo> missing = () -> {
+            loads.incrementAndGet();
+            return null;
+        };
+        Assert.assertNull(cache.get(KEY, missing));
+        Assert.assertNull(cache.get(KEY, missing));
+        Assert.assertEquals(1, loads.get());
+
+        TimeUnit.MILLISECONDS.sleep(80);
+        Assert.assertNull(cache.get(KEY, missing));
+        Assert.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void refreshAheadReturnsCurrentValue() throws InterruptedException {
+        ApiServerNearCache cache = new ApiServerNearCache(10_000, 1_000, 16, 0.005);
+        AtomicInteger loads = new AtomicInteger();
+        Assert.assertEquals("a", cache.get(KEY, counting(loads, "a")).getHost());
+
+        // 超过刷新点后仍返回当前值，由后台线程刷新
+        TimeUnit.MILLISECONDS.sleep(80);
+        Assert.assertEquals("a", cache.get(KEY, counting(loads, "b")).getHost());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (loads.get() < 2 && System.currentTimeMillis() < deadline)
+            TimeUnit.MILLISECONDS.sleep(10);
+        Assert.assertEquals(2, loads.get());
+        Assert.assertEquals("b", cache.get(KEY, counting(loads, "c")).getHost());
+    }
+
+    @Test
+    public void staleValueUsedWhenLoadFails() throws InterruptedException {
+        ApiServerNearCache cache = new ApiServerNearCache(50, 50, 16, 1);
+        cache.get(KEY, () -> info("a"));
+
+        TimeUnit.MILLISECONDS.sleep(80);
+        ApiServerInfo stale = cache.get(KEY, () -> {
+            throw new IllegalStateException("repository down");
+        });
+        Assert.assertEquals("a", stale.getHost());
+    }
+
+    @Test
+    public void invalidateForcesReload() {
+        ApiServerNearCache cache = new ApiServerNearCache(10_000, 1_000, 16, 0.8);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(KEY, counting(loads, "a"));
+        cache.invalidate(KEY);
+        Assert.assertEquals("b", cache.get(KEY, counting(loads, "b")).getHost());
+
+        cache.invalidateAll();
+        Assert.assertEquals("c", cache.get(KEY, counting(loads, "c")).getHost());
+        Assert.assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void loadStartedBeforeInvalidateIsNotCached() throws Exception {
+        ApiServerNearCache cache = new ApiServerNearCache(10_000, 1_000, 16, 0.8);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        CompletableFuture<ApiServerInfo> inFlight = CompletableFuture.supplyAsync(() -> cache.get(KEY, () -> {
+            loading.countDown();
+            try {
+                invalidated.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return info("before-lock");
+        }));
+
+        Assert.assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.invalidate(KEY);
+        invalidated.countDown();
+        Assert.assertEquals("before-lock", inFlight.get(5, TimeUnit.SECONDS).getHost());
+
+        // 清除前开始的加载结果不再写入缓存
+        AtomicInteger loads = new AtomicInteger();
+        Assert.assertEquals("after-lock", cache.get(KEY, counting(loads, "after-lock")).getHost());
+        Assert.assertEquals(1, loads.get());
+    }
+}
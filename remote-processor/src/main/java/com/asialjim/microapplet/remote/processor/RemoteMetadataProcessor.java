@@ -0,0 +1,273 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * 远程接口元数据注解处理器
+ * <p>
+ * 为每个声明了生命周期注解（被 {@code @RemoteLifeCycle} 标注的注解）或回调参数的接口生成
+ * {@code <接口二进制名>_RemoteMetadata}，记录各方法的生命周期注解位置、参数角色及回调参数下标，
+ * 并将接口登记到 META-INF/remote.metadata；运行期 {@code RemoteMethodConfig} 据此跳过无关注解与参数的反射。
+ * 同时由 {@link RemoteProxyGenerator} 生成直接调用方法执行器的代理类，由 {@link RemoteSubClassIndexer} 生成扩展类继承关系索引
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@SupportedAnnotationTypes("*")
+public class RemoteMetadataProcessor extends AbstractProcessor {
+    private static final String REMOTE_LIFE_CYCLE = "com.asialjim.microapplet.remote.annotation.RemoteLifeCycle";
+    private static final String CALL_BACK = "com.asialjim.microapplet.remote.lifecycle.CallBack";
+    private static final String INTERFACE_METADATA = "com.asialjim.microapplet.remote.metadata.RemoteInterfaceMetadata";
+    private static final String METHOD_DESCRIPTOR = "com.asialjim.microapplet.remote.metadata.RemoteMethodDescriptor";
+    private static final String SUFFIX = "_RemoteMetadata";
+    private static final String REMOTE_METADATA_CONFIG = "META-INF/remote.metadata";
+
+    private final Set<String> interfaces = new TreeSet<>();
+    private final Map<String, Boolean> lifeCycleAnnotations = new HashMap<>();
+    private RemoteProxyGenerator proxyGenerator;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        // 未依赖 remote-core 的模块不处理
+        TypeElement lifeCycle = processingEnv.getElementUtils().getTypeElement(REMOTE_LIFE_CYCLE);
+        if (Objects.isNull(lifeCycle))
+            return false;
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            new RemoteSubClassIndexer(processingEnv).index();
+            return false;
+        }
+
+        if (Objects.isNull(this.proxyGenerator))
+            this.proxyGenerator = new RemoteProxyGenerator(processingEnv, this::typeName);
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements()))
+            scan(type);
+        return false;
+    }
+
+    private void scan(TypeElement type) {
+        if (type.getKind() == ElementKind.INTERFACE)
+            process(type);
+
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements()))
+            scan(nested);
+    }
+
+    private void process(TypeElement type) {
+        String[] typeAnnotations = lifeCycleAnnotations(type.getAnnotationMirrors());
+        List<String> descriptors = new ArrayList<>();
+        boolean remote = typeAnnotations.length > 0;
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.DEFAULT) || modifiers.contains(Modifier.STATIC))
+                continue;
+
+            String[] methodAnnotations = lifeCycleAnnotations(method.getAnnotationMirrors());
+            String[] returnAnnotations = lifeCycleAnnotations(method.getReturnType().getAnnotationMirrors());
+            List<? extends VariableElement> parameters = method.getParameters();
+            String[][] parameterAnnotations = new String[parameters.size()][];
+            String[] parameterRoles = new String[parameters.size()];
+            StringJoiner key = new StringJoiner(",", method.getSimpleName() + "(", ")");
+            boolean present = methodAnnotations.length > 0 || returnAnnotations.length > 0;
+
+            for (int i = 0; i < parameters.size(); i++) {
+                VariableElement parameter = parameters.get(i);
+                key.add(typeName(parameter.asType()));
+                parameterAnnotations[i] = lifeCycleAnnotations(parameter.getAnnotationMirrors());
+                if (callBack(parameter.asType()))
+                    parameterRoles[i] = "CallBack";
+                else if (parameterAnnotations[i].length > 0)
+                    parameterRoles[i] = simpleName(parameterAnnotations[i][0]);
+                present |= Objects.nonNull(parameterRoles[i]);
+            }
+
+            remote |= present;
+            descriptors.add("new " + METHOD_DESCRIPTOR + "(" + literal(key.toString()) + ", "
+                    + array(typeAnnotations) + ", " + array(methodAnnotations) + ", " + array(returnAnnotations) + ", "
+                    + array(parameterAnnotations) + ", " + array(parameterRoles) + ")");
+        }
+
+        if (!remote)
+            return;
+
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        write(type, binaryName, descriptors);
+        this.proxyGenerator.generate(type, binaryName);
+        this.interfaces.add(binaryName);
+    }
+
+    private String[] lifeCycleAnnotations(List<? extends AnnotationMirror> mirrors) {
+        List<String> names = new ArrayList<>();
+        for (AnnotationMirror mirror : mirrors) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            String name = processingEnv.getElementUtils().getBinaryName(annotationType).toString();
+            Boolean lifeCycle = this.lifeCycleAnnotations.get(name);
+            if (Objects.isNull(lifeCycle)) {
+                lifeCycle = false;
+                for (AnnotationMirror meta : annotationType.getAnnotationMirrors()) {
+                    if (((TypeElement) meta.getAnnotationType().asElement()).getQualifiedName().contentEquals(REMOTE_LIFE_CYCLE)) {
+                        lifeCycle = true;
+                        break;
+                    }
+                }
+                this.lifeCycleAnnotations.put(name, lifeCycle);
+            }
+
+            if (lifeCycle)
+                names.add(name);
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private boolean callBack(TypeMirror type) {
+        TypeElement callBack = processingEnv.getElementUtils().getTypeElement(CALL_BACK);
+        if (Objects.isNull(callBack))
+            return false;
+        return processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type), processingEnv.getTypeUtils().erasure(callBack.asType()));
+    }
+
+    /**
+     * 与运行期 {@code Class#getTypeName()} 一致的擦除类型名称
+     */
+    private String typeName(TypeMirror type) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind() == TypeKind.ARRAY)
+            return typeName(((ArrayType) erasure).getComponentType()) + "[]";
+        if (erasure.getKind() == TypeKind.DECLARED)
+            return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) erasure).asElement()).toString();
+        return erasure.getKind().name().toLowerCase(Locale.ROOT);
+    }
+
+    private void write(TypeElement type, String binaryName, List<String> descriptors) {
+        int dot = binaryName.lastIndexOf('.');
+        String packageName = dot < 0 ? "" : binaryName.substring(0, dot);
+        String className = binaryName.substring(dot + 1) + SUFFIX;
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+        source.append("/**\n * Generated by ").append(getClass().getName()).append(", do not edit.\n */\n");
+        source.append("public final class ").append(className).append(" implements ").append(INTERFACE_METADATA).append(" {\n");
+        source.append("    private static final java.util.Map<String, ").append(METHOD_DESCRIPTOR).append("> METHODS;\n\n");
+        source.append("    static {\n");
+        source.append("        java.util.Map<String, ").append(METHOD_DESCRIPTOR).append("> methods = new java.util.HashMap<>();\n");
+        for (String descriptor : descriptors) {
+            source.append("        add(methods, ").append(descriptor).append(");\n");
+        }
+        source.append("        METHODS = java.util.Collections.unmodifiableMap(methods);\n");
+        source.append("    }\n\n");
+        source.append("    private static void add(java.util.Map<String, ").append(METHOD_DESCRIPTOR).append("> methods, ").append(METHOD_DESCRIPTOR).append(" descriptor) {\n");
+        source.append("        methods.put(descriptor.key(), descriptor);\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public java.util.Map<String, ").append(METHOD_DESCRIPTOR).append("> methods() {\n");
+        source.append("        return METHODS;\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "生成远程接口元数据失败：" + e.getMessage(), type);
+        }
+    }
+
+    private void writeIndex() {
+        if (this.interfaces.isEmpty())
+            return;
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", REMOTE_METADATA_CONFIG);
+            try (Writer writer = file.openWriter()) {
+                for (String name : this.interfaces)
+                    writer.write(name + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "生成 " + REMOTE_METADATA_CONFIG + " 失败：" + e.getMessage());
+        }
+    }
+
+    private static String simpleName(String binaryName) {
+        int index = Math.max(binaryName.lastIndexOf('.'), binaryName.lastIndexOf('$'));
+        return binaryName.substring(index + 1);
+    }
+
+    private static String array(String[] values) {
+        if (Objects.isNull(values))
+            return "null";
+
+        StringJoiner joiner = new StringJoiner(", ", "new String[]{", "}");
+        for (String value : values)
+            joiner.add(Objects.isNull(value) ? "null" : literal(value));
+        return joiner.toString();
+    }
+
+    private static String array(String[][] values) {
+        StringJoiner joiner = new StringJoiner(", ", "new String[][]{", "}");
+        for (String[] value : values)
+            joiner.add(array(value));
+        return joiner.toString();
+    }
+
+    private static String literal(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                default:
+                    builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
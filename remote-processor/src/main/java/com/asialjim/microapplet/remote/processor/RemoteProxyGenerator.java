@@ -0,0 +1,252 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 远程接口代理类生成器
+ * <p>
+ * 为远程接口生成 {@code <接口二进制名>_RemoteProxy}，每个方法持有对应的 {@code RemoteMethodInvoker} 字段并直接调用，
+ * 替代 JDK 动态代理的反射分派与方法查找；{@code METHODS} 按构造参数顺序记录各方法的声明接口与签名，
+ * 运行期 {@code RemoteProxy} 据此装配执行器。泛型接口、私有接口等无法生成时跳过，运行期回退为 JDK 动态代理
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+final class RemoteProxyGenerator {
+    private static final String METHOD_INVOKER = "com.asialjim.microapplet.remote.proxy.RemoteMethodInvoker";
+    private static final String REMOTE_PROXY = "com.asialjim.microapplet.remote.proxy.RemoteProxy";
+    private static final String SUFFIX = "_RemoteProxy";
+
+    private final ProcessingEnvironment processingEnv;
+    private final Function<TypeMirror, String> typeName;
+
+    RemoteProxyGenerator(ProcessingEnvironment processingEnv, Function<TypeMirror, String> typeName) {
+        this.processingEnv = processingEnv;
+        this.typeName = typeName;
+    }
+
+    void generate(TypeElement type, String binaryName) {
+        if (!type.getTypeParameters().isEmpty() || !accessible(type))
+            return;
+
+        Types types = this.processingEnv.getTypeUtils();
+        DeclaredType declaredType = (DeclaredType) type.asType();
+        Set<String> signatures = new HashSet<>();
+        List<String> keys = new ArrayList<>();
+        StringBuilder methods = new StringBuilder();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(this.processingEnv.getElementUtils().getAllMembers(type))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.STATIC) || objectMethod(method))
+                continue;
+
+            ExecutableType executable = (ExecutableType) types.asMemberOf(declaredType, method);
+            StringJoiner key = new StringJoiner(",", method.getSimpleName() + "(", ")");
+            for (VariableElement parameter : method.getParameters())
+                key.add(this.typeName.apply(parameter.asType()));
+
+            // 多个父接口声明的同签名方法只实现一次
+            StringJoiner signature = new StringJoiner(",", method.getSimpleName() + "(", ")");
+            for (TypeMirror parameterType : executable.getParameterTypes())
+                signature.add(this.typeName.apply(parameterType));
+            if (!signatures.add(signature.toString()))
+                continue;
+
+            for (TypeMirror thrownType : executable.getThrownTypes()) {
+                if (thrownType.getKind() != TypeKind.DECLARED)
+                    return;
+            }
+
+            String declaring = this.processingEnv.getElementUtils().getBinaryName((TypeElement) method.getEnclosingElement()).toString();
+            method(methods, keys.size(), method, executable);
+            keys.add(declaring + "#" + key);
+        }
+
+        write(type, binaryName, keys, methods);
+    }
+
+    private void method(StringBuilder source, int index, ExecutableElement method, ExecutableType executable) {
+        List<? extends TypeMirror> parameterTypes = executable.getParameterTypes();
+        TypeMirror returnType = executable.getReturnType();
+
+        source.append("    @Override\n    public ");
+        if (!executable.getTypeVariables().isEmpty()) {
+            StringJoiner variables = new StringJoiner(", ", "<", "> ");
+            for (TypeVariable variable : executable.getTypeVariables())
+                variables.add(typeVariable(variable));
+            source.append(variables);
+        }
+        source.append(source(returnType)).append(' ').append(method.getSimpleName()).append('(');
+
+        StringJoiner parameters = new StringJoiner(", ");
+        StringJoiner arguments = new StringJoiner(", ", "new Object[]{", "}");
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            TypeMirror parameterType = parameterTypes.get(i);
+            String parameter = method.isVarArgs() && i == parameterTypes.size() - 1
+                    ? source(((ArrayType) parameterType).getComponentType()) + "..."
+                    : source(parameterType);
+            parameters.add(parameter + " arg" + i);
+            arguments.add("arg" + i);
+        }
+        source.append(parameters).append(')');
+
+        List<? extends TypeMirror> thrownTypes = executable.getThrownTypes();
+        if (!thrownTypes.isEmpty()) {
+            StringJoiner throwsClause = new StringJoiner(", ", " throws ", "");
+            for (TypeMirror thrownType : thrownTypes)
+                throwsClause.add(source(thrownType));
+            source.append(throwsClause);
+        }
+        source.append(" {\n");
+
+        // 与 JDK 动态代理一致：无参方法传入 null
+        String invoke = "this.invoker" + index + ".invoke(" + (parameterTypes.isEmpty() ? "null" : arguments.toString()) + ")";
+        source.append("        try {\n");
+        if (returnType.getKind() == TypeKind.VOID)
+            source.append("            ").append(invoke).append(";\n");
+        else
+            source.append("            return (").append(source(returnType)).append(") ").append(invoke).append(";\n");
+        source.append("        } catch (Throwable e) {\n");
+        for (TypeMirror thrownType : thrownTypes) {
+            String thrown = source(thrownType);
+            source.append("            if (e instanceof ").append(thrown).append(") throw (").append(thrown).append(") e;\n");
+        }
+        source.append("            throw ").append(REMOTE_PROXY).append(".unchecked(e);\n");
+        source.append("        }\n");
+        source.append("    }\n\n");
+    }
+
+    private void write(TypeElement type, String binaryName, List<String> keys, StringBuilder methods) {
+        int dot = binaryName.lastIndexOf('.');
+        String packageName = dot < 0 ? "" : binaryName.substring(0, dot);
+        String className = binaryName.substring(dot + 1) + SUFFIX;
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+        source.append("/**\n * Generated by ").append(RemoteMetadataProcessor.class.getName()).append(", do not edit.\n */\n");
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        source.append("public final class ").append(className).append(" implements ").append(type.getQualifiedName()).append(" {\n");
+        StringJoiner methodKeys = new StringJoiner(",\n            ", "    public static final String[] METHODS = {\n            ", "\n    };\n\n");
+        keys.forEach(key -> methodKeys.add(literal(key)));
+        source.append(keys.isEmpty() ? "    public static final String[] METHODS = {};\n\n" : methodKeys.toString());
+        source.append("    private final String desc;\n");
+        for (int i = 0; i < keys.size(); i++)
+            source.append("    private final ").append(METHOD_INVOKER).append(" invoker").append(i).append(";\n");
+        source.append("\n    public ").append(className).append("(String desc, ").append(METHOD_INVOKER).append("[] invokers) {\n");
+        source.append("        this.desc = desc;\n");
+        for (int i = 0; i < keys.size(); i++)
+            source.append("        this.invoker").append(i).append(" = invokers[").append(i).append("];\n");
+        source.append("    }\n\n");
+        source.append(methods);
+        source.append("    @Override\n");
+        source.append("    public String toString() {\n");
+        source.append("        return this.desc;\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "生成远程接口代理类失败：" + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * 生成类与接口同包，接口及其外部类均不能为私有
+     */
+    private static boolean accessible(TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 接口重新声明的 {@link Object} 公开方法由生成类自身或 {@link Object} 实现
+     */
+    private static boolean objectMethod(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        int parameters = method.getParameters().size();
+        return ("toString".equals(name) || "hashCode".equals(name)) && parameters == 0
+                || "equals".equals(name) && parameters == 1;
+    }
+
+    private String typeVariable(TypeVariable variable) {
+        String name = variable.asElement().getSimpleName().toString();
+        TypeMirror bound = variable.getUpperBound();
+        if (bound.getKind() == TypeKind.INTERSECTION) {
+            StringJoiner bounds = new StringJoiner(" & ", name + " extends ", "");
+            for (TypeMirror each : ((IntersectionType) bound).getBounds())
+                bounds.add(source(each));
+            return bounds.toString();
+        }
+        if (bound.getKind() == TypeKind.DECLARED && ((TypeElement) ((DeclaredType) bound).asElement()).getQualifiedName().contentEquals("java.lang.Object"))
+            return name;
+        return name + " extends " + source(bound);
+    }
+
+    /**
+     * 不含类型注解的源码类型名称
+     */
+    private String source(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return source(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED:
+                DeclaredType declaredType = (DeclaredType) type;
+                String name = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+                if (declaredType.getTypeArguments().isEmpty())
+                    return name;
+                StringJoiner arguments = new StringJoiner(", ", name + "<", ">");
+                for (TypeMirror argument : declaredType.getTypeArguments())
+                    arguments.add(source(argument));
+                return arguments.toString();
+            case TYPEVAR:
+                return ((TypeVariable) type).asElement().getSimpleName().toString();
+            case WILDCARD:
+                WildcardType wildcardType = (WildcardType) type;
+                if (Objects.nonNull(wildcardType.getExtendsBound()))
+                    return "? extends " + source(wildcardType.getExtendsBound());
+                if (Objects.nonNull(wildcardType.getSuperBound()))
+                    return "? super " + source(wildcardType.getSuperBound());
+                return "?";
+            default:
+                return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
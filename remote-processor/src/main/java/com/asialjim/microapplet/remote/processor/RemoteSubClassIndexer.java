@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * 远程扩展类继承关系索引生成器
+ * <p>
+ * 读取模块资源中的 META-INF/remote.loadRemoteClass，为其中每个类计算全部非 java 父类与父接口，
+ * 写入 META-INF/remote.loadRemoteClass.index（每行 {@code 实现类=父类型1,父类型2}）；
+ * 运行期 {@code RemoteClassLoader} 读取索引，不再加载并遍历每个类的继承关系
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+final class RemoteSubClassIndexer {
+    static final String REMOTE_CLASSES_CONFIG = "META-INF/remote.loadRemoteClass";
+    static final String REMOTE_CLASSES_INDEX = REMOTE_CLASSES_CONFIG + ".index";
+
+    private final ProcessingEnvironment processingEnv;
+
+    RemoteSubClassIndexer(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    void index() {
+        List<String> classes = classes();
+        if (classes.isEmpty())
+            return;
+
+        StringBuilder index = new StringBuilder();
+        for (String name : classes) {
+            TypeElement type = this.processingEnv.getElementUtils().getTypeElement(name.replace('$', '.'));
+            if (Objects.isNull(type)) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, REMOTE_CLASSES_CONFIG + " 中的类不存在：" + name);
+                continue;
+            }
+
+            Set<String> supers = new LinkedHashSet<>();
+            supers(type.asType(), supers);
+            supers.remove(name);
+            index.append(name).append('=').append(String.join(",", supers)).append('\n');
+        }
+
+        try {
+            FileObject file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", REMOTE_CLASSES_INDEX);
+            try (Writer writer = file.openWriter()) {
+                writer.write(index.toString());
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "生成 " + REMOTE_CLASSES_INDEX + " 失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 资源在编译前已复制到输出目录，不存在时说明模块未声明扩展类
+     */
+    private List<String> classes() {
+        List<String> classes = new ArrayList<>();
+        try {
+            FileObject file = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", REMOTE_CLASSES_CONFIG);
+            try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+                String line;
+                while (Objects.nonNull(line = reader.readLine())) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#"))
+                        classes.add(line);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return Collections.emptyList();
+        }
+        return classes;
+    }
+
+    /**
+     * 与运行期遍历一致：跳过 java 开头的类型及其父类型
+     */
+    private void supers(TypeMirror type, Set<String> supers) {
+        for (TypeMirror superType : this.processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (superType.getKind() != TypeKind.DECLARED)
+                continue;
+
+            TypeElement element = (TypeElement) ((DeclaredType) superType).asElement();
+            String name = this.processingEnv.getElementUtils().getBinaryName(element).toString();
+            if (name.startsWith("java"))
+                continue;
+
+            if (supers.add(name))
+                supers(superType, supers);
+        }
+    }
+}
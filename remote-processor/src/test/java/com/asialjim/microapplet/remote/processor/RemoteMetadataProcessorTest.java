@@ -0,0 +1,188 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.processor;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class RemoteMetadataProcessorTest {
+    private static final String LIFE_CYCLE = "package com.asialjim.microapplet.remote.annotation;\n"
+            + "import java.lang.annotation.*;\n"
+            + "@Retention(RetentionPolicy.RUNTIME) @Target(ElementType.ANNOTATION_TYPE)\n"
+            + "public @interface RemoteLifeCycle { }\n";
+    private static final String CALL_BACK = "package com.asialjim.microapplet.remote.lifecycle;\n"
+            + "public interface CallBack { }\n";
+    private static final String INTERFACE_METADATA = "package com.asialjim.microapplet.remote.metadata;\n"
+            + "public interface RemoteInterfaceMetadata { java.util.Map<String, RemoteMethodDescriptor> methods(); }\n";
+    private static final String METHOD_DESCRIPTOR = "package com.asialjim.microapplet.remote.metadata;\n"
+            + "public final class RemoteMethodDescriptor {\n"
+            + "    public RemoteMethodDescriptor(String key, String[] typeAnnotations, String[] methodAnnotations, String[] returnAnnotations,\n"
+            + "                                  String[][] parameterAnnotations, String[] parameterRoles) { }\n"
+            + "    public String key() { return null; }\n"
+            + "}\n";
+    private static final String METHOD_INVOKER = "package com.asialjim.microapplet.remote.proxy;\n"
+            + "public final class RemoteMethodInvoker { public Object invoke(Object[] args) throws Throwable { return null; } }\n";
+    private static final String REMOTE_PROXY = "package com.asialjim.microapplet.remote.proxy;\n"
+            + "public final class RemoteProxy { public static RuntimeException unchecked(Throwable e) { return null; } }\n";
+    private static final String SERVER = "package demo;\n"
+            + "import java.lang.annotation.*;\n"
+            + "@Retention(RetentionPolicy.RUNTIME) @com.asialjim.microapplet.remote.annotation.RemoteLifeCycle\n"
+            + "public @interface Server { }\n";
+    private static final String PLAIN = "package demo;\n"
+            + "import java.lang.annotation.*;\n"
+            + "@Retention(RetentionPolicy.RUNTIME)\n"
+            + "public @interface Plain { }\n";
+    private static final String SUCCESS_WHEN = "package demo;\n"
+            + "public interface SuccessWhen extends com.asialjim.microapplet.remote.lifecycle.CallBack { }\n";
+    private static final String DEMO_REMOTE = "package demo;\n"
+            + "@Server @Plain\n"
+            + "public interface DemoRemote {\n"
+            + "    String query(String id, int[] page);\n"
+            + "    @Plain void send(@Server String body, SuccessWhen successWhen);\n"
+            + "    default String local() { return null; }\n"
+            + "}\n";
+    private static final String PLAIN_REMOTE = "package demo;\n"
+            + "@Plain\n"
+            + "public interface PlainRemote {\n"
+            + "    String query(String id);\n"
+            + "}\n";
+
+    private final Map<String, ByteArrayOutputStream> outputs = new HashMap<>();
+
+    @Before
+    public void before() {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager standard = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8);
+        JavaFileManager fileManager = new ForwardingJavaFileManager<JavaFileManager>(standard) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+                return output(className.replace('.', '/') + kind.extension, kind);
+            }
+
+            @Override
+            public FileObject getFileForOutput(Location location, String packageName, String relativeName, FileObject sibling) {
+                return output(relativeName, JavaFileObject.Kind.OTHER);
+            }
+        };
+
+        List<JavaFileObject> sources = Arrays.asList(
+                source("com/asialjim/microapplet/remote/annotation/RemoteLifeCycle", LIFE_CYCLE),
+                source("com/asialjim/microapplet/remote/lifecycle/CallBack", CALL_BACK),
+                source("com/asialjim/microapplet/remote/metadata/RemoteInterfaceMetadata", INTERFACE_METADATA),
+                source("com/asialjim/microapplet/remote/metadata/RemoteMethodDescriptor", METHOD_DESCRIPTOR),
+                source("com/asialjim/microapplet/remote/proxy/RemoteMethodInvoker", METHOD_INVOKER),
+                source("com/asialjim/microapplet/remote/proxy/RemoteProxy", REMOTE_PROXY),
+                source("demo/Server", SERVER),
+                source("demo/Plain", PLAIN),
+                source("demo/SuccessWhen", SUCCESS_WHEN),
+                source("demo/DemoRemote", DEMO_REMOTE),
+                source("demo/PlainRemote", PLAIN_REMOTE));
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, Collections.singletonList("-proc:only"), null, sources);
+        task.setProcessors(Collections.singletonList(new RemoteMetadataProcessor()));
+        Assert.assertTrue(String.valueOf(diagnostics.getDiagnostics()), task.call());
+    }
+
+    @Test
+    public void generateMetadata() {
+        String metadata = output("demo/DemoRemote_RemoteMetadata.java");
+        Assert.assertNotNull(metadata);
+        Assert.assertTrue(metadata.contains("implements com.asialjim.microapplet.remote.metadata.RemoteInterfaceMetadata"));
+
+        // 方法签名为参数擦除类型，只记录生命周期注解
+        Assert.assertTrue(metadata.contains("new com.asialjim.microapplet.remote.metadata.RemoteMethodDescriptor(\"query(java.lang.String,int[])\", "
+                + "new String[]{\"demo.Server\"}, new String[]{}, new String[]{}, new String[][]{new String[]{}, new String[]{}}, new String[]{null, null})"));
+        Assert.assertTrue(metadata.contains("new com.asialjim.microapplet.remote.metadata.RemoteMethodDescriptor(\"send(java.lang.String,demo.SuccessWhen)\", "
+                + "new String[]{\"demo.Server\"}, new String[]{}, new String[]{}, new String[][]{new String[]{\"demo.Server\"}, new String[]{}}, new String[]{\"Server\", \"CallBack\"})"));
+
+        // 默认方法不是远程方法
+        Assert.assertFalse(metadata.contains("local()"));
+    }
+
+    @Test
+    public void generateProxy() {
+        String proxy = output("demo/DemoRemote_RemoteProxy.java");
+        Assert.assertNotNull(proxy);
+        Assert.assertTrue(proxy.contains("public final class DemoRemote_RemoteProxy implements demo.DemoRemote"));
+        Assert.assertTrue(proxy.contains("\"demo.DemoRemote#query(java.lang.String,int[])\""));
+        Assert.assertTrue(proxy.contains("\"demo.DemoRemote#send(java.lang.String,demo.SuccessWhen)\""));
+        Assert.assertTrue(proxy.contains("return (java.lang.String) this.invoker0.invoke(new Object[]{arg0, arg1});"));
+        Assert.assertFalse(proxy.contains("local()"));
+    }
+
+    @Test
+    public void skipInterfaceWithoutLifeCycle() {
+        Assert.assertNull(output("demo/PlainRemote_RemoteMetadata.java"));
+        Assert.assertNull(output("demo/PlainRemote_RemoteProxy.java"));
+    }
+
+    @Test
+    public void registerInterfaces() {
+        String index = output("META-INF/remote.metadata");
+        Assert.assertEquals("demo.DemoRemote\n", index);
+    }
+
+    private String output(String name) {
+        ByteArrayOutputStream output = this.outputs.get(name);
+        return Objects.isNull(output) ? null : new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private JavaFileObject output(String name, JavaFileObject.Kind kind) {
+        return new SimpleJavaFileObject(URI.create("mem:///" + name), kind) {
+            @Override
+            public OutputStream openOutputStream() {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                outputs.put(name, output);
+                return output;
+            }
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) throws IOException {
+                // 生成的源码在下一轮注解处理中被解析
+                String content = output(name);
+                if (Objects.isNull(content))
+                    throw new FileNotFoundException(name);
+                return content;
+            }
+
+            @Override
+            public Reader openReader(boolean ignoreEncodingErrors) throws IOException {
+                return new StringReader(getCharContent(ignoreEncodingErrors).toString());
+            }
+        };
+    }
+
+    private static JavaFileObject source(String name, String content) {
+        return new SimpleJavaFileObject(URI.create("mem:///" + name + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.processor;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+public class RemoteProxyGeneratorTest {
+    private static final String LIFE_CYCLE = "package com.asialjim.microapplet.remote.annotation;\n"
+            + "import java.lang.annotation.*;\n"
+            + "@Retention(RetentionPolicy.RUNTIME) @Target(ElementType.ANNOTATION_TYPE)\n"
+            + "public @interface RemoteLifeCycle { }\n";
+    private static final String CALL_BACK = "package com.asialjim.microapplet.remote.lifecycle;\n"
+            + "public interface CallBack { }\n";
+    private static final String INTERFACE_METADATA = "package com.asialjim.microapplet.remote.metadata;\n"
+            + "public interface RemoteInterfaceMetadata { java.util.Map<String, RemoteMethodDescriptor> methods(); }\n";
+    private static final String METHOD_DESCRIPTOR = "package com.asialjim.microapplet.remote.metadata;\n"
+            + "public final class RemoteMethodDescriptor {\n"
+            + "    private final String key;\n"
+            + "    public RemoteMethodDescriptor(String key, String[] typeAnnotations, String[] methodAnnotations, String[] returnAnnotations,\n"
+            + "                                  String[][] parameterAnnotations, String[] parameterRoles) { this.key = key; }\n"
+            + "    public String key() { return this.key; }\n"
+            + "}\n";
+    // 执行器按应答函数返回结果，应答为异常时抛出
+    private static final String METHOD_INVOKER = "package com.asialjim.microapplet.remote.proxy;\n"
+            + "public final class RemoteMethodInvoker {\n"
+            + "    private final java.util.function.Function<Object[], Object> answer;\n"
+            + "    public RemoteMethodInvoker(java.util.function.Function<Object[], Object> answer) { this.answer = answer; }\n"
+            + "    public Object invoke(Object[] args) throws Throwable {\n"
+            + "        Object result = this.answer.apply(args);\n"
+            + "        if (result instanceof Throwable) throw (Throwable) result;\n"
+            + "        return result;\n"
+            + "    }\n"
+            + "}\n";
+    private static final String REMOTE_PROXY = "package com.asialjim.microapplet.remote.proxy;\n"
+            + "public final class RemoteProxy {\n"
+            + "    public static RuntimeException unchecked(Throwable e) {\n"
+            + "        return e instanceof RuntimeException ? (RuntimeException) e : new java.lang.reflect.UndeclaredThrowableException(e);\n"
+            + "    }\n"
+            + "}\n";
+    private static final String SERVER = "package demo;\n"
+            + "import java.lang.annotation.*;\n"
+            + "@Retention(RetentionPolicy.RUNTIME) @com.asialjim.microapplet.remote.annotation.RemoteLifeCycle\n"
+            + "public @interface Server { }\n";
+    private static final String NAMED = "package demo;\n"
+            + "public interface Named { String name(String id); }\n";
+    private static final String ALIAS = "package demo;\n"
+            + "public interface Alias { String name(String id); }\n";
+    private static final String LOADER = "package demo;\n"
+            + "public interface Loader<T> { T load(T key); }\n";
+    private static final String FULL_REMOTE = "package demo;\n"
+            + "@Server\n"
+            + "public interface FullRemote extends Named, Alias, Loader<String> {\n"
+            + "    void ping();\n"
+            + "    <T extends Number & Comparable<T>> java.util.List<T> sorted(java.util.List<? super T> source, T... extra);\n"
+            + "    byte[] read(String path) throws java.io.IOException;\n"
+            + "    int size();\n"
+            + "    String toString();\n"
+            + "    boolean equals(Object other);\n"
+            + "    default String local() { return null; }\n"
+            + "    static String util() { return null; }\n"
+            + "}\n";
+    private static final String GENERIC_REMOTE = "package demo;\n"
+            + "@Server\n"
+            + "public interface GenericRemote<T> { T get(String id); }\n";
+    private static final String THROWS_REMOTE = "package demo;\n"
+            + "@Server\n"
+            + "public interface ThrowsRemote { <E extends Exception> void risky() throws E; }\n";
+    private static final String HOLDER = "package demo;\n"
+            + "public class Holder {\n"
+            + "    @Server interface Visible { String call(); }\n"
+            + "    @Server private interface Hidden { String call(); }\n"
+            + "}\n";
+
+    private final Map<String, ByteArrayOutputStream> outputs = new HashMap<>();
+    private ClassLoader classLoader;
+
+    @Before
+    public void before() {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager standard = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8);
+        JavaFileManager fileManager = new ForwardingJavaFileManager<JavaFileManager>(standard) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+                return output(className.replace('.', '/') + kind.extension, kind);
+            }
+
+            @Override
+            public FileObject getFileForOutput(Location location, String packageName, String relativeName, FileObject sibling) {
+                return output(relativeName, JavaFileObject.Kind.OTHER);
+            }
+        };
+
+        List<JavaFileObject> sources = Arrays.asList(
+                source("com/asialjim/microapplet/remote/annotation/RemoteLifeCycle", LIFE_CYCLE),
+                source("com/asialjim/microapplet/remote/lifecycle/CallBack", CALL_BACK),
+                source("com/asialjim/microapplet/remote/metadata/RemoteInterfaceMetadata", INTERFACE_METADATA),
+                source("com/asialjim/microapplet/remote/metadata/RemoteMethodDescriptor", METHOD_DESCRIPTOR),
+                source("com/asialjim/microapplet/remote/proxy/RemoteMethodInvoker", METHOD_INVOKER),
+                source("com/asialjim/microapplet/remote/proxy/RemoteProxy", REMOTE_PROXY),
+                source("demo/Server", SERVER),
+                source("demo/Named", NAMED),
+                source("demo/Alias", ALIAS),
+                source("demo/Loader", LOADER),
+                source("demo/FullRemote", FULL_REMOTE),
+                source("demo/GenericRemote", GENERIC_REMOTE),
+                source("demo/ThrowsRemote", THROWS_REMOTE),
+                source("demo/Holder", HOLDER));
+        // 完整编译：生成的代理类须能通过编译
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, null, null, sources);
+        task.setProcessors(Collections.singletonList(new RemoteMetadataProcessor()));
+        Assert.assertTrue(String.valueOf(diagnostics.getDiagnostics()), task.call());
+
+        this.classLoader = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                ByteArrayOutputStream output = outputs.get(name.replace('.', '/') + JavaFileObject.Kind.CLASS.extension);
+                if (Objects.isNull(output))
+                    throw new ClassNotFoundException(name);
+                byte[] bytes = output.toByteArray();
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+        };
+    }
+
+    @Test
+    public void generateSource() {
+        String proxy = output("demo/FullRemote_RemoteProxy.java");
+        Assert.assertNotNull(proxy);
+        Assert.assertTrue(proxy.contains("public final class FullRemote_RemoteProxy implements demo.FullRemote"));
+        Assert.assertTrue(proxy.contains("public FullRemote_RemoteProxy(String desc, com.asialjim.microapplet.remote.proxy.RemoteMethodInvoker[] invokers)"));
+
+        // 泛型方法保留类型变量及多重上界，可变参数保留 ... 形式
+        Assert.assertTrue(proxy.contains("public <T extends java.lang.Number & java.lang.Comparable<T>> java.util.List<T> "
+                + "sorted(java.util.List<? super T> arg0, T... arg1)"));
+        // 父接口的类型参数按当前接口代入
+        Assert.assertTrue(proxy.contains("public java.lang.String load(java.lang.String arg0)"));
+        // 受检异常按声明类型原样抛出
+        Assert.assertTrue(proxy.contains("public byte[] read(java.lang.String arg0) throws java.io.IOException"));
+        Assert.assertTrue(proxy.contains("if (e instanceof java.io.IOException) throw (java.io.IOException) e;"));
+        Assert.assertTrue(proxy.contains("return (int) this.invoker"));
+        Assert.assertTrue(proxy.contains(".invoke(null);"));
+
+        // 重新声明的 Object 方法、默认方法与静态方法不生成
+        Assert.assertFalse(proxy.contains("boolean equals("));
+        Assert.assertFalse(proxy.contains("local()"));
+        Assert.assertFalse(proxy.contains("util()"));
+        Assert.assertEquals(1, count(proxy, "public String toString()"));
+        // 多个父接口声明的同签名方法只实现一次
+        Assert.assertEquals(1, count(proxy, "public java.lang.String name(java.lang.String arg0)"));
+    }
+
+    @Test
+    public void methodKeysUseDeclaringInterfaceAndErasure() throws Exception {
+        List<String> methods = Arrays.asList(methods("demo.FullRemote_RemoteProxy"));
+        Assert.assertEquals(6, methods.size());
+        Assert.assertTrue(methods.contains("demo.FullRemote#ping()"));
+        Assert.assertTrue(methods.contains("demo.FullRemote#sorted(java.util.List,java.lang.Number[])"));
+        Assert.assertTrue(methods.contains("demo.FullRemote#read(java.lang.String)"));
+        Assert.assertTrue(methods.contains("demo.FullRemote#size()"));
+        Assert.assertTrue(methods.contains("demo.Loader#load(java.lang.Object)"));
+        Assert.assertTrue(methods.contains("demo.Named#name(java.lang.String)") ^ methods.contains("demo.Alias#name(java.lang.String)"));
+    }
+
+    @Test
+    public void invokeThroughExecutors() throws Exception {
+        Map<String, Object[]> calls = new HashMap<>();
+        Object proxy = proxy("demo.FullRemote_RemoteProxy", key -> args -> {
+            calls.put(key, args);
+            if (key.startsWith("demo.FullRemote#size"))
+                return 3;
+            if (key.contains("#name") || key.contains("#load"))
+                return "result:" + args[0];
+            return null;
+        });
+        Class<?> type = this.classLoader.loadClass("demo.FullRemote");
+
+        // 与 JDK 动态代理一致：无参方法传入 null
+        type.getMethod("ping").invoke(proxy);
+        Assert.assertTrue(calls.containsKey("demo.FullRemote#ping()"));
+        Assert.assertNull(calls.get("demo.FullRemote#ping()"));
+
+        Assert.assertEquals("result:id", type.getMethod("name", String.class).invoke(proxy, "id"));
+        Assert.assertEquals("result:key", type.getMethod("load", Object.class).invoke(proxy, "key"));
+        Assert.assertEquals(3, type.getMethod("size").invoke(proxy));
+
+        Number[] extra = {1, 2};
+        type.getMethod("sorted", List.class, Number[].class).invoke(proxy, Collections.emptyList(), extra);
+        Object[] args = calls.get("demo.FullRemote#sorted(java.util.List,java.lang.Number[])");
+        Assert.assertEquals(2, args.length);
+        Assert.assertSame(extra, args[1]);
+
+        Assert.assertEquals("FullRemote proxy", proxy.toString());
+    }
+
+    @Test
+    public void rethrowDeclaredAndWrapUndeclared() throws Exception {
+        IOException declared = new IOException("declared");
+        Exception undeclared = new Exception("undeclared");
+        IllegalStateException unchecked = new IllegalStateException("unchecked");
+        Object[] answer = {declared};
+        Object proxy = proxy("demo.FullRemote_RemoteProxy", key -> args -> answer[0]);
+        Method read = this.classLoader.loadClass("demo.FullRemote").getMethod("read", String.class);
+
+        Assert.assertSame(declared, thrown(read, proxy));
+        answer[0] = unchecked;
+        Assert.assertSame(unchecked, thrown(read, proxy));
+        answer[0] = undeclared;
+        Throwable wrapped = thrown(read, proxy);
+        Assert.assertTrue(wrapped instanceof UndeclaredThrowableException);
+        Assert.assertSame(undeclared, wrapped.getCause());
+    }
+
+    @Test
+    public void generateForAccessibleNestedInterface() {
+        String proxy = output("demo/Holder$Visible_RemoteProxy.java");
+        Assert.assertNotNull(proxy);
+        Assert.assertTrue(proxy.contains("public final class Holder$Visible_RemoteProxy implements demo.Holder.Visible"));
+        Assert.assertTrue(proxy.contains("\"demo.Holder$Visible#call()\""));
+    }
+
+    @Test
+    public void skipUnsupportedInterfaces() {
+        // 泛型接口、私有接口及抛出类型变量的方法无法生成，运行期回退为 JDK 动态代理，元数据照常生成
+        Assert.assertNull(output("demo/GenericRemote_RemoteProxy.java"));
+        Assert.assertNotNull(output("demo/GenericRemote_RemoteMetadata.java"));
+        Assert.assertNull(output("demo/Holder$Hidden_RemoteProxy.java"));
+        Assert.assertNull(output("demo/ThrowsRemote_RemoteProxy.java"));
+        Assert.assertNotNull(output("demo/ThrowsRemote_RemoteMetadata.java"));
+    }
+
+    private String[] methods(String proxyClass) throws Exception {
+        return (String[]) this.classLoader.loadClass(proxyClass).getField("METHODS").get(null);
+    }
+
+    /**
+     * 按 METHODS 顺序为每个方法装配执行器，应答函数由方法标识决定
+     */
+    private Object proxy(String proxyClass, Function<String, Function<Object[], Object>> answers) throws Exception {
+        String[] methods = methods(proxyClass);
+        Class<?> invokerClass = this.classLoader.loadClass("com.asialjim.microapplet.remote.proxy.RemoteMethodInvoker");
+        Constructor<?> invokerConstructor = invokerClass.getConstructor(Function.class);
+        Object invokers = java.lang.reflect.Array.newInstance(invokerClass, methods.length);
+        for (int i = 0; i < methods.length; i++)
+            java.lang.reflect.Array.set(invokers, i, invokerConstructor.newInstance(answers.apply(methods[i])));
+
+        Class<?> type = this.classLoader.loadClass(proxyClass);
+        return type.getConstructor(String.class, invokers.getClass()).newInstance("FullRemote proxy", invokers);
+    }
+
+    private static Throwable thrown(Method method, Object target) throws IllegalAccessException {
+        try {
+            method.invoke(target, "path");
+        } catch (InvocationTargetException e) {
+            return e.getCause();
+        }
+        throw new AssertionError("应抛出异常");
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int index = text.indexOf(part); index >= 0; index = text.indexOf(part, index + part.length()))
+            count++;
+        return count;
+    }
+
+    private String output(String name) {
+        ByteArrayOutputStream output = this.outputs.get(name);
+        return Objects.isNull(output) ? null : new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private JavaFileObject output(String name, JavaFileObject.Kind kind) {
+        return new SimpleJavaFileObject(URI.create("mem:///" + name), kind) {
+            @Override
+            public OutputStream openOutputStream() {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                outputs.put(name, output);
+                return output;
+            }
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) throws IOException {
+                // 生成的源码在下一轮注解处理及编译中被解析
+                String content = output(name);
+                if (Objects.isNull(content))
+                    throw new FileNotFoundException(name);
+                return content;
+            }
+
+            @Override
+            public Reader openReader(boolean ignoreEncodingErrors) throws IOException {
+                return new StringReader(getCharContent(ignoreEncodingErrors).toString());
+            }
+        };
+    }
+
+    private static JavaFileObject source(String name, String content) {
+        return new SimpleJavaFileObject(URI.create("mem:///" + name + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.reactor;
+
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.context.RemoteResContext;
+import com.asialjim.microapplet.remote.net.jackson.AbstractJacksonUtil;
+import com.asialjim.microapplet.remote.proxy.adapter.RemoteReturnAdapter;
+import com.fasterxml.jackson.databind.JavaType;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.asialjim.microapplet.remote.net.response.parse.TextEventStreamRemoteNetResponseParser.TEXT_EVENT_STREAM;
+
+/**
+ * {@link Flux} 返回类型适配器
+ * <p>
+ * 响应体为 JSON 数组时逐个发布数组元素，为 text/event-stream 时逐个发布事件的 data；
+ * 元素按 Flux 的泛型参数转换。每次订阅发起一次调用，取消订阅会取消请求并释放连接
+ * <p>
+ * 注意：这不是流式发布。整个响应（包括 text/event-stream 的全部事件）会先读完并缓冲为一个 {@link List}，
+ * 响应结束后才开始发布第一个元素；因此不适用于长连接推送或超大响应，背压也只作用于已缓冲的列表
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class FluxReturnAdapter implements RemoteReturnAdapter {
+
+    @Override
+    public boolean support(Class<?> returnClass) {
+        return Flux.class.equals(returnClass);
+    }
+
+    /**
+     * 响应整体按 {@link Object} 解析，元素类型在 {@link #resolve} 中转换
+     */
+    @Override
+    public Type dataType(Type genericReturnType) {
+        return Object.class;
+    }
+
+    @Override
+    public Object resolve(Object data, RemoteMethodConfig methodConfig, RemoteResContext res) {
+        JavaType elementType = AbstractJacksonUtil.JSON_MAPPER.constructType(elementType(methodConfig.getMethod().getGenericReturnType()));
+        List<Object> elements = new ArrayList<>();
+
+        BufferedReader reader = res.property(TEXT_EVENT_STREAM);
+        if (Objects.nonNull(reader)) {
+            for (String event : events(reader)) {
+                if (String.class.equals(elementType.getRawClass()))
+                    elements.add(event);
+                else if (StringUtils.isNotBlank(event))
+                    elements.add(read(event, elementType));
+            }
+            return elements;
+        }
+
+        if (Objects.isNull(data))
+            return elements;
+
+        if (data instanceof Collection)
+            elements.addAll((Collection<?>) data);
+        else if (data.getClass().isArray())
+            for (int i = 0; i < Array.getLength(data); i++) elements.add(Array.get(data, i));
+        else elements.add(data);
+
+        List<Object> result = new ArrayList<>(elements.size());
+        for (Object element : elements) {
+            // Flux 不允许发布 null 元素
+            if (Objects.isNull(element))
+                continue;
+            if (elementType.getRawClass().isInstance(element))
+                result.add(element);
+            else result.add(AbstractJacksonUtil.JSON_MAPPER.convertValue(element, elementType));
+        }
+        return result;
+    }
+
+    @Override
+    public Object adapt(RemoteMethodConfig methodConfig, Supplier<CompletableFuture<Object>> invocation) {
+        return MonoReturnAdapter.<List<Object>>mono(invocation).flatMapIterable(list -> list);
+    }
+
+    private static Type elementType(Type genericReturnType) {
+        if (genericReturnType instanceof ParameterizedType)
+            return ((ParameterizedType) genericReturnType).getActualTypeArguments()[0];
+        return Object.class;
+    }
+
+    private static Object read(String event, JavaType elementType) {
+        try {
+            return AbstractJacksonUtil.JSON_MAPPER.readValue(event, elementType);
+        } catch (IOException e) {
+            throw new IllegalStateException("服务器推送事件：" + event + " 无法转换为：" + elementType + "，" + e.getMessage(), e);
+        }
+    }
+
+    private static List<String> events(BufferedReader reader) {
+        List<String> events = new ArrayList<>();
+        StringJoiner event = null;
+        try {
+            String line;
+            while (Objects.nonNull(line = reader.readLine())) {
+                if (StringUtils.isEmpty(line)) {
+                    if (Objects.nonNull(event))
+                        events.add(event.toString());
+                    event = null;
+                    continue;
+                }
+
+                if (!line.startsWith("data:"))
+                    continue;
+
+                if (Objects.isNull(event))
+                    event = new StringJoiner("\n");
+                event.add(StringUtils.removeStart(line.substring(5), " "));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("读取服务器推送事件失败：" + e.getMessage(), e);
+        }
+
+        if (Objects.nonNull(event))
+            events.add(event.toString());
+        return events;
+    }
+}
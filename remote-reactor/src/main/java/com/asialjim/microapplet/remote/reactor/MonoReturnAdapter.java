@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.reactor;
+
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.proxy.adapter.RemoteReturnAdapter;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * {@link Mono} 返回类型适配器
+ * <p>
+ * 每次订阅发起一次调用，响应在网络事件循环上发布；取消订阅会取消请求并释放连接
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+public final class MonoReturnAdapter implements RemoteReturnAdapter {
+
+    static <T> Mono<T> mono(Supplier<CompletableFuture<Object>> invocation) {
+        return Mono.create(sink -> {
+            CompletableFuture<Object> future = invocation.get();
+            sink.onCancel(() -> future.cancel(false));
+            future.whenComplete((data, ex) -> {
+                if (Objects.nonNull(ex))
+                    sink.error(ex instanceof CompletionException && Objects.nonNull(ex.getCause()) ? ex.getCause() : ex);
+                else if (Objects.isNull(data))
+                    sink.success();
+                else {
+                    //noinspection unchecked
+                    sink.success((T) data);
+                }
+            });
+        });
+    }
+
+    @Override
+    public boolean support(Class<?> returnClass) {
+        return Mono.class.equals(returnClass);
+    }
+
+    @Override
+    public Object adapt(RemoteMethodConfig methodConfig, Supplier<CompletableFuture<Object>> invocation) {
+        return mono(invocation);
+    }
+}
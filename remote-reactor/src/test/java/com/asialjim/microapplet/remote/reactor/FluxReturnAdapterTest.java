@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.reactor;
+
+import com.asialjim.microapplet.remote.context.RemoteContextPool;
+import com.asialjim.microapplet.remote.context.RemoteMethodConfig;
+import com.asialjim.microapplet.remote.context.RemoteResContext;
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.asialjim.microapplet.remote.net.response.parse.TextEventStreamRemoteNetResponseParser.TEXT_EVENT_STREAM;
+
+public class FluxReturnAdapterTest {
+    private final FluxReturnAdapter adapter = new FluxReturnAdapter();
+
+    public interface ItemApi {
+        Flux<Item> items();
+
+        Flux<String> events();
+    }
+
+    public static final class Item {
+        public String name;
+    }
+
+    @Test
+    public void support() {
+        Assert.assertTrue(adapter.support(Flux.class));
+        Assert.assertEquals(Object.class, adapter.dataType(Flux.class));
+    }
+
+    @Test
+    public void publishesBufferedElements() {
+        AtomicInteger invocations = new AtomicInteger();
+        Flux<?> flux = (Flux<?>) adapter.adapt(null, () -> {
+            invocations.incrementAndGet();
+            return CompletableFuture.completedFuture(Arrays.asList("a", "b"));
+        });
+
+        // 未订阅前不发起调用
+        Assert.assertEquals(0, invocations.get());
+        Assert.assertEquals(Arrays.asList("a", "b"), flux.collectList().block());
+        Assert.assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void nullDataCompletesEmpty() {
+        Flux<?> flux = (Flux<?>) adapter.adapt(null, () -> CompletableFuture.completedFuture(null));
+
+        Assert.assertEquals(Collections.emptyList(), flux.collectList().block());
+    }
+
+    @Test
+    public void errorUnwrapsCompletionException() {
+        IllegalStateException cause = new IllegalStateException("boom");
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        future.completeExceptionally(new CompletionException(cause));
+        Flux<?> flux = (Flux<?>) adapter.adapt(null, () -> future);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        flux.subscribe(value -> Assert.fail("不应发布元素"), error::set);
+        Assert.assertSame(cause, error.get());
+    }
+
+    @Test
+    public void cancelCancelsInvocation() {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Flux<?> flux = (Flux<?>) adapter.adapt(null, () -> future);
+
+        List<Object> published = new ArrayList<>();
+        Disposable subscription = flux.subscribe(published::add);
+        Assert.assertFalse(future.isDone());
+
+        subscription.dispose();
+        Assert.assertTrue(future.isCancelled());
+        Assert.assertTrue(published.isEmpty());
+    }
+
+    @Test
+    public void resolveConvertsArrayElements() throws Exception {
+        RemoteMethodConfig methodConfig = RemoteMethodConfig.create(ItemApi.class, ItemApi.class.getMethod("items"));
+        RemoteResContext res = RemoteContextPool.res();
+        Map<String, Object> first = Collections.singletonMap("name", "first");
+        Map<String, Object> second = Collections.singletonMap("name", "second");
+
+        Object resolved = adapter.resolve(new Object[]{first, null, second}, methodConfig, res);
+
+        // null 元素被跳过，其余按泛型参数转换
+        List<?> items = (List<?>) resolved;
+        Assert.assertEquals(2, items.size());
+        Assert.assertEquals("first", ((Item) items.get(0)).name);
+        Assert.assertEquals("second", ((Item) items.get(1)).name);
+    }
+
+    @Test
+    public void resolveReadsEveryEventBeforePublishing() throws Exception {
+        RemoteMethodConfig methodConfig = RemoteMethodConfig.create(ItemApi.class, ItemApi.class.getMethod("events"));
+        RemoteResContext res = RemoteContextPool.res();
+        BufferedReader reader = new BufferedReader(new StringReader("data: one\n\n: comment\ndata: two\ndata: lines\n\ndata: three"));
+        res.property(TEXT_EVENT_STREAM, reader);
+
+        Object resolved = adapter.resolve(null, methodConfig, res);
+
+        Assert.assertEquals(Arrays.asList("one", "two\nlines", "three"), resolved);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.reactor;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MonoReturnAdapterTest {
+    private final MonoReturnAdapter adapter = new MonoReturnAdapter();
+
+    @Test
+    public void support() {
+        Assert.assertTrue(adapter.support(Mono.class));
+        Assert.assertFalse(adapter.support(CompletableFuture.class));
+    }
+
+    @Test
+    public void eachSubscriptionInvokesOnce() {
+        AtomicInteger invocations = new AtomicInteger();
+        Mono<?> mono = (Mono<?>) adapter.adapt(null, () -> {
+            invocations.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        // 未订阅前不发起调用
+        Assert.assertEquals(0, invocations.get());
+        Assert.assertEquals("ok", mono.block());
+        Assert.assertEquals("ok", mono.block());
+        Assert.assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void nullDataCompletesEmpty() {
+        Mono<?> mono = (Mono<?>) adapter.adapt(null, () -> CompletableFuture.completedFuture(null));
+
+        Assert.assertFalse(mono.hasElement().block());
+    }
+
+    @Test
+    public void errorUnwrapsCompletionException() {
+        IllegalStateException cause = new IllegalStateException("boom");
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        future.completeExceptionally(new CompletionException(cause));
+        Mono<?> mono = (Mono<?>) adapter.adapt(null, () -> future);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        mono.subscribe(value -> Assert.fail("不应发布元素"), error::set);
+        Assert.assertSame(cause, error.get());
+    }
+
+    @Test
+    public void errorWithoutWrapperPassesThrough() {
+        IllegalStateException cause = new IllegalStateException("boom");
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        future.completeExceptionally(cause);
+        Mono<?> mono = (Mono<?>) adapter.adapt(null, () -> future);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        mono.subscribe(value -> Assert.fail("不应发布元素"), error::set);
+        Assert.assertSame(cause, error.get());
+    }
+
+    @Test
+    public void cancelCancelsInvocation() {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Mono<?> mono = (Mono<?>) adapter.adapt(null, () -> future);
+
+        AtomicReference<Object> published = new AtomicReference<>();
+        Disposable subscription = mono.subscribe(published::set);
+        Assert.assertFalse(future.isDone());
+
+        subscription.dispose();
+        Assert.assertTrue(future.isCancelled());
+        Assert.assertNull(published.get());
+    }
+}
@@ -19,6 +19,7 @@ package com.asialjim.microapplet.remote.spring;
 import com.asialjim.microapplet.remote.annotation.RemoteLifeCycle;
 import com.asialjim.microapplet.remote.context.RemoteLifeCycleHandlerFactory;
 import com.asialjim.microapplet.remote.loader.RemoteClassLoader;
+import com.asialjim.microapplet.remote.proxy.RemoteProxy;
 import lombok.Setter;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -131,6 +132,7 @@ public class RemoteBeanDefinitionRegistrar implements ImportBeanDefinitionRegist
             return;
         String primaries = environment.getProperty("remote.local.primaries");
         RemoteLifeCycleHandlerFactory.primary(primaries);
+        RemoteProxy.initMode(environment.getProperty("remote.local.init-mode"));
         ClassLoader classLoader = resourceLoader.getClassLoader();
         RemoteClassLoader.classLoader(classLoader);
         RemoteClassLoader.INSTANCE.init();
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014-2025 <a href="mailto:asialjim@qq.com">Asial Jim</a>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.asialjim.microapplet.remote.spring;
+
+import com.asialjim.microapplet.remote.proxy.RemoteProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Remote 代理启动报告：容器刷新完成后输出各接口代理初始化耗时
+ *
+ * @author <a href="mailto:asialjim@hotmail.com">Asial Jim</a>
+ * @version 1.0
+ * @since 2026/10/18, &nbsp;&nbsp; <em>version:1.0</em>
+ */
+@Component
+public class RemoteProxyInitReporter implements ApplicationListener<ContextRefreshedEvent> {
+    private static final Logger log = LoggerFactory.getLogger(RemoteProxyInitReporter.class);
+
+    @Override
+    public void onApplicationEvent(@SuppressWarnings("NullableProblems") ContextRefreshedEvent event) {
+        Map<String, Long> report = RemoteProxy.initReport();
+        if (report.isEmpty())
+            return;
+
+        StringBuilder builder = new StringBuilder();
+        long total = 0;
+        for (Map.Entry<String, Long> entry : report.entrySet()) {
+            builder.append("\r\n\t").append(entry.getKey()).append(": ").append(entry.getValue()).append(" 毫秒");
+            total += entry.getValue();
+        }
+        log.info("Remote 代理启动报告，接口数：{}，累计耗时：{} 毫秒{}", report.size(), total, builder);
+    }
+}